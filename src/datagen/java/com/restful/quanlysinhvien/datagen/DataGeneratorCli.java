@@ -0,0 +1,66 @@
+package com.restful.quanlysinhvien.datagen;
+
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Dòng lệnh sinh dữ liệu giả cho bảng {@code roles}, {@code class_rooms},
+ * {@code students}.
+ *
+ * <pre>
+ * ./gradlew generateData --args="--students 1000000 --seed 42 --out build/datagen"
+ * ./gradlew generateData --args="--students 1000000 --jdbc-url jdbc:mysql://localhost:33067/quanlysinhvien?rewriteBatchedStatements=true --db-user root --db-password ..."
+ * </pre>
+ *
+ * Tùy chọn: {@code --students} (100000), {@code --seed} (42),
+ * {@code --fill-min}/{@code --fill-max} (0.7/1.0), {@code --password}
+ * (matkhau123), {@code --out} (thư mục TSV + load.sql) hoặc
+ * {@code --jdbc-url}/{@code --db-user}/{@code --db-password} (insert trực
+ * tiếp).
+ */
+public final class DataGeneratorCli {
+
+    private DataGeneratorCli() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = parse(args);
+        double fillMin = Double.parseDouble(options.getOrDefault("fill-min", "" + DatasetSpec.DEFAULT_FILL_MIN));
+        double fillMax = Double.parseDouble(options.getOrDefault("fill-max", "" + DatasetSpec.DEFAULT_FILL_MAX));
+        DatasetSpec spec = DatasetSpec.of(Integer.parseInt(options.getOrDefault("students", "100000")),
+                Long.parseLong(options.getOrDefault("seed", "42")))
+                .withFill(fillMin, fillMax)
+                .withPassword(options.getOrDefault("password", DatasetSpec.DEFAULT_PASSWORD));
+
+        long start = System.nanoTime();
+        StudentDataGenerator generator = new StudentDataGenerator(spec);
+        String target;
+        if (options.containsKey("jdbc-url")) {
+            target = options.get("jdbc-url");
+            try (Connection connection = DriverManager.getConnection(target, options.get("db-user"),
+                    options.get("db-password"))) {
+                generator.writeTo(new JdbcDatasetSink(connection));
+            }
+        } else {
+            Path out = Path.of(options.getOrDefault("out", "build/datagen"));
+            target = out.toAbsolutePath().toString();
+            generator.writeTo(new TsvDatasetSink(out));
+        }
+        System.out.printf("Generated %d students in %d classes (seed %d) into %s in %.1f s%n", spec.students(),
+                generator.classCount(), spec.seed(), target, (System.nanoTime() - start) / 1e9);
+    }
+
+    private static Map<String, String> parse(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (int i = 0; i < args.length; i++) {
+            if (!args[i].startsWith("--") || i + 1 >= args.length) {
+                throw new IllegalArgumentException("Expected --name value pairs but got: " + args[i]);
+            }
+            options.put(args[i].substring(2), args[++i]);
+        }
+        return options;
+    }
+}
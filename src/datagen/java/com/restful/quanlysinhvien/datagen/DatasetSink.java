@@ -0,0 +1,32 @@
+package com.restful.quanlysinhvien.datagen;
+
+import java.io.IOException;
+import java.time.LocalDate;
+
+/**
+ * Đích ghi dữ liệu sinh ra (database qua JDBC, file bulk-load...). Thứ tự gọi:
+ * {@link #begin()}, các role, các lớp, các sinh viên, rồi {@link #finish()}.
+ */
+public interface DatasetSink {
+
+    record RoleRow(long id, String nameRole, String description) {
+    }
+
+    record ClassRoomRow(long id, String className, String description, int maxStudents, int currentStudents) {
+    }
+
+    record StudentRow(String studentCode, String fullName, String email, String password, LocalDate dateOfBirth,
+            String address, String gender, long classRoomId, long roleId) {
+    }
+
+    default void begin() throws IOException {
+    }
+
+    void role(RoleRow row) throws IOException;
+
+    void classRoom(ClassRoomRow row) throws IOException;
+
+    void student(StudentRow row) throws IOException;
+
+    void finish() throws IOException;
+}
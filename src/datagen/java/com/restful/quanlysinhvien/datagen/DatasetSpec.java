@@ -0,0 +1,42 @@
+package com.restful.quanlysinhvien.datagen;
+
+/**
+ * Tham số của một bộ dữ liệu sinh ra. Cùng spec (kể cả seed) luôn cho ra đúng
+ * cùng dữ liệu.
+ *
+ * @param students số sinh viên
+ * @param seed     seed của bộ sinh ngẫu nhiên
+ * @param fillMin  tỉ lệ lấp đầy tối thiểu của mỗi lớp (so với maxStudents)
+ * @param fillMax  tỉ lệ lấp đầy tối đa của mỗi lớp (tối đa 1)
+ * @param password mật khẩu (dạng rõ) của mọi sinh viên, được hash BCrypt một
+ *                 lần
+ */
+public record DatasetSpec(int students, long seed, double fillMin, double fillMax, String password) {
+    public static final double DEFAULT_FILL_MIN = 0.7;
+    public static final double DEFAULT_FILL_MAX = 1.0;
+    public static final String DEFAULT_PASSWORD = "matkhau123";
+
+    public DatasetSpec {
+        if (students < 0) {
+            throw new IllegalArgumentException("students must not be negative");
+        }
+        if (fillMin <= 0 || fillMax > 1 || fillMin > fillMax) {
+            throw new IllegalArgumentException("Expected 0 < fillMin <= fillMax <= 1");
+        }
+        if (password == null || password.length() < 5) {
+            throw new IllegalArgumentException("password must be at least 5 characters long");
+        }
+    }
+
+    public static DatasetSpec of(int students, long seed) {
+        return new DatasetSpec(students, seed, DEFAULT_FILL_MIN, DEFAULT_FILL_MAX, DEFAULT_PASSWORD);
+    }
+
+    public DatasetSpec withFill(double min, double max) {
+        return new DatasetSpec(this.students, this.seed, min, max, this.password);
+    }
+
+    public DatasetSpec withPassword(String newPassword) {
+        return new DatasetSpec(this.students, this.seed, this.fillMin, this.fillMax, newPassword);
+    }
+}
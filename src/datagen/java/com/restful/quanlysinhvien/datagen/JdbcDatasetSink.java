@@ -0,0 +1,162 @@
+package com.restful.quanlysinhvien.datagen;
+
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.StringJoiner;
+
+/**
+ * Ghi dữ liệu thẳng vào database bằng câu {@code INSERT} nhiều dòng
+ * ({@code VALUES (...), (...), ...}), commit sau mỗi
+ * {@code statementsPerCommit} câu. Bảng đích phải rỗng (id của role/lớp được
+ * ghi tường minh). Connection do nơi gọi quản lý; auto-commit được trả lại như
+ * cũ sau {@link #finish()}.
+ */
+public class JdbcDatasetSink implements DatasetSink {
+    public static final int DEFAULT_ROWS_PER_STATEMENT = 500;
+    public static final int DEFAULT_STATEMENTS_PER_COMMIT = 20;
+
+    private static final String ROLE_INSERT = "INSERT INTO roles (id, name_role, description) VALUES ";
+    private static final String CLASS_ROOM_INSERT = "INSERT INTO class_rooms (id, class_name, description, "
+            + "max_students, current_students) VALUES ";
+    private static final String STUDENT_INSERT = "INSERT INTO students (student_code, full_name, email, password, "
+            + "date_of_birth, address, gender, class_room_id, role_id, version) VALUES ";
+
+    private final Connection connection;
+    private final int rowsPerStatement;
+    private final int statementsPerCommit;
+    private final Table roles = new Table(ROLE_INSERT, 3, "");
+    private final Table classRooms = new Table(CLASS_ROOM_INSERT, 5, "");
+    private final Table students = new Table(STUDENT_INSERT, 9, "0");
+    private boolean autoCommit;
+    private int uncommitted;
+
+    public JdbcDatasetSink(Connection connection) {
+        this(connection, DEFAULT_ROWS_PER_STATEMENT, DEFAULT_STATEMENTS_PER_COMMIT);
+    }
+
+    public JdbcDatasetSink(Connection connection, int rowsPerStatement, int statementsPerCommit) {
+        this.connection = connection;
+        this.rowsPerStatement = rowsPerStatement;
+        this.statementsPerCommit = statementsPerCommit;
+    }
+
+    @Override
+    public void begin() throws IOException {
+        try {
+            this.autoCommit = this.connection.getAutoCommit();
+            this.connection.setAutoCommit(false);
+        } catch (SQLException e) {
+            throw new IOException("Failed to start transaction", e);
+        }
+    }
+
+    @Override
+    public void role(RoleRow row) throws IOException {
+        this.roles.add(row.id(), row.nameRole(), row.description());
+    }
+
+    @Override
+    public void classRoom(ClassRoomRow row) throws IOException {
+        // lớp phải có trước sinh viên (khóa ngoại)
+        this.roles.flush();
+        this.classRooms.add(row.id(), row.className(), row.description(), row.maxStudents(), row.currentStudents());
+    }
+
+    @Override
+    public void student(StudentRow row) throws IOException {
+        this.classRooms.flush();
+        this.students.add(row.studentCode(), row.fullName(), row.email(), row.password(),
+                Date.valueOf(row.dateOfBirth()), row.address(), row.gender(), row.classRoomId(), row.roleId());
+    }
+
+    @Override
+    public void finish() throws IOException {
+        this.roles.flush();
+        this.classRooms.flush();
+        this.students.flush();
+        try {
+            this.connection.commit();
+            this.connection.setAutoCommit(this.autoCommit);
+        } catch (SQLException e) {
+            throw new IOException("Failed to commit generated data", e);
+        }
+    }
+
+    /**
+     * Gom các dòng của một bảng thành câu INSERT nhiều dòng.
+     */
+    private final class Table {
+        private final String insertPrefix;
+        private final int columns;
+        private final String rowSuffix;
+        private final List<Object> values = new ArrayList<>();
+        private String fullSql;
+
+        private Table(String insertPrefix, int columns, String constantColumn) {
+            this.insertPrefix = insertPrefix;
+            this.columns = columns;
+            // cột hằng (version = 0) ghi thẳng vào SQL
+            this.rowSuffix = constantColumn.isEmpty() ? ")" : ", " + constantColumn + ")";
+        }
+
+        private void add(Object... row) throws IOException {
+            for (Object value : row) {
+                this.values.add(value);
+            }
+            if (this.values.size() == rowsPerStatement * this.columns) {
+                flush();
+            }
+        }
+
+        private void flush() throws IOException {
+            int rows = this.values.size() / this.columns;
+            if (rows == 0) {
+                return;
+            }
+            String sql;
+            if (rows == rowsPerStatement) {
+                if (this.fullSql == null) {
+                    this.fullSql = sql(rows);
+                }
+                sql = this.fullSql;
+            } else {
+                sql = sql(rows);
+            }
+            try (PreparedStatement ps = connection.prepareStatement(sql)) {
+                for (int i = 0; i < this.values.size(); i++) {
+                    ps.setObject(i + 1, this.values.get(i));
+                }
+                ps.executeUpdate();
+                if (++uncommitted >= statementsPerCommit) {
+                    connection.commit();
+                    uncommitted = 0;
+                }
+            } catch (SQLException e) {
+                throw new IOException("Failed to insert generated rows: " + e.getMessage(), e);
+            }
+            this.values.clear();
+        }
+
+        private String sql(int rows) {
+            StringJoiner placeholders = new StringJoiner(", ", "(", this.rowSuffix);
+            for (int c = 0; c < this.columns; c++) {
+                placeholders.add("?");
+            }
+            String row = placeholders.toString();
+            StringBuilder sb = new StringBuilder(this.insertPrefix.length() + rows * (row.length() + 2));
+            sb.append(this.insertPrefix);
+            for (int r = 0; r < rows; r++) {
+                if (r > 0) {
+                    sb.append(", ");
+                }
+                sb.append(row);
+            }
+            return sb.toString();
+        }
+    }
+}
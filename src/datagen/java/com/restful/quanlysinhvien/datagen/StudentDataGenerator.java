@@ -0,0 +1,170 @@
+package com.restful.quanlysinhvien.datagen;
+
+import com.restful.quanlysinhvien.datagen.DatasetSink.ClassRoomRow;
+import com.restful.quanlysinhvien.datagen.DatasetSink.RoleRow;
+import com.restful.quanlysinhvien.datagen.DatasetSink.StudentRow;
+
+import org.springframework.security.crypto.bcrypt.BCrypt;
+
+import java.io.IOException;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Sinh dữ liệu role, lớp học và sinh viên có tính xác định (deterministic) theo
+ * {@link DatasetSpec}.
+ *
+ * <p>
+ * Kế hoạch lớp học (sức chứa {@code maxStudents} và sĩ số thực tế trong khoảng
+ * {@code fillMin..fillMax}) được tính một lần khi khởi tạo; sinh viên thứ
+ * {@code i} được sinh từ một bộ random riêng seed theo {@code (seed, i)}, nên có
+ * thể lấy bất kỳ dòng nào bằng {@link #student(int)} mà không sinh lại các
+ * dòng trước, và dữ liệu không phụ thuộc thứ tự ghi. Mã sinh viên
+ * {@code SV0000000...} và email (chứa mã) luôn duy nhất; sĩ số mỗi lớp không
+ * vượt {@code maxStudents}. Mọi sinh viên dùng chung một hash BCrypt của
+ * {@link DatasetSpec#password()}, salt cũng sinh từ seed.
+ * </p>
+ */
+public final class StudentDataGenerator {
+    public static final long ROLE_ADMIN_ID = 1;
+    public static final long ROLE_USER_ID = 2;
+
+    private static final int[] CLASS_CAPACITIES = { 30, 40, 40, 50, 60 };
+    private static final String[] DEPARTMENTS = { "CNTT", "KTPM", "HTTT", "KHMT", "ATTT", "DTVT", "QTKD", "KT",
+            "NNA", "CK" };
+    private static final String[] DEPARTMENT_NAMES = { "Công nghệ thông tin", "Kỹ thuật phần mềm",
+            "Hệ thống thông tin", "Khoa học máy tính", "An toàn thông tin", "Điện tử viễn thông",
+            "Quản trị kinh doanh", "Kế toán", "Ngôn ngữ Anh", "Cơ khí" };
+    private static final LocalDate OLDEST_BIRTH_DATE = LocalDate.of(1998, 1, 1);
+    private static final int BIRTH_DATE_RANGE_DAYS = 9 * 365;
+    private static final long ROW_SEED_MULTIPLIER = 0x9E3779B97F4A7C15L;
+
+    private final DatasetSpec spec;
+    private final String passwordHash;
+    // lớp c chứa các sinh viên [classStarts[c], classStarts[c + 1])
+    private final int[] classStarts;
+    private final int[] classCapacities;
+
+    public StudentDataGenerator(DatasetSpec spec) {
+        this.spec = spec;
+        this.passwordHash = hashPassword(spec);
+        SplittableRandom random = new SplittableRandom(spec.seed());
+        int estimate = Math.max(1, (int) (spec.students() / (40 * spec.fillMin())) + 1);
+        int[] starts = new int[estimate + 1];
+        int[] capacities = new int[estimate];
+        int classes = 0;
+        int assigned = 0;
+        while (assigned < spec.students() || classes == 0) {
+            if (classes == capacities.length) {
+                capacities = Arrays.copyOf(capacities, classes * 2);
+                starts = Arrays.copyOf(starts, classes * 2 + 1);
+            }
+            int capacity = CLASS_CAPACITIES[random.nextInt(CLASS_CAPACITIES.length)];
+            double fill = spec.fillMin() + random.nextDouble() * (spec.fillMax() - spec.fillMin());
+            int size = Math.min(capacity, Math.max(1, (int) Math.round(capacity * fill)));
+            capacities[classes] = capacity;
+            starts[classes] = assigned;
+            assigned = Math.min(spec.students(), assigned + size);
+            classes++;
+        }
+        starts[classes] = assigned;
+        this.classStarts = Arrays.copyOf(starts, classes + 1);
+        this.classCapacities = Arrays.copyOf(capacities, classes);
+    }
+
+    public DatasetSpec spec() {
+        return this.spec;
+    }
+
+    public String passwordHash() {
+        return this.passwordHash;
+    }
+
+    public List<RoleRow> roles() {
+        return List.of(new RoleRow(ROLE_ADMIN_ID, "ADMIN", "Quản trị viên"),
+                new RoleRow(ROLE_USER_ID, "USER", "Sinh viên"));
+    }
+
+    public int classCount() {
+        return this.classCapacities.length;
+    }
+
+    /**
+     * @param index chỉ số lớp (0..classCount-1); id của lớp là {@code index + 1}
+     */
+    public ClassRoomRow classRoom(int index) {
+        int department = index % DEPARTMENTS.length;
+        int cohort = 60 + (index / DEPARTMENTS.length) % 9;
+        return new ClassRoomRow(index + 1L, String.format("%s-K%d-%05d", DEPARTMENTS[department], cohort, index + 1),
+                "Lớp " + DEPARTMENT_NAMES[department] + " khóa " + cohort, this.classCapacities[index],
+                this.classStarts[index + 1] - this.classStarts[index]);
+    }
+
+    public static String studentCode(int index) {
+        return String.format("SV%07d", index);
+    }
+
+    /**
+     * @param index chỉ số sinh viên (0..students-1)
+     */
+    public StudentRow student(int index) {
+        SplittableRandom random = new SplittableRandom(this.spec.seed() * ROW_SEED_MULTIPLIER + index);
+        boolean male = random.nextBoolean();
+        String family = VietnameseNames.familyName(random);
+        String middle = VietnameseNames.middleName(random, male);
+        String given = VietnameseNames.givenName(random, male);
+        String code = studentCode(index);
+        String email = VietnameseNames.ascii(given) + "." + VietnameseNames.ascii(family + middle) + "."
+                + code.toLowerCase() + "@student.edu.vn";
+        return new StudentRow(code, family + " " + middle + " " + given, email, this.passwordHash,
+                OLDEST_BIRTH_DATE.plusDays(random.nextInt(BIRTH_DATE_RANGE_DAYS)), VietnameseNames.address(random),
+                male ? "MALE" : "FEMALE", classOf(index) + 1L, ROLE_USER_ID);
+    }
+
+    /**
+     * @return chỉ số lớp của sinh viên thứ {@code index}
+     */
+    public int classOf(int index) {
+        int found = Arrays.binarySearch(this.classStarts, 0, this.classCapacities.length, index);
+        if (found >= 0) {
+            // các lớp rỗng liền nhau có cùng điểm bắt đầu: lấy lớp cuối cùng
+            while (found + 1 < this.classCapacities.length && this.classStarts[found + 1] == index) {
+                found++;
+            }
+            return found;
+        }
+        return -found - 2;
+    }
+
+    /**
+     * Ghi toàn bộ dữ liệu vào sink theo thứ tự role → lớp → sinh viên.
+     */
+    public void writeTo(DatasetSink sink) throws IOException {
+        sink.begin();
+        for (RoleRow role : roles()) {
+            sink.role(role);
+        }
+        for (int c = 0; c < classCount(); c++) {
+            sink.classRoom(classRoom(c));
+        }
+        for (int i = 0; i < this.spec.students(); i++) {
+            sink.student(student(i));
+        }
+        sink.finish();
+    }
+
+    private static String hashPassword(DatasetSpec spec) {
+        try {
+            // salt từ seed để file sinh ra giống hệt nhau giữa các lần chạy
+            SecureRandom random = SecureRandom.getInstance("SHA1PRNG");
+            random.setSeed(spec.seed());
+            return BCrypt.hashpw(spec.password(), BCrypt.gensalt(10, random));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
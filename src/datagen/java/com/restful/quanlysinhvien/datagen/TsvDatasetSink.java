@@ -0,0 +1,115 @@
+package com.restful.quanlysinhvien.datagen;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Ghi dữ liệu ra các file TSV cho {@code LOAD DATA LOCAL INFILE} của MySQL
+ * ({@code roles.tsv}, {@code class_rooms.tsv}, {@code students.tsv}) kèm
+ * script {@code load.sql}. Chạy trong thư mục chứa file:
+ * {@code mysql --local-infile=1 -u root -p quanlysinhvien < load.sql}.
+ */
+public class TsvDatasetSink implements DatasetSink {
+    private static final int BUFFER_SIZE = 1 << 20;
+
+    private final Path directory;
+    private Writer roles;
+    private Writer classRooms;
+    private Writer students;
+
+    public TsvDatasetSink(Path directory) {
+        this.directory = directory;
+    }
+
+    @Override
+    public void begin() throws IOException {
+        Files.createDirectories(this.directory);
+        this.roles = open("roles.tsv");
+        this.classRooms = open("class_rooms.tsv");
+        this.students = open("students.tsv");
+    }
+
+    @Override
+    public void role(RoleRow row) throws IOException {
+        line(this.roles, row.id(), row.nameRole(), row.description());
+    }
+
+    @Override
+    public void classRoom(ClassRoomRow row) throws IOException {
+        line(this.classRooms, row.id(), row.className(), row.description(), row.maxStudents(),
+                row.currentStudents());
+    }
+
+    @Override
+    public void student(StudentRow row) throws IOException {
+        line(this.students, row.studentCode(), row.fullName(), row.email(), row.password(), row.dateOfBirth(),
+                row.address(), row.gender(), row.classRoomId(), row.roleId(), 0);
+    }
+
+    @Override
+    public void finish() throws IOException {
+        this.roles.close();
+        this.classRooms.close();
+        this.students.close();
+        Files.writeString(this.directory.resolve("load.sql"), """
+                -- mysql --local-infile=1 -u root -p quanlysinhvien < load.sql (chạy trong thư mục này)
+                -- Các bảng phải rỗng: id của role/lớp được ghi tường minh.
+                SET unique_checks = 0;
+                SET foreign_key_checks = 0;
+                %s
+                %s
+                %s
+                SET foreign_key_checks = 1;
+                SET unique_checks = 1;
+                """.formatted(
+                loadData("roles.tsv", "roles", "id, name_role, description"),
+                loadData("class_rooms.tsv", "class_rooms",
+                        "id, class_name, description, max_students, current_students"),
+                loadData("students.tsv", "students", "student_code, full_name, email, password, date_of_birth, "
+                        + "address, gender, class_room_id, role_id, version")),
+                StandardCharsets.UTF_8);
+    }
+
+    private Writer open(String fileName) throws IOException {
+        return new BufferedWriter(Files.newBufferedWriter(this.directory.resolve(fileName), StandardCharsets.UTF_8),
+                BUFFER_SIZE);
+    }
+
+    private static String loadData(String file, String table, String columns) {
+        return "LOAD DATA LOCAL INFILE '" + file + "' INTO TABLE " + table
+                + " CHARACTER SET utf8mb4 FIELDS TERMINATED BY '\\t' LINES TERMINATED BY '\\n' (" + columns + ");";
+    }
+
+    private static void line(Writer writer, Object... values) throws IOException {
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) {
+                writer.write('\t');
+            }
+            writeField(writer, values[i]);
+        }
+        writer.write('\n');
+    }
+
+    // escape theo mặc định của LOAD DATA (ký tự escape là '\', NULL là \N)
+    private static void writeField(Writer writer, Object value) throws IOException {
+        if (value == null) {
+            writer.write("\\N");
+            return;
+        }
+        String s = value.toString();
+        for (int i = 0; i < s.length(); i++) {
+            char c = s.charAt(i);
+            switch (c) {
+                case '\\' -> writer.write("\\\\");
+                case '\t' -> writer.write("\\t");
+                case '\n' -> writer.write("\\n");
+                case '\r' -> writer.write("\\r");
+                default -> writer.write(c);
+            }
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package com.restful.quanlysinhvien.datagen;
+
+import java.text.Normalizer;
+import java.util.SplittableRandom;
+import java.util.regex.Pattern;
+
+/**
+ * Bộ tên, địa chỉ tiếng Việt dùng cho dữ liệu sinh ra. Họ được chọn theo tỉ lệ
+ * gần đúng ngoài thực tế (Nguyễn ~38%, Trần ~11%...).
+ */
+final class VietnameseNames {
+    private static final String[] FAMILY_NAMES = { "Nguyễn", "Trần", "Lê", "Phạm", "Hoàng", "Huỳnh", "Phan", "Vũ",
+            "Võ", "Đặng", "Bùi", "Đỗ", "Hồ", "Ngô", "Dương", "Lý" };
+    // trọng số tương ứng FAMILY_NAMES (phần nghìn)
+    private static final int[] FAMILY_WEIGHTS = { 384, 110, 95, 71, 51, 51, 45, 39, 39, 21, 20, 14, 13, 13, 10,
+            14 };
+
+    private static final String[] MALE_MIDDLE_NAMES = { "Văn", "Hữu", "Đức", "Minh", "Quang", "Thành", "Công", "Gia",
+            "Hoàng", "Anh" };
+    private static final String[] FEMALE_MIDDLE_NAMES = { "Thị", "Ngọc", "Thu", "Thanh", "Mai", "Minh", "Phương",
+            "Khánh", "Bảo", "Hồng" };
+    private static final String[] MALE_GIVEN_NAMES = { "An", "Bình", "Cường", "Dũng", "Duy", "Đạt", "Hải", "Hiếu",
+            "Hoàng", "Hùng", "Huy", "Khang", "Khoa", "Long", "Minh", "Nam", "Nghĩa", "Phong", "Phúc", "Quân", "Sơn",
+            "Tài", "Thắng", "Thịnh", "Toàn", "Trung", "Tuấn", "Việt", "Vinh", "Vũ" };
+    private static final String[] FEMALE_GIVEN_NAMES = { "Anh", "Châu", "Chi", "Dung", "Giang", "Hà", "Hạnh", "Hằng",
+            "Hoa", "Hương", "Huyền", "Lan", "Linh", "Loan", "Mai", "My", "Nga", "Ngân", "Nhung", "Oanh", "Phương",
+            "Quyên", "Thảo", "Thủy", "Trang", "Trinh", "Tuyết", "Uyên", "Vân", "Yến" };
+
+    private static final String[] STREETS = { "Lê Lợi", "Trần Hưng Đạo", "Nguyễn Trãi", "Hai Bà Trưng",
+            "Lý Thường Kiệt", "Quang Trung", "Điện Biên Phủ", "Phan Đình Phùng", "Nguyễn Huệ", "Láng" };
+    // "quận, thành phố"
+    private static final String[] DISTRICTS = { "Đống Đa, Hà Nội", "Cầu Giấy, Hà Nội", "Hai Bà Trưng, Hà Nội",
+            "Thanh Xuân, Hà Nội", "Hoàng Mai, Hà Nội", "Quận 1, TP. Hồ Chí Minh", "Quận 3, TP. Hồ Chí Minh",
+            "Bình Thạnh, TP. Hồ Chí Minh", "Gò Vấp, TP. Hồ Chí Minh", "Thủ Đức, TP. Hồ Chí Minh",
+            "Hải Châu, Đà Nẵng", "Thanh Khê, Đà Nẵng", "Sơn Trà, Đà Nẵng", "Lê Chân, Hải Phòng",
+            "Ngô Quyền, Hải Phòng", "Ninh Kiều, Cần Thơ" };
+
+    private static final Pattern COMBINING_MARKS = Pattern.compile("\\p{M}+");
+    private static final int FAMILY_TOTAL;
+
+    static {
+        int total = 0;
+        for (int weight : FAMILY_WEIGHTS) {
+            total += weight;
+        }
+        FAMILY_TOTAL = total;
+    }
+
+    private VietnameseNames() {
+    }
+
+    static String familyName(SplittableRandom random) {
+        int roll = random.nextInt(FAMILY_TOTAL);
+        for (int i = 0; i < FAMILY_WEIGHTS.length; i++) {
+            roll -= FAMILY_WEIGHTS[i];
+            if (roll < 0) {
+                return FAMILY_NAMES[i];
+            }
+        }
+        return FAMILY_NAMES[0];
+    }
+
+    static String middleName(SplittableRandom random, boolean male) {
+        return pick(random, male ? MALE_MIDDLE_NAMES : FEMALE_MIDDLE_NAMES);
+    }
+
+    static String givenName(SplittableRandom random, boolean male) {
+        return pick(random, male ? MALE_GIVEN_NAMES : FEMALE_GIVEN_NAMES);
+    }
+
+    static String address(SplittableRandom random) {
+        return "Số " + (1 + random.nextInt(300)) + " " + pick(random, STREETS) + ", " + pick(random, DISTRICTS);
+    }
+
+    /**
+     * Bỏ dấu và chữ hoa, dùng làm phần đầu email: "Nguyễn Đức" → "nguyenduc".
+     */
+    static String ascii(String value) {
+        String stripped = COMBINING_MARKS.matcher(Normalizer.normalize(value, Normalizer.Form.NFD)).replaceAll("");
+        StringBuilder sb = new StringBuilder(stripped.length());
+        for (int i = 0; i < stripped.length(); i++) {
+            char c = Character.toLowerCase(stripped.charAt(i));
+            if (c == 'đ') {
+                sb.append('d');
+            } else if (c >= 'a' && c <= 'z' || c >= '0' && c <= '9') {
+                sb.append(c);
+            }
+        }
+        return sb.toString();
+    }
+
+    private static String pick(SplittableRandom random, String[] values) {
+        return values[random.nextInt(values.length)];
+    }
+}
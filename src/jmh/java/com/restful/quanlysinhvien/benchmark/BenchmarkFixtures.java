@@ -0,0 +1,53 @@
+package com.restful.quanlysinhvien.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.restful.quanlysinhvien.domain.dto.Meta;
+import com.restful.quanlysinhvien.domain.dto.ResultPaginationDTO;
+import com.restful.quanlysinhvien.domain.dto.StudentDTO;
+
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Dữ liệu mẫu cố định dùng chung cho các benchmark.
+ */
+final class BenchmarkFixtures {
+
+    private BenchmarkFixtures() {
+    }
+
+    static StudentDTO student(int i) {
+        return new StudentDTO(String.format("SV%06d", i), "Nguyễn Văn An " + i, "sv" + i + "@university.edu",
+                LocalDate.of(2000 + i % 6, 1 + i % 12, 1 + i % 28), "Số " + i + " Đường Láng, Đống Đa, Hà Nội",
+                i % 2 == 0 ? "MALE" : "FEMALE", "CNTT" + (i % 20), 2);
+    }
+
+    static ResultPaginationDTO page(int rows) {
+        List<StudentDTO> students = new ArrayList<>(rows);
+        for (int i = 0; i < rows; i++) {
+            students.add(student(i));
+        }
+        Meta meta = new Meta();
+        meta.setPage(1);
+        meta.setPageSize(rows);
+        meta.setPages(10);
+        meta.setTotal(rows * 10L);
+        ResultPaginationDTO page = new ResultPaginationDTO();
+        page.setMeta(meta);
+        page.setResult(students);
+        return page;
+    }
+
+    /**
+     * ObjectMapper cấu hình giống Spring Boot (ngày dạng ISO).
+     */
+    static ObjectMapper objectMapper() {
+        return Jackson2ObjectMapperBuilder.json()
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build();
+    }
+}
@@ -0,0 +1,34 @@
+package com.restful.quanlysinhvien.benchmark;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpOutputMessage;
+
+import java.io.ByteArrayOutputStream;
+import java.io.OutputStream;
+
+/**
+ * Response giả ghi vào buffer dùng lại giữa các lần đo.
+ */
+final class BufferOutputMessage implements HttpOutputMessage {
+    private final ByteArrayOutputStream body = new ByteArrayOutputStream(256 * 1024);
+    private final HttpHeaders headers = new HttpHeaders();
+
+    void reset() {
+        this.body.reset();
+        this.headers.clear();
+    }
+
+    int size() {
+        return this.body.size();
+    }
+
+    @Override
+    public OutputStream getBody() {
+        return this.body;
+    }
+
+    @Override
+    public HttpHeaders getHeaders() {
+        return this.headers;
+    }
+}
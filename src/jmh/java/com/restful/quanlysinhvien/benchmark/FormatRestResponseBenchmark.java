@@ -0,0 +1,76 @@
+package com.restful.quanlysinhvien.benchmark;
+
+import com.restful.quanlysinhvien.domain.dto.ResultPaginationDTO;
+import com.restful.quanlysinhvien.util.EnvelopeHttpMessageConverter;
+import com.restful.quanlysinhvien.util.FormatRestResponse;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.ServletServerHttpRequest;
+import org.springframework.http.server.ServletServerHttpResponse;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Chi phí {@link FormatRestResponse#beforeBodyWrite} cho mỗi response: body
+ * thành công được bọc, path bị loại trừ (Swagger) và response lỗi.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FormatRestResponseBenchmark {
+    private FormatRestResponse advice;
+    private ResultPaginationDTO body;
+    private ServletServerHttpRequest studentsRequest;
+    private ServletServerHttpRequest swaggerRequest;
+    private ServletServerHttpResponse okResponse;
+    private ServletServerHttpResponse notFoundResponse;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        this.advice = new FormatRestResponse();
+        this.body = BenchmarkFixtures.page(10);
+        this.studentsRequest = new ServletServerHttpRequest(new MockHttpServletRequest("GET", "/students"));
+        this.swaggerRequest = new ServletServerHttpRequest(
+                new MockHttpServletRequest("GET", "/swagger-ui/index.html"));
+        this.okResponse = new ServletServerHttpResponse(new MockHttpServletResponse());
+        MockHttpServletResponse notFound = new MockHttpServletResponse();
+        notFound.setStatus(404);
+        this.notFoundResponse = new ServletServerHttpResponse(notFound);
+    }
+
+    @Benchmark
+    public Object wrapped() {
+        return write(this.studentsRequest, this.okResponse);
+    }
+
+    @Benchmark
+    public Object excludedPath() {
+        return write(this.swaggerRequest, this.okResponse);
+    }
+
+    @Benchmark
+    public Object errorStatus() {
+        return write(this.studentsRequest, this.notFoundResponse);
+    }
+
+    private Object write(ServletServerHttpRequest request, ServletServerHttpResponse response) {
+        return this.advice.beforeBodyWrite(this.body, null, MediaType.APPLICATION_JSON,
+                EnvelopeHttpMessageConverter.class, request, response);
+    }
+}
@@ -0,0 +1,110 @@
+package com.restful.quanlysinhvien.benchmark;
+
+import com.restful.quanlysinhvien.domain.dto.StudentDTO;
+import com.restful.quanlysinhvien.util.error.BadRequestExceptionCustom;
+import com.restful.quanlysinhvien.util.error.GlobalException;
+import com.restful.quanlysinhvien.util.error.ResourceNotFoundException;
+import com.restful.quanlysinhvien.util.error.StoredProcedureFailedException;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.core.MethodParameter;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.validation.BeanPropertyBindingResult;
+import org.springframework.validation.FieldError;
+import org.springframework.web.bind.MethodArgumentNotValidException;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Chi phí các nhánh xử lý lỗi của {@link GlobalException}. Exception được tạo
+ * sẵn nên không tính chi phí dựng stack trace; log của handler bị tắt trong
+ * {@code src/jmh/resources/logback.xml}, chỉ còn kiểm tra level.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GlobalExceptionBenchmark {
+    private GlobalException handler;
+    private ResourceNotFoundException notFound;
+    private BadRequestExceptionCustom badRequest;
+    private MethodArgumentNotValidException validation;
+    private StoredProcedureFailedException procedureFailed;
+    private DataIntegrityViolationException duplicateKey;
+    private RuntimeException unexpected;
+    private ServletWebRequest webRequest;
+
+    @Setup(Level.Trial)
+    public void setUp() throws NoSuchMethodException {
+        this.handler = new GlobalException(new SimpleMeterRegistry());
+        this.notFound = new ResourceNotFoundException("Student not found");
+        this.badRequest = new BadRequestExceptionCustom("Invalid page size");
+
+        StudentDTO target = new StudentDTO();
+        BeanPropertyBindingResult bindingResult = new BeanPropertyBindingResult(target, "studentDTO");
+        bindingResult.addError(new FieldError("studentDTO", "email", "Email should be valid"));
+        bindingResult.addError(new FieldError("studentDTO", "fullName", "FullName cannot be blank"));
+        MethodParameter parameter = new MethodParameter(
+                GlobalExceptionBenchmark.class.getMethod("createStu", StudentDTO.class), 0);
+        this.validation = new MethodArgumentNotValidException(parameter, bindingResult);
+
+        this.procedureFailed = new StoredProcedureFailedException("Failed to update student - possibly class is full");
+        this.duplicateKey = new DataIntegrityViolationException(
+                "Duplicate entry 'SV000001' for key 'students.uk_students_student_code'");
+        this.unexpected = new IllegalStateException("Unexpected");
+        this.webRequest = new ServletWebRequest(new MockHttpServletRequest("GET", "/students"));
+    }
+
+    /**
+     * Chỉ dùng làm {@link MethodParameter} cho lỗi validation.
+     */
+    public void createStu(StudentDTO studentDTO) {
+    }
+
+    @Benchmark
+    public ResponseEntity<?> resourceNotFound() {
+        return this.handler.handleResourceNotFound(this.notFound);
+    }
+
+    @Benchmark
+    public ResponseEntity<?> badRequest() {
+        return this.handler.handleBadRequest(this.badRequest);
+    }
+
+    @Benchmark
+    public ResponseEntity<?> validationError() {
+        return this.handler.validateError(this.validation);
+    }
+
+    @Benchmark
+    public ResponseEntity<?> storedProcedureFailed() {
+        return this.handler.handleStoredProcedureException(this.procedureFailed);
+    }
+
+    @Benchmark
+    public ResponseEntity<?> duplicateKey() {
+        return this.handler.handleDataIntegrityViolation(this.duplicateKey);
+    }
+
+    @Benchmark
+    public ResponseEntity<?> unexpectedError() {
+        return this.handler.handleRuntimeException(this.unexpected, this.webRequest);
+    }
+}
@@ -0,0 +1,72 @@
+package com.restful.quanlysinhvien.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.restful.quanlysinhvien.domain.CustomResponse;
+import com.restful.quanlysinhvien.domain.dto.ResultPaginationDTO;
+import com.restful.quanlysinhvien.util.EnvelopeHttpMessageConverter;
+import com.restful.quanlysinhvien.util.EnvelopedBody;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.MediaType;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Serialize JSON một trang {@link ResultPaginationDTO} (10/100/1000 dòng): qua
+ * {@link EnvelopeHttpMessageConverter} như response thật, và cách cũ bọc
+ * {@link CustomResponse} rồi để Jackson serialize cả cây object.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PaginationSerializationBenchmark {
+
+    @Param({ "10", "100", "1000" })
+    public int rows;
+
+    private ResultPaginationDTO page;
+    private ObjectMapper objectMapper;
+    private EnvelopeHttpMessageConverter converter;
+    private BufferOutputMessage output;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        this.page = BenchmarkFixtures.page(this.rows);
+        this.objectMapper = BenchmarkFixtures.objectMapper();
+        this.converter = new EnvelopeHttpMessageConverter(this.objectMapper);
+        this.output = new BufferOutputMessage();
+    }
+
+    @Benchmark
+    public int envelopeConverter() throws IOException {
+        this.output.reset();
+        this.converter.write(new EnvelopedBody(200, this.page), MediaType.APPLICATION_JSON, this.output);
+        return this.output.size();
+    }
+
+    @Benchmark
+    public int customResponse() throws IOException {
+        this.output.reset();
+        CustomResponse<Object> res = new CustomResponse<>();
+        res.setStatusCode(200);
+        res.setMessage(EnvelopedBody.SUCCESS_MESSAGE);
+        res.setData(this.page);
+        this.objectMapper.writeValue(this.output.getBody(), res);
+        return this.output.size();
+    }
+}
@@ -0,0 +1,53 @@
+package com.restful.quanlysinhvien.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Thời gian hash/kiểm tra mật khẩu BCrypt theo strength. Ứng dụng dùng
+ * strength mặc định 10 (xem {@code SercurityConfiguration}); mỗi bậc tăng gấp
+ * đôi thời gian.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 3)
+@Fork(1)
+public class PasswordEncoderBenchmark {
+
+    @Param({ "4", "8", "10", "12" })
+    public int strength;
+
+    private BCryptPasswordEncoder encoder;
+    private String hash;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        this.encoder = new BCryptPasswordEncoder(this.strength);
+        this.hash = this.encoder.encode("matkhau123");
+    }
+
+    @Benchmark
+    public String encode() {
+        return this.encoder.encode("matkhau123");
+    }
+
+    @Benchmark
+    public boolean matches() {
+        return this.encoder.matches("matkhau123", this.hash);
+    }
+}
@@ -0,0 +1,124 @@
+package com.restful.quanlysinhvien.benchmark;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.restful.quanlysinhvien.util.EnvelopeCborHttpMessageConverter;
+import com.restful.quanlysinhvien.util.EnvelopeHttpMessageConverter;
+import com.restful.quanlysinhvien.util.EnvelopeSmileHttpMessageConverter;
+import com.restful.quanlysinhvien.util.EnvelopedBody;
+import com.restful.quanlysinhvien.util.StudentProtobufHttpMessageConverter;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * So sánh thời gian serialize và kích thước một trang {@code ResultPaginationDTO}
+ * (kèm envelope) giữa JSON, Smile, CBOR và Protobuf, qua đúng các converter mà
+ * ứng dụng dùng.
+ *
+ * <p>
+ * {@link #write()} đo thời gian; {@link #payloadSize(PayloadSize)} ghi đúng một
+ * lần và báo kích thước qua counter {@code payloadSize:bytes}, nên số byte của
+ * từng định dạng nằm trong kết quả JMH (kể cả {@code results.json}) thay vì chỉ
+ * in ra console.
+ * </p>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ResponseFormatBenchmark {
+
+    @Param({ "1000" })
+    public int rows;
+
+    @Param({ "json", "smile", "cbor", "protobuf" })
+    public String format;
+
+    private EnvelopedBody page;
+    private HttpMessageConverter<Object> converter;
+    private MediaType mediaType;
+    private BufferOutputMessage output;
+
+    /**
+     * Kích thước payload của lần ghi duy nhất trong {@link #payloadSize}. JMH cộng
+     * counter loại EVENTS qua các iteration, nên benchmark đó chỉ chạy một
+     * iteration một lần gọi.
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class PayloadSize {
+        public long bytes;
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        this.page = new EnvelopedBody(200, BenchmarkFixtures.page(this.rows));
+        this.output = new BufferOutputMessage();
+        switch (this.format) {
+            case "json" -> {
+                this.converter = new EnvelopeHttpMessageConverter(mapper(null));
+                this.mediaType = MediaType.APPLICATION_JSON;
+            }
+            case "smile" -> {
+                this.converter = new EnvelopeSmileHttpMessageConverter(mapper(new SmileFactory()));
+                this.mediaType = new MediaType("application", "x-jackson-smile");
+            }
+            case "cbor" -> {
+                this.converter = new EnvelopeCborHttpMessageConverter(mapper(new CBORFactory()));
+                this.mediaType = MediaType.APPLICATION_CBOR;
+            }
+            case "protobuf" -> {
+                this.converter = new StudentProtobufHttpMessageConverter();
+                this.mediaType = StudentProtobufHttpMessageConverter.APPLICATION_PROTOBUF;
+            }
+            default -> throw new IllegalArgumentException("Unknown format: " + this.format);
+        }
+    }
+
+    @Benchmark
+    public int write() throws IOException {
+        this.output.reset();
+        this.converter.write(this.page, this.mediaType, this.output);
+        return this.output.size();
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @Warmup(iterations = 0)
+    @Measurement(iterations = 1)
+    public void payloadSize(PayloadSize size) throws IOException {
+        size.bytes = write();
+    }
+
+    private static ObjectMapper mapper(JsonFactory factory) {
+        Jackson2ObjectMapperBuilder builder = Jackson2ObjectMapperBuilder.json()
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        if (factory != null) {
+            builder.factory(factory);
+        }
+        return builder.build();
+    }
+}
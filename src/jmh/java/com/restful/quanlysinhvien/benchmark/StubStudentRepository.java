@@ -0,0 +1,342 @@
+package com.restful.quanlysinhvien.benchmark;
+
+import com.restful.quanlysinhvien.domain.Student;
+import com.restful.quanlysinhvien.domain.dto.StudentCacheKeyRow;
+import com.restful.quanlysinhvien.domain.dto.StudentCredentialDTO;
+import com.restful.quanlysinhvien.domain.dto.StudentDTO;
+import com.restful.quanlysinhvien.domain.dto.StudentFieldsRow;
+import com.restful.quanlysinhvien.domain.dto.StudentListRow;
+import com.restful.quanlysinhvien.domain.dto.StudentVersionRow;
+import com.restful.quanlysinhvien.repository.StudentRepository;
+
+import org.springframework.data.domain.Example;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.repository.query.FluentQuery;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+/**
+ * {@link StudentRepository} giả cho benchmark: chỉ
+ * {@link #findStudentRowByStudentCode(String)} trả về một dòng projection cố
+ * định, mọi phương thức khác ném {@link UnsupportedOperationException}. Gọi trực
+ * tiếp (không qua proxy) để đường miss của cache chỉ đo phần chuyển đổi.
+ */
+final class StubStudentRepository implements StudentRepository {
+    private final StudentListRow row;
+
+    StubStudentRepository(StudentListRow row) {
+        this.row = row;
+    }
+
+    @Override
+    public StudentListRow findStudentRowByStudentCode(String studentCode) {
+        return this.row;
+    }
+
+    private static UnsupportedOperationException unsupported() {
+        return new UnsupportedOperationException("Not used by the benchmark");
+    }
+
+    // StudentRepository
+
+    @Override
+    public boolean existsByStudentCode(String studentCode) {
+        throw unsupported();
+    }
+
+    @Override
+    public void deleteByStudentCode(String studentCode) {
+        throw unsupported();
+    }
+
+    @Override
+    public boolean existsByEmail(String email) {
+        throw unsupported();
+    }
+
+    @Override
+    public boolean existsByEmailAndStudentCodeNot(String email, String studentCode) {
+        throw unsupported();
+    }
+
+    @Override
+    public List<String> findExistingStudentCodes(Collection<String> studentCodes) {
+        throw unsupported();
+    }
+
+    @Override
+    public List<String> findExistingEmails(Collection<String> emails) {
+        throw unsupported();
+    }
+
+    @Override
+    public List<Long> findExistingRoleIds(Collection<Long> roleIds) {
+        throw unsupported();
+    }
+
+    @Override
+    public StudentCacheKeyRow findCacheKeysByStudentCode(String studentCode) {
+        throw unsupported();
+    }
+
+    @Override
+    public StudentCredentialDTO findCredentialByStudentCode(String studentCode) {
+        throw unsupported();
+    }
+
+    @Override
+    public List<StudentListRow> findAllStudentRows() {
+        throw unsupported();
+    }
+
+    @Override
+    public Page<StudentListRow> findStudentRows(Pageable pageable) {
+        throw unsupported();
+    }
+
+    @Override
+    public Stream<StudentDTO> streamAllForExport() {
+        throw unsupported();
+    }
+
+    @Override
+    public List<StudentListRow> findNextPageById(long lastId, Pageable pageable) {
+        throw unsupported();
+    }
+
+    @Override
+    public List<StudentListRow> findNextPageByStudentCode(String lastCode, Pageable pageable) {
+        throw unsupported();
+    }
+
+    @Override
+    public List<StudentListRow> findFirstPageByStudentCode(Pageable pageable) {
+        throw unsupported();
+    }
+
+    @Override
+    public List<StudentVersionRow> findPageVersions(Pageable pageable) {
+        throw unsupported();
+    }
+
+    @Override
+    public List<StudentVersionRow> findVersionsAfterId(long lastId, Pageable pageable) {
+        throw unsupported();
+    }
+
+    @Override
+    public List<StudentVersionRow> findVersionsAfterStudentCode(String lastCode, Pageable pageable) {
+        throw unsupported();
+    }
+
+    @Override
+    public List<StudentVersionRow> findFirstVersionsByStudentCode(Pageable pageable) {
+        throw unsupported();
+    }
+
+    @Override
+    public String findTableFingerprint() {
+        throw unsupported();
+    }
+
+    // StudentFilterRepository
+
+    @Override
+    public List<StudentListRow> findStudentRows(Specification<Student> spec, Sort sort) {
+        throw unsupported();
+    }
+
+    @Override
+    public Page<StudentListRow> findStudentRows(Specification<Student> spec, Pageable pageable) {
+        throw unsupported();
+    }
+
+    @Override
+    public List<StudentFieldsRow> findFields(Specification<Student> spec, Set<String> fields, Sort sort) {
+        throw unsupported();
+    }
+
+    @Override
+    public Page<StudentFieldsRow> findFields(Specification<Student> spec, Set<String> fields, Pageable pageable) {
+        throw unsupported();
+    }
+
+    @Override
+    public List<StudentVersionRow> findVersionRows(Specification<Student> spec, Pageable pageable) {
+        throw unsupported();
+    }
+
+    @Override
+    public long countMatching(Specification<Student> spec) {
+        throw unsupported();
+    }
+
+    // JpaRepository
+
+    @Override
+    public void flush() {
+        throw unsupported();
+    }
+
+    @Override
+    public <S extends Student> S saveAndFlush(S entity) {
+        throw unsupported();
+    }
+
+    @Override
+    public <S extends Student> List<S> saveAllAndFlush(Iterable<S> entities) {
+        throw unsupported();
+    }
+
+    @Override
+    public void deleteAllInBatch(Iterable<Student> entities) {
+        throw unsupported();
+    }
+
+    @Override
+    public void deleteAllByIdInBatch(Iterable<Long> ids) {
+        throw unsupported();
+    }
+
+    @Override
+    public void deleteAllInBatch() {
+        throw unsupported();
+    }
+
+    @Override
+    @Deprecated
+    public Student getOne(Long id) {
+        throw unsupported();
+    }
+
+    @Override
+    @Deprecated
+    public Student getById(Long id) {
+        throw unsupported();
+    }
+
+    @Override
+    public Student getReferenceById(Long id) {
+        throw unsupported();
+    }
+
+    @Override
+    public <S extends Student> List<S> findAll(Example<S> example) {
+        throw unsupported();
+    }
+
+    @Override
+    public <S extends Student> List<S> findAll(Example<S> example, Sort sort) {
+        throw unsupported();
+    }
+
+    // ListCrudRepository / CrudRepository
+
+    @Override
+    public <S extends Student> S save(S entity) {
+        throw unsupported();
+    }
+
+    @Override
+    public <S extends Student> List<S> saveAll(Iterable<S> entities) {
+        throw unsupported();
+    }
+
+    @Override
+    public Optional<Student> findById(Long id) {
+        throw unsupported();
+    }
+
+    @Override
+    public boolean existsById(Long id) {
+        throw unsupported();
+    }
+
+    @Override
+    public List<Student> findAll() {
+        throw unsupported();
+    }
+
+    @Override
+    public List<Student> findAllById(Iterable<Long> ids) {
+        throw unsupported();
+    }
+
+    @Override
+    public long count() {
+        throw unsupported();
+    }
+
+    @Override
+    public void deleteById(Long id) {
+        throw unsupported();
+    }
+
+    @Override
+    public void delete(Student entity) {
+        throw unsupported();
+    }
+
+    @Override
+    public void deleteAllById(Iterable<? extends Long> ids) {
+        throw unsupported();
+    }
+
+    @Override
+    public void deleteAll(Iterable<? extends Student> entities) {
+        throw unsupported();
+    }
+
+    @Override
+    public void deleteAll() {
+        throw unsupported();
+    }
+
+    // ListPagingAndSortingRepository / PagingAndSortingRepository
+
+    @Override
+    public List<Student> findAll(Sort sort) {
+        throw unsupported();
+    }
+
+    @Override
+    public Page<Student> findAll(Pageable pageable) {
+        throw unsupported();
+    }
+
+    // QueryByExampleExecutor
+
+    @Override
+    public <S extends Student> Optional<S> findOne(Example<S> example) {
+        throw unsupported();
+    }
+
+    @Override
+    public <S extends Student> Page<S> findAll(Example<S> example, Pageable pageable) {
+        throw unsupported();
+    }
+
+    @Override
+    public <S extends Student> long count(Example<S> example) {
+        throw unsupported();
+    }
+
+    @Override
+    public <S extends Student> boolean exists(Example<S> example) {
+        throw unsupported();
+    }
+
+    @Override
+    public <S extends Student, R> R findBy(Example<S> example,
+            Function<FluentQuery.FetchableFluentQuery<S>, R> queryFunction) {
+        throw unsupported();
+    }
+}
@@ -0,0 +1,67 @@
+package com.restful.quanlysinhvien.benchmark;
+
+import com.restful.quanlysinhvien.domain.dto.StudentDTO;
+import com.restful.quanlysinhvien.domain.dto.StudentListRow;
+import com.restful.quanlysinhvien.domain.dto.VersionedStudentDTO;
+import com.restful.quanlysinhvien.services.service_impl.StudentDTOCache;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Đường chuyển dữ liệu sang {@link StudentDTO} của {@code GET /students/{stuCode}}.
+ *
+ * <p>
+ * Service không còn map entity sang DTO (các truy vấn đọc dùng projection
+ * constructor), nên phần còn lại trên hot path là {@link StudentDTOCache}: hit
+ * đọc lại DTO từ bản JSON đã cache, miss serialize kết quả projection rồi đọc
+ * lại. Repository được thay bằng {@link StubStudentRepository} trả dòng
+ * projection cố định để chỉ đo phần chuyển đổi.
+ * </p>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class StudentDTOCacheBenchmark {
+    private static final String STUDENT_CODE = "SV000001";
+
+    private StudentDTOCache cache;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        StudentDTO s = BenchmarkFixtures.student(1);
+        StudentListRow row = new StudentListRow(1L, 0L, s.getStudentCode(), s.getFullName(), s.getEmail(),
+                s.getDateOfBirth(), s.getAddress(), s.getGender(), s.getClassName(), s.getRoleId());
+        this.cache = new StudentDTOCache(new StubStudentRepository(row), BenchmarkFixtures.objectMapper(),
+                new SimpleMeterRegistry(), 10_000, Duration.ofMinutes(10));
+        this.cache.findByStudentCode(STUDENT_CODE);
+    }
+
+    @Benchmark
+    public VersionedStudentDTO hit() {
+        return this.cache.findByStudentCode(STUDENT_CODE);
+    }
+
+    @Benchmark
+    public VersionedStudentDTO miss() {
+        this.cache.evict(STUDENT_CODE);
+        return this.cache.findByStudentCode(STUDENT_CODE);
+    }
+}
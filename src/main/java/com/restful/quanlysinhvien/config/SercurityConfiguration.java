@@ -1,5 +1,6 @@
 package com.restful.quanlysinhvien.config;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.authentication.AuthenticationManager;
@@ -12,14 +13,21 @@ import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 
-import com.restful.quanlysinhvien.services.service_impl.StudentService;
+import com.restful.quanlysinhvien.util.ExecutorPasswordEncoder;
+
+import io.micrometer.core.instrument.MeterRegistry;
 
 @Configuration
 @EnableMethodSecurity(securedEnabled = true)
 public class SercurityConfiguration {
+    // BCrypt chạy trên thread pool riêng (mặc định số thread = số CPU), xem
+    // ExecutorPasswordEncoder
     @Bean
-    public PasswordEncoder passwordEncode() {
-        return new BCryptPasswordEncoder();
+    public ExecutorPasswordEncoder passwordEncode(MeterRegistry meterRegistry,
+            @Value("${app.password-hashing.threads:0}") int threads,
+            @Value("${app.password-hashing.queue-capacity:1000}") int queueCapacity) {
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        return new ExecutorPasswordEncoder(new BCryptPasswordEncoder(), poolSize, queueCapacity, meterRegistry);
     }
 
     @Bean
@@ -0,0 +1,77 @@
+package com.restful.quanlysinhvien.config;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.restful.quanlysinhvien.util.EnvelopeCborHttpMessageConverter;
+import com.restful.quanlysinhvien.util.EnvelopeConverter;
+import com.restful.quanlysinhvien.util.EnvelopeHttpMessageConverter;
+import com.restful.quanlysinhvien.util.EnvelopeSmileHttpMessageConverter;
+import com.restful.quanlysinhvien.util.StudentProtobufHttpMessageConverter;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.List;
+
+/**
+ * Cấu hình Spring MVC: thay các converter Jackson mặc định bằng converter ghi
+ * envelope của {@code FormatRestResponse} theo kiểu streaming, và thêm các định
+ * dạng nhị phân chọn qua header {@code Accept}: Smile
+ * ({@code application/x-jackson-smile}), CBOR ({@code application/cbor}) và
+ * Protobuf ({@code application/x-protobuf}). JSON vẫn là mặc định.
+ */
+@Configuration
+public class WebMvcConfiguration implements WebMvcConfigurer {
+    private final ObjectProvider<Jackson2ObjectMapperBuilder> objectMapperBuilder;
+
+    public WebMvcConfiguration(ObjectProvider<Jackson2ObjectMapperBuilder> objectMapperBuilder) {
+        this.objectMapperBuilder = objectMapperBuilder;
+    }
+
+    /**
+     * Thay tại đúng vị trí cũ để giữ thứ tự ưu tiên (String, byte[]... vẫn đứng
+     * trước, JSON đứng trước các định dạng nhị phân).
+     *
+     * @param converters danh sách converter của Spring MVC
+     */
+    @Override
+    public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+        boolean smile = false;
+        boolean cbor = false;
+        for (int i = 0; i < converters.size(); i++) {
+            HttpMessageConverter<?> converter = converters.get(i);
+            if (converter instanceof EnvelopeConverter) {
+                continue;
+            }
+            if (converter instanceof MappingJackson2HttpMessageConverter jackson) {
+                converters.set(i, new EnvelopeHttpMessageConverter(jackson.getObjectMapper()));
+            } else if (converter instanceof MappingJackson2SmileHttpMessageConverter) {
+                converters.set(i, new EnvelopeSmileHttpMessageConverter(binaryObjectMapper(new SmileFactory())));
+                smile = true;
+            } else if (converter instanceof MappingJackson2CborHttpMessageConverter) {
+                converters.set(i, new EnvelopeCborHttpMessageConverter(binaryObjectMapper(new CBORFactory())));
+                cbor = true;
+            }
+        }
+        if (!smile) {
+            converters.add(new EnvelopeSmileHttpMessageConverter(binaryObjectMapper(new SmileFactory())));
+        }
+        if (!cbor) {
+            converters.add(new EnvelopeCborHttpMessageConverter(binaryObjectMapper(new CBORFactory())));
+        }
+        converters.add(new StudentProtobufHttpMessageConverter());
+    }
+
+    // cùng cấu hình Jackson của Spring Boot (ngày dạng ISO, module...) như JSON
+    private ObjectMapper binaryObjectMapper(JsonFactory factory) {
+        return this.objectMapperBuilder.getObject().factory(factory).build();
+    }
+}
@@ -3,36 +3,63 @@ package com.restful.quanlysinhvien.controller;
 import org.springframework.web.bind.annotation.RestController;
 
 import com.restful.quanlysinhvien.domain.dto.LoginDTO;
+import com.restful.quanlysinhvien.util.ExecutorPasswordEncoder;
 
 import jakarta.validation.Valid;
-import lombok.AllArgsConstructor;
 
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
-import org.springframework.security.config.annotation.authentication.builders.AuthenticationManagerBuilder;
-import org.springframework.security.core.Authentication;
+import org.springframework.security.authentication.AccountStatusUserDetailsChecker;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsChecker;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 
+import java.util.concurrent.CompletableFuture;
+
 @RestController
-@AllArgsConstructor
 public class AuthController {
-    private final AuthenticationManagerBuilder authenticationManagerBuilder;
+    private static final String BAD_CREDENTIALS = "Bad credentials";
+
+    private final UserDetailsService userDetailsService;
+    private final ExecutorPasswordEncoder passwordEncoder;
+    private final UserDetailsChecker userDetailsChecker = new AccountStatusUserDetailsChecker();
+    // hash giả để mã sinh viên không tồn tại cũng tốn một lần BCrypt như sai mật
+    // khẩu (giống DaoAuthenticationProvider), không đoán được mã qua thời gian
+    private final String userNotFoundHash;
+
+    public AuthController(UserDetailsService userDetailsService, ExecutorPasswordEncoder passwordEncoder) {
+        this.userDetailsService = userDetailsService;
+        this.passwordEncoder = passwordEncoder;
+        this.userNotFoundHash = passwordEncoder.encode("userNotFoundPassword");
+    }
 
+    /**
+     * Đăng nhập. Tìm tài khoản (cache/database) chạy trên thread xử lý request,
+     * chỉ bước so BCrypt được đưa sang pool hash; lỗi xác thực vẫn do
+     * GlobalException xử lý.
+     */
     @PostMapping("/login")
-    public ResponseEntity<LoginDTO> postMethodName(@Valid @RequestBody LoginDTO loginDTO) {
-        // Xác thực thông tin đăng nhập
-        // Authentication authentication = authenticationManager.authenticate(
-        // new UsernamePasswordAuthenticationToken(
-        // loginDTO.getUsername(),
-        // loginDTO.getPassword()));
-
-        // // Lưu thông tin xác thực vào SecurityContext
-        // SecurityContextHolder.getContext().setAuthentication(authentication);
-        UsernamePasswordAuthenticationToken token = new UsernamePasswordAuthenticationToken(loginDTO.getUsername(),
-                loginDTO.getPassword());
-        Authentication authentication = authenticationManagerBuilder.getObject().authenticate(token);
-        return ResponseEntity.ok(loginDTO);
+    public CompletableFuture<ResponseEntity<LoginDTO>> postMethodName(@Valid @RequestBody LoginDTO loginDTO) {
+        UserDetails user;
+        try {
+            user = this.userDetailsService.loadUserByUsername(loginDTO.getUsername());
+        } catch (UsernameNotFoundException e) {
+            return this.passwordEncoder.matchesAsync(loginDTO.getPassword(), this.userNotFoundHash)
+                    .thenApply(matched -> {
+                        throw new BadCredentialsException(BAD_CREDENTIALS);
+                    });
+        }
+        this.userDetailsChecker.check(user);
+        return this.passwordEncoder.matchesAsync(loginDTO.getPassword(), user.getPassword())
+                .thenApply(matched -> {
+                    if (!matched) {
+                        throw new BadCredentialsException(BAD_CREDENTIALS);
+                    }
+                    return ResponseEntity.ok(loginDTO);
+                });
     }
 
 }
@@ -2,13 +2,26 @@ package com.restful.quanlysinhvien.controller;
 
 import com.restful.quanlysinhvien.doc.StudentApiDoc;
 import com.restful.quanlysinhvien.domain.CustomResponse;
+import com.restful.quanlysinhvien.domain.dto.BatchResultDTO;
+import com.restful.quanlysinhvien.domain.dto.ETaggedResult;
+import com.restful.quanlysinhvien.domain.dto.ResultCursorDTO;
 import com.restful.quanlysinhvien.domain.dto.ResultPaginationDTO;
+import com.restful.quanlysinhvien.domain.dto.ResultSearchDTO;
 import com.restful.quanlysinhvien.domain.dto.StudentDTO;
+import com.restful.quanlysinhvien.domain.dto.StudentFilter;
+import com.restful.quanlysinhvien.domain.dto.StudentSuggestionDTO;
 import com.restful.quanlysinhvien.domain.dto.StudentUpdateDTO;
+import com.restful.quanlysinhvien.domain.dto.VersionedStudentDTO;
 import com.restful.quanlysinhvien.services.service_impl.StudentService;
+import com.restful.quanlysinhvien.util.ETags;
+import com.restful.quanlysinhvien.util.ExportFormat;
+import com.restful.quanlysinhvien.util.NegotiatedETags;
 import com.restful.quanlysinhvien.util.error.BadRequestExceptionCustom;
+import com.restful.quanlysinhvien.util.error.PreconditionFailedException;
 import com.restful.quanlysinhvien.util.error.ResourceNotFoundException;
 
+import com.fasterxml.jackson.databind.JsonNode;
+
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.ExampleObject;
@@ -17,13 +30,21 @@ import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
 import lombok.AllArgsConstructor;
+
+import org.springdoc.core.annotations.ParameterObject;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.ErrorResponse;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
 import java.util.Optional;
@@ -41,6 +62,7 @@ import java.util.Optional;
 @Validated
 public class StudentController {
         private final StudentService studentService;
+        private final NegotiatedETags negotiatedETags;
 
         // @PostMapping("/hehe")
         // public ResponseEntity<LoginDTO> getLogin(@Valid @RequestBody LoginDTO
@@ -53,10 +75,21 @@ public class StudentController {
         /**
          * API lấy danh sách sinh viên có hỗ trợ phân trang.
          * Nếu không truyền current và pageSize thì trả toàn bộ danh sách.
+         * Nếu có tham số after thì dùng phân trang keyset (cursor): after rỗng là
+         * trang đầu, các trang sau truyền lại meta.nextCursor.
          *
          * @param currentOptional  chỉ số trang hiện tại (bắt đầu từ 1). Optional.
          * @param pageSizeOptional số lượng phần tử mỗi trang. Optional.
-         * @return ResponseEntity chứa danh sách sinh viên (phân trang hoặc toàn bộ)
+         * @param afterOptional    cursor của trang trước (chế độ keyset). Optional.
+         * @param orderByOptional  khóa sắp xếp cho chế độ keyset: id hoặc
+         *                         studentCode. Optional.
+         * @param filter           lọc theo className, gender, roleId, bornFrom,
+         *                         bornTo, sắp xếp theo sort và chọn trường trả về
+         *                         bằng fields (không dùng cùng after). Optional.
+         * @param webRequest       request hiện tại, dùng để kiểm tra If-None-Match và
+         *                         chọn ETag theo định dạng (Accept)
+         * @return ResponseEntity chứa danh sách sinh viên (phân trang hoặc toàn bộ),
+         *         hoặc 304 không có body nếu ETag khớp
          * @throws BadRequestExceptionCustom nếu current/pageSize không hợp lệ (không
          *                                   phải số, hoặc <= 0)
          */
@@ -65,26 +98,128 @@ public class StudentController {
                         @ApiResponse(responseCode = StudentApiDoc.STATUS_CODE_OK, description = "Thành công", content = {
                                         @Content(mediaType = "application/json", schema = @Schema(oneOf = {
                                                         ResultPaginationDTO.class,
+                                                        ResultCursorDTO.class,
                                                         List.class
                                         }), examples = {
                                                         @ExampleObject(name = "Không phân trang", value = StudentApiDoc.EXAMPLE_NO_PAGINATION),
-                                                        @ExampleObject(name = "Có phân trang", value = StudentApiDoc.EXAMPLE_PAGINATION)
+                                                        @ExampleObject(name = "Có phân trang", value = StudentApiDoc.EXAMPLE_PAGINATION),
+                                                        @ExampleObject(name = "Phân trang cursor", value = StudentApiDoc.EXAMPLE_CURSOR_PAGINATION)
                                         })
                         }),
+                        @ApiResponse(responseCode = StudentApiDoc.STATUS_CODE_NOT_MODIFIED, description = "Danh sách không thay đổi (If-None-Match khớp)"),
                         @ApiResponse(responseCode = StudentApiDoc.STATUS_CODE_BAD_REQUEST, description = "Tham số không hợp lệ", content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorResponse.class), examples = @ExampleObject(value = StudentApiDoc.EXAMPLE_400)))
         })
         @GetMapping(value = "/students")
         public ResponseEntity<Object> getAllStudentsPagination(
+                        @RequestParam("current") Optional<String> currentOptional,
+                        @RequestParam("pageSize") Optional<String> pageSizeOptional,
+                        @RequestParam("after") Optional<String> afterOptional,
+                        @RequestParam("orderBy") Optional<String> orderByOptional,
+                        @ParameterObject StudentFilter filter,
+                        NativeWebRequest webRequest) {
+                if (afterOptional.isPresent() && !filter.isEmpty()) {
+                        throw new BadRequestExceptionCustom(
+                                        "Filters, sort and fields are not supported with cursor pagination");
+                }
+                // chỉ request có điều kiện mới tính ETag trước (truy vấn id/version nhẹ),
+                // để trả 304 trước khi đọc dữ liệu và trước khi FormatRestResponse bọc
+                // envelope
+                if (webRequest.getHeader(HttpHeaders.IF_NONE_MATCH) != null
+                                && webRequest.checkNotModified(this.negotiatedETags.forRequest(
+                                                this.studentService.getListETag(currentOptional, pageSizeOptional,
+                                                                afterOptional, orderByOptional, filter),
+                                                webRequest))) {
+                        return null;
+                }
+                // ETag lấy từ version của chính các dòng trả về
+                ETaggedResult<?> list = this.studentService.getList(currentOptional, pageSizeOptional, afterOptional,
+                                orderByOptional, filter);
+                return ResponseEntity.ok().eTag(this.negotiatedETags.forRequest(list.getETag(), webRequest))
+                                .body(list.getBody());
+        }
+
+        /**
+         * Export toàn bộ danh sách sinh viên dạng streaming (NDJSON hoặc CSV).
+         * Dữ liệu được ghi thẳng ra response theo từng dòng, không bọc trong
+         * CustomResponse và không nạp cả danh sách vào bộ nhớ.
+         *
+         * @param formatOptional định dạng xuất: ndjson (mặc định) hoặc csv
+         * @return ResponseEntity chứa StreamingResponseBody
+         * @throws BadRequestExceptionCustom nếu định dạng không được hỗ trợ
+         */
+        @Operation(summary = StudentApiDoc.EXPORT_STUDENTS_SUMMARY, description = StudentApiDoc.EXPORT_STUDENTS_DESC)
+        @ApiResponses({
+                        @ApiResponse(responseCode = StudentApiDoc.STATUS_CODE_OK, description = "Thành công", content = {
+                                        @Content(mediaType = "application/x-ndjson", examples = @ExampleObject(value = StudentApiDoc.EXAMPLE_EXPORT_NDJSON)),
+                                        @Content(mediaType = "text/csv", examples = @ExampleObject(value = StudentApiDoc.EXAMPLE_EXPORT_CSV))
+                        }),
+                        @ApiResponse(responseCode = StudentApiDoc.STATUS_CODE_BAD_REQUEST, description = "Định dạng không hợp lệ", content = @Content(mediaType = "application/json", schema = @Schema(implementation = CustomResponse.class)))
+        })
+        @GetMapping(value = "/students/export")
+        public ResponseEntity<StreamingResponseBody> exportStudents(
+                        @RequestParam("format") Optional<String> formatOptional) {
+                ExportFormat format = ExportFormat.fromParam(formatOptional.orElse(ExportFormat.NDJSON.getExtension()));
+                StreamingResponseBody body = out -> this.studentService.exportStu(out, format);
+                return ResponseEntity.ok()
+                                .contentType(format.getMediaType())
+                                .header(HttpHeaders.CONTENT_DISPOSITION,
+                                                "attachment; filename=\"students." + format.getExtension() + "\"")
+                                .body(body);
+        }
+
+        /**
+         * Tìm kiếm toàn văn sinh viên theo họ tên, email và địa chỉ.
+         *
+         * @param q                chuỗi tìm kiếm (2-100 ký tự)
+         * @param currentOptional  số trang (mặc định 1). Optional.
+         * @param pageSizeOptional kích thước trang (mặc định 20, tối đa 100).
+         *                         Optional.
+         * @return ResponseEntity chứa kết quả xếp theo độ liên quan
+         * @throws BadRequestExceptionCustom nếu tham số không hợp lệ
+         */
+        @Operation(summary = StudentApiDoc.SEARCH_STUDENTS_SUMMARY, description = StudentApiDoc.SEARCH_STUDENTS_DESC)
+        @ApiResponses({
+                        @ApiResponse(responseCode = StudentApiDoc.STATUS_CODE_OK, description = "Thành công", content = @Content(mediaType = "application/json", schema = @Schema(implementation = ResultSearchDTO.class), examples = @ExampleObject(value = StudentApiDoc.EXAMPLE_SEARCH_RESULT))),
+                        @ApiResponse(responseCode = StudentApiDoc.STATUS_CODE_BAD_REQUEST, description = "Tham số không hợp lệ", content = @Content(mediaType = "application/json", schema = @Schema(implementation = CustomResponse.class), examples = @ExampleObject(value = StudentApiDoc.EXAMPLE_400)))
+        })
+        @GetMapping(value = "/students/search")
+        public ResponseEntity<ResultSearchDTO> searchStudents(
+                        @RequestParam("q") String q,
                         @RequestParam("current") Optional<String> currentOptional,
                         @RequestParam("pageSize") Optional<String> pageSizeOptional) {
-                return ResponseEntity.ok(this.studentService.getAll(currentOptional, pageSizeOptional));
+                return ResponseEntity.ok(this.studentService.searchStu(q, currentOptional, pageSizeOptional));
+        }
+
+        /**
+         * Gợi ý sinh viên cho ô tìm kiếm autocomplete.
+         *
+         * @param q             chuỗi người dùng đang gõ
+         * @param limitOptional số gợi ý tối đa (mặc định 10, tối đa 50). Optional.
+         * @return ResponseEntity chứa danh sách mã và họ tên sinh viên
+         * @throws BadRequestExceptionCustom nếu tham số không hợp lệ
+         */
+        @Operation(summary = StudentApiDoc.SUGGEST_STUDENTS_SUMMARY, description = StudentApiDoc.SUGGEST_STUDENTS_DESC)
+        @ApiResponses({
+                        @ApiResponse(responseCode = StudentApiDoc.STATUS_CODE_OK, description = "Thành công", content = @Content(mediaType = "application/json", examples = @ExampleObject(value = StudentApiDoc.EXAMPLE_SUGGEST_RESULT))),
+                        @ApiResponse(responseCode = StudentApiDoc.STATUS_CODE_BAD_REQUEST, description = "Tham số không hợp lệ", content = @Content(mediaType = "application/json", schema = @Schema(implementation = CustomResponse.class), examples = @ExampleObject(value = StudentApiDoc.EXAMPLE_400)))
+        })
+        @GetMapping(value = "/students/suggest")
+        public ResponseEntity<List<StudentSuggestionDTO>> suggestStudents(
+                        @RequestParam("q") String q,
+                        @RequestParam("limit") Optional<String> limitOptional) {
+                return ResponseEntity.ok(this.studentService.suggestStu(q, limitOptional));
         }
 
         /**
          * Lấy thông tin sinh viên theo mã sinh viên.
          *
-         * @param stuCode Mã sinh viên (không được để trống)
-         * @return ResponseEntity chứa StudentDTO tương ứng
+         * @param stuCode        Mã sinh viên (không được để trống)
+         * @param fieldsOptional các trường cần trả về, cách nhau bởi dấu phẩy.
+         *                       Optional.
+         * @param webRequest     request hiện tại, dùng để kiểm tra If-None-Match và
+         *                       chọn ETag theo định dạng (Accept)
+         * @return ResponseEntity chứa StudentDTO tương ứng, hoặc 304 không có body
+         *         nếu ETag khớp
          * @throws ResourceNotFoundException                       nếu không tìm thấy
          *                                                         sinh viên
          * @throws jakarta.validation.ConstraintViolationException nếu @PathVariable có
@@ -93,13 +228,21 @@ public class StudentController {
         @Operation(summary = StudentApiDoc.GET_STUDENT_BY_CODE_SUMMARY, description = StudentApiDoc.GET_STUDENT_BY_CODE_DESC)
         @ApiResponses(value = {
                         @ApiResponse(responseCode = StudentApiDoc.STATUS_CODE_OK, description = "Tìm thấy sinh viên", content = @Content(mediaType = "application/json", schema = @Schema(implementation = StudentDTO.class), examples = @ExampleObject(value = StudentApiDoc.EXAMPLE_FOUND))),
+                        @ApiResponse(responseCode = StudentApiDoc.STATUS_CODE_NOT_MODIFIED, description = "Sinh viên không thay đổi (If-None-Match khớp)"),
                         @ApiResponse(responseCode = StudentApiDoc.STATUS_CODE_NOT_FOUND, description = "Không tìm thấy sinh viên", content = @Content(mediaType = "application/json", schema = @Schema(implementation = CustomResponse.class), examples = @ExampleObject(value = StudentApiDoc.EXAMPLE_NOT_FOUND)))
         })
         @GetMapping(value = "/students/{stuCode}")
-        public ResponseEntity<StudentDTO> getStudentByStuCode(
-                        @PathVariable("stuCode") @NotBlank(message = "Student code must not be empty") String stuCode) {
-                StudentDTO studentDTO = this.studentService.getStuByStuCode(stuCode);
-                return ResponseEntity.ok(studentDTO);
+        public ResponseEntity<Object> getStudentByStuCode(
+                        @PathVariable("stuCode") @NotBlank(message = "Student code must not be empty") String stuCode,
+                        @RequestParam("fields") Optional<String> fieldsOptional,
+                        NativeWebRequest webRequest) {
+                // version được cache cùng dữ liệu: hit không tốn truy vấn, kể cả khi trả 304
+                ETaggedResult<Object> student = this.studentService.getStuByStuCode(stuCode, fieldsOptional);
+                String eTag = this.negotiatedETags.forRequest(student.getETag(), webRequest);
+                if (webRequest.checkNotModified(eTag)) {
+                        return null;
+                }
+                return ResponseEntity.ok().eTag(eTag).body(student.getBody());
         }
 
         /**
@@ -127,9 +270,14 @@ public class StudentController {
          *
          * @param stuCode          Mã sinh viên cần cập nhật
          * @param studentUpdateDTO Thông tin cập nhật (phải hợp lệ)
+         * @param ifMatch          ETag đã nhận từ GET (header If-Match). Optional.
+         * @param webRequest       request hiện tại, dùng để chọn ETag theo định dạng
+         *                         (Accept)
          * @return ResponseEntity với mã trạng thái 200 nếu cập nhật thành
          *         công với data là studentDTO đã update
          * @throws MethodArgumentNotValidException                 nếu @Valid có lỗi
+         * @throws PreconditionFailedException                     nếu ETag trong
+         *                                                         If-Match đã cũ
          * @throws jakarta.validation.ConstraintViolationException nếu @PathVariable có
          *                                                         lỗi
          */
@@ -138,13 +286,61 @@ public class StudentController {
                         @ApiResponse(responseCode = StudentApiDoc.STATUS_CODE_BAD_REQUEST, description = "Lỗi dữ liệu gửi lên không hợp lệ hoặc stored procedure thất bại", content = @Content(mediaType = "application/json", examples = @ExampleObject(value = StudentApiDoc.EXAMPLE_VALIDATION_ERROR))),
                         @ApiResponse(responseCode = StudentApiDoc.STATUS_CODE_NOT_FOUND, description = "Không tìm thấy mã sinh viên hoặc lớp học", content = @Content(mediaType = "application/json", examples = @ExampleObject(value = StudentApiDoc.EXAMPLE_NOT_FOUND))),
                         @ApiResponse(responseCode = StudentApiDoc.STATUS_CODE_CONFLICT, description = "Email đã tồn tại và thuộc về sinh viên khác", content = @Content(mediaType = "application/json", examples = @ExampleObject(value = StudentApiDoc.EXAMPLE_DUPLICATE))),
+                        @ApiResponse(responseCode = StudentApiDoc.STATUS_CODE_PRECONDITION_FAILED, description = "Sinh viên đã bị sửa bởi request khác (If-Match không khớp)", content = @Content(mediaType = "application/json", examples = @ExampleObject(value = StudentApiDoc.EXAMPLE_PRECONDITION_FAILED))),
                         @ApiResponse(responseCode = StudentApiDoc.STATUS_CODE_INTERNAL_SERVER_ERROR, description = "Lỗi hệ thống không mong muốn", content = @Content(mediaType = "application/json", examples = @ExampleObject(value = StudentApiDoc.EXAMPLE_UNEXPECTED_ERROR)))
         })
         @PutMapping(value = "/students/{stuCode}")
         public ResponseEntity<StudentDTO> updateStudentByStuCode(
                         @PathVariable("stuCode") @NotBlank(message = "Student code must not be empty") String stuCode,
-                        @Valid @RequestBody StudentUpdateDTO studentUpdateDTO) {
-                return ResponseEntity.ok(this.studentService.updateStu(studentUpdateDTO, stuCode));
+                        @Valid @RequestBody StudentUpdateDTO studentUpdateDTO,
+                        @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+                        NativeWebRequest webRequest) {
+                Long expectedVersion = ETags.parseIfMatch(ifMatch);
+                StudentDTO studentDTO = this.studentService.updateStu(studentUpdateDTO, stuCode, expectedVersion);
+                if (expectedVersion == null) {
+                        return ResponseEntity.ok(studentDTO);
+                }
+                // version vừa được tăng đúng 1 trong cùng transaction
+                return ResponseEntity.ok()
+                                .eTag(this.negotiatedETags.forRequest(ETags.fromVersion(expectedVersion + 1), webRequest))
+                                .body(studentDTO);
+        }
+
+        /**
+         * Cập nhật một phần thông tin sinh viên (JSON Merge Patch).
+         *
+         * @param stuCode Mã sinh viên cần cập nhật
+         * @param patch   Các trường cần thay đổi
+         * @param ifMatch ETag đã nhận từ GET (header If-Match). Optional.
+         * @param webRequest request hiện tại, dùng để chọn ETag theo định dạng (Accept)
+         * @return ResponseEntity với mã trạng thái 200, ETag mới và studentDTO sau
+         *         khi cập nhật
+         * @throws BadRequestExceptionCustom                       nếu patch không
+         *                                                         phải JSON object
+         * @throws PreconditionFailedException                     nếu ETag trong
+         *                                                         If-Match đã cũ
+         * @throws jakarta.validation.ConstraintViolationException nếu dữ liệu sau khi
+         *                                                         áp patch không hợp lệ
+         */
+        @Operation(summary = StudentApiDoc.PATCH_STUDENT_SUMMARY, description = StudentApiDoc.PATCH_STUDENT_DESC, requestBody = @io.swagger.v3.oas.annotations.parameters.RequestBody(content = @Content(mediaType = "application/merge-patch+json", examples = @ExampleObject(value = StudentApiDoc.EXAMPLE_PATCH_REQUEST))), responses = {
+                        @ApiResponse(responseCode = StudentApiDoc.STATUS_CODE_OK, description = "Cập nhật thành công", content = @Content(mediaType = "application/json", examples = @ExampleObject(value = StudentApiDoc.EXAMPLE_UPDATE_SUCCESS))),
+                        @ApiResponse(responseCode = StudentApiDoc.STATUS_CODE_BAD_REQUEST, description = "Patch không hợp lệ hoặc stored procedure thất bại", content = @Content(mediaType = "application/json", examples = @ExampleObject(value = StudentApiDoc.EXAMPLE_VALIDATION_ERROR))),
+                        @ApiResponse(responseCode = StudentApiDoc.STATUS_CODE_NOT_FOUND, description = "Không tìm thấy mã sinh viên hoặc lớp học", content = @Content(mediaType = "application/json", examples = @ExampleObject(value = StudentApiDoc.EXAMPLE_NOT_FOUND))),
+                        @ApiResponse(responseCode = StudentApiDoc.STATUS_CODE_CONFLICT, description = "Email đã tồn tại và thuộc về sinh viên khác", content = @Content(mediaType = "application/json", examples = @ExampleObject(value = StudentApiDoc.EXAMPLE_DUPLICATE))),
+                        @ApiResponse(responseCode = StudentApiDoc.STATUS_CODE_PRECONDITION_FAILED, description = "Sinh viên đã bị sửa bởi request khác (If-Match không khớp)", content = @Content(mediaType = "application/json", examples = @ExampleObject(value = StudentApiDoc.EXAMPLE_PRECONDITION_FAILED)))
+        })
+        @PatchMapping(value = "/students/{stuCode}", consumes = { "application/merge-patch+json",
+                        MediaType.APPLICATION_JSON_VALUE })
+        public ResponseEntity<StudentDTO> patchStudentByStuCode(
+                        @PathVariable("stuCode") @NotBlank(message = "Student code must not be empty") String stuCode,
+                        @RequestBody JsonNode patch,
+                        @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+                        NativeWebRequest webRequest) {
+                VersionedStudentDTO patched = this.studentService.patchStu(stuCode, patch,
+                                ETags.parseIfMatch(ifMatch));
+                return ResponseEntity.ok()
+                                .eTag(this.negotiatedETags.forRequest(ETags.fromVersion(patched.getVersion()), webRequest))
+                                .body(patched.getStudent());
         }
 
         /**
@@ -170,4 +366,25 @@ public class StudentController {
                 this.studentService.createStu(studentDTO);
                 return ResponseEntity.status(HttpStatus.CREATED).body(studentDTO);
         }
+
+        /**
+         * Tạo mới nhiều sinh viên trong một request (tối đa 5000 dòng).
+         *
+         * @param studentDTOs Danh sách sinh viên mới (từng phần tử phải hợp lệ)
+         * @return ResponseEntity chứa kết quả từng dòng: CREATED, DUPLICATE,
+         *         CLASS_NOT_FOUND, ROLE_NOT_FOUND hoặc CLASS_FULL
+         * @throws jakarta.validation.ConstraintViolationException nếu danh sách rỗng,
+         *                                                         quá lớn hoặc có
+         *                                                         phần tử không hợp lệ
+         */
+        @Operation(summary = StudentApiDoc.CREATE_STUDENT_BATCH_SUMMARY, description = StudentApiDoc.CREATE_STUDENT_BATCH_DESC)
+        @ApiResponses(value = {
+                        @ApiResponse(responseCode = StudentApiDoc.STATUS_CODE_OK, description = "Đã xử lý, xem kết quả từng dòng", content = @Content(mediaType = "application/json", schema = @Schema(implementation = BatchResultDTO.class), examples = @ExampleObject(value = StudentApiDoc.EXAMPLE_CREATE_BATCH_RESULT))),
+                        @ApiResponse(responseCode = StudentApiDoc.STATUS_CODE_BAD_REQUEST, description = "Danh sách rỗng, quá lớn hoặc có phần tử không hợp lệ", content = @Content(mediaType = "application/json", examples = @ExampleObject(value = StudentApiDoc.EXAMPLE_CREATE_VALIDATION_ERROR)))
+        })
+        @PostMapping(value = "/students/batch")
+        public ResponseEntity<BatchResultDTO> createStudentsBatch(
+                        @RequestBody @NotEmpty(message = "Student list must not be empty") @Size(max = 5000, message = "At most 5000 students per batch") List<@Valid StudentDTO> studentDTOs) {
+                return ResponseEntity.ok(this.studentService.createStuBatch(studentDTOs));
+        }
 }
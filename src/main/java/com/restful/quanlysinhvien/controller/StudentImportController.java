@@ -0,0 +1,75 @@
+package com.restful.quanlysinhvien.controller;
+
+import com.restful.quanlysinhvien.doc.StudentApiDoc;
+import com.restful.quanlysinhvien.domain.CustomResponse;
+import com.restful.quanlysinhvien.domain.dto.ImportJobDTO;
+import com.restful.quanlysinhvien.services.IStudentImportService;
+import com.restful.quanlysinhvien.util.error.BadRequestExceptionCustom;
+import com.restful.quanlysinhvien.util.error.ResourceNotFoundException;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.ExampleObject;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import jakarta.validation.constraints.NotBlank;
+import lombok.AllArgsConstructor;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.multipart.MultipartFile;
+
+/**
+ * API import sinh viên hàng loạt từ file CSV (chạy nền, theo dõi tiến độ qua
+ * job id).
+ */
+@AllArgsConstructor
+@RestController
+@Validated
+public class StudentImportController {
+        private final IStudentImportService studentImportService;
+
+        /**
+         * Upload file CSV và tạo job import chạy nền.
+         *
+         * @param file file CSV, dòng đầu là header (studentCode, fullName, email,
+         *             password, dateOfBirth, address, gender, className, roleId)
+         * @return ResponseEntity với mã 202 Accepted chứa trạng thái ban đầu của job
+         * @throws BadRequestExceptionCustom nếu file rỗng hoặc hàng đợi import đã đầy
+         */
+        @Operation(summary = StudentApiDoc.IMPORT_STUDENTS_SUMMARY, description = StudentApiDoc.IMPORT_STUDENTS_DESC)
+        @ApiResponses(value = {
+                        @ApiResponse(responseCode = StudentApiDoc.STATUS_CODE_ACCEPTED, description = "Đã nhận file, job đang chờ xử lý", content = @Content(mediaType = "application/json", schema = @Schema(implementation = ImportJobDTO.class), examples = @ExampleObject(value = StudentApiDoc.EXAMPLE_IMPORT_JOB))),
+                        @ApiResponse(responseCode = StudentApiDoc.STATUS_CODE_BAD_REQUEST, description = "File rỗng hoặc hàng đợi import đã đầy", content = @Content(mediaType = "application/json", schema = @Schema(implementation = CustomResponse.class)))
+        })
+        @PostMapping(value = "/students/import", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+        public ResponseEntity<ImportJobDTO> importStudents(@RequestParam("file") MultipartFile file) {
+                return ResponseEntity.status(HttpStatus.ACCEPTED).body(this.studentImportService.startImport(file));
+        }
+
+        /**
+         * Lấy trạng thái, tiến độ và báo cáo lỗi từng dòng của một job import.
+         *
+         * @param jobId mã job trả về khi upload
+         * @return ResponseEntity chứa trạng thái job
+         * @throws ResourceNotFoundException nếu không tìm thấy job
+         */
+        @Operation(summary = StudentApiDoc.IMPORT_JOB_STATUS_SUMMARY, description = StudentApiDoc.IMPORT_JOB_STATUS_DESC)
+        @ApiResponses(value = {
+                        @ApiResponse(responseCode = StudentApiDoc.STATUS_CODE_OK, description = "Trạng thái job", content = @Content(mediaType = "application/json", schema = @Schema(implementation = ImportJobDTO.class), examples = @ExampleObject(value = StudentApiDoc.EXAMPLE_IMPORT_JOB))),
+                        @ApiResponse(responseCode = StudentApiDoc.STATUS_CODE_NOT_FOUND, description = "Không tìm thấy job", content = @Content(mediaType = "application/json", schema = @Schema(implementation = CustomResponse.class)))
+        })
+        @GetMapping(value = "/students/import/{jobId}")
+        public ResponseEntity<ImportJobDTO> getImportJob(
+                        @PathVariable("jobId") @NotBlank(message = "Job id must not be empty") String jobId) {
+                return ResponseEntity.ok(this.studentImportService.getImportJob(jobId));
+        }
+}
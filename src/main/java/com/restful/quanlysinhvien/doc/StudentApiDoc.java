@@ -7,9 +7,20 @@ public class StudentApiDoc {
   public static final String STATUS_CODE_BAD_REQUEST = "400";
   public static final String STATUS_CODE_CONFLICT = "409";
   public static final String STATUS_CODE_CREATED = "201";
+  public static final String STATUS_CODE_ACCEPTED = "202";
+  public static final String STATUS_CODE_NOT_MODIFIED = "304";
+  public static final String STATUS_CODE_PRECONDITION_FAILED = "412";
   public static final String STATUS_CODE_INTERNAL_SERVER_ERROR = "500";
   public static final String SUMMARY_GET_STUDENTS = "Lấy danh sách sinh viên";
-  public static final String DESC_GET_STUDENTS = "API hỗ trợ phân trang. Nếu không truyền tham số, trả về toàn bộ danh sách.";
+  public static final String DESC_GET_STUDENTS = "API hỗ trợ phân trang. Nếu không truyền tham số, trả về toàn bộ danh sách. "
+      + "Truyền after (rỗng cho trang đầu) để dùng phân trang cursor (pageSize tối đa 100), không đếm tổng số dòng. "
+      + "Lọc theo className, gender, roleId, bornFrom/bornTo (yyyy-MM-dd) và sắp xếp bằng "
+      + "sort=id|studentCode|fullName|dateOfBirth (thêm '-' để giảm dần); khi lọc theo className/gender/roleId "
+      + "chỉ sort=fullName|dateOfBirth (mặc định dateOfBirth) để luôn dùng index; "
+      + "fields=studentCode,fullName,className để chỉ đọc và trả các trường cần thiết; "
+      + "lọc/sắp xếp/fields không dùng cùng after. "
+      + "Response có header ETag; gửi lại qua If-None-Match để nhận 304 nếu trang không thay đổi. "
+      + "ETag khác nhau theo định dạng (JSON/Smile/CBOR/Protobuf) chọn bởi Accept; response kèm Vary: Accept.";
 
   public static final String EXAMPLE_NO_PAGINATION = """
       [
@@ -39,6 +50,23 @@ public class StudentApiDoc {
       }
       """;
 
+  public static final String EXAMPLE_CURSOR_PAGINATION = """
+      {
+        "meta": {
+          "pageSize": 10,
+          "orderBy": "id",
+          "nextCursor": "aWQ6MTA",
+          "hasNext": true
+        },
+        "result": [
+          {
+            "studentCode": "SV001",
+            "fullName": "Nguyễn Văn A"
+          }
+        ]
+      }
+      """;
+
   public static final String EXAMPLE_400 = """
       {
         "statusCode": 400,
@@ -47,10 +75,89 @@ public class StudentApiDoc {
       }
       """;
 
+  public static final String EXPORT_STUDENTS_SUMMARY = "Export danh sách sinh viên";
+  public static final String EXPORT_STUDENTS_DESC = """
+      Xuất toàn bộ sinh viên dạng streaming (NDJSON hoặc CSV), ghi từng dòng ra response.
+      Không chứa mật khẩu, không bọc trong CustomResponse.
+      """;
+
+  public static final String EXAMPLE_EXPORT_NDJSON = """
+      {"studentCode":"SV001","fullName":"Nguyễn Văn A","email":"nva@example.com","dateOfBirth":"2002-01-01","address":"Hà Nội","gender":"MALE","className":"CS101","roleId":1}
+      {"studentCode":"SV002","fullName":"Trần Thị B","email":"ttb@example.com","dateOfBirth":"2002-05-10","address":"Huế","gender":"FEMALE","className":"CS101","roleId":1}
+      """;
+
+  public static final String EXAMPLE_EXPORT_CSV = """
+      studentCode,fullName,email,dateOfBirth,address,gender,className,roleId
+      SV001,Nguyễn Văn A,nva@example.com,2002-01-01,Hà Nội,MALE,CS101,1
+      """;
+
+  public static final String SEARCH_STUDENTS_SUMMARY = "Tìm kiếm sinh viên";
+  public static final String SEARCH_STUDENTS_DESC = """
+      Tìm kiếm toàn văn theo họ tên, email và địa chỉ (index FULLTEXT ngram), kết quả
+      xếp theo độ liên quan giảm dần.
+      - q: 2-100 ký tự, có thể là một phần tên (ví dụ "Nguyen Van"); kết quả chứa
+        nguyên cụm từ, toán tử tìm kiếm của MySQL (+ - * ") không có tác dụng.
+      - current/pageSize: mặc định 1/20, pageSize tối đa 100.
+      - meta.hasNext cho biết còn trang sau; không trả tổng số kết quả.
+      """;
+
+  public static final String EXAMPLE_SEARCH_RESULT = """
+      {
+        "statusCode": 200,
+        "error": null,
+        "message": "Call api success",
+        "data": {
+          "meta": {
+            "page": 1,
+            "pageSize": 20,
+            "hasNext": false
+          },
+          "result": [
+            {
+              "studentCode": "SV001",
+              "fullName": "Nguyen Van A",
+              "email": "nva@example.com",
+              "dateOfBirth": "2003-05-10",
+              "address": "Ha Noi",
+              "gender": "MALE",
+              "className": "CNTT1",
+              "roleId": 2
+            }
+          ]
+        }
+      }
+      """;
+
+  public static final String SUGGEST_STUDENTS_SUMMARY = "Gợi ý sinh viên (autocomplete)";
+  public static final String SUGGEST_STUDENTS_DESC = """
+      Gợi ý theo tiền tố mã sinh viên, sau đó theo tiền tố họ tên (không phân biệt dấu
+      và hoa thường, ví dụ "nguyen v" khớp "Nguyễn Văn A"). Dữ liệu đọc từ index trong
+      bộ nhớ, không truy vấn database.
+      - q: 1-100 ký tự.
+      - limit: mặc định 10, tối đa 50.
+      """;
+
+  public static final String EXAMPLE_SUGGEST_RESULT = """
+      {
+        "statusCode": 200,
+        "error": null,
+        "message": "Call api success",
+        "data": [
+          { "studentCode": "SV001", "fullName": "Nguyễn Văn A" },
+          { "studentCode": "SV002", "fullName": "Nguyễn Văn B" }
+        ]
+      }
+      """;
+
   public static final String GET_STUDENT_BY_CODE_SUMMARY = "Lấy sinh viên theo mã";
   public static final String GET_STUDENT_BY_CODE_DESC = """
       Trả về thông tin sinh viên theo mã được cung cấp.
       Nếu mã không tồn tại trong hệ thống, trả về lỗi 404.
+      Tham số fields (ví dụ fields=studentCode,fullName,className) chỉ đọc và trả các
+      trường được chọn.
+      Response có header ETag (version của sinh viên, kèm tập trường khi có fields);
+      gửi lại qua If-None-Match để nhận 304 Not Modified nếu sinh viên chưa thay đổi.
+      ETag khác nhau theo định dạng chọn bởi Accept (ví dụ "3@cbor"); response kèm Vary: Accept.
       """;
 
   public static final String EXAMPLE_FOUND = """
@@ -97,6 +204,16 @@ public class StudentApiDoc {
       - Nếu lớp không tồn tại hoặc sinh viên không tồn tại: trả về lỗi 404.
       - Nếu email bị trùng với sinh viên khác: trả về lỗi 409.
       - Nếu lớp đã đầy: trả về lỗi 400.
+      - Gửi header If-Match với ETag đã nhận từ GET để chỉ cập nhật khi sinh viên chưa
+        bị sửa bởi request khác; nếu ETag đã cũ: trả về lỗi 412.
+      """;
+
+  public static final String EXAMPLE_PRECONDITION_FAILED = """
+      {
+        "statusCode": 412,
+        "error": "Precondition Failed",
+        "message": "If-Match does not match the current version"
+      }
       """;
 
   public static final String EXAMPLE_UPDATE_SUCCESS = """
@@ -116,6 +233,26 @@ public class StudentApiDoc {
       }
       """;
 
+  public static final String PATCH_STUDENT_SUMMARY = "Cập nhật một phần sinh viên theo mã";
+  public static final String PATCH_STUDENT_DESC = """
+      API này cập nhật một phần thông tin sinh viên theo JSON Merge Patch (RFC 7396),
+      Content-Type `application/merge-patch+json` (hoặc `application/json`).
+      - Chỉ gửi các trường cần đổi; trường không có trong patch được giữ nguyên.
+      - Mật khẩu chỉ được hash khi có trong patch; email chỉ được kiểm tra trùng khi thay đổi.
+      - Không đổi lớp: chỉ các cột thay đổi được cập nhật. Đổi lớp: dùng stored procedure `update_stu`.
+      - Nếu lớp không tồn tại hoặc sinh viên không tồn tại: trả về lỗi 404.
+      - Nếu email bị trùng với sinh viên khác: trả về lỗi 409.
+      - Nếu dữ liệu sau khi áp patch không hợp lệ hoặc lớp đã đầy: trả về lỗi 400.
+      - Gửi header If-Match với ETag đã nhận từ GET để chỉ cập nhật khi sinh viên chưa
+        bị sửa bởi request khác; nếu ETag đã cũ: trả về lỗi 412. Response kèm ETag mới.
+      """;
+
+  public static final String EXAMPLE_PATCH_REQUEST = """
+      {
+        "address": "Đà Nẵng"
+      }
+      """;
+
   public static final String EXAMPLE_VALIDATION_ERROR = """
       {
         "statusCode": 400,
@@ -195,4 +332,57 @@ public class StudentApiDoc {
       }
       """;
 
+  public static final String CREATE_STUDENT_BATCH_SUMMARY = "Tạo nhiều sinh viên";
+  public static final String CREATE_STUDENT_BATCH_DESC = """
+      Nhận một mảng sinh viên, validate mã/email/lớp theo lô và insert bằng JDBC batch.
+      Trả về kết quả riêng cho từng dòng: CREATED, DUPLICATE, CLASS_NOT_FOUND, ROLE_NOT_FOUND, CLASS_FULL.
+      """;
+
+  public static final String EXAMPLE_CREATE_BATCH_RESULT = """
+      {
+        "statusCode": 200,
+        "message": "Call api success",
+        "data": {
+          "created": 1,
+          "failed": 1,
+          "results": [
+            { "index": 0, "studentCode": "SV123", "status": "CREATED", "message": null },
+            { "index": 1, "studentCode": "SV001", "status": "DUPLICATE", "message": "Student code already exists" }
+          ]
+        }
+      }
+      """;
+
+  public static final String IMPORT_STUDENTS_SUMMARY = "Import sinh viên từ file CSV";
+  public static final String IMPORT_STUDENTS_DESC = """
+      Upload file CSV (multipart, field "file"). File được xử lý nền theo từng chunk 1000 dòng,
+      mỗi chunk commit trong transaction riêng nên dòng lỗi không làm rollback cả file.
+      Dùng jobId trả về để theo dõi tiến độ.
+      """;
+
+  public static final String IMPORT_JOB_STATUS_SUMMARY = "Trạng thái job import";
+  public static final String IMPORT_JOB_STATUS_DESC = "Trả về tiến độ (số dòng đã xử lý/tạo/lỗi) và danh sách lỗi theo từng dòng của job import.";
+
+  public static final String EXAMPLE_IMPORT_JOB = """
+      {
+        "statusCode": 200,
+        "message": "Call api success",
+        "data": {
+          "jobId": "3f1c2a9e-6a0b-4a51-9d55-0f6f3c1b2e77",
+          "fileName": "k66.csv",
+          "status": "RUNNING",
+          "processedRows": 12000,
+          "createdRows": 11987,
+          "failedRows": 13,
+          "startedAt": "2025-09-01T01:00:00Z",
+          "finishedAt": null,
+          "failureReason": null,
+          "errors": [
+            { "line": 57, "studentCode": "SV0056", "message": "Email should be valid" }
+          ],
+          "errorsTruncated": false
+        }
+      }
+      """;
+
 }
@@ -1,7 +1,10 @@
 package com.restful.quanlysinhvien.domain;
 
+import com.restful.quanlysinhvien.services.service_impl.ClassRoomCacheListener;
+
 import jakarta.persistence.*;
 import lombok.AccessLevel;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
@@ -10,7 +13,10 @@ import lombok.Setter;
 import java.util.List;
 
 @Entity
+@Cacheable
+@org.hibernate.annotations.Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
 @Table(name = "class_rooms")
+@EntityListeners(ClassRoomCacheListener.class)
 @Getter
 @Setter
 @NoArgsConstructor
@@ -30,5 +36,6 @@ public class ClassRoom {
     private Integer currentStudents;
 
     @OneToMany(mappedBy = "classRoom")
+    @org.hibernate.annotations.Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
     private List<Student> students;
 }
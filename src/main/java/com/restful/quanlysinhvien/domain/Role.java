@@ -4,6 +4,9 @@ import java.util.List;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
 
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+
+import jakarta.persistence.Cacheable;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.FetchType;
@@ -21,6 +24,8 @@ import lombok.NoArgsConstructor;
 import lombok.Setter;
 
 @Entity
+@Cacheable
+@org.hibernate.annotations.Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
 @Table(name = "roles")
 @Setter
 @Getter
@@ -41,5 +46,6 @@ public class Role {
     private String description;
     @OneToMany(mappedBy = "role", fetch = FetchType.LAZY) // One-to-Many: 1 Role có nhiều Student
     @JsonIgnore // Thêm vào để tránh vòng lặp khi serialize
+    @org.hibernate.annotations.Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
     private List<Student> students;
 }
\ No newline at end of file
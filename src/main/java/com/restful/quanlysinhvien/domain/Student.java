@@ -9,10 +9,35 @@ import jakarta.validation.constraints.Pattern;
 import jakarta.validation.constraints.Size;
 import lombok.*;
 
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.NaturalId;
+import org.hibernate.annotations.NaturalIdCache;
+
 import java.time.LocalDate;
 
+import com.restful.quanlysinhvien.util.error.DataIntegrityTranslator;
+
 @Entity
-@Table(name = "students")
+@Cacheable
+@org.hibernate.annotations.Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
+@NaturalIdCache
+// đặt tên ràng buộc để DataIntegrityTranslator nhận diện lỗi trùng/khóa ngoại
+@Table(name = "students", uniqueConstraints = {
+        @UniqueConstraint(name = DataIntegrityTranslator.UK_STUDENT_CODE, columnNames = "student_code"),
+        @UniqueConstraint(name = DataIntegrityTranslator.UK_EMAIL, columnNames = "email")
+}, indexes = {
+        // lọc GET /students theo lớp/giới tính/role kèm khoảng ngày sinh hoặc sắp
+        // xếp theo ngày sinh (InnoDB tự thêm id vào cuối index)
+        @Index(name = "idx_students_class_room_dob", columnList = "class_room_id, date_of_birth"),
+        @Index(name = "idx_students_gender_dob", columnList = "gender, date_of_birth"),
+        @Index(name = "idx_students_role_dob", columnList = "role_id, date_of_birth"),
+        // cùng bộ lọc nhưng sắp xếp theo họ tên
+        @Index(name = "idx_students_class_room_name", columnList = "class_room_id, full_name"),
+        @Index(name = "idx_students_gender_name", columnList = "gender, full_name"),
+        @Index(name = "idx_students_role_name", columnList = "role_id, full_name"),
+        @Index(name = "idx_students_dob", columnList = "date_of_birth"),
+        @Index(name = "idx_students_full_name", columnList = "full_name")
+})
 @Getter
 @Setter
 @AllArgsConstructor
@@ -25,13 +50,13 @@ public class Student {
     @Setter(AccessLevel.NONE)
     private long id;
 
-    @Column(unique = true, nullable = false)
+    @NaturalId
+    @Column(nullable = false)
     private String studentCode;
 
     @NotBlank(message = "fullName mustn't be empty")
     private String fullName;
 
-    @Column(unique = true)
     @Email(message = "Email is invalid")
     @NotBlank(message = "Email mustn't be empty")
     private String email;
@@ -51,11 +76,17 @@ public class Student {
     @NotBlank(message = "Gender cannot be blank")
     private String gender;
 
+    // tăng mỗi lần sinh viên được sửa (kể cả qua stored procedure), dùng làm ETag;
+    // có default để create_stu và batch insert không cần biết cột này
+    @Version
+    @Column(nullable = false, columnDefinition = "bigint default 0")
+    private long version;
+
     @ManyToOne(fetch = FetchType.LAZY)
-    @JoinColumn(name = "class_room_id")
+    @JoinColumn(name = "class_room_id", foreignKey = @ForeignKey(name = DataIntegrityTranslator.FK_CLASS_ROOM))
     private ClassRoom classRoom;
 
     @ManyToOne(fetch = FetchType.LAZY) // Many-to-One: Mỗi Student thuộc về 1 Role
-    @JoinColumn(name = "role_id") // Tạo cột role_id trong bảng students
+    @JoinColumn(name = "role_id", foreignKey = @ForeignKey(name = DataIntegrityTranslator.FK_ROLE)) // Tạo cột role_id trong bảng students
     private Role role; // Đúng: Mỗi Student chỉ có 1 Role
 }
@@ -0,0 +1,19 @@
+package com.restful.quanlysinhvien.domain.dto;
+
+import java.util.List;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * Kết quả tổng hợp của request tạo sinh viên hàng loạt.
+ */
+@Getter
+@Setter
+@Schema
+public class BatchResultDTO {
+    private int created;
+    private int failed;
+    private List<BatchRowResultDTO> results;
+}
@@ -0,0 +1,35 @@
+package com.restful.quanlysinhvien.domain.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Kết quả xử lý của một dòng trong request tạo sinh viên hàng loạt.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema
+public class BatchRowResultDTO {
+
+    /**
+     * Trạng thái của từng dòng.
+     */
+    public enum Status {
+        CREATED,
+        DUPLICATE,
+        CLASS_NOT_FOUND,
+        ROLE_NOT_FOUND,
+        CLASS_FULL
+    }
+
+    // vị trí của dòng trong mảng request (bắt đầu từ 0)
+    private int index;
+    private String studentCode;
+    private Status status;
+    private String message;
+}
@@ -0,0 +1,22 @@
+package com.restful.quanlysinhvien.domain.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Thông tin ít thay đổi của một lớp học (id, tên, sĩ số tối đa), dùng làm giá
+ * trị cache tra cứu lớp theo tên.
+ *
+ * <p>
+ * Không chứa {@code currentStudents} vì giá trị này thay đổi sau mỗi lần thêm
+ * sinh viên; việc kiểm tra lớp đầy vẫn do stored procedure / batch insert thực
+ * hiện trên dữ liệu mới nhất.
+ * </p>
+ */
+@Getter
+@AllArgsConstructor
+public class ClassRoomDTO {
+    private final long id;
+    private final String className;
+    private final Integer maxStudents;
+}
@@ -0,0 +1,22 @@
+package com.restful.quanlysinhvien.domain.dto;
+
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * Metadata phân trang dạng keyset (cursor).
+ *
+ * <p>
+ * Khác với {@link Meta}, lớp này không chứa {@code pages/total} vì chế độ
+ * cursor không chạy {@code COUNT(*)}; client dùng {@code nextCursor} để lấy
+ * trang kế tiếp (null nếu đã hết dữ liệu).
+ * </p>
+ */
+@Getter
+@Setter
+public class CursorMeta {
+    private int pageSize;
+    private String orderBy;
+    private String nextCursor;
+    private boolean hasNext;
+}
@@ -0,0 +1,17 @@
+package com.restful.quanlysinhvien.domain.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Nội dung trả về cùng ETag tính từ id/version của chính các dòng đã đọc, để
+ * controller không phải chạy thêm truy vấn chỉ để lấy ETag.
+ *
+ * @param <T> kiểu nội dung (DTO, trang, danh sách...)
+ */
+@Getter
+@AllArgsConstructor
+public class ETaggedResult<T> {
+    private final T body;
+    private final String eTag;
+}
@@ -0,0 +1,41 @@
+package com.restful.quanlysinhvien.domain.dto;
+
+import java.time.Instant;
+import java.util.List;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * Trạng thái và tiến độ của một job import sinh viên từ file CSV.
+ */
+@Getter
+@Setter
+@Schema
+public class ImportJobDTO {
+
+    /**
+     * Trạng thái của job.
+     */
+    public enum Status {
+        PENDING,
+        RUNNING,
+        COMPLETED,
+        FAILED
+    }
+
+    private String jobId;
+    private String fileName;
+    private Status status;
+    private int processedRows;
+    private int createdRows;
+    private int failedRows;
+    private Instant startedAt;
+    private Instant finishedAt;
+    // lý do nếu cả job thất bại (ví dụ file sai header)
+    private String failureReason;
+    private List<ImportRowErrorDTO> errors;
+    // true nếu số lỗi vượt giới hạn lưu trữ và danh sách errors bị cắt bớt
+    private boolean errorsTruncated;
+}
@@ -0,0 +1,22 @@
+package com.restful.quanlysinhvien.domain.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Lỗi của một dòng trong file CSV import.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema
+public class ImportRowErrorDTO {
+    // số dòng trong file (dòng header là 1)
+    private int line;
+    private String studentCode;
+    private String message;
+}
@@ -0,0 +1,13 @@
+package com.restful.quanlysinhvien.domain.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+@Schema
+public class ResultCursorDTO {
+    private CursorMeta meta;
+    private Object result;
+}
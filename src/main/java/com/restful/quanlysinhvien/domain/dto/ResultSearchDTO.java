@@ -0,0 +1,15 @@
+package com.restful.quanlysinhvien.domain.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.List;
+
+@Getter
+@Setter
+@Schema
+public class ResultSearchDTO {
+    private SearchMeta meta;
+    private List<StudentDTO> result;
+}
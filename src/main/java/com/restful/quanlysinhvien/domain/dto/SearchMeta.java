@@ -0,0 +1,21 @@
+package com.restful.quanlysinhvien.domain.dto;
+
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * Metadata phân trang của kết quả tìm kiếm toàn văn.
+ *
+ * <p>
+ * Không có {@code pages/total}: đếm toàn bộ kết quả khớp của một truy vấn
+ * FULLTEXT tốn gần bằng chính truy vấn, nên chỉ lấy dư một dòng để biết còn
+ * trang sau hay không.
+ * </p>
+ */
+@Getter
+@Setter
+public class SearchMeta {
+    private int page;
+    private int pageSize;
+    private boolean hasNext;
+}
@@ -0,0 +1,16 @@
+package com.restful.quanlysinhvien.domain.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Id của sinh viên cùng lớp học và role hiện tại, dùng để xóa đúng các entry
+ * second-level cache bị ảnh hưởng khi sinh viên được sửa hoặc xóa.
+ */
+@Getter
+@AllArgsConstructor
+public class StudentCacheKeyRow {
+    private final Long id;
+    private final Long classRoomId;
+    private final Long roleId;
+}
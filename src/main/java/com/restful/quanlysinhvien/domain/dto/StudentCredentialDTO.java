@@ -0,0 +1,16 @@
+package com.restful.quanlysinhvien.domain.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Thông tin tối thiểu để xác thực một sinh viên: mã, mật khẩu đã hash và tên
+ * role. Được đọc bằng một truy vấn projection duy nhất.
+ */
+@Getter
+@AllArgsConstructor
+public class StudentCredentialDTO {
+    private final String studentCode;
+    private final String password;
+    private final String roleName;
+}
@@ -10,6 +10,9 @@ import lombok.*;
 
 import java.time.LocalDate;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
 import io.swagger.v3.oas.annotations.media.Schema;
 
 @Getter
@@ -29,6 +32,10 @@ public class StudentDTO {
     @NotBlank(message = "Email cannot be blank")
     private String email;
 
+    // chỉ nhận từ request (tạo sinh viên), không bao giờ trả hash mật khẩu ra
+    // response
+    @JsonProperty(access = JsonProperty.Access.WRITE_ONLY)
+    @JsonInclude(JsonInclude.Include.NON_NULL)
     @NotBlank(message = "Password cannot be blank")
     @Size(min = 5, message = "Password must be at least 5 characters long")
     private String password;
@@ -48,4 +55,13 @@ public class StudentDTO {
     private String className;
 
     private long roleId;
+
+    /**
+     * Constructor không có mật khẩu, dùng cho mọi projection đọc để cột password
+     * không bị đọc từ database.
+     */
+    public StudentDTO(String studentCode, String fullName, String email, LocalDate dateOfBirth, String address,
+            String gender, String className, long roleId) {
+        this(studentCode, fullName, email, null, dateOfBirth, address, gender, className, roleId);
+    }
 }
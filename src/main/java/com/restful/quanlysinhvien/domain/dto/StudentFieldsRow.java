@@ -0,0 +1,19 @@
+package com.restful.quanlysinhvien.domain.dto;
+
+import java.util.Map;
+
+import lombok.Getter;
+
+/**
+ * Một dòng kết quả của truy vấn sparse fieldset: id/version (để tính ETag) và
+ * map tên trường → giá trị trả về cho client.
+ */
+@Getter
+public class StudentFieldsRow extends StudentVersionRow {
+    private final Map<String, Object> fields;
+
+    public StudentFieldsRow(long id, long version, Map<String, Object> fields) {
+        super(id, version);
+        this.fields = fields;
+    }
+}
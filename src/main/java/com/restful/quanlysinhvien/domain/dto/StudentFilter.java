@@ -0,0 +1,52 @@
+package com.restful.quanlysinhvien.domain.dto;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Tham số lọc, sắp xếp và chọn trường của {@code GET /students}, bind trực tiếp
+ * từ query string.
+ *
+ * <p>
+ * Các trường giữ nguyên dạng chuỗi để service tự kiểm tra và trả 400 với thông
+ * báo rõ ràng (giống cách đọc {@code current}/{@code pageSize}).
+ * </p>
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+public class StudentFilter {
+    // tên lớp (so khớp chính xác)
+    private String className;
+    // MALE hoặc FEMALE
+    private String gender;
+    private String roleId;
+    // ngày sinh từ/đến (yyyy-MM-dd, bao gồm hai đầu)
+    private String bornFrom;
+    private String bornTo;
+    // khóa sắp xếp, thêm dấu '-' ở đầu để sắp giảm dần, ví dụ -dateOfBirth
+    private String sort;
+    // sparse fieldset, ví dụ studentCode,fullName,className
+    private String fields;
+
+    /**
+     * @return true nếu không có tham số lọc/sắp xếp/chọn trường nào
+     */
+    public boolean isEmpty() {
+        return isBlank(className) && isBlank(gender) && isBlank(roleId) && isBlank(bornFrom)
+                && isBlank(bornTo) && isBlank(sort) && isBlank(fields);
+    }
+
+    /**
+     * @return true nếu có điều kiện bằng theo lớp, giới tính hoặc role (các cột
+     *         đứng đầu index ghép, quyết định khóa sắp xếp được phép)
+     */
+    public boolean hasColumnFilter() {
+        return !isBlank(className) || !isBlank(gender) || !isBlank(roleId);
+    }
+
+    private static boolean isBlank(String value) {
+        return value == null || value.isBlank();
+    }
+}
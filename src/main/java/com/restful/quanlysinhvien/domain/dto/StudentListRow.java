@@ -0,0 +1,27 @@
+package com.restful.quanlysinhvien.domain.dto;
+
+import java.time.LocalDate;
+
+import lombok.Getter;
+
+/**
+ * Một dòng kết quả của các truy vấn danh sách: id (để tạo cursor keyset),
+ * version (để tính ETag từ chính các dòng trả về) và {@link StudentDTO} trả về
+ * cho client.
+ *
+ * <p>
+ * Được khởi tạo trực tiếp bởi constructor expression trong
+ * {@code StudentRepository}, nên không cần nạp entity {@code Student}.
+ * </p>
+ */
+@Getter
+public class StudentListRow extends StudentVersionRow {
+    private final StudentDTO student;
+
+    public StudentListRow(long id, long version, String studentCode, String fullName, String email,
+            LocalDate dateOfBirth, String address, String gender, String className, long roleId) {
+        super(id, version);
+        this.student = new StudentDTO(studentCode, fullName, email, dateOfBirth, address, gender, className,
+                roleId);
+    }
+}
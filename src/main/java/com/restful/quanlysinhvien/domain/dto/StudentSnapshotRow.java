@@ -0,0 +1,18 @@
+package com.restful.quanlysinhvien.domain.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Trạng thái đầy đủ của một sinh viên đọc trực tiếp từ database (kèm hash mật
+ * khẩu, version và id lớp học), làm nền cho JSON Merge Patch.
+ */
+@Getter
+@AllArgsConstructor
+public class StudentSnapshotRow {
+    private final long id;
+    private final Long classRoomId;
+    private final StudentDTO student;
+    private final String passwordHash;
+    private final long version;
+}
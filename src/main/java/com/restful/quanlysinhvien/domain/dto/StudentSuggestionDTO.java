@@ -0,0 +1,14 @@
+package com.restful.quanlysinhvien.domain.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Một gợi ý autocomplete: mã và họ tên sinh viên.
+ */
+@Getter
+@AllArgsConstructor
+public class StudentSuggestionDTO {
+    private final String studentCode;
+    private final String fullName;
+}
@@ -0,0 +1,17 @@
+package com.restful.quanlysinhvien.domain.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Id và version của một sinh viên, dùng để tính ETag của một trang danh sách
+ * mà không cần dựng {@link StudentDTO}. Các dòng kết quả kèm dữ liệu
+ * ({@link StudentListRow}, {@link StudentFieldsRow}) kế thừa lớp này để ETag
+ * được tính từ chính các dòng trả về.
+ */
+@Getter
+@AllArgsConstructor
+public class StudentVersionRow {
+    private final long id;
+    private final long version;
+}
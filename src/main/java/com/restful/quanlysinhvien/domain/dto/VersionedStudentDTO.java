@@ -0,0 +1,15 @@
+package com.restful.quanlysinhvien.domain.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Thông tin sinh viên cùng version (sau khi đọc hoặc ghi), để controller trả
+ * ETag.
+ */
+@Getter
+@AllArgsConstructor
+public class VersionedStudentDTO {
+    private final StudentDTO student;
+    private final long version;
+}
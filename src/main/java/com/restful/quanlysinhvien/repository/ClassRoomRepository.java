@@ -2,8 +2,14 @@ package com.restful.quanlysinhvien.repository;
 
 import com.restful.quanlysinhvien.domain.ClassRoom;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
+import jakarta.persistence.QueryHint;
+
+import java.util.Collection;
+import java.util.List;
+
 /**
  * Interface Repository dùng để quản lý các entity {@link ClassRoom}.
  * Cung cấp các thao tác CRUD và truy vấn tùy chỉnh cho dữ liệu lớp học sử dụng
@@ -18,5 +24,14 @@ public interface ClassRoomRepository extends JpaRepository<ClassRoom, Long> {
      * @param className tên lớp học cần tìm
      * @return đối tượng {@link ClassRoom}, hoặc null nếu không tìm thấy
      */
+    @QueryHints(@QueryHint(name = org.hibernate.jpa.HibernateHints.HINT_CACHEABLE, value = "true"))
     ClassRoom findByClassName(String className);
+
+    /**
+     * Tìm nhiều lớp học theo danh sách tên lớp trong một truy vấn {@code IN}.
+     *
+     * @param classNames danh sách tên lớp cần tìm
+     * @return các lớp học tồn tại trong danh sách
+     */
+    List<ClassRoom> findByClassNameIn(Collection<String> classNames);
 }
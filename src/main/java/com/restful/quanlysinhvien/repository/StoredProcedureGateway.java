@@ -0,0 +1,131 @@
+package com.restful.quanlysinhvien.repository;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import org.springframework.jdbc.core.CallableStatementCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Types;
+import java.util.Map;
+import java.util.StringJoiner;
+
+/**
+ * Điểm gọi duy nhất cho các stored procedure của sinh viên ({@code create_stu},
+ * {@code update_stu}, {@code delete_stu}).
+ *
+ * <p>
+ * Câu lệnh {@code {call ...}} và kiểu của từng tham số được dựng một lần khi
+ * khởi tạo (theo tên trong {@link ConstVariable}) thay vì tạo lại
+ * {@code StoredProcedureQuery} và đăng ký từng tham số theo tên mỗi lần gọi.
+ * Các {@code CallableStatement} được driver cache theo connection
+ * ({@code cacheCallableStmts=true} trong URL datasource). Gọi qua
+ * {@link JdbcTemplate} nên tham gia transaction hiện tại và lỗi SQL được dịch
+ * sang {@code DataAccessException}.
+ * </p>
+ *
+ * <p>
+ * Metrics: {@code student.procedure} (tag {@code procedure}, {@code result} =
+ * mã trả về của procedure hoặc {@code error}), có histogram để tính p95/p99
+ * trên Prometheus.
+ * </p>
+ */
+@Repository
+public class StoredProcedureGateway {
+    public static final String METRIC_NAME = "student.procedure";
+    public static final int RESULT_FAILED = 0;
+
+    private static final int[] STUDENT_WRITE_PARAM_TYPES = {
+            Types.BIGINT, // p_class_id
+            Types.VARCHAR, // p_full_name
+            Types.VARCHAR, // p_email
+            Types.VARCHAR, // p_password
+            Types.DATE, // p_date_of_birth
+            Types.VARCHAR, // p_address
+            Types.VARCHAR, // p_gender
+            Types.VARCHAR, // p_stu_code
+            Types.BIGINT // p_role_id
+    };
+    private static final int[] DELETE_PARAM_TYPES = {
+            Types.VARCHAR // p_stu_code
+    };
+
+    private final JdbcTemplate jdbcTemplate;
+    private final MeterRegistry meterRegistry;
+    private final Map<String, ProcedureSpec> procedures;
+
+    public StoredProcedureGateway(JdbcTemplate jdbcTemplate, MeterRegistry meterRegistry) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.meterRegistry = meterRegistry;
+        this.procedures = Map.of(
+                ConstVariable.PROCEDURE_CREATE_STUDENT,
+                ProcedureSpec.of(ConstVariable.PROCEDURE_CREATE_STUDENT, STUDENT_WRITE_PARAM_TYPES),
+                ConstVariable.PROCEDURE_UPDATE_STUDENT,
+                ProcedureSpec.of(ConstVariable.PROCEDURE_UPDATE_STUDENT, STUDENT_WRITE_PARAM_TYPES),
+                ConstVariable.PROCEDURE_DELETE_STUDENT,
+                ProcedureSpec.of(ConstVariable.PROCEDURE_DELETE_STUDENT, DELETE_PARAM_TYPES));
+    }
+
+    /**
+     * Gọi một stored procedure với các tham số IN theo đúng thứ tự khai báo;
+     * tham số OUT cuối cùng là mã kết quả.
+     *
+     * @param procedureName tên procedure, một trong các hằng của
+     *                      {@link ConstVariable}
+     * @param inParams      giá trị các tham số IN (null được truyền là NULL)
+     * @return mã kết quả của procedure ({@link #RESULT_FAILED} nếu thất bại)
+     * @throws IllegalArgumentException nếu procedure không được khai báo hoặc sai
+     *                                  số tham số
+     */
+    public int call(String procedureName, Object... inParams) {
+        ProcedureSpec spec = this.procedures.get(procedureName);
+        if (spec == null) {
+            throw new IllegalArgumentException("Unknown stored procedure: " + procedureName);
+        }
+        if (inParams.length != spec.inTypes().length) {
+            throw new IllegalArgumentException("Stored procedure " + procedureName + " expects "
+                    + spec.inTypes().length + " parameters but got " + inParams.length);
+        }
+
+        Timer.Sample sample = Timer.start(this.meterRegistry);
+        String result = "error";
+        try {
+            Integer code = this.jdbcTemplate.execute(spec.sql(), (CallableStatementCallback<Integer>) cs -> {
+                int[] types = spec.inTypes();
+                for (int i = 0; i < types.length; i++) {
+                    if (inParams[i] == null) {
+                        cs.setNull(i + 1, types[i]);
+                    } else {
+                        cs.setObject(i + 1, inParams[i], types[i]);
+                    }
+                }
+                cs.registerOutParameter(types.length + 1, Types.INTEGER);
+                cs.execute();
+                int out = cs.getInt(types.length + 1);
+                return cs.wasNull() ? RESULT_FAILED : out;
+            });
+            int rs = code == null ? RESULT_FAILED : code;
+            result = String.valueOf(rs);
+            return rs;
+        } finally {
+            sample.stop(Timer.builder(METRIC_NAME)
+                    .description("Thời gian gọi stored procedure")
+                    .tag("procedure", procedureName)
+                    .tag("result", result)
+                    .publishPercentileHistogram()
+                    .register(this.meterRegistry));
+        }
+    }
+
+    private record ProcedureSpec(String sql, int[] inTypes) {
+        static ProcedureSpec of(String name, int[] inTypes) {
+            // IN... + 1 OUT (mã kết quả)
+            StringJoiner placeholders = new StringJoiner(", ", "{call " + name + "(", ")}");
+            for (int i = 0; i <= inTypes.length; i++) {
+                placeholders.add("?");
+            }
+            return new ProcedureSpec(placeholders.toString(), inTypes);
+        }
+    }
+}
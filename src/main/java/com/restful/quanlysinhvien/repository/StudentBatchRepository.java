@@ -0,0 +1,242 @@
+package com.restful.quanlysinhvien.repository;
+
+import com.restful.quanlysinhvien.domain.dto.BatchRowResultDTO;
+import com.restful.quanlysinhvien.domain.dto.StudentDTO;
+import com.restful.quanlysinhvien.util.error.DataIntegrityTranslator;
+import com.restful.quanlysinhvien.util.error.DuplicateResourceException;
+
+import jakarta.transaction.Transactional;
+import lombok.AllArgsConstructor;
+
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Savepoint;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Repository JDBC cho việc ghi sinh viên hàng loạt.
+ *
+ * <p>
+ * Thay vì gọi stored procedure {@code create_stu} cho từng sinh viên, lớp này
+ * khóa các lớp học liên quan một lần, kiểm tra sĩ số giống quy tắc của
+ * {@code create_stu} ({@code current_students < max_students}), rồi insert
+ * bằng JDBC batch và cập nhật {@code current_students} cho từng lớp. Với MySQL
+ * cần bật {@code rewriteBatchedStatements=true} để driver gộp thành câu INSERT
+ * nhiều dòng.
+ * </p>
+ */
+@Repository
+@AllArgsConstructor
+public class StudentBatchRepository {
+    private static final int JDBC_BATCH_SIZE = 500;
+
+    private static final String LOCK_CLASS_ROOMS_SQL = "SELECT id, max_students, current_students FROM class_rooms "
+            + "WHERE id IN (:ids) ORDER BY id FOR UPDATE";
+    private static final String INSERT_STUDENT_SQL = "INSERT INTO students "
+            + "(student_code, full_name, email, password, date_of_birth, address, gender, class_room_id, role_id) "
+            + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final String INCREASE_CURRENT_STUDENTS_SQL = "UPDATE class_rooms "
+            + "SET current_students = COALESCE(current_students, 0) + ? WHERE id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+
+    /**
+     * Insert các sinh viên còn chỗ trong lớp, trong cùng một transaction.
+     *
+     * <p>
+     * Các lớp được khóa {@code FOR UPDATE} theo thứ tự id để tránh deadlock giữa
+     * các batch chạy song song. Sinh viên được xếp chỗ theo thứ tự trong danh
+     * sách; khi lớp hết chỗ, các sinh viên còn lại của lớp đó bị từ chối.
+     * </p>
+     *
+     * <p>
+     * Mã/email trùng với database vẫn có thể lọt qua bước kiểm tra trước của
+     * service (request hoặc instance khác insert cùng lúc, Bloom filter bỏ sót),
+     * và lớp/role có thể bị xóa sau bước đó. Khi batch gặp
+     * {@link DataIntegrityViolationException}, các dòng của batch được rollback về
+     * savepoint rồi insert lại từng dòng; lỗi của từng dòng được phân loại qua
+     * {@link DataIntegrityTranslator} thành {@code DUPLICATE},
+     * {@code CLASS_NOT_FOUND} hoặc {@code ROLE_NOT_FOUND} (không chiếm chỗ trong
+     * lớp), các dòng khác vẫn được tạo. Lớp không còn trong database khi khóa được
+     * báo {@code CLASS_NOT_FOUND}.
+     * </p>
+     *
+     * @param students      danh sách sinh viên đã được validate (mật khẩu đã
+     *                      hash)
+     * @param classIdByName map tên lớp → id lớp (tra cứu không phân biệt hoa
+     *                      thường)
+     * @return các dòng bị từ chối, theo vị trí (index trong {@code students}),
+     *         với trạng thái {@code CLASS_FULL}, {@code CLASS_NOT_FOUND},
+     *         {@code ROLE_NOT_FOUND} hoặc {@code DUPLICATE}
+     */
+    @Transactional
+    public Map<Integer, BatchRowResultDTO> insertWithinCapacity(List<StudentDTO> students,
+            Map<String, Long> classIdByName) {
+        Map<Integer, BatchRowResultDTO> rejected = new HashMap<>();
+        if (students.isEmpty()) {
+            return rejected;
+        }
+
+        Set<Long> classIds = new TreeSet<>();
+        for (StudentDTO student : students) {
+            classIds.add(classIdByName.get(student.getClassName()));
+        }
+
+        // số chỗ còn trống của mỗi lớp, Integer.MAX_VALUE nếu lớp không giới hạn sĩ số
+        Map<Long, Integer> freeSeats = new HashMap<>();
+        this.namedParameterJdbcTemplate.query(LOCK_CLASS_ROOMS_SQL, Map.of("ids", classIds), rs -> {
+            int max = rs.getInt("max_students");
+            boolean unlimited = rs.wasNull();
+            int current = rs.getInt("current_students");
+            freeSeats.put(rs.getLong("id"), unlimited ? Integer.MAX_VALUE : Math.max(0, max - current));
+        });
+
+        Map<Long, Integer> addedPerClass;
+        Savepoint savepoint = this.jdbcTemplate.execute((ConnectionCallback<Savepoint>) Connection::setSavepoint);
+        try {
+            addedPerClass = insertBatch(students, classIdByName, new HashMap<>(freeSeats), rejected);
+        } catch (DataIntegrityViolationException e) {
+            this.jdbcTemplate.execute((ConnectionCallback<Void>) connection -> {
+                connection.rollback(savepoint);
+                return null;
+            });
+            rejected.clear();
+            addedPerClass = insertOneByOne(students, classIdByName, freeSeats, rejected);
+        }
+
+        List<Object[]> increments = new ArrayList<>(addedPerClass.size());
+        addedPerClass.forEach((classId, added) -> increments.add(new Object[] { added, classId }));
+        this.jdbcTemplate.batchUpdate(INCREASE_CURRENT_STUDENTS_SQL, increments);
+        return rejected;
+    }
+
+    private Map<Long, Integer> insertBatch(List<StudentDTO> students, Map<String, Long> classIdByName,
+            Map<Long, Integer> freeSeats, Map<Integer, BatchRowResultDTO> rejected) {
+        List<StudentDTO> accepted = new ArrayList<>(students.size());
+        List<Long> acceptedClassIds = new ArrayList<>(students.size());
+        Map<Long, Integer> addedPerClass = new HashMap<>();
+        for (int i = 0; i < students.size(); i++) {
+            StudentDTO student = students.get(i);
+            Long classId = classIdByName.get(student.getClassName());
+            if (!freeSeats.containsKey(classId)) {
+                rejected.put(i, classNotFound(i, student));
+                continue;
+            }
+            if (!takeSeat(freeSeats, classId)) {
+                rejected.put(i, classFull(i, student));
+                continue;
+            }
+            accepted.add(student);
+            acceptedClassIds.add(classId);
+            addedPerClass.merge(classId, 1, Integer::sum);
+        }
+
+        List<Integer> positions = new ArrayList<>(accepted.size());
+        for (int i = 0; i < accepted.size(); i++) {
+            positions.add(i);
+        }
+        this.jdbcTemplate.batchUpdate(INSERT_STUDENT_SQL, positions, JDBC_BATCH_SIZE,
+                (ps, i) -> setInsertParameters(ps, accepted.get(i), acceptedClassIds.get(i)));
+        return addedPerClass;
+    }
+
+    // MySQL chỉ rollback câu lệnh bị lỗi, transaction vẫn tiếp tục được
+    private Map<Long, Integer> insertOneByOne(List<StudentDTO> students, Map<String, Long> classIdByName,
+            Map<Long, Integer> freeSeats, Map<Integer, BatchRowResultDTO> rejected) {
+        Map<Long, Integer> addedPerClass = new HashMap<>();
+        for (int i = 0; i < students.size(); i++) {
+            StudentDTO student = students.get(i);
+            Long classId = classIdByName.get(student.getClassName());
+            if (!freeSeats.containsKey(classId)) {
+                rejected.put(i, classNotFound(i, student));
+                continue;
+            }
+            if (freeSeats.get(classId) <= 0) {
+                rejected.put(i, classFull(i, student));
+                continue;
+            }
+            try {
+                this.jdbcTemplate.update(INSERT_STUDENT_SQL, ps -> setInsertParameters(ps, student, classId));
+            } catch (DataIntegrityViolationException e) {
+                rejected.put(i, rowRejected(i, student, e));
+                continue;
+            }
+            takeSeat(freeSeats, classId);
+            addedPerClass.merge(classId, 1, Integer::sum);
+        }
+        return addedPerClass;
+    }
+
+    private static boolean takeSeat(Map<Long, Integer> freeSeats, Long classId) {
+        int free = freeSeats.getOrDefault(classId, 0);
+        if (free <= 0) {
+            return false;
+        }
+        if (free != Integer.MAX_VALUE) {
+            freeSeats.put(classId, free - 1);
+        }
+        return true;
+    }
+
+    // lỗi ràng buộc không nhận diện được (ví dụ NOT NULL) không phải lỗi của
+    // riêng dòng này, ném lại để rollback cả batch
+    private static BatchRowResultDTO rowRejected(int index, StudentDTO student, DataIntegrityViolationException e) {
+        RuntimeException translated = DataIntegrityTranslator.translate(e);
+        if (translated == null) {
+            throw e;
+        }
+        BatchRowResultDTO.Status status;
+        if (translated instanceof DuplicateResourceException) {
+            status = BatchRowResultDTO.Status.DUPLICATE;
+        } else if (DataIntegrityTranslator.ROLE_NOT_FOUND.equals(translated.getMessage())) {
+            status = BatchRowResultDTO.Status.ROLE_NOT_FOUND;
+        } else if (DataIntegrityTranslator.CLASS_NOT_FOUND.equals(translated.getMessage())) {
+            status = BatchRowResultDTO.Status.CLASS_NOT_FOUND;
+        } else {
+            throw e;
+        }
+        return new BatchRowResultDTO(index, student.getStudentCode(), status, translated.getMessage());
+    }
+
+    private static BatchRowResultDTO classNotFound(int index, StudentDTO student) {
+        return new BatchRowResultDTO(index, student.getStudentCode(), BatchRowResultDTO.Status.CLASS_NOT_FOUND,
+                DataIntegrityTranslator.CLASS_NOT_FOUND);
+    }
+
+    private static BatchRowResultDTO classFull(int index, StudentDTO student) {
+        return new BatchRowResultDTO(index, student.getStudentCode(), BatchRowResultDTO.Status.CLASS_FULL,
+                "Failed to create student - class is full");
+    }
+
+    private static void setInsertParameters(PreparedStatement ps, StudentDTO student, long classId)
+            throws SQLException {
+        ps.setString(1, student.getStudentCode());
+        ps.setString(2, student.getFullName());
+        ps.setString(3, student.getEmail());
+        ps.setString(4, student.getPassword());
+        ps.setDate(5, Date.valueOf(student.getDateOfBirth()));
+        ps.setString(6, student.getAddress());
+        ps.setString(7, student.getGender());
+        ps.setLong(8, classId);
+        if (student.getRoleId() > 0) {
+            ps.setLong(9, student.getRoleId());
+        } else {
+            ps.setNull(9, Types.BIGINT);
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package com.restful.quanlysinhvien.repository;
+
+import com.restful.quanlysinhvien.domain.Student;
+import com.restful.quanlysinhvien.domain.dto.StudentDTO;
+import com.restful.quanlysinhvien.domain.dto.StudentFieldsRow;
+import com.restful.quanlysinhvien.domain.dto.StudentListRow;
+import com.restful.quanlysinhvien.domain.dto.StudentVersionRow;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Truy vấn động (lọc + sắp xếp) trên sinh viên, trả về projection thay vì
+ * entity. Được ghép vào {@link StudentRepository} như một fragment của Spring
+ * Data.
+ */
+public interface StudentFilterRepository {
+
+        /**
+         * Lấy toàn bộ sinh viên thỏa điều kiện, không phân trang.
+         *
+         * @param spec điều kiện lọc
+         * @param sort thứ tự sắp xếp (đã qua danh sách cho phép)
+         * @return danh sách {@link StudentListRow}: id/version và {@link StudentDTO}
+         *         (không kèm mật khẩu)
+         */
+        List<StudentListRow> findStudentRows(Specification<Student> spec, Sort sort);
+
+        /**
+         * Lấy một trang sinh viên thỏa điều kiện. {@code COUNT} chỉ chạy khi không
+         * suy ra được tổng từ chính trang dữ liệu.
+         *
+         * @param spec     điều kiện lọc
+         * @param pageable trang và thứ tự sắp xếp
+         * @return trang {@link StudentListRow} (không kèm mật khẩu)
+         */
+        Page<StudentListRow> findStudentRows(Specification<Student> spec, Pageable pageable);
+
+        /**
+         * Lấy sinh viên thỏa điều kiện, chỉ đọc các cột ứng với {@code fields}
+         * (sparse fieldset) cùng id/version để tính ETag. Lớp học chỉ được join khi
+         * có {@code className}.
+         *
+         * @param spec   điều kiện lọc
+         * @param fields các trường cần lấy (xem {@code StudentFields})
+         * @param sort   thứ tự sắp xếp
+         * @return mỗi sinh viên là một {@link StudentFieldsRow} với map tên trường →
+         *         giá trị theo thứ tự của {@code fields}
+         */
+        List<StudentFieldsRow> findFields(Specification<Student> spec, Set<String> fields, Sort sort);
+
+        /**
+         * Giống {@link #findFields(Specification, Set, Sort)} nhưng có phân trang.
+         *
+         * @param spec     điều kiện lọc
+         * @param fields   các trường cần lấy
+         * @param pageable trang và thứ tự sắp xếp
+         * @return trang {@link StudentFieldsRow}
+         */
+        Page<StudentFieldsRow> findFields(Specification<Student> spec, Set<String> fields, Pageable pageable);
+
+        /**
+         * Id/version của các dòng cùng điều kiện, thứ tự và trang như
+         * {@link #findStudentRows(Specification, Pageable)}, dùng để tính ETag trước
+         * khi đọc dữ liệu.
+         *
+         * @param spec     điều kiện lọc
+         * @param pageable trang và thứ tự (có thể unpaged kèm sort)
+         * @return danh sách id/version
+         */
+        List<StudentVersionRow> findVersionRows(Specification<Student> spec, Pageable pageable);
+
+        /**
+         * Đếm số sinh viên thỏa điều kiện (không join).
+         *
+         * @param spec điều kiện lọc
+         * @return số dòng
+         */
+        long countMatching(Specification<Student> spec);
+}
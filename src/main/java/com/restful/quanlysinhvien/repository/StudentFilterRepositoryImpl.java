@@ -0,0 +1,165 @@
+package com.restful.quanlysinhvien.repository;
+
+import com.restful.quanlysinhvien.domain.ClassRoom;
+import com.restful.quanlysinhvien.domain.Role;
+import com.restful.quanlysinhvien.domain.Student;
+import com.restful.quanlysinhvien.domain.dto.StudentDTO;
+import com.restful.quanlysinhvien.domain.dto.StudentFieldsRow;
+import com.restful.quanlysinhvien.domain.dto.StudentListRow;
+import com.restful.quanlysinhvien.domain.dto.StudentVersionRow;
+
+import com.restful.quanlysinhvien.util.StudentFields;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.JoinType;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+import lombok.AllArgsConstructor;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.data.support.PageableExecutionUtils;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Cài đặt {@link StudentFilterRepository} bằng Criteria API.
+ *
+ * <p>
+ * {@link Specification} chỉ tạo điều kiện {@code WHERE}; phần {@code SELECT}
+ * dựng {@link StudentDTO} trực tiếp (giống {@code STUDENT_LIST_ROW_SELECT}) hoặc
+ * chỉ các cột được chọn qua {@code fields}, nên không có entity nào được nạp vào
+ * persistence context. Mỗi dòng kèm id/version để tính ETag. Truy vấn đếm không
+ * join lớp học/role.
+ * </p>
+ */
+@AllArgsConstructor
+class StudentFilterRepositoryImpl implements StudentFilterRepository {
+    private final EntityManager entityManager;
+
+    @Override
+    public List<StudentListRow> findStudentRows(Specification<Student> spec, Sort sort) {
+        return rowQuery(spec, sort).getResultList();
+    }
+
+    @Override
+    public Page<StudentListRow> findStudentRows(Specification<Student> spec, Pageable pageable) {
+        TypedQuery<StudentListRow> query = rowQuery(spec, pageable.getSort());
+        List<StudentListRow> content = limit(query, pageable).getResultList();
+        return PageableExecutionUtils.getPage(content, pageable, () -> countMatching(spec));
+    }
+
+    @Override
+    public List<StudentFieldsRow> findFields(Specification<Student> spec, Set<String> fields, Sort sort) {
+        return toRows(fieldsQuery(spec, fields, sort).getResultList(), fields);
+    }
+
+    @Override
+    public Page<StudentFieldsRow> findFields(Specification<Student> spec, Set<String> fields, Pageable pageable) {
+        List<Tuple> tuples = limit(fieldsQuery(spec, fields, pageable.getSort()), pageable).getResultList();
+        return PageableExecutionUtils.getPage(toRows(tuples, fields), pageable, () -> countMatching(spec));
+    }
+
+    @Override
+    public List<StudentVersionRow> findVersionRows(Specification<Student> spec, Pageable pageable) {
+        CriteriaBuilder cb = this.entityManager.getCriteriaBuilder();
+        CriteriaQuery<StudentVersionRow> cq = cb.createQuery(StudentVersionRow.class);
+        Root<Student> s = cq.from(Student.class);
+        cq.select(cb.construct(StudentVersionRow.class, s.get("id"), s.get("version")));
+        where(cq, s, cb, spec);
+        cq.orderBy(QueryUtils.toOrders(pageable.getSort(), s, cb));
+        return limit(this.entityManager.createQuery(cq), pageable).getResultList();
+    }
+
+    @Override
+    public long countMatching(Specification<Student> spec) {
+        CriteriaBuilder cb = this.entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> cq = cb.createQuery(Long.class);
+        Root<Student> s = cq.from(Student.class);
+        cq.select(cb.count(s));
+        where(cq, s, cb, spec);
+        return this.entityManager.createQuery(cq).getSingleResult();
+    }
+
+    private TypedQuery<StudentListRow> rowQuery(Specification<Student> spec, Sort sort) {
+        CriteriaBuilder cb = this.entityManager.getCriteriaBuilder();
+        CriteriaQuery<StudentListRow> cq = cb.createQuery(StudentListRow.class);
+        Root<Student> s = cq.from(Student.class);
+        Join<Student, ClassRoom> c = s.join("classRoom", JoinType.LEFT);
+        Join<Student, Role> r = s.join("role", JoinType.LEFT);
+        cq.select(cb.construct(StudentListRow.class, s.get("id"), s.get("version"),
+                s.get("studentCode"), s.get("fullName"), s.get("email"), s.get("dateOfBirth"),
+                s.get("address"), s.get("gender"), c.get("className"), cb.coalesce(r.<Long>get("id"), 0L)));
+        where(cq, s, cb, spec);
+        cq.orderBy(QueryUtils.toOrders(sort, s, cb));
+        return this.entityManager.createQuery(cq);
+    }
+
+    private TypedQuery<Tuple> fieldsQuery(Specification<Student> spec, Set<String> fields, Sort sort) {
+        CriteriaBuilder cb = this.entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> cq = cb.createTupleQuery();
+        Root<Student> s = cq.from(Student.class);
+        // chỉ join lớp học khi cần tên lớp; roleId đọc thẳng từ khóa ngoại
+        Join<Student, ClassRoom> c = fields.contains(StudentFields.CLASS_NAME)
+                ? s.join("classRoom", JoinType.LEFT)
+                : null;
+        List<Selection<?>> selections = new ArrayList<>(fields.size() + 2);
+        // id/version luôn được đọc để tính ETag, không trả về trong map
+        selections.add(s.get("id"));
+        selections.add(s.get("version"));
+        for (String field : fields) {
+            selections.add(switch (field) {
+                case StudentFields.CLASS_NAME -> c.get("className");
+                case StudentFields.ROLE_ID -> cb.coalesce(s.get("role").<Long>get("id"), 0L);
+                // các trường còn lại trùng tên thuộc tính của entity
+                default -> s.get(field);
+            });
+        }
+        cq.multiselect(selections);
+        where(cq, s, cb, spec);
+        cq.orderBy(QueryUtils.toOrders(sort, s, cb));
+        return this.entityManager.createQuery(cq);
+    }
+
+    private static List<StudentFieldsRow> toRows(List<Tuple> tuples, Set<String> fields) {
+        List<StudentFieldsRow> rs = new ArrayList<>(tuples.size());
+        for (Tuple tuple : tuples) {
+            Map<String, Object> row = new LinkedHashMap<>(fields.size() * 2);
+            int i = 2;
+            for (String field : fields) {
+                row.put(field, tuple.get(i++));
+            }
+            rs.add(new StudentFieldsRow(tuple.get(0, Long.class), tuple.get(1, Long.class), row));
+        }
+        return rs;
+    }
+
+    private static void where(CriteriaQuery<?> cq, Root<Student> root, CriteriaBuilder cb,
+            Specification<Student> spec) {
+        Predicate predicate = spec == null ? null : spec.toPredicate(root, cq, cb);
+        if (predicate != null) {
+            cq.where(predicate);
+        }
+    }
+
+    private static <T> TypedQuery<T> limit(TypedQuery<T> query, Pageable pageable) {
+        if (pageable.isPaged()) {
+            query.setFirstResult((int) pageable.getOffset());
+            query.setMaxResults(pageable.getPageSize());
+        }
+        return query;
+    }
+}
@@ -0,0 +1,120 @@
+package com.restful.quanlysinhvien.repository;
+
+import com.restful.quanlysinhvien.domain.dto.StudentDTO;
+import com.restful.quanlysinhvien.domain.dto.StudentSnapshotRow;
+
+import lombok.AllArgsConstructor;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Date;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Repository JDBC cho việc cập nhật một phần (PATCH) thông tin sinh viên.
+ *
+ * <p>
+ * Chỉ những cột thực sự thay đổi mới có mặt trong câu {@code UPDATE}, nên một
+ * lần sửa địa chỉ chỉ ghi đúng cột {@code address}. Việc đổi lớp học không đi
+ * qua đây vì cần kiểm tra sĩ số trong stored procedure {@code update_stu}.
+ * </p>
+ */
+@Repository
+@AllArgsConstructor
+public class StudentPatchRepository {
+    public static final String COLUMN_FULL_NAME = "full_name";
+    public static final String COLUMN_EMAIL = "email";
+    public static final String COLUMN_PASSWORD = "password";
+    public static final String COLUMN_DATE_OF_BIRTH = "date_of_birth";
+    public static final String COLUMN_ADDRESS = "address";
+    public static final String COLUMN_GENDER = "gender";
+    public static final String COLUMN_ROLE_ID = "role_id";
+
+    // tên cột được ghép vào SQL nên chỉ chấp nhận các cột trong danh sách này
+    private static final Set<String> UPDATABLE_COLUMNS = Set.of(COLUMN_FULL_NAME, COLUMN_EMAIL, COLUMN_PASSWORD,
+            COLUMN_DATE_OF_BIRTH, COLUMN_ADDRESS, COLUMN_GENDER, COLUMN_ROLE_ID);
+
+    private static final String BUMP_VERSION_SQL = "UPDATE students SET version = version + 1 WHERE student_code = ?";
+    private static final String BUMP_VERSION_IF_MATCH_SQL = BUMP_VERSION_SQL + " AND version = ?";
+
+    // khóa dòng sinh viên; tên lớp đọc bằng subquery để không khóa cả dòng lớp học
+    // (MySQL không khóa bảng trong subquery nếu subquery không có FOR UPDATE)
+    private static final String SELECT_FOR_UPDATE_SQL = "SELECT s.id, s.class_room_id, s.student_code, s.full_name, "
+            + "s.email, s.password, s.date_of_birth, s.address, s.gender, s.role_id, s.version, "
+            + "(SELECT c.class_name FROM class_rooms c WHERE c.id = s.class_room_id) AS class_name "
+            + "FROM students s WHERE s.student_code = ? FOR UPDATE";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Đọc trạng thái hiện tại của sinh viên từ database và khóa dòng đến hết
+     * transaction. Không đọc qua cache: cache có thể cũ nếu dòng vừa được sửa ở
+     * instance khác.
+     *
+     * @param studentCode mã sinh viên
+     * @return trạng thái hiện tại, hoặc null nếu không tồn tại
+     */
+    public StudentSnapshotRow findForUpdate(String studentCode) {
+        List<StudentSnapshotRow> rows = this.jdbcTemplate.query(SELECT_FOR_UPDATE_SQL, (rs, i) -> {
+            Date dateOfBirth = rs.getDate("date_of_birth");
+            StudentDTO student = new StudentDTO(rs.getString("student_code"), rs.getString("full_name"),
+                    rs.getString("email"), dateOfBirth == null ? null : dateOfBirth.toLocalDate(),
+                    rs.getString("address"), rs.getString("gender"), rs.getString("class_name"),
+                    rs.getLong("role_id"));
+            return new StudentSnapshotRow(rs.getLong("id"), rs.getObject("class_room_id", Long.class), student,
+                    rs.getString("password"), rs.getLong("version"));
+        }, studentCode);
+        return rows.isEmpty() ? null : rows.get(0);
+    }
+
+    /**
+     * Tăng version của sinh viên, có điều kiện nếu truyền version mong đợi
+     * (If-Match). Gọi trong cùng transaction với stored procedure ghi dữ liệu: câu
+     * {@code UPDATE} có điều kiện vừa kiểm tra vừa khóa dòng, không cần
+     * {@code SELECT ... FOR UPDATE}.
+     *
+     * @param studentCode     mã sinh viên
+     * @param expectedVersion version mong đợi, hoặc null nếu không có điều kiện
+     * @return số dòng bị ảnh hưởng (0 nếu không tồn tại hoặc version đã khác)
+     */
+    public int bumpVersion(String studentCode, Long expectedVersion) {
+        if (expectedVersion == null) {
+            return this.jdbcTemplate.update(BUMP_VERSION_SQL, studentCode);
+        }
+        return this.jdbcTemplate.update(BUMP_VERSION_IF_MATCH_SQL, studentCode, expectedVersion);
+    }
+
+    /**
+     * Cập nhật các cột đã thay đổi của một sinh viên trong một câu SQL.
+     *
+     * @param studentCode mã sinh viên cần cập nhật
+     * @param changes     map tên cột → giá trị mới (chỉ gồm các cột thay đổi)
+     * @return số dòng bị ảnh hưởng (0 nếu sinh viên không còn tồn tại)
+     * @throws IllegalArgumentException nếu có cột không được phép cập nhật
+     */
+    public int updateColumns(String studentCode, Map<String, Object> changes) {
+        if (changes.isEmpty()) {
+            return 0;
+        }
+        StringBuilder sql = new StringBuilder("UPDATE students SET ");
+        List<Object> args = new ArrayList<>(changes.size() + 1);
+        for (Map.Entry<String, Object> change : changes.entrySet()) {
+            if (!UPDATABLE_COLUMNS.contains(change.getKey())) {
+                throw new IllegalArgumentException("Column is not updatable: " + change.getKey());
+            }
+            if (!args.isEmpty()) {
+                sql.append(", ");
+            }
+            sql.append(change.getKey()).append(" = ?");
+            args.add(change.getValue());
+        }
+        // mọi lần sửa đều tăng version (ETag)
+        sql.append(", version = version + 1 WHERE student_code = ?");
+        args.add(studentCode);
+        return this.jdbcTemplate.update(sql.toString(), args.toArray());
+    }
+}
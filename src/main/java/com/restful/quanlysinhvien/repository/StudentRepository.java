@@ -1,14 +1,25 @@
 package com.restful.quanlysinhvien.repository;
 
 import com.restful.quanlysinhvien.domain.Student;
+import com.restful.quanlysinhvien.domain.dto.StudentCacheKeyRow;
+import com.restful.quanlysinhvien.domain.dto.StudentCredentialDTO;
+import com.restful.quanlysinhvien.domain.dto.StudentDTO;
+import com.restful.quanlysinhvien.domain.dto.StudentListRow;
+import com.restful.quanlysinhvien.domain.dto.StudentVersionRow;
 
-import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
-import java.util.Date;
+import jakarta.persistence.QueryHint;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Stream;
 
 /**
  * Interface Repository cho việc quản lý các entity {@link Student}.
@@ -16,15 +27,13 @@ import java.util.Date;
  * dụng Spring Data JPA.
  */
 @Repository
-public interface StudentRepository extends JpaRepository<Student, Long> {
+public interface StudentRepository extends JpaRepository<Student, Long>, StudentFilterRepository {
 
         /**
-         * Tìm sinh viên theo mã sinh viên duy nhất.
-         *
-         * @param studentCode mã sinh viên cần tìm
-         * @return đối tượng {@link Student}, hoặc null nếu không tìm thấy
+         * Region query cache riêng cho các truy vấn sinh viên, để sau khi ghi (qua
+         * stored procedure/JDBC) chỉ cần xóa region này thay vì cả region mặc định.
          */
-        Student findOneByStudentCode(String studentCode);
+        String QUERY_CACHE_REGION = "student-queries";
 
         /**
          * Kiểm tra sự tồn tại của sinh viên theo mã sinh viên.
@@ -50,70 +59,220 @@ public interface StudentRepository extends JpaRepository<Student, Long> {
         boolean existsByEmail(String email);
 
         /**
-         * Tìm sinh viên theo email.
-         *
-         * @param email địa chỉ email cần tìm (không được null hoặc rỗng)
-         * @return đối tượng {@link Student} nếu tìm thấy, hoặc null nếu không có sinh
-         *         viên nào với email đã cho
-         * @throws DataAccessException nếu có lỗi truy xuất cơ sở dữ liệu
-         */
-        Student findOneByEmail(String email);
-
-        /**
-         * Cập nhật thông tin sinh viên thông qua stored procedure.
-         *
-         * @param classId     ID lớp học mà sinh viên thuộc về
-         * @param fullName    họ tên sinh viên
-         * @param email       email sinh viên
-         * @param dateOfBirth ngày sinh của sinh viên
-         * @param address     địa chỉ của sinh viên
-         * @param gender      giới tính của sinh viên
-         * @param stuCode     mã sinh viên
-         * @param result      kết quả học tập của sinh viên
-         */
-        @Query(value = "CALL ConstVariable.PROCEDURE_UPDATE_STU(:p_class_id, :p_full_name, :p_email, :p_password, :p_date_of_birth, :p_address, :p_gender, :p_stu_code, :p_role_id, :p_result)", nativeQuery = true)
-        void updateStudent(
-                        @Param("p_class_id") Long classId,
-                        @Param("p_full_name") String fullName,
-                        @Param("p_email") String email,
-                        @Param("p_password") String password,
-                        @Param("p_date_of_birth") Date dateOfBirth,
-                        @Param("p_address") String address,
-                        @Param("p_gender") String gender,
-                        @Param("p_stu_code") String stuCode,
-                        @Param("p_role_id") long roleId,
-                        @Param("p_result") Integer result);
-
-        /**
-         * Tạo mới sinh viên bằng stored procedure.
-         *
-         * @param classId     ID lớp học mà sinh viên thuộc về
-         * @param fullName    họ tên sinh viên
-         * @param email       email sinh viên
-         * @param dateOfBirth ngày sinh của sinh viên
-         * @param address     địa chỉ của sinh viên
-         * @param gender      giới tính của sinh viên
-         * @param stuCode     mã sinh viên
-         * @param result      kết quả học tập của sinh viên
-         */
-        @Query(value = "CALL ConstVariable.PROCEDURE_CREATE_STU(:p_class_id, :p_full_name, :p_email, :p_password, :p_date_of_birth, :p_address, :p_gender, :p_stu_code, :p_role_id, :p_result)", nativeQuery = true)
-        void createStudent(
-                        @Param("p_class_id") Long classId,
-                        @Param("p_full_name") String fullName,
-                        @Param("p_email") String email,
-                        @Param("p_password") String password,
-                        @Param("p_date_of_birth") Date dateOfBirth,
-                        @Param("p_address") String address,
-                        @Param("p_gender") String gender,
-                        @Param("p_stu_code") String stuCode,
-                        @Param("p_role_id") long roleId,
-                        @Param("p_result") Integer result);
-
-        /**
-         * Gọi stored procedure để xóa sinh viên theo mã sinh viên.
-         *
-         * @param stuCode mã sinh viên cần xóa
-         */
-        @Query(value = "CALL ConstVariable.PROCEDURE_DELETE_STU(:stuCode, 1)", nativeQuery = true)
-        void deleteByStudentCodeProcedure(@Param("stuCode") String stuCode);
+         * Kiểm tra email đã thuộc về một sinh viên khác hay chưa.
+         *
+         * @param email       địa chỉ email cần kiểm tra
+         * @param studentCode mã sinh viên được loại trừ (sinh viên đang cập nhật)
+         * @return true nếu có sinh viên khác dùng email này
+         */
+        boolean existsByEmailAndStudentCodeNot(String email, String studentCode);
+
+        /**
+         * Trong các mã sinh viên cho trước, trả về những mã đã tồn tại (một truy vấn
+         * {@code IN} thay vì N lần {@code existsByStudentCode}).
+         *
+         * @param studentCodes danh sách mã cần kiểm tra
+         * @return các mã đã tồn tại trong database
+         */
+        @Query("SELECT s.studentCode FROM Student s WHERE s.studentCode IN :studentCodes")
+        List<String> findExistingStudentCodes(@Param("studentCodes") Collection<String> studentCodes);
+
+        /**
+         * Trong các email cho trước, trả về những email đã tồn tại.
+         *
+         * @param emails danh sách email cần kiểm tra
+         * @return các email đã tồn tại trong database
+         */
+        @Query("SELECT s.email FROM Student s WHERE s.email IN :emails")
+        List<String> findExistingEmails(@Param("emails") Collection<String> emails);
+
+        /**
+         * Trong các id role cho trước, trả về những id tồn tại (validate roleId của
+         * batch tạo sinh viên trước khi insert).
+         *
+         * @param roleIds danh sách id role cần kiểm tra
+         * @return các id role tồn tại trong database
+         */
+        @Query("SELECT r.id FROM Role r WHERE r.id IN :roleIds")
+        List<Long> findExistingRoleIds(@Param("roleIds") Collection<Long> roleIds);
+
+        /**
+         * Phần SELECT/FROM dùng chung cho các projection {@link StudentDTO}: join
+         * {@code class_rooms} và {@code roles} một lần và chỉ lấy các cột của DTO,
+         * nên mỗi truy vấn đọc chỉ là một câu SQL (không còn N+1 do LAZY). Không đọc
+         * cột password. Kèm id (tạo cursor keyset) và version (tính ETag từ chính các
+         * dòng trả về).
+         */
+        String STUDENT_LIST_ROW_SELECT = "SELECT new com.restful.quanlysinhvien.domain.dto.StudentListRow("
+                        + "s.id, s.version, s.studentCode, s.fullName, s.email, s.dateOfBirth, s.address, "
+                        + "s.gender, c.className, COALESCE(r.id, 0L)) "
+                        + "FROM Student s LEFT JOIN s.classRoom c LEFT JOIN s.role r ";
+
+        /**
+         * Lấy thông tin sinh viên (dạng DTO, kèm version cho ETag) theo mã sinh viên
+         * trong một truy vấn.
+         *
+         * @param studentCode mã sinh viên cần tìm
+         * @return {@link StudentListRow} tương ứng, hoặc null nếu không tìm thấy
+         */
+        @QueryHints({
+                        @QueryHint(name = org.hibernate.jpa.HibernateHints.HINT_CACHEABLE, value = "true"),
+                        @QueryHint(name = org.hibernate.jpa.HibernateHints.HINT_CACHE_REGION, value = QUERY_CACHE_REGION)
+        })
+        @Query(STUDENT_LIST_ROW_SELECT + "WHERE s.studentCode = :studentCode")
+        StudentListRow findStudentRowByStudentCode(@Param("studentCode") String studentCode);
+
+        /**
+         * Lấy id, lớp học và role hiện tại của sinh viên để xóa đúng các entry
+         * second-level cache sau khi ghi.
+         *
+         * @param studentCode mã sinh viên
+         * @return {@link StudentCacheKeyRow}, hoặc null nếu không tìm thấy
+         */
+        @Query("SELECT new com.restful.quanlysinhvien.domain.dto.StudentCacheKeyRow(s.id, c.id, r.id) "
+                        + "FROM Student s LEFT JOIN s.classRoom c LEFT JOIN s.role r "
+                        + "WHERE s.studentCode = :studentCode")
+        StudentCacheKeyRow findCacheKeysByStudentCode(@Param("studentCode") String studentCode);
+
+        /**
+         * Lấy thông tin xác thực (mã, mật khẩu đã hash, tên role) trong một truy vấn,
+         * join sẵn bảng {@code roles} thay vì nạp LAZY.
+         *
+         * @param studentCode mã sinh viên (username)
+         * @return {@link StudentCredentialDTO}, hoặc null nếu không tìm thấy
+         */
+        @Query("SELECT new com.restful.quanlysinhvien.domain.dto.StudentCredentialDTO("
+                        + "s.studentCode, s.password, r.nameRole) "
+                        + "FROM Student s LEFT JOIN s.role r WHERE s.studentCode = :studentCode")
+        StudentCredentialDTO findCredentialByStudentCode(@Param("studentCode") String studentCode);
+
+        /**
+         * Lấy toàn bộ sinh viên kèm id/version trong một truy vấn.
+         *
+         * @return danh sách {@link StudentListRow} theo thứ tự id tăng dần
+         */
+        @Query(STUDENT_LIST_ROW_SELECT + "ORDER BY s.id ASC")
+        List<StudentListRow> findAllStudentRows();
+
+        /**
+         * Lấy sinh viên có phân trang (OFFSET), kèm id/version của từng dòng. Trang
+         * dữ liệu là một truy vấn, cộng thêm một truy vấn {@code COUNT} cho metadata.
+         * Thứ tự theo id để nội dung mỗi trang ổn định giữa các lần đọc và trùng với
+         * {@link #findPageVersions(Pageable)}.
+         *
+         * @param pageable thông tin trang
+         * @return trang {@link StudentListRow}
+         */
+        @QueryHints({
+                        @QueryHint(name = org.hibernate.jpa.HibernateHints.HINT_CACHEABLE, value = "true"),
+                        @QueryHint(name = org.hibernate.jpa.HibernateHints.HINT_CACHE_REGION, value = QUERY_CACHE_REGION)
+        })
+        @Query(value = STUDENT_LIST_ROW_SELECT + "ORDER BY s.id ASC", countQuery = "SELECT COUNT(s) FROM Student s")
+        Page<StudentListRow> findStudentRows(Pageable pageable);
+
+        /**
+         * Đọc toàn bộ sinh viên (không có mật khẩu) dưới dạng {@link Stream} chỉ-tiến
+         * (forward-only).
+         *
+         * <p>
+         * Fetch size {@code Integer.MIN_VALUE} bật chế độ streaming của MySQL
+         * Connector/J: driver trả từng dòng thay vì nạp cả ResultSet vào bộ nhớ. Kết
+         * quả là DTO nên không có entity nào nằm lại trong persistence context.
+         * Phải gọi trong một transaction và đóng stream sau khi dùng.
+         * </p>
+         *
+         * @return stream sinh viên theo thứ tự id tăng dần
+         */
+        @QueryHints({
+                        @QueryHint(name = org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE, value = "-2147483648"),
+                        @QueryHint(name = org.hibernate.jpa.HibernateHints.HINT_READ_ONLY, value = "true"),
+                        @QueryHint(name = org.hibernate.jpa.HibernateHints.HINT_CACHEABLE, value = "false")
+        })
+        @Query("SELECT new com.restful.quanlysinhvien.domain.dto.StudentDTO("
+                        + "s.studentCode, s.fullName, s.email, s.dateOfBirth, s.address, s.gender, "
+                        + "c.className, COALESCE(r.id, 0L)) "
+                        + "FROM Student s LEFT JOIN s.classRoom c LEFT JOIN s.role r ORDER BY s.id ASC")
+        Stream<StudentDTO> streamAllForExport();
+
+        /**
+         * Truy vấn keyset (seek) theo id: lấy các sinh viên có id lớn hơn id cuối của
+         * trang trước. Trả về {@link List} nên Spring Data không chạy thêm
+         * {@code COUNT(*)}, và điều kiện {@code id > :lastId} dùng trực tiếp khóa chính
+         * thay vì OFFSET.
+         *
+         * @param lastId   id cuối cùng của trang trước (0 cho trang đầu)
+         * @param pageable chỉ dùng để giới hạn số dòng (page luôn là 0)
+         * @return danh sách dòng (id, version, DTO) theo thứ tự id tăng dần
+         */
+        @Query(STUDENT_LIST_ROW_SELECT + "WHERE s.id > :lastId ORDER BY s.id ASC")
+        List<StudentListRow> findNextPageById(@Param("lastId") long lastId, Pageable pageable);
+
+        /**
+         * Truy vấn keyset (seek) theo mã sinh viên, dùng unique index của cột
+         * {@code student_code}.
+         *
+         * @param lastCode mã sinh viên cuối cùng của trang trước
+         * @param pageable chỉ dùng để giới hạn số dòng (page luôn là 0)
+         * @return danh sách dòng (id, version, DTO) theo thứ tự mã tăng dần
+         */
+        @Query(STUDENT_LIST_ROW_SELECT + "WHERE s.studentCode > :lastCode ORDER BY s.studentCode ASC")
+        List<StudentListRow> findNextPageByStudentCode(@Param("lastCode") String lastCode, Pageable pageable);
+
+        /**
+         * Trang đầu tiên khi sắp xếp theo mã sinh viên.
+         *
+         * @param pageable chỉ dùng để giới hạn số dòng (page luôn là 0)
+         * @return danh sách dòng (id, version, DTO) theo thứ tự mã tăng dần
+         */
+        @Query(STUDENT_LIST_ROW_SELECT + "ORDER BY s.studentCode ASC")
+        List<StudentListRow> findFirstPageByStudentCode(Pageable pageable);
+
+        /**
+         * Phần SELECT/FROM cho các truy vấn version dùng để tính ETag trước khi đọc
+         * dữ liệu (chỉ khi client gửi {@code If-None-Match}): chỉ đọc id và version,
+         * không join lớp học/role.
+         */
+        String STUDENT_VERSION_ROW_SELECT = "SELECT new com.restful.quanlysinhvien.domain.dto.StudentVersionRow("
+                        + "s.id, s.version) FROM Student s ";
+
+        /**
+         * Id/version của một trang OFFSET, cùng thứ tự với
+         * {@link #findStudentRows(Pageable)}.
+         *
+         * @param pageable thông tin trang
+         * @return danh sách id/version
+         */
+        @Query(STUDENT_VERSION_ROW_SELECT + "ORDER BY s.id ASC")
+        List<StudentVersionRow> findPageVersions(Pageable pageable);
+
+        /**
+         * Id/version của một trang keyset theo id, cùng điều kiện với
+         * {@link #findNextPageById(long, Pageable)}.
+         */
+        @Query(STUDENT_VERSION_ROW_SELECT + "WHERE s.id > :lastId ORDER BY s.id ASC")
+        List<StudentVersionRow> findVersionsAfterId(@Param("lastId") long lastId, Pageable pageable);
+
+        /**
+         * Id/version của một trang keyset theo mã sinh viên, cùng điều kiện với
+         * {@link #findNextPageByStudentCode(String, Pageable)}.
+         */
+        @Query(STUDENT_VERSION_ROW_SELECT + "WHERE s.studentCode > :lastCode ORDER BY s.studentCode ASC")
+        List<StudentVersionRow> findVersionsAfterStudentCode(@Param("lastCode") String lastCode, Pageable pageable);
+
+        /**
+         * Id/version của trang đầu khi sắp xếp theo mã sinh viên.
+         */
+        @Query(STUDENT_VERSION_ROW_SELECT + "ORDER BY s.studentCode ASC")
+        List<StudentVersionRow> findFirstVersionsByStudentCode(Pageable pageable);
+
+        /**
+         * Dấu vân tay của toàn bảng (số dòng, tổng id, tổng version) cho ETag của
+         * danh sách không phân trang: thêm, xóa hoặc sửa sinh viên đều làm giá trị
+         * này thay đổi.
+         *
+         * @return chuỗi {@code count:sumId:sumVersion}
+         */
+        @Query("SELECT CONCAT(CAST(COUNT(s.id) AS String), ':', CAST(COALESCE(SUM(s.id), 0) AS String), ':', "
+                        + "CAST(COALESCE(SUM(s.version), 0) AS String)) FROM Student s")
+        String findTableFingerprint();
 }
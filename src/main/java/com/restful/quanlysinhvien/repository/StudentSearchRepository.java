@@ -0,0 +1,110 @@
+package com.restful.quanlysinhvien.repository;
+
+import com.restful.quanlysinhvien.domain.dto.StudentDTO;
+
+import lombok.AllArgsConstructor;
+
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.datasource.init.ScriptUtils;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Date;
+import java.util.List;
+import java.util.regex.Pattern;
+
+/**
+ * Repository JDBC cho tìm kiếm toàn văn sinh viên theo họ tên, email và địa chỉ.
+ *
+ * <p>
+ * Dùng index {@code FULLTEXT} của MySQL với parser {@code ngram}: tiếng Việt
+ * không cần tách từ theo khoảng trắng, mỗi chuỗi được chia thành các n-gram
+ * ({@code ngram_token_size}, mặc định 2) nên "Nguyen Van" khớp cả khi chỉ gõ
+ * một phần tên. Chuỗi tìm kiếm được gửi dưới dạng cụm từ trong
+ * {@code BOOLEAN MODE}: mọi n-gram phải có mặt liền nhau. Ở
+ * {@code NATURAL LANGUAGE MODE} các n-gram được OR với nhau nên "Nguyen Van" khớp
+ * gần như mọi dòng có "ng" hoặc "an", và {@code ORDER BY score} phải sắp xếp gần
+ * cả bảng. Kết quả xếp theo điểm liên quan của {@code MATCH ... AGAINST}.
+ * </p>
+ *
+ * <p>
+ * Hibernate không khai báo được index FULLTEXT; index được tạo bằng script
+ * {@value #FULLTEXT_INDEX_SCRIPT} khi triển khai.
+ * </p>
+ */
+@Repository
+@AllArgsConstructor
+public class StudentSearchRepository {
+    public static final String FULLTEXT_INDEX_NAME = "ft_students_search";
+    public static final String FULLTEXT_INDEX_SCRIPT = "db/students_fulltext_index.sql";
+
+    private static final String MATCH = "MATCH(s.full_name, s.email, s.address) AGAINST (? IN BOOLEAN MODE)";
+    private static final String SEARCH_SQL = "SELECT s.student_code, s.full_name, s.email, s.date_of_birth, "
+            + "s.address, s.gender, c.class_name, COALESCE(s.role_id, 0) AS role_id, " + MATCH + " AS score "
+            + "FROM students s LEFT JOIN class_rooms c ON c.id = s.class_room_id "
+            + "WHERE " + MATCH + " ORDER BY score DESC, s.id ASC LIMIT ? OFFSET ?";
+    private static final String INDEX_EXISTS_SQL = "SELECT COUNT(*) FROM information_schema.statistics "
+            + "WHERE table_schema = DATABASE() AND table_name = 'students' AND index_name = ?";
+    // dấu nháy kép kết thúc cụm từ, không escape được trong BOOLEAN MODE
+    private static final Pattern PHRASE_BREAKING = Pattern.compile("[\"\\s]+");
+
+    private static final RowMapper<StudentDTO> STUDENT_DTO_MAPPER = (rs, rowNum) -> {
+        Date dateOfBirth = rs.getDate("date_of_birth");
+        return new StudentDTO(rs.getString("student_code"), rs.getString("full_name"), rs.getString("email"),
+                dateOfBirth == null ? null : dateOfBirth.toLocalDate(), rs.getString("address"),
+                rs.getString("gender"), rs.getString("class_name"), rs.getLong("role_id"));
+    };
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Tìm sinh viên khớp chuỗi tìm kiếm, xếp theo độ liên quan giảm dần.
+     *
+     * @param query  chuỗi tìm kiếm
+     * @param offset số dòng bỏ qua
+     * @param limit  số dòng tối đa
+     * @return danh sách {@link StudentDTO} (không kèm mật khẩu)
+     */
+    public List<StudentDTO> search(String query, long offset, int limit) {
+        String phrase = toPhrase(query);
+        if (phrase == null) {
+            return List.of();
+        }
+        return this.jdbcTemplate.query(SEARCH_SQL, STUDENT_DTO_MAPPER, phrase, phrase, limit, offset);
+    }
+
+    /**
+     * Chuyển chuỗi tìm kiếm thành một cụm từ của {@code BOOLEAN MODE}. Bên trong
+     * dấu nháy kép các toán tử ({@code + - * ~ < > ( )}) không có tác dụng; dấu
+     * nháy kép và khoảng trắng liên tiếp được thay bằng một khoảng trắng.
+     *
+     * @param query chuỗi tìm kiếm
+     * @return cụm từ đã đặt trong dấu nháy kép, hoặc null nếu không còn ký tự nào
+     */
+    static String toPhrase(String query) {
+        String words = PHRASE_BREAKING.matcher(query).replaceAll(" ").strip();
+        return words.isEmpty() ? null : '"' + words + '"';
+    }
+
+    /**
+     * @return true nếu index FULLTEXT đã tồn tại
+     */
+    public boolean fullTextIndexExists() {
+        Integer count = this.jdbcTemplate.queryForObject(INDEX_EXISTS_SQL, Integer.class, FULLTEXT_INDEX_NAME);
+        return count != null && count > 0;
+    }
+
+    /**
+     * Tạo index FULLTEXT (ngram) trên {@code full_name, email, address} bằng script
+     * {@value #FULLTEXT_INDEX_SCRIPT}. Với bảng lớn câu lệnh này dựng lại bảng và
+     * chặn ghi, chỉ dùng cho môi trường phát triển.
+     */
+    public void createFullTextIndex() {
+        this.jdbcTemplate.execute((ConnectionCallback<Void>) connection -> {
+            ScriptUtils.executeSqlScript(connection, new ClassPathResource(FULLTEXT_INDEX_SCRIPT));
+            return null;
+        });
+    }
+}
@@ -0,0 +1,112 @@
+package com.restful.quanlysinhvien.repository;
+
+import com.restful.quanlysinhvien.domain.Student;
+import com.restful.quanlysinhvien.util.error.BadRequestExceptionCustom;
+
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.LocalDate;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Các {@link Specification} lọc sinh viên và danh sách khóa sắp xếp được phép.
+ *
+ * <p>
+ * Mọi điều kiện chỉ dùng cột của bảng {@code students} (lớp và role so sánh
+ * theo khóa ngoại, không join), nên khớp với các index ghép khai báo trên
+ * {@link Student}: {@code (class_room_id, date_of_birth)},
+ * {@code (gender, date_of_birth)}, {@code (role_id, date_of_birth)} và các
+ * index {@code (x, full_name)} tương ứng. Chỉ các khóa sắp xếp có index cho
+ * điều kiện đang lọc mới được chấp nhận để một request không thể ép MySQL
+ * filesort trên cả vùng đã lọc: khi lọc theo lớp/giới tính/role chỉ sắp theo
+ * {@code dateOfBirth} (mặc định) hoặc {@code fullName}; {@code id} luôn được
+ * thêm cuối để thứ tự ổn định giữa các trang (InnoDB lưu id cuối mỗi index).
+ * </p>
+ */
+public final class StudentSpecifications {
+    public static final String SORT_ID = "id";
+    public static final String SORT_STUDENT_CODE = "studentCode";
+    public static final String SORT_FULL_NAME = "fullName";
+    public static final String SORT_DATE_OF_BIRTH = "dateOfBirth";
+
+    // khóa sắp xếp → thuộc tính entity, mỗi thuộc tính đều có index
+    private static final Map<String, String> SORTABLE_PROPERTIES = Map.of(
+            SORT_ID, "id",
+            SORT_STUDENT_CODE, "studentCode",
+            SORT_FULL_NAME, "fullName",
+            SORT_DATE_OF_BIRTH, "dateOfBirth");
+    // khi có điều kiện bằng trên class_room_id/gender/role_id: chỉ các cột đứng sau
+    // cột đó trong index ghép
+    private static final Set<String> SORTABLE_WITH_COLUMN_FILTER = Set.of(SORT_FULL_NAME, SORT_DATE_OF_BIRTH);
+
+    private StudentSpecifications() {
+    }
+
+    /**
+     * @return điều kiện luôn sai (ví dụ lọc theo lớp không tồn tại)
+     */
+    public static Specification<Student> none() {
+        return (root, query, cb) -> cb.disjunction();
+    }
+
+    public static Specification<Student> hasStudentCode(String studentCode) {
+        return (root, query, cb) -> cb.equal(root.get("studentCode"), studentCode);
+    }
+
+    public static Specification<Student> inClassRoom(long classRoomId) {
+        return (root, query, cb) -> cb.equal(root.get("classRoom").get("id"), classRoomId);
+    }
+
+    public static Specification<Student> hasGender(String gender) {
+        return (root, query, cb) -> cb.equal(root.get("gender"), gender);
+    }
+
+    public static Specification<Student> hasRoleId(long roleId) {
+        return (root, query, cb) -> cb.equal(root.get("role").get("id"), roleId);
+    }
+
+    public static Specification<Student> bornOnOrAfter(LocalDate from) {
+        return (root, query, cb) -> cb.greaterThanOrEqualTo(root.get("dateOfBirth"), from);
+    }
+
+    public static Specification<Student> bornOnOrBefore(LocalDate to) {
+        return (root, query, cb) -> cb.lessThanOrEqualTo(root.get("dateOfBirth"), to);
+    }
+
+    /**
+     * Đọc tham số {@code sort}.
+     *
+     * @param sortParam      khóa sắp xếp, tiền tố {@code -} là giảm dần; null hoặc
+     *                       rỗng là theo id tăng dần (theo ngày sinh nếu
+     *                       {@code columnFiltered})
+     * @param columnFiltered true nếu có điều kiện bằng theo lớp, giới tính hoặc role
+     * @return {@link Sort} tương ứng, luôn kết thúc bằng {@code id}
+     * @throws BadRequestExceptionCustom nếu khóa không nằm trong danh sách cho phép
+     *                                   với điều kiện đang lọc
+     */
+    public static Sort parseSort(String sortParam, boolean columnFiltered) {
+        if (sortParam == null || sortParam.isBlank()) {
+            return columnFiltered
+                    ? Sort.by(Sort.Direction.ASC, "dateOfBirth", "id")
+                    : Sort.by(Sort.Direction.ASC, "id");
+        }
+        String key = sortParam.trim();
+        Sort.Direction direction = Sort.Direction.ASC;
+        if (key.startsWith("-")) {
+            direction = Sort.Direction.DESC;
+            key = key.substring(1);
+        }
+        String property = SORTABLE_PROPERTIES.get(key);
+        if (property == null) {
+            throw new BadRequestExceptionCustom("sort must be one of id, studentCode, fullName, dateOfBirth");
+        }
+        if (columnFiltered && !SORTABLE_WITH_COLUMN_FILTER.contains(key)) {
+            throw new BadRequestExceptionCustom(
+                    "sort must be one of fullName, dateOfBirth when filtering by className, gender or roleId");
+        }
+        Sort sort = Sort.by(direction, property);
+        return SORT_ID.equals(key) ? sort : sort.and(Sort.by(direction, "id"));
+    }
+}
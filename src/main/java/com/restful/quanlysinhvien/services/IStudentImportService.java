@@ -0,0 +1,28 @@
+package com.restful.quanlysinhvien.services;
+
+import com.restful.quanlysinhvien.domain.dto.ImportJobDTO;
+import com.restful.quanlysinhvien.util.error.BadRequestExceptionCustom;
+import com.restful.quanlysinhvien.util.error.ResourceNotFoundException;
+
+import org.springframework.web.multipart.MultipartFile;
+
+public interface IStudentImportService {
+
+        /**
+         * Nhận file CSV và tạo job import chạy nền.
+         *
+         * @param file file CSV upload (dòng đầu là header)
+         * @return trạng thái ban đầu của job (PENDING)
+         * @throws BadRequestExceptionCustom nếu file rỗng hoặc hàng đợi import đã đầy
+         */
+        public ImportJobDTO startImport(MultipartFile file);
+
+        /**
+         * Lấy trạng thái, tiến độ và danh sách lỗi của một job import.
+         *
+         * @param jobId mã job
+         * @return trạng thái hiện tại của job
+         * @throws ResourceNotFoundException nếu không tìm thấy job
+         */
+        public ImportJobDTO getImportJob(String jobId);
+}
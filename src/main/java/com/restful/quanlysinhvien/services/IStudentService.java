@@ -1,58 +1,103 @@
 package com.restful.quanlysinhvien.services;
 
-import com.restful.quanlysinhvien.domain.dto.ResultPaginationDTO;
+import com.restful.quanlysinhvien.domain.dto.BatchResultDTO;
+import com.restful.quanlysinhvien.domain.dto.ETaggedResult;
+import com.restful.quanlysinhvien.domain.dto.ResultSearchDTO;
 import com.restful.quanlysinhvien.domain.dto.StudentDTO;
+import com.restful.quanlysinhvien.domain.dto.StudentFilter;
+import com.restful.quanlysinhvien.domain.dto.StudentSuggestionDTO;
 import com.restful.quanlysinhvien.domain.dto.StudentUpdateDTO;
+import com.restful.quanlysinhvien.domain.dto.VersionedStudentDTO;
+import com.restful.quanlysinhvien.util.ExportFormat;
 import com.restful.quanlysinhvien.util.error.BadRequestExceptionCustom;
 import com.restful.quanlysinhvien.util.error.DuplicateResourceException;
+import com.restful.quanlysinhvien.util.error.PreconditionFailedException;
 import com.restful.quanlysinhvien.util.error.ResourceNotFoundException;
 import com.restful.quanlysinhvien.util.error.StoredProcedureFailedException;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import java.util.List;
 import java.util.Optional;
 
-import org.springframework.data.domain.Pageable;
+import com.fasterxml.jackson.databind.JsonNode;
 
 public interface IStudentService {
 
         /**
-         * Lấy danh sách sinh viên theo phân trang (nếu có) hoặc toàn bộ nếu không có
-         * phân trang.
+         * Lấy danh sách sinh viên theo cursor, bộ lọc, phân trang (nếu có) hoặc toàn
+         * bộ nếu không có phân trang, cùng ETag tính từ các dòng đã đọc.
          *
          * @param currentOptional  Optional chứa số trang hiện tại (current)
          * @param pageSizeOptional Optional chứa kích thước mỗi trang (pageSize)
-         * @return Object - có thể là danh sách sinh viên hoặc đối tượng phân trang tùy
-         *         theo tham số
+         * @param afterOptional    cursor của trang trước (chế độ keyset), Optional
+         * @param orderByOptional  khóa sắp xếp cho chế độ keyset, Optional
+         * @param filter           tham số lọc/sắp xếp/chọn trường
+         * @return danh sách sinh viên hoặc đối tượng phân trang tùy theo tham số, kèm
+         *         ETag
          * @throws BadRequestExceptionCustom nếu tham số không hợp lệ
          */
-        public Object getAll(Optional<String> currentOptional, Optional<String> pageSizeOptional);
+        public ETaggedResult<?> getList(Optional<String> currentOptional, Optional<String> pageSizeOptional,
+                        Optional<String> afterOptional, Optional<String> orderByOptional, StudentFilter filter);
 
         /**
-         * Lấy danh sách tất cả sinh viên trong hệ thống.
+         * Ghi toàn bộ danh sách sinh viên trực tiếp ra output stream (NDJSON hoặc
+         * CSV) mà không nạp cả danh sách vào bộ nhớ.
          *
-         * @return Danh sách StudentDTO chứa thông tin tất cả sinh viên
+         * @param out    output stream của response
+         * @param format định dạng xuất
+         * @throws IOException nếu ghi ra client thất bại
          */
-        public List<StudentDTO> getAllStu();
+        public void exportStu(OutputStream out, ExportFormat format) throws IOException;
 
         /**
-         * Lấy danh sách sinh viên có phân trang.
+         * Tìm kiếm toàn văn sinh viên theo họ tên, email và địa chỉ, xếp theo độ
+         * liên quan.
          *
-         * @param pageable Đối tượng Pageable chứa thông tin trang hiện tại và kích
-         *                 thước trang
-         * @return Đối tượng ResultPaginationDTO chứa danh sách sinh viên và thông tin
-         *         phân trang
+         * @param q                chuỗi tìm kiếm
+         * @param currentOptional  số trang hiện tại, Optional
+         * @param pageSizeOptional kích thước trang, Optional
+         * @return {@link ResultSearchDTO} chứa kết quả và metadata
+         * @throws BadRequestExceptionCustom nếu tham số không hợp lệ
          */
-        public ResultPaginationDTO getAllStuPag(Pageable pageable);
+        public ResultSearchDTO searchStu(String q, Optional<String> currentOptional, Optional<String> pageSizeOptional)
+                        throws BadRequestExceptionCustom;
 
         /**
-         * Lấy thông tin sinh viên theo mã sinh viên.
+         * Gợi ý sinh viên (autocomplete) theo tiền tố mã sinh viên hoặc họ tên không
+         * dấu.
          *
-         * @param stuCode Mã sinh viên cần tìm (không được để trống)
-         * @return Đối tượng StudentDTO tương ứng với sinh viên tìm được
-         * @throws ResourceNotFoundException Nếu không tìm thấy sinh viên với mã đã cung
-         *                                   cấp
+         * @param q             chuỗi người dùng đang gõ
+         * @param limitOptional số gợi ý tối đa, Optional
+         * @return danh sách gợi ý
+         * @throws BadRequestExceptionCustom nếu tham số không hợp lệ
+         */
+        public List<StudentSuggestionDTO> suggestStu(String q, Optional<String> limitOptional)
+                        throws BadRequestExceptionCustom;
+
+        /**
+         * Lấy thông tin sinh viên theo mã, chỉ gồm các trường được chọn.
+         *
+         * @param stuCode        Mã sinh viên cần tìm
+         * @param fieldsOptional danh sách trường cách nhau bởi dấu phẩy; không có thì
+         *                       trả đủ các trường
+         * @return {@link StudentDTO} hoặc map tên trường → giá trị, kèm ETag theo
+         *         version
+         * @throws ResourceNotFoundException Nếu không tìm thấy sinh viên
+         * @throws BadRequestExceptionCustom Nếu có trường không được hỗ trợ
+         */
+        public ETaggedResult<Object> getStuByStuCode(String stuCode, Optional<String> fieldsOptional)
+                        throws ResourceNotFoundException, BadRequestExceptionCustom;
+
+        /**
+         * Lấy ETag của danh sách sinh viên với cùng tham số như
+         * {@link #getList(Optional, Optional, Optional, Optional, StudentFilter)},
+         * không dựng DTO. Chỉ dùng khi client gửi {@code If-None-Match}.
+         *
+         * @return ETag của danh sách
          */
-        public StudentDTO getStuByStuCode(String stuCode) throws ResourceNotFoundException;
+        public String getListETag(Optional<String> currentOptional, Optional<String> pageSizeOptional,
+                        Optional<String> afterOptional, Optional<String> orderByOptional, StudentFilter filter);
 
         /**
          * Xóa sinh viên khỏi hệ thống theo mã sinh viên.
@@ -68,17 +113,44 @@ public interface IStudentService {
          *
          * @param studentUpdateDTO DTO chứa thông tin sinh viên cần cập nhật
          * @param stuCode          Mã sinh viên cần cập nhật (không được để trống)
+         * @param expectedVersion  version lấy từ header If-Match, hoặc null nếu không
+         *                         có điều kiện
          * @throws ResourceNotFoundException      Nếu không tìm thấy sinh viên hoặc lớp
          *                                        học
+         * @throws PreconditionFailedException    Nếu version hiện tại khác
+         *                                        expectedVersion
          * @throws DuplicateResourceException     Nếu email đã tồn tại cho sinh viên
          *                                        khác
          * @throws StoredProcedureFailedException Nếu việc cập nhật thất bại (ví dụ lớp
          *                                        đã đầy)
          * @return đối tượng {@link StudentDTO} chứa thông tin tương ứng
          */
-        public StudentDTO updateStu(StudentUpdateDTO studentUpdateDTO, String stuCode)
+        public StudentDTO updateStu(StudentUpdateDTO studentUpdateDTO, String stuCode, Long expectedVersion)
                         throws ResourceNotFoundException, StoredProcedureFailedException, DuplicateResourceException;
 
+        /**
+         * Cập nhật một phần thông tin sinh viên theo JSON Merge Patch: chỉ các trường
+         * có trong patch và thực sự thay đổi mới được ghi.
+         *
+         * @param stuCode         Mã sinh viên cần cập nhật
+         * @param patch           Nội dung merge patch (JSON object)
+         * @param expectedVersion Version lấy từ If-Match; null nếu không kiểm tra
+         * @throws BadRequestExceptionCustom      Nếu patch không phải JSON object
+         * @throws ResourceNotFoundException      Nếu không tìm thấy sinh viên hoặc lớp
+         *                                        học
+         * @throws PreconditionFailedException    Nếu version hiện tại khác
+         *                                        {@code expectedVersion}
+         * @throws DuplicateResourceException     Nếu email mới đã tồn tại cho sinh
+         *                                        viên khác
+         * @throws StoredProcedureFailedException Nếu đổi lớp thất bại (ví dụ lớp đã
+         *                                        đầy)
+         * @return đối tượng {@link VersionedStudentDTO} gồm sinh viên sau khi cập nhật
+         *         và version hiện tại
+         */
+        public VersionedStudentDTO patchStu(String stuCode, JsonNode patch, Long expectedVersion)
+                        throws ResourceNotFoundException, PreconditionFailedException, StoredProcedureFailedException,
+                        DuplicateResourceException;
+
         /**
          * Tạo mới sinh viên trong hệ thống.
          *
@@ -92,4 +164,14 @@ public interface IStudentService {
          */
         public StudentDTO createStu(StudentDTO studentDTO)
                         throws ResourceNotFoundException, StoredProcedureFailedException, DuplicateResourceException;
+
+        /**
+         * Tạo mới nhiều sinh viên trong một request, validate theo lô và insert bằng
+         * JDBC batch.
+         *
+         * @param studentDTOs danh sách sinh viên cần tạo
+         * @return đối tượng {@link BatchResultDTO} chứa kết quả từng dòng (created,
+         *         duplicate, class not found, class full)
+         */
+        public BatchResultDTO createStuBatch(List<StudentDTO> studentDTOs);
 }
@@ -0,0 +1,126 @@
+package com.restful.quanlysinhvien.services.service_impl;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.restful.quanlysinhvien.domain.ClassRoom;
+import com.restful.quanlysinhvien.domain.dto.ClassRoomDTO;
+import com.restful.quanlysinhvien.repository.ClassRoomRepository;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * Cache trong bộ nhớ (giới hạn kích thước, LRU/TinyLFU của Caffeine) cho việc tra
+ * cứu lớp học theo tên.
+ *
+ * <p>
+ * Số lớp học ít (vài trăm) và gần như không đổi, nên mỗi lần tạo/cập nhật sinh
+ * viên không cần thêm một round trip {@code findByClassName}. Tên lớp không tồn
+ * tại không được cache. Cache bị xóa khi entity {@link ClassRoom} được ghi qua
+ * JPA (xem {@link ClassRoomCacheListener}) và tự hết hạn sau một khoảng thời
+ * gian để bao phủ các thay đổi ngoài ứng dụng. Khóa cache là tên lớp viết
+ * thường vì MySQL so sánh {@code class_name} không phân biệt hoa thường:
+ * {@code cntt-k60} và {@code CNTT-K60} là cùng một lớp, dù tra một dòng hay
+ * theo lô. Số hit/miss/eviction được đăng ký
+ * vào Micrometer với tên cache {@value #CACHE_NAME}.
+ * </p>
+ */
+@Component
+public class ClassRoomCache {
+    public static final String CACHE_NAME = "classRoomByName";
+
+    private final ClassRoomRepository classRoomRepository;
+    private final Cache<String, ClassRoomDTO> cache;
+
+    public ClassRoomCache(ClassRoomRepository classRoomRepository, MeterRegistry meterRegistry,
+            @Value("${app.cache.class-room.max-size:1000}") long maxSize,
+            @Value("${app.cache.class-room.expire-after-write:PT30M}") Duration expireAfterWrite) {
+        this.classRoomRepository = classRoomRepository;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(expireAfterWrite)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, this.cache, CACHE_NAME);
+    }
+
+    /**
+     * Tìm lớp học theo tên, đọc từ cache nếu có.
+     *
+     * @param className tên lớp
+     * @return thông tin lớp, hoặc null nếu không tồn tại
+     */
+    public ClassRoomDTO findByClassName(String className) {
+        return this.cache.get(key(className), name -> toDTO(this.classRoomRepository.findByClassName(className)));
+    }
+
+    /**
+     * Tìm nhiều lớp học theo tên; các tên chưa có trong cache được nạp bằng một
+     * truy vấn {@code IN}.
+     *
+     * @param classNames danh sách tên lớp
+     * @return map tên lớp → thông tin lớp (chỉ gồm các lớp tồn tại), tra cứu
+     *         không phân biệt hoa thường
+     */
+    public Map<String, ClassRoomDTO> findByClassNames(Collection<String> classNames) {
+        Set<String> keys = new HashSet<>();
+        for (String className : classNames) {
+            keys.add(key(className));
+        }
+        Map<String, ClassRoomDTO> rs = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+        for (ClassRoomDTO classRoom : this.cache.getAll(keys, this::loadAll).values()) {
+            rs.put(classRoom.getClassName(), classRoom);
+        }
+        return rs;
+    }
+
+    /**
+     * Xóa một lớp khỏi cache.
+     *
+     * @param className tên lớp
+     */
+    public void evict(String className) {
+        if (className != null) {
+            this.cache.invalidate(key(className));
+        }
+    }
+
+    /**
+     * Xóa toàn bộ cache (ví dụ khi tên lớp có thể đã bị đổi).
+     */
+    public void evictAll() {
+        this.cache.invalidateAll();
+    }
+
+    private Map<String, ClassRoomDTO> loadAll(Set<? extends String> keys) {
+        Map<String, ClassRoomDTO> rs = new HashMap<>();
+        for (ClassRoom classRoom : this.classRoomRepository.findByClassNameIn(new ArrayList<String>(keys))) {
+            rs.put(key(classRoom.getClassName()), toDTO(classRoom));
+        }
+        return rs;
+    }
+
+    private static String key(String className) {
+        return className.toLowerCase(Locale.ROOT);
+    }
+
+    private static ClassRoomDTO toDTO(ClassRoom classRoom) {
+        if (classRoom == null) {
+            return null;
+        }
+        return new ClassRoomDTO(classRoom.getId(), classRoom.getClassName(), classRoom.getMaxStudents());
+    }
+}
@@ -0,0 +1,52 @@
+package com.restful.quanlysinhvien.services.service_impl;
+
+import com.restful.quanlysinhvien.domain.ClassRoom;
+
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+
+/**
+ * JPA entity listener xóa {@link ClassRoomCache} khi {@link ClassRoom} được ghi,
+ * và xóa {@link StudentDTOCache} khi lớp bị đổi/xóa (DTO sinh viên chứa tên
+ * lớp).
+ *
+ * <p>
+ * Hibernate lấy listener này từ Spring context (SpringBeanContainer) nên có thể
+ * inject bean; {@link ObjectProvider} tránh vòng phụ thuộc với
+ * EntityManagerFactory và bỏ qua cache không có trong context (ví dụ test
+ * {@code @DataJpaTest} chỉ dựng tầng JPA).
+ * </p>
+ */
+@Component
+public class ClassRoomCacheListener {
+    private final ObjectProvider<ClassRoomCache> classRoomCache;
+    private final ObjectProvider<StudentDTOCache> studentDTOCache;
+
+    public ClassRoomCacheListener(ObjectProvider<ClassRoomCache> classRoomCache,
+            ObjectProvider<StudentDTOCache> studentDTOCache) {
+        this.classRoomCache = classRoomCache;
+        this.studentDTOCache = studentDTOCache;
+    }
+
+    @PostPersist
+    public void evict(ClassRoom classRoom) {
+        this.classRoomCache.ifAvailable(cache -> cache.evict(classRoom.getClassName()));
+    }
+
+    @PostRemove
+    public void evictRemoved(ClassRoom classRoom) {
+        this.classRoomCache.ifAvailable(cache -> cache.evict(classRoom.getClassName()));
+        this.studentDTOCache.ifAvailable(StudentDTOCache::evictAll);
+    }
+
+    // tên lớp có thể đã đổi nên không biết key cũ, xóa toàn bộ (chỉ vài trăm lớp)
+    @PostUpdate
+    public void evictAll(ClassRoom classRoom) {
+        this.classRoomCache.ifAvailable(ClassRoomCache::evictAll);
+        this.studentDTOCache.ifAvailable(StudentDTOCache::evictAll);
+    }
+}
@@ -0,0 +1,105 @@
+package com.restful.quanlysinhvien.services.service_impl;
+
+import com.restful.quanlysinhvien.domain.ClassRoom;
+import com.restful.quanlysinhvien.domain.Role;
+import com.restful.quanlysinhvien.domain.Student;
+import com.restful.quanlysinhvien.repository.StudentRepository;
+import com.restful.quanlysinhvien.util.AfterCompletion;
+
+import jakarta.persistence.EntityManagerFactory;
+
+import org.hibernate.Cache;
+import org.hibernate.SessionFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Xóa second-level cache của Hibernate sau các thao tác ghi không đi qua
+ * Hibernate.
+ *
+ * <p>
+ * Stored procedure ({@code create_stu}, {@code update_stu},
+ * {@code delete_stu}) và các câu JDBC (batch insert, PATCH) ghi thẳng xuống
+ * database nên Hibernate không biết để cập nhật cache. Chỉ các entry bị ảnh
+ * hưởng bị xóa: entity sinh viên theo id, entity/danh sách sinh viên của các lớp
+ * và role liên quan, và region query cache {@link StudentRepository#QUERY_CACHE_REGION}.
+ * Region natural id ({@code studentCode} → id) chỉ bị xóa khi xóa sinh viên:
+ * ánh xạ này không đổi khi sửa, và Hibernate không có API xóa theo từng natural
+ * id.
+ * </p>
+ *
+ * <p>
+ * Phải được gọi bên trong transaction ghi: cache bị xóa ngay và xóa lại sau khi
+ * transaction kết thúc, để một request đọc đồng thời không nạp lại dữ liệu cũ
+ * vào cache.
+ * </p>
+ */
+@Component
+public class SecondLevelCacheInvalidator {
+    private static final String CLASS_ROOM_STUDENTS = ClassRoom.class.getName() + ".students";
+    private static final String ROLE_STUDENTS = Role.class.getName() + ".students";
+
+    private final Cache cache;
+
+    public SecondLevelCacheInvalidator(EntityManagerFactory entityManagerFactory) {
+        this.cache = entityManagerFactory.unwrap(SessionFactory.class).getCache();
+    }
+
+    /**
+     * Xóa cache sau khi tạo hoặc sửa sinh viên.
+     *
+     * @param studentId    id sinh viên đã sửa, hoặc null nếu là sinh viên mới
+     * @param classRoomIds các lớp có sĩ số ({@code current_students}) hoặc danh
+     *                     sách sinh viên thay đổi (lớp cũ và lớp mới)
+     * @param roleIds      các role có danh sách sinh viên thay đổi
+     */
+    public void evictStudentWrites(Long studentId, Collection<Long> classRoomIds, Collection<Long> roleIds) {
+        evictAfterCompletion(new Scope(studentId, ids(classRoomIds), ids(roleIds), false));
+    }
+
+    /**
+     * Xóa cache sau khi xóa sinh viên: như {@link #evictStudentWrites}, thêm region
+     * natural id vì mã sinh viên có thể được dùng lại cho sinh viên mới.
+     *
+     * @param studentId   id sinh viên đã xóa
+     * @param classRoomId lớp của sinh viên, hoặc null
+     * @param roleId      role của sinh viên, hoặc null
+     */
+    public void evictStudentDeletion(long studentId, Long classRoomId, Long roleId) {
+        evictAfterCompletion(new Scope(studentId, ids(Arrays.asList(classRoomId)), ids(Arrays.asList(roleId)),
+                true));
+    }
+
+    private void evictAfterCompletion(Scope scope) {
+        AfterCompletion.run(() -> evict(scope));
+    }
+
+    private void evict(Scope scope) {
+        if (scope.studentId() != null) {
+            this.cache.evictEntityData(Student.class, scope.studentId());
+        }
+        if (scope.deleted()) {
+            this.cache.evictNaturalIdData(Student.class);
+        }
+        for (Long classRoomId : scope.classRoomIds()) {
+            // current_students của lớp thay đổi theo số sinh viên
+            this.cache.evictEntityData(ClassRoom.class, classRoomId);
+            this.cache.evictCollectionData(CLASS_ROOM_STUDENTS, classRoomId);
+        }
+        for (Long roleId : scope.roleIds()) {
+            this.cache.evictCollectionData(ROLE_STUDENTS, roleId);
+        }
+        this.cache.evictQueryRegion(StudentRepository.QUERY_CACHE_REGION);
+    }
+
+    private static List<Long> ids(Collection<Long> ids) {
+        return ids.stream().filter(Objects::nonNull).distinct().toList();
+    }
+
+    private record Scope(Long studentId, List<Long> classRoomIds, List<Long> roleIds, boolean deleted) {
+    }
+}
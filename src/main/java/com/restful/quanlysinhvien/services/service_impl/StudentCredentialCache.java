@@ -0,0 +1,72 @@
+package com.restful.quanlysinhvien.services.service_impl;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.restful.quanlysinhvien.domain.dto.StudentCredentialDTO;
+import com.restful.quanlysinhvien.repository.StudentRepository;
+import com.restful.quanlysinhvien.util.AfterCompletion;
+import com.restful.quanlysinhvien.util.StudentKeys;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Cache có TTL cho thông tin xác thực của sinh viên (mã, mật khẩu đã hash, role).
+ *
+ * <p>
+ * Cache lưu {@link StudentCredentialDTO} bất biến chứ không lưu
+ * {@code UserDetails}, vì Spring Security xóa mật khẩu trên đối tượng
+ * {@code UserDetails} sau khi xác thực (eraseCredentials) và sẽ làm hỏng bản
+ * được cache. Mã không tồn tại không được cache. Khi sinh viên bị cập nhật hoặc
+ * xóa, entry bị xóa ngay và xóa lại sau khi transaction commit để tránh một
+ * request đồng thời nạp lại dữ liệu cũ. Key là mã viết thường, vì database so
+ * sánh mã không phân biệt hoa thường: "sv01" và "SV01" là cùng một entry.
+ * </p>
+ */
+@Component
+public class StudentCredentialCache {
+    public static final String CACHE_NAME = "studentCredentials";
+
+    private final StudentRepository studentRepository;
+    private final Cache<String, StudentCredentialDTO> cache;
+
+    public StudentCredentialCache(StudentRepository studentRepository, MeterRegistry meterRegistry,
+            @Value("${app.cache.credentials.max-size:10000}") long maxSize,
+            @Value("${app.cache.credentials.ttl:PT5M}") Duration ttl) {
+        this.studentRepository = studentRepository;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, this.cache, CACHE_NAME);
+    }
+
+    /**
+     * Lấy thông tin xác thực theo mã sinh viên, đọc từ cache nếu có.
+     *
+     * @param studentCode mã sinh viên (username)
+     * @return thông tin xác thực, hoặc null nếu không tồn tại
+     */
+    public StudentCredentialDTO findByStudentCode(String studentCode) {
+        return this.cache.get(StudentKeys.key(studentCode),
+                k -> this.studentRepository.findCredentialByStudentCode(studentCode));
+    }
+
+    /**
+     * Xóa entry của sinh viên ngay lập tức và (nếu đang trong transaction) thêm
+     * một lần nữa sau khi commit.
+     *
+     * @param studentCode mã sinh viên
+     */
+    public void evict(String studentCode) {
+        String key = StudentKeys.key(studentCode);
+        AfterCompletion.run(() -> this.cache.invalidate(key));
+    }
+
+}
@@ -0,0 +1,113 @@
+package com.restful.quanlysinhvien.services.service_impl;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.restful.quanlysinhvien.domain.dto.StudentDTO;
+import com.restful.quanlysinhvien.domain.dto.StudentListRow;
+import com.restful.quanlysinhvien.domain.dto.VersionedStudentDTO;
+import com.restful.quanlysinhvien.repository.StudentRepository;
+import com.restful.quanlysinhvien.util.AfterCompletion;
+import com.restful.quanlysinhvien.util.StudentKeys;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+
+/**
+ * Cache read-through (near-cache) cho {@code GET /students/{stuCode}}.
+ *
+ * <p>
+ * Khi miss, dữ liệu được đọc bằng đúng một truy vấn projection
+ * ({@code findStudentRowByStudentCode}). Cột {@code version} được cache cùng dữ
+ * liệu nên ETag của một lần hit không tốn truy vấn nào. {@link StudentDTO} có
+ * setter nên cache lưu bản JSON đã serialize và trả về một object mới mỗi lần
+ * đọc, tránh việc nơi gọi sửa object làm hỏng dữ liệu trong cache. Mã không tồn tại không
+ * được cache. Key là mã viết thường (database so sánh mã không phân biệt hoa
+ * thường), nên {@code /students/sv01} và {@code /students/SV01} dùng chung một
+ * entry và cùng bị xóa. Các thao tác tạo/sửa/xóa sinh viên gọi
+ * {@link #evict(String)}.
+ * Hit/miss, số lần evict và kích thước được xuất qua actuator
+ * ({@code cache.*}, tag {@code cache=studentByCode}).
+ * </p>
+ */
+@Component
+public class StudentDTOCache {
+    public static final String CACHE_NAME = "studentByCode";
+
+    private final StudentRepository studentRepository;
+    private final ObjectMapper objectMapper;
+    private final Cache<String, Entry> cache;
+
+    public StudentDTOCache(StudentRepository studentRepository, ObjectMapper objectMapper,
+            MeterRegistry meterRegistry,
+            @Value("${app.cache.student.max-size:10000}") long maxSize,
+            @Value("${app.cache.student.ttl:PT10M}") Duration ttl) {
+        this.studentRepository = studentRepository;
+        this.objectMapper = objectMapper;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, this.cache, CACHE_NAME);
+    }
+
+    /**
+     * Lấy sinh viên theo mã, đọc từ cache nếu có.
+     *
+     * @param studentCode mã sinh viên
+     * @return bản sao {@link StudentDTO} cùng version, hoặc null nếu không tồn tại
+     */
+    public VersionedStudentDTO findByStudentCode(String studentCode) {
+        Entry entry = this.cache.get(StudentKeys.key(studentCode), k -> load(studentCode));
+        return entry == null ? null : new VersionedStudentDTO(deserialize(entry.json()), entry.version());
+    }
+
+    /**
+     * Xóa entry của sinh viên ngay lập tức và (nếu đang trong transaction) thêm
+     * một lần nữa sau khi transaction kết thúc.
+     *
+     * @param studentCode mã sinh viên
+     */
+    public void evict(String studentCode) {
+        String key = StudentKeys.key(studentCode);
+        AfterCompletion.run(() -> this.cache.invalidate(key));
+    }
+
+    /**
+     * Xóa toàn bộ cache (ví dụ khi tên lớp thay đổi).
+     */
+    public void evictAll() {
+        this.cache.invalidateAll();
+    }
+
+    private Entry load(String studentCode) {
+        StudentListRow row = this.studentRepository.findStudentRowByStudentCode(studentCode);
+        if (row == null) {
+            return null;
+        }
+        try {
+            return new Entry(row.getVersion(), this.objectMapper.writeValueAsBytes(row.getStudent()));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private StudentDTO deserialize(byte[] json) {
+        try {
+            return this.objectMapper.readValue(json, StudentDTO.class);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private record Entry(long version, byte[] json) {
+    }
+}
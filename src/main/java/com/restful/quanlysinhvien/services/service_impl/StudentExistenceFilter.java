@@ -0,0 +1,231 @@
+package com.restful.quanlysinhvien.services.service_impl;
+
+import com.restful.quanlysinhvien.util.BloomFilter;
+import com.restful.quanlysinhvien.util.StudentKeys;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Cặp Bloom filter cho mã sinh viên và email, dùng để bỏ qua truy vấn kiểm tra
+ * tồn tại khi giá trị có vẻ chưa có.
+ *
+ * <p>
+ * Filter chỉ là gợi ý cho đường thành công: mỗi instance có filter riêng, không
+ * biết các lần ghi của instance khác, của stored procedure hay ngoài ứng dụng, nên
+ * "chắc chắn không có" không phải sự thật. Chỉ dùng khi ràng buộc unique của
+ * database vẫn bắt được giá trị bị bỏ sót (batch insert báo {@code DUPLICATE} theo
+ * từng dòng); các đường giải thích lỗi luôn hỏi database.
+ * </p>
+ *
+ * <p>
+ * Filter được dựng nền từ bảng {@code students} khi ứng dụng khởi động; trước
+ * khi dựng xong, {@code mightContain*} luôn trả true (vẫn hỏi database). Mỗi
+ * lần tạo sinh viên, mã và email mới được thêm vào filter. Bloom filter không
+ * xóa được phần tử nên sinh viên bị xóa chỉ để lại dương tính giả (vẫn đúng, chỉ
+ * tốn một truy vấn); số lần xóa được tính vào điều kiện dựng lại. Khi tỉ lệ
+ * dương tính giả ước tính vượt ngưỡng hoặc số phần tử vượt dung lượng, filter
+ * được dựng lại nền trên một thread riêng. Mã và email được so sánh không phân
+ * biệt hoa thường như collation của MySQL.
+ * </p>
+ *
+ * <p>
+ * Metrics: {@code student.bloom.fpp} (tỉ lệ dương tính giả ước tính),
+ * {@code student.bloom.saturation}, {@code student.bloom.memory} (byte), tag
+ * {@code filter=studentCode|email}.
+ * </p>
+ */
+@Component
+public class StudentExistenceFilter {
+    private static final Logger logger = LoggerFactory.getLogger(StudentExistenceFilter.class);
+    private static final String LOAD_SQL = "SELECT student_code, email FROM students";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final double fpp;
+    private final double rebuildFpp;
+    private final long minCapacity;
+    private final ExecutorService rebuildExecutor = Executors
+            .newSingleThreadExecutor(new CustomizableThreadFactory("student-bloom-"));
+    private final AtomicBoolean rebuilding = new AtomicBoolean(false);
+    private final AtomicLong deletions = new AtomicLong();
+
+    private volatile Filters current;
+    // filter đang dựng: các lần thêm trong lúc dựng được ghi vào cả hai
+    private volatile Filters building;
+
+    public StudentExistenceFilter(JdbcTemplate jdbcTemplate, MeterRegistry meterRegistry,
+            @Value("${app.bloom.fpp:0.01}") double fpp,
+            @Value("${app.bloom.rebuild-fpp:0.05}") double rebuildFpp,
+            @Value("${app.bloom.min-capacity:100000}") long minCapacity) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.fpp = fpp;
+        this.rebuildFpp = rebuildFpp;
+        this.minCapacity = minCapacity;
+        registerGauges(meterRegistry, "studentCode", f -> f.codes);
+        registerGauges(meterRegistry, "email", f -> f.emails);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void buildOnStartup() {
+        scheduleRebuild();
+    }
+
+    /**
+     * @return false nếu instance này chưa thấy mã sinh viên
+     */
+    public boolean mightContainStudentCode(String studentCode) {
+        Filters filters = this.current;
+        return filters == null || filters.codes.mightContain(StudentKeys.key(studentCode));
+    }
+
+    /**
+     * @return false nếu instance này chưa thấy email
+     */
+    public boolean mightContainEmail(String email) {
+        Filters filters = this.current;
+        return filters == null || filters.emails.mightContain(StudentKeys.key(email));
+    }
+
+    /**
+     * Ghi nhận sinh viên mới (gọi sau khi tạo thành công).
+     */
+    public void add(String studentCode, String email) {
+        Filters filters = this.current;
+        if (filters != null) {
+            filters.put(studentCode, email);
+        }
+        Filters next = this.building;
+        if (next != null) {
+            next.put(studentCode, email);
+        }
+        if (filters != null && needsRebuild(filters)) {
+            scheduleRebuild();
+        }
+    }
+
+    /**
+     * Ghi nhận email mới của sinh viên đã tồn tại (PATCH/PUT đổi email).
+     */
+    public void addEmail(String email) {
+        Filters filters = this.current;
+        if (filters != null) {
+            filters.emails.put(StudentKeys.key(email));
+        }
+        Filters next = this.building;
+        if (next != null) {
+            next.emails.put(StudentKeys.key(email));
+        }
+    }
+
+    /**
+     * Ghi nhận một sinh viên bị xóa. Không xóa được khỏi filter, chỉ đếm để quyết
+     * định dựng lại.
+     */
+    public void recordDeletion() {
+        this.deletions.incrementAndGet();
+        Filters filters = this.current;
+        if (filters != null && needsRebuild(filters)) {
+            scheduleRebuild();
+        }
+    }
+
+    private boolean needsRebuild(Filters filters) {
+        return filters.codes.expectedFpp() > this.rebuildFpp
+                || filters.emails.expectedFpp() > this.rebuildFpp
+                || filters.codes.insertions() > filters.codes.expectedInsertions()
+                // quá nửa số phần tử đã bị xóa: filter chủ yếu trả dương tính giả
+                || this.deletions.get() > filters.codes.insertions() / 2;
+    }
+
+    private void scheduleRebuild() {
+        if (this.rebuilding.compareAndSet(false, true)) {
+            this.rebuildExecutor.execute(this::rebuild);
+        }
+    }
+
+    private void rebuild() {
+        try {
+            Long count = this.jdbcTemplate.queryForObject("SELECT COUNT(*) FROM students", Long.class);
+            // dư gấp đôi để còn chỗ cho các sinh viên tạo sau
+            long capacity = Math.max(this.minCapacity, (count == null ? 0 : count) * 2);
+            Filters next = new Filters(new BloomFilter(capacity, this.fpp), new BloomFilter(capacity, this.fpp));
+            this.building = next;
+            long deletionsBefore = this.deletions.get();
+            this.jdbcTemplate.query(con -> {
+                PreparedStatement ps = con.prepareStatement(LOAD_SQL, ResultSet.TYPE_FORWARD_ONLY,
+                        ResultSet.CONCUR_READ_ONLY);
+                // MySQL Connector/J: đọc từng dòng thay vì nạp cả bảng
+                ps.setFetchSize(Integer.MIN_VALUE);
+                return ps;
+            }, (RowCallbackHandler) rs -> next.put(rs.getString(1), rs.getString(2)));
+            this.current = next;
+            this.deletions.addAndGet(-deletionsBefore);
+            logger.info("Student bloom filters built: {} rows, capacity {}, {} bytes", count, capacity,
+                    next.codes.memoryBytes() + next.emails.memoryBytes());
+        } catch (RuntimeException e) {
+            logger.error("Failed to build student bloom filters: {}", e.getMessage(), e);
+        } finally {
+            this.building = null;
+            this.rebuilding.set(false);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        this.rebuildExecutor.shutdownNow();
+    }
+
+    private void registerGauges(MeterRegistry meterRegistry, String filter,
+            Function<Filters, BloomFilter> selector) {
+        gauge(meterRegistry, "student.bloom.fpp", filter, selector, BloomFilter::expectedFpp);
+        gauge(meterRegistry, "student.bloom.saturation", filter, selector, BloomFilter::saturation);
+        gauge(meterRegistry, "student.bloom.memory", filter, selector, BloomFilter::memoryBytes);
+    }
+
+    private void gauge(MeterRegistry meterRegistry, String name, String filter,
+            Function<Filters, BloomFilter> selector, ToDoubleFunction<BloomFilter> value) {
+        Gauge.builder(name, this, self -> {
+            Filters filters = self.current;
+            return filters == null ? Double.NaN : value.applyAsDouble(selector.apply(filters));
+        }).tag("filter", filter).register(meterRegistry);
+    }
+
+    private static final class Filters {
+        private final BloomFilter codes;
+        private final BloomFilter emails;
+
+        private Filters(BloomFilter codes, BloomFilter emails) {
+            this.codes = codes;
+            this.emails = emails;
+        }
+
+        private void put(String studentCode, String email) {
+            if (studentCode != null) {
+                this.codes.put(StudentKeys.key(studentCode));
+            }
+            if (email != null) {
+                this.emails.put(StudentKeys.key(email));
+            }
+        }
+    }
+}
@@ -0,0 +1,357 @@
+package com.restful.quanlysinhvien.services.service_impl;
+
+import com.restful.quanlysinhvien.domain.dto.BatchResultDTO;
+import com.restful.quanlysinhvien.domain.dto.BatchRowResultDTO;
+import com.restful.quanlysinhvien.domain.dto.ImportJobDTO;
+import com.restful.quanlysinhvien.domain.dto.ImportRowErrorDTO;
+import com.restful.quanlysinhvien.domain.dto.StudentDTO;
+import com.restful.quanlysinhvien.services.IStudentImportService;
+import com.restful.quanlysinhvien.util.CsvReader;
+import com.restful.quanlysinhvien.util.error.BadRequestExceptionCustom;
+import com.restful.quanlysinhvien.util.error.ResourceNotFoundException;
+
+import jakarta.annotation.PreDestroy;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+/**
+ * Import sinh viên từ file CSV lớn (hàng chục nghìn dòng) bằng job chạy nền.
+ *
+ * <p>
+ * File upload được lưu tạm xuống đĩa rồi đọc dạng streaming bằng
+ * {@link CsvReader}; mỗi lần chỉ giữ một chunk {@value #CHUNK_SIZE} dòng trong
+ * bộ nhớ. Mỗi chunk được validate song song (parse + Bean Validation theo
+ * {@link StudentDTO}) rồi ghi qua {@link StudentService#createStuBatch(List)},
+ * nên mỗi chunk commit trong transaction riêng và một dòng lỗi không làm
+ * rollback cả file. Lỗi dữ liệu được báo theo từng dòng; chỉ khi mất kết nối
+ * database thì cả chunk bị đánh dấu lỗi, còn lỗi khác làm job thất bại.
+ * </p>
+ */
+@Service
+public class StudentImportService implements IStudentImportService {
+    private static final Logger logger = LoggerFactory.getLogger(StudentImportService.class);
+
+    private static final int CHUNK_SIZE = 1000;
+    // giới hạn số lỗi lưu lại cho mỗi job để bộ nhớ không tăng theo kích thước file
+    private static final int MAX_ERRORS_PER_JOB = 10_000;
+    // số job đã kết thúc được giữ lại để tra cứu trạng thái
+    private static final int MAX_RETAINED_JOBS = 100;
+    private static final int MAX_RUNNING_JOBS = 2;
+    private static final int MAX_QUEUED_JOBS = 10;
+
+    private static final String COL_STUDENT_CODE = "studentCode";
+    private static final String COL_FULL_NAME = "fullName";
+    private static final String COL_EMAIL = "email";
+    private static final String COL_PASSWORD = "password";
+    private static final String COL_DATE_OF_BIRTH = "dateOfBirth";
+    private static final String COL_ADDRESS = "address";
+    private static final String COL_GENDER = "gender";
+    private static final String COL_CLASS_NAME = "className";
+    private static final String COL_ROLE_ID = "roleId";
+    private static final List<String> REQUIRED_COLUMNS = List.of(COL_STUDENT_CODE, COL_FULL_NAME, COL_EMAIL,
+            COL_PASSWORD, COL_DATE_OF_BIRTH, COL_ADDRESS, COL_GENDER, COL_CLASS_NAME);
+
+    private final StudentService studentService;
+    private final Validator validator;
+    private final ThreadPoolExecutor executor;
+    private final Map<String, ImportJob> jobs = new ConcurrentHashMap<>();
+
+    public StudentImportService(StudentService studentService, Validator validator) {
+        this.studentService = studentService;
+        this.validator = validator;
+        this.executor = new ThreadPoolExecutor(MAX_RUNNING_JOBS, MAX_RUNNING_JOBS, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(MAX_QUEUED_JOBS), new CustomizableThreadFactory("student-import-"));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        this.executor.shutdown();
+    }
+
+    /**
+     * Nhận file CSV, lưu tạm xuống đĩa và đưa job vào hàng đợi.
+     *
+     * @param file file CSV upload (dòng đầu là header)
+     * @return trạng thái ban đầu của job (PENDING)
+     * @throws BadRequestExceptionCustom nếu file rỗng, không đọc được hoặc hàng đợi
+     *                                   import đã đầy
+     */
+    @Override
+    public ImportJobDTO startImport(MultipartFile file) {
+        if (file == null || file.isEmpty()) {
+            throw new BadRequestExceptionCustom("CSV file must not be empty");
+        }
+        Path tempFile;
+        try {
+            tempFile = Files.createTempFile("student-import-", ".csv");
+            file.transferTo(tempFile);
+        } catch (IOException e) {
+            throw new BadRequestExceptionCustom("Cannot read uploaded file");
+        }
+
+        ImportJob job = new ImportJob(UUID.randomUUID().toString(), file.getOriginalFilename());
+        this.jobs.put(job.id, job);
+        evictFinishedJobs();
+        try {
+            this.executor.execute(() -> runImport(job, tempFile));
+        } catch (RejectedExecutionException e) {
+            this.jobs.remove(job.id);
+            deleteQuietly(tempFile);
+            throw new BadRequestExceptionCustom("Too many import jobs are running, please try again later");
+        }
+        return job.toDTO();
+    }
+
+    /**
+     * Lấy trạng thái, tiến độ và danh sách lỗi của một job import.
+     *
+     * @param jobId mã job
+     * @return trạng thái hiện tại của job
+     * @throws ResourceNotFoundException nếu không tìm thấy job
+     */
+    @Override
+    public ImportJobDTO getImportJob(String jobId) {
+        ImportJob job = this.jobs.get(jobId);
+        if (job == null) {
+            throw new ResourceNotFoundException("Import job not found");
+        }
+        return job.toDTO();
+    }
+
+    private void runImport(ImportJob job, Path tempFile) {
+        job.status = ImportJobDTO.Status.RUNNING;
+        job.startedAt = Instant.now();
+        try (CsvReader reader = new CsvReader(Files.newBufferedReader(tempFile, StandardCharsets.UTF_8))) {
+            Map<String, Integer> columns = readHeader(reader.readRecord());
+            List<CsvRow> chunk = new ArrayList<>(CHUNK_SIZE);
+            List<String> record;
+            while ((record = reader.readRecord()) != null) {
+                // bỏ qua dòng trống
+                if (record.size() == 1 && record.get(0).isBlank()) {
+                    continue;
+                }
+                chunk.add(new CsvRow(reader.getRecordLine(), record));
+                if (chunk.size() == CHUNK_SIZE) {
+                    processChunk(job, chunk, columns);
+                    chunk = new ArrayList<>(CHUNK_SIZE);
+                }
+            }
+            if (!chunk.isEmpty()) {
+                processChunk(job, chunk, columns);
+            }
+            job.status = ImportJobDTO.Status.COMPLETED;
+        } catch (IOException | RuntimeException e) {
+            logger.error("Import job {} failed: {}", job.id, e.getMessage(), e);
+            job.failureReason = e.getMessage();
+            job.status = ImportJobDTO.Status.FAILED;
+        } finally {
+            job.finishedAt = Instant.now();
+            deleteQuietly(tempFile);
+        }
+    }
+
+    private Map<String, Integer> readHeader(List<String> header) {
+        if (header == null) {
+            throw new BadRequestExceptionCustom("CSV file has no header");
+        }
+        Map<String, Integer> columns = new HashMap<>();
+        for (int i = 0; i < header.size(); i++) {
+            // bỏ BOM UTF-8 nếu file được lưu từ Excel
+            columns.put(header.get(i).replace("\uFEFF", "").trim(), i);
+        }
+        List<String> missing = REQUIRED_COLUMNS.stream().filter(c -> !columns.containsKey(c)).toList();
+        if (!missing.isEmpty()) {
+            throw new BadRequestExceptionCustom("Missing CSV columns: " + String.join(", ", missing));
+        }
+        return columns;
+    }
+
+    /**
+     * Validate song song một chunk rồi ghi các dòng hợp lệ trong một transaction.
+     */
+    private void processChunk(ImportJob job, List<CsvRow> chunk, Map<String, Integer> columns) {
+        List<ParsedRow> parsed = chunk.parallelStream()
+                .map(row -> parseAndValidate(row, columns))
+                .toList();
+
+        List<ParsedRow> valid = new ArrayList<>(parsed.size());
+        for (ParsedRow row : parsed) {
+            if (row.error == null) {
+                valid.add(row);
+            } else {
+                job.addError(row.line, row.studentCode, row.error);
+            }
+        }
+
+        int created = 0;
+        if (!valid.isEmpty()) {
+            try {
+                BatchResultDTO result = this.studentService
+                        .createStuBatch(valid.stream().map(r -> r.student).toList());
+                for (BatchRowResultDTO rowResult : result.getResults()) {
+                    ParsedRow row = valid.get(rowResult.getIndex());
+                    if (rowResult.getStatus() == BatchRowResultDTO.Status.CREATED) {
+                        created++;
+                    } else {
+                        job.addError(row.line, row.studentCode, rowResult.getMessage());
+                    }
+                }
+            } catch (DataAccessResourceFailureException e) {
+                // chunk này rollback, các chunk đã commit trước đó vẫn giữ nguyên; lỗi
+                // của từng dòng đã nằm trong kết quả của createStuBatch
+                logger.error("Import job {} chunk failed: {}", job.id, e.getMessage(), e);
+                for (ParsedRow row : valid) {
+                    job.addError(row.line, row.studentCode, "Chunk failed: " + e.getMessage());
+                }
+            }
+        }
+        job.processedRows.addAndGet(chunk.size());
+        job.createdRows.addAndGet(created);
+        job.failedRows.addAndGet(chunk.size() - created);
+    }
+
+    private ParsedRow parseAndValidate(CsvRow row, Map<String, Integer> columns) {
+        String studentCode = field(row, columns, COL_STUDENT_CODE);
+        StudentDTO student;
+        try {
+            String dateOfBirth = field(row, columns, COL_DATE_OF_BIRTH);
+            String roleId = field(row, columns, COL_ROLE_ID);
+            student = StudentDTO.builder()
+                    .studentCode(studentCode)
+                    .fullName(field(row, columns, COL_FULL_NAME))
+                    .email(field(row, columns, COL_EMAIL))
+                    .password(field(row, columns, COL_PASSWORD))
+                    .dateOfBirth(dateOfBirth == null || dateOfBirth.isBlank() ? null : LocalDate.parse(dateOfBirth))
+                    .address(field(row, columns, COL_ADDRESS))
+                    .gender(field(row, columns, COL_GENDER))
+                    .className(field(row, columns, COL_CLASS_NAME))
+                    .roleId(roleId == null || roleId.isBlank() ? 0L : Long.parseLong(roleId))
+                    .build();
+        } catch (DateTimeParseException e) {
+            return new ParsedRow(row.line, studentCode, null, "dateOfBirth must be in yyyy-MM-dd format");
+        } catch (NumberFormatException e) {
+            return new ParsedRow(row.line, studentCode, null, "roleId must be a number");
+        }
+
+        Set<ConstraintViolation<StudentDTO>> violations = this.validator.validate(student);
+        if (!violations.isEmpty()) {
+            String message = violations.stream()
+                    .map(ConstraintViolation::getMessage)
+                    .sorted()
+                    .collect(Collectors.joining("; "));
+            return new ParsedRow(row.line, studentCode, null, message);
+        }
+        return new ParsedRow(row.line, studentCode, student, null);
+    }
+
+    private static String field(CsvRow row, Map<String, Integer> columns, String name) {
+        Integer idx = columns.get(name);
+        if (idx == null || idx >= row.fields.size()) {
+            return null;
+        }
+        return row.fields.get(idx).trim();
+    }
+
+    private void evictFinishedJobs() {
+        int excess = this.jobs.size() - MAX_RETAINED_JOBS;
+        if (excess <= 0) {
+            return;
+        }
+        this.jobs.values().stream()
+                .filter(j -> j.finishedAt != null)
+                .sorted(Comparator.comparing((ImportJob j) -> j.finishedAt))
+                .limit(excess)
+                .toList()
+                .forEach(j -> this.jobs.remove(j.id));
+    }
+
+    private static void deleteQuietly(Path path) {
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException e) {
+            logger.warn("Cannot delete temp file {}", path, e);
+        }
+    }
+
+    private record CsvRow(int line, List<String> fields) {
+    }
+
+    private record ParsedRow(int line, String studentCode, StudentDTO student, String error) {
+    }
+
+    /**
+     * Trạng thái nội bộ (thay đổi được) của một job; {@link #toDTO()} tạo bản chụp
+     * để trả về client.
+     */
+    private static final class ImportJob {
+        private final String id;
+        private final String fileName;
+        private final AtomicInteger processedRows = new AtomicInteger();
+        private final AtomicInteger createdRows = new AtomicInteger();
+        private final AtomicInteger failedRows = new AtomicInteger();
+        private final List<ImportRowErrorDTO> errors = new ArrayList<>();
+        private volatile ImportJobDTO.Status status = ImportJobDTO.Status.PENDING;
+        private volatile Instant startedAt;
+        private volatile Instant finishedAt;
+        private volatile String failureReason;
+        private volatile boolean errorsTruncated;
+
+        private ImportJob(String id, String fileName) {
+            this.id = id;
+            this.fileName = fileName;
+        }
+
+        private synchronized void addError(int line, String studentCode, String message) {
+            if (errors.size() < MAX_ERRORS_PER_JOB) {
+                errors.add(new ImportRowErrorDTO(line, studentCode, message));
+            } else {
+                errorsTruncated = true;
+            }
+        }
+
+        private synchronized ImportJobDTO toDTO() {
+            ImportJobDTO dto = new ImportJobDTO();
+            dto.setJobId(id);
+            dto.setFileName(fileName);
+            dto.setStatus(status);
+            dto.setProcessedRows(processedRows.get());
+            dto.setCreatedRows(createdRows.get());
+            dto.setFailedRows(failedRows.get());
+            dto.setStartedAt(startedAt);
+            dto.setFinishedAt(finishedAt);
+            dto.setFailureReason(failureReason);
+            dto.setErrors(List.copyOf(errors));
+            dto.setErrorsTruncated(errorsTruncated);
+            return dto;
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package com.restful.quanlysinhvien.services.service_impl;
+
+import com.restful.quanlysinhvien.repository.StudentSearchRepository;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * Tạo index FULLTEXT cho {@code GET /students/search} khi ứng dụng khởi động nếu
+ * chưa có ({@code ddl-auto=update} không tạo được loại index này).
+ *
+ * <p>
+ * Chỉ dùng cho môi trường phát triển, bật bằng
+ * {@code app.search.create-fulltext-index=true}. Khi triển khai, index được tạo
+ * bằng script {@value StudentSearchRepository#FULLTEXT_INDEX_SCRIPT}: index
+ * FULLTEXT đầu tiên dựng lại bảng và chặn ghi, không nên để mọi instance tự chạy
+ * khi đang nhận request.
+ * </p>
+ */
+@Component
+public class StudentSearchIndexInitializer {
+    private static final Logger logger = LoggerFactory.getLogger(StudentSearchIndexInitializer.class);
+
+    private final StudentSearchRepository studentSearchRepository;
+    private final boolean enabled;
+
+    public StudentSearchIndexInitializer(StudentSearchRepository studentSearchRepository,
+            @Value("${app.search.create-fulltext-index:false}") boolean enabled) {
+        this.studentSearchRepository = studentSearchRepository;
+        this.enabled = enabled;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void createIndexIfMissing() {
+        if (!this.enabled) {
+            return;
+        }
+        try {
+            if (!this.studentSearchRepository.fullTextIndexExists()) {
+                logger.info("Creating fulltext index {}", StudentSearchRepository.FULLTEXT_INDEX_NAME);
+                this.studentSearchRepository.createFullTextIndex();
+            }
+        } catch (RuntimeException e) {
+            // không chặn khởi động: chỉ endpoint tìm kiếm bị ảnh hưởng
+            logger.error("Failed to create fulltext index: {}", e.getMessage(), e);
+        }
+    }
+}
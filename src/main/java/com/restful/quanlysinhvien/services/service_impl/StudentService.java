@@ -1,57 +1,172 @@
 package com.restful.quanlysinhvien.services.service_impl;
 
-import com.restful.quanlysinhvien.domain.ClassRoom;
 import com.restful.quanlysinhvien.domain.Student;
+import com.restful.quanlysinhvien.domain.dto.BatchResultDTO;
+import com.restful.quanlysinhvien.domain.dto.BatchRowResultDTO;
+import com.restful.quanlysinhvien.domain.dto.ClassRoomDTO;
+import com.restful.quanlysinhvien.domain.dto.CursorMeta;
+import com.restful.quanlysinhvien.domain.dto.ETaggedResult;
 import com.restful.quanlysinhvien.domain.dto.Meta;
+import com.restful.quanlysinhvien.domain.dto.ResultCursorDTO;
 import com.restful.quanlysinhvien.domain.dto.ResultPaginationDTO;
+import com.restful.quanlysinhvien.domain.dto.ResultSearchDTO;
+import com.restful.quanlysinhvien.domain.dto.SearchMeta;
+import com.restful.quanlysinhvien.domain.dto.StudentCacheKeyRow;
 import com.restful.quanlysinhvien.domain.dto.StudentDTO;
+import com.restful.quanlysinhvien.domain.dto.StudentFieldsRow;
+import com.restful.quanlysinhvien.domain.dto.StudentFilter;
+import com.restful.quanlysinhvien.domain.dto.StudentListRow;
+import com.restful.quanlysinhvien.domain.dto.StudentSnapshotRow;
+import com.restful.quanlysinhvien.domain.dto.StudentSuggestionDTO;
 import com.restful.quanlysinhvien.domain.dto.StudentUpdateDTO;
-import com.restful.quanlysinhvien.repository.ClassRoomRepository;
+import com.restful.quanlysinhvien.domain.dto.StudentVersionRow;
+import com.restful.quanlysinhvien.domain.dto.VersionedStudentDTO;
+import com.restful.quanlysinhvien.repository.ConstVariable;
+import com.restful.quanlysinhvien.repository.StoredProcedureGateway;
+import com.restful.quanlysinhvien.repository.StudentBatchRepository;
+import com.restful.quanlysinhvien.repository.StudentPatchRepository;
 import com.restful.quanlysinhvien.repository.StudentRepository;
+import com.restful.quanlysinhvien.repository.StudentSearchRepository;
+import com.restful.quanlysinhvien.repository.StudentSpecifications;
+import com.restful.quanlysinhvien.util.ETags;
+import com.restful.quanlysinhvien.util.ExecutorPasswordEncoder;
+import com.restful.quanlysinhvien.util.ExportFormat;
+import com.restful.quanlysinhvien.util.KeysetCursor;
+import com.restful.quanlysinhvien.util.StudentFields;
+import com.restful.quanlysinhvien.util.StudentKeys;
 import com.restful.quanlysinhvien.util.error.BadRequestExceptionCustom;
 import com.restful.quanlysinhvien.util.error.DuplicateResourceException;
+import com.restful.quanlysinhvien.util.error.PreconditionFailedException;
 import com.restful.quanlysinhvien.util.error.ResourceNotFoundException;
 import com.restful.quanlysinhvien.util.error.StoredProcedureFailedException;
 
-import jakarta.persistence.EntityManager;
-import jakarta.persistence.ParameterMode;
-import jakarta.persistence.StoredProcedureQuery;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
 import jakarta.transaction.Transactional;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.ConstraintViolationException;
+import jakarta.validation.Validator;
 import lombok.AllArgsConstructor;
 
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
-import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
 
-import java.util.Date;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Locale;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 @AllArgsConstructor
 public class StudentService implements com.restful.quanlysinhvien.services.IStudentService {
+    private static final int DEFAULT_CURSOR_PAGE_SIZE = 20;
+    private static final int MAX_CURSOR_PAGE_SIZE = 100;
+    private static final int DEFAULT_SEARCH_PAGE_SIZE = 20;
+    private static final int MAX_SEARCH_PAGE_SIZE = 100;
+    // ngram_token_size mặc định của MySQL là 2: chuỗi ngắn hơn không khớp gì
+    private static final int MIN_SEARCH_QUERY_LENGTH = 2;
+    private static final int MAX_SEARCH_QUERY_LENGTH = 100;
+    private static final int DEFAULT_SUGGEST_LIMIT = 10;
+    private static final int MAX_SUGGEST_LIMIT = 50;
+    // số dòng export giữa hai lần flush ra client
+    private static final int EXPORT_FLUSH_INTERVAL = 1000;
+    // giới hạn số phần tử trong một mệnh đề IN khi validate hàng loạt
+    private static final int IN_CLAUSE_CHUNK_SIZE = 1000;
+    // thời gian các bước validate* (tag check, outcome = passed|failed)
+    private static final String VALIDATION_METRIC = "student.validation";
+    private static final String CSV_HEADER = "studentCode,fullName,email,dateOfBirth,address,gender,className,roleId";
+
     private final StudentRepository studentRepository;
-    private final ClassRoomRepository classRoomRepository;
-    private final EntityManager entityManager;
-    private final PasswordEncoder passwordEncoder;
+    private final ClassRoomCache classRoomCache;
+    private final StudentCredentialCache studentCredentialCache;
+    private final StudentDTOCache studentDTOCache;
+    private final StudentExistenceFilter studentExistenceFilter;
+    private final StudentSuggestIndex studentSuggestIndex;
+    private final SecondLevelCacheInvalidator secondLevelCacheInvalidator;
+    private final StudentBatchRepository studentBatchRepository;
+    private final StudentPatchRepository studentPatchRepository;
+    private final StudentSearchRepository studentSearchRepository;
+    private final StoredProcedureGateway storedProcedureGateway;
+    private final ExecutorPasswordEncoder passwordEncoder;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+    private final MeterRegistry meterRegistry;
 
     /**
-     * Lấy danh sách sinh viên theo phân trang (nếu có) hoặc toàn bộ nếu không có
-     * phân trang.
+     * Lấy danh sách sinh viên cho {@code GET /students}: phân trang cursor nếu có
+     * {@code after}, lọc/sắp xếp nếu có filter, phân trang OFFSET nếu có
+     * current/pageSize, ngược lại trả toàn bộ danh sách.
      *
-     * @param currentOptional  Optional chứa số trang hiện tại (current)
-     * @param pageSizeOptional Optional chứa kích thước mỗi trang (pageSize)
-     * @return Object - có thể là danh sách sinh viên hoặc đối tượng phân trang tùy
-     *         theo tham số
-     * @throws BadRequestExceptionCustom nếu tham số không hợp lệ
+     * <p>
+     * ETag được tính từ id/version của chính các dòng đã đọc (cột {@code version}
+     * nằm trong projection), nên không có truy vấn riêng cho ETag. Giá trị trùng
+     * với {@link #getListETag} cho cùng tham số.
+     * </p>
+     *
+     * @return danh sách sinh viên (hoặc trang) cùng ETag
+     * @throws BadRequestExceptionCustom nếu tham số hoặc cursor không hợp lệ
      */
-    public Object getAll(Optional<String> currentOptional, Optional<String> pageSizeOptional) {
+    @Override
+    public ETaggedResult<?> getList(Optional<String> currentOptional, Optional<String> pageSizeOptional,
+            Optional<String> afterOptional, Optional<String> orderByOptional, StudentFilter filter) {
+        if (afterOptional.isPresent()) {
+            return cursorPage(afterOptional, pageSizeOptional, orderByOptional);
+        }
+        if (!filter.isEmpty()) {
+            return filteredList(filter, currentOptional, pageSizeOptional);
+        }
+        Pageable pageable = toPageable(currentOptional, pageSizeOptional);
 
         // Nếu cả hai tham số đều không có, trả về toàn bộ danh sách sinh viên
+        if (pageable == null) {
+            List<StudentListRow> rows = this.studentRepository.findAllStudentRows();
+            return new ETaggedResult<>(students(rows), tableETag(ETags.tableFingerprint(rows)));
+        }
+
+        // Trả về dữ liệu đã phân trang
+        Page<StudentListRow> page = this.studentRepository.findStudentRows(pageable);
+        return new ETaggedResult<>(toResultPagination(page.map(StudentListRow::getStudent)),
+                pageETag("page", pageable, page.getContent(), page.getTotalElements()));
+    }
+
+    /**
+     * Đọc tham số phân trang OFFSET.
+     *
+     * @return Pageable tương ứng, hoặc null nếu không có tham số nào
+     * @throws BadRequestExceptionCustom nếu tham số không hợp lệ
+     */
+    private static Pageable toPageable(Optional<String> currentOptional, Optional<String> pageSizeOptional) {
         if (!currentOptional.isPresent() && !pageSizeOptional.isPresent()) {
-            return this.getAllStu();
+            return null;
         }
 
         // Nếu chỉ có một trong hai tham số, thì báo lỗi vì cần cả hai để phân trang
@@ -70,10 +185,7 @@ public class StudentService implements com.restful.quanlysinhvien.services.IStud
             }
 
             // Tạo Pageable, lưu ý trừ đi 1 vì Page bắt đầu từ 0
-            Pageable pageable = PageRequest.of(current - 1, pageSize);
-
-            // Trả về dữ liệu đã phân trang
-            return this.getAllStuPag(pageable);
+            return PageRequest.of(current - 1, pageSize);
 
         } catch (NumberFormatException e) {
             // Nếu parse lỗi (ví dụ nhập chữ thay vì số), thì báo lỗi
@@ -82,42 +194,265 @@ public class StudentService implements com.restful.quanlysinhvien.services.IStud
     }
 
     /**
-     * Lấy danh sách tất cả sinh viên trong hệ thống.
+     * Tính ETag cho {@code GET /students} với cùng tham số, không dựng DTO.
      *
      * <p>
-     * Phương thức này truy vấn toàn bộ sinh viên từ cơ sở dữ liệu,
-     * sau đó chuyển từng thực thể {@link Student} sang dạng {@link StudentDTO}
-     * để phục vụ cho tầng controller hoặc các lớp phía trên.
+     * Chỉ dùng khi client gửi {@code If-None-Match}: trang OFFSET và trang cursor
+     * chỉ đọc id/version của các dòng trong trang (cùng điều kiện và thứ tự với
+     * truy vấn dữ liệu); danh sách không phân trang dùng dấu vân tay của toàn
+     * bảng. Nếu khớp, controller trả 304 mà không chạy truy vấn dữ liệu; request
+     * không có điều kiện lấy ETag từ {@link #getList}.
      * </p>
      *
-     * @return Danh sách sinh viên dưới dạng {@link StudentDTO}
+     * @return ETag của danh sách
+     * @throws BadRequestExceptionCustom nếu tham số hoặc cursor không hợp lệ
      */
     @Override
-    public List<StudentDTO> getAllStu() {
-        List<Student> students = this.studentRepository.findAll();
-        return students.stream()
-                .map(this::convertToStudentDTO)
-                .toList();
+    public String getListETag(Optional<String> currentOptional, Optional<String> pageSizeOptional,
+            Optional<String> afterOptional, Optional<String> orderByOptional, StudentFilter filter) {
+        if (afterOptional.isPresent()) {
+            int pageSize = toCursorPageSize(pageSizeOptional);
+            KeysetCursor cursor = toCursor(afterOptional, orderByOptional);
+            Pageable limit = PageRequest.of(0, pageSize + 1);
+            List<StudentVersionRow> rows;
+            if (KeysetCursor.ORDER_BY_ID.equals(cursor.getOrderBy())) {
+                rows = this.studentRepository.findVersionsAfterId(cursor.lastId(), limit);
+            } else {
+                rows = cursor.isFirstPage()
+                        ? this.studentRepository.findFirstVersionsByStudentCode(limit)
+                        : this.studentRepository.findVersionsAfterStudentCode(cursor.getLastValue(), limit);
+            }
+            return cursorETag(cursor, pageSize, rows);
+        }
+
+        Pageable pageable = toPageable(currentOptional, pageSizeOptional);
+        if (!filter.isEmpty()) {
+            Specification<Student> spec = toSpecification(filter);
+            Sort sort = StudentSpecifications.parseSort(filter.getSort(), filter.hasColumnFilter());
+            String kind = filterKind(StudentFields.parse(filter.getFields()));
+            if (pageable == null) {
+                return ETags.fromRows(this.studentRepository.findVersionRows(spec, Pageable.unpaged(sort)), kind);
+            }
+            return pageETag(kind, pageable,
+                    this.studentRepository.findVersionRows(spec,
+                            PageRequest.of(pageable.getPageNumber(), pageable.getPageSize(), sort)),
+                    this.studentRepository.countMatching(spec));
+        }
+        if (pageable == null) {
+            return tableETag(this.studentRepository.findTableFingerprint());
+        }
+        return pageETag("page", pageable, this.studentRepository.findPageVersions(pageable),
+                this.studentRepository.count());
+    }
+
+    // cùng điều kiện nhưng khác tập trường là nội dung khác, không dùng chung ETag
+    private static String filterKind(Set<String> fields) {
+        return fields == null ? "filter" : "filter:" + String.join(",", fields);
+    }
+
+    // tổng số dòng nằm trong meta nên cũng là một phần của ETag
+    private static String pageETag(String kind, Pageable pageable, List<? extends StudentVersionRow> rows,
+            long total) {
+        return ETags.fromRows(rows, kind + ":" + pageable.getPageNumber() + ":" + pageable.getPageSize() + ":"
+                + total);
+    }
+
+    // rows gồm cả dòng dư dùng để biết còn trang sau
+    private static String cursorETag(KeysetCursor cursor, int pageSize, List<? extends StudentVersionRow> rows) {
+        return ETags.fromRows(rows, "cursor:" + cursor.getOrderBy() + ":" + pageSize);
+    }
+
+    private static String tableETag(String fingerprint) {
+        return ETags.fromFingerprint("all:" + fingerprint);
+    }
+
+    private static List<StudentDTO> students(List<StudentListRow> rows) {
+        return rows.stream().map(StudentListRow::getStudent).toList();
+    }
+
+    private static List<Map<String, Object>> fieldMaps(List<StudentFieldsRow> rows) {
+        return rows.stream().map(StudentFieldsRow::getFields).toList();
     }
 
     /**
-     * Lấy danh sách sinh viên có phân trang.
+     * Export toàn bộ sinh viên dạng streaming.
      *
      * <p>
-     * Phương thức này sử dụng đối tượng {@link Pageable} để truy vấn dữ liệu sinh
-     * viên theo trang,
-     * sau đó chuyển đổi từng entity {@link Student} sang {@link StudentDTO},
-     * đồng thời trả về thông tin phân trang dưới dạng {@link ResultPaginationDTO}.
+     * Dữ liệu được đọc bằng cursor chỉ-tiến ({@link StudentRepository#streamAllForExport()})
+     * và ghi ngay từng dòng ra response. Mỗi dòng là DTO (không phải entity) nên
+     * bộ nhớ heap giữ ổn định bất kể số dòng. Mật khẩu không được đọc/export.
      * </p>
      *
-     * @param pageable đối tượng phân trang chứa thông tin số trang và kích thước
-     *                 trang
-     * @return đối tượng {@link ResultPaginationDTO} chứa danh sách sinh viên và
-     *         metadata phân trang
+     * @param out    output stream của response
+     * @param format định dạng xuất (NDJSON hoặc CSV)
+     * @throws IOException nếu ghi ra client thất bại
      */
     @Override
-    public ResultPaginationDTO getAllStuPag(Pageable pageable) {
-        Page<Student> pageStu = this.studentRepository.findAll(pageable);
+    @Transactional
+    public void exportStu(OutputStream out, ExportFormat format) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        try (Stream<StudentDTO> students = this.studentRepository.streamAllForExport()) {
+            Iterator<StudentDTO> it = students.iterator();
+            if (format == ExportFormat.CSV) {
+                writer.write(CSV_HEADER);
+                writer.write('\n');
+                int count = 0;
+                while (it.hasNext()) {
+                    writeCsvRow(writer, it.next());
+                    if (++count % EXPORT_FLUSH_INTERVAL == 0) {
+                        writer.flush();
+                    }
+                }
+            } else {
+                SequenceWriter sequenceWriter = this.objectMapper.writerFor(StudentDTO.class)
+                        .withRootValueSeparator("\n")
+                        .writeValues(writer);
+                int count = 0;
+                while (it.hasNext()) {
+                    sequenceWriter.write(it.next());
+                    if (++count % EXPORT_FLUSH_INTERVAL == 0) {
+                        sequenceWriter.flush();
+                    }
+                }
+                sequenceWriter.flush();
+                if (count > 0) {
+                    writer.write('\n');
+                }
+            }
+        }
+        writer.flush();
+    }
+
+    private void writeCsvRow(Writer writer, StudentDTO dto) throws IOException {
+        writer.write(csvField(dto.getStudentCode()));
+        writer.write(',');
+        writer.write(csvField(dto.getFullName()));
+        writer.write(',');
+        writer.write(csvField(dto.getEmail()));
+        writer.write(',');
+        writer.write(dto.getDateOfBirth() == null ? "" : dto.getDateOfBirth().toString());
+        writer.write(',');
+        writer.write(csvField(dto.getAddress()));
+        writer.write(',');
+        writer.write(csvField(dto.getGender()));
+        writer.write(',');
+        writer.write(csvField(dto.getClassName()));
+        writer.write(',');
+        writer.write(String.valueOf(dto.getRoleId()));
+        writer.write('\n');
+    }
+
+    // bọc trong dấu nháy kép nếu giá trị chứa dấu phẩy, nháy kép hoặc xuống dòng
+    // (RFC 4180)
+    private static String csvField(String value) {
+        if (value == null) {
+            return "";
+        }
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0
+                && value.indexOf('\r') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+
+    /**
+     * Lấy danh sách sinh viên có lọc và sắp xếp.
+     *
+     * <p>
+     * Điều kiện lọc được dịch sang {@link Specification} chỉ trên cột của bảng
+     * {@code students} (tên lớp được đổi sang id qua {@link ClassRoomCache}) để
+     * MySQL dùng các index ghép {@code (class_room_id|gender|role_id,
+     * date_of_birth)}; khóa sắp xếp chỉ nhận các cột có index. Kết quả là
+     * projection không kèm mật khẩu; nếu có {@code fields} thì chỉ các cột được
+     * chọn mới được đọc và trả về.
+     * </p>
+     *
+     * @param filter           tham số lọc/sắp xếp
+     * @param currentOptional  số trang hiện tại (cùng với pageSize), Optional
+     * @param pageSizeOptional kích thước trang, Optional
+     * @return danh sách sinh viên, hoặc {@link ResultPaginationDTO} nếu có phân
+     *         trang, cùng ETag
+     * @throws BadRequestExceptionCustom nếu tham số không hợp lệ
+     */
+    private ETaggedResult<Object> filteredList(StudentFilter filter, Optional<String> currentOptional,
+            Optional<String> pageSizeOptional) {
+        Specification<Student> spec = toSpecification(filter);
+        Sort sort = StudentSpecifications.parseSort(filter.getSort(), filter.hasColumnFilter());
+        Set<String> fields = StudentFields.parse(filter.getFields());
+        String kind = filterKind(fields);
+        Pageable pageable = toPageable(currentOptional, pageSizeOptional);
+        if (pageable == null) {
+            if (fields == null) {
+                List<StudentListRow> rows = this.studentRepository.findStudentRows(spec, sort);
+                return new ETaggedResult<>(students(rows), ETags.fromRows(rows, kind));
+            }
+            List<StudentFieldsRow> rows = this.studentRepository.findFields(spec, fields, sort);
+            return new ETaggedResult<>(fieldMaps(rows), ETags.fromRows(rows, kind));
+        }
+        Pageable sorted = PageRequest.of(pageable.getPageNumber(), pageable.getPageSize(), sort);
+        if (fields == null) {
+            Page<StudentListRow> page = this.studentRepository.findStudentRows(spec, sorted);
+            return new ETaggedResult<>(toResultPagination(page.map(StudentListRow::getStudent)),
+                    pageETag(kind, pageable, page.getContent(), page.getTotalElements()));
+        }
+        Page<StudentFieldsRow> page = this.studentRepository.findFields(spec, fields, sorted);
+        return new ETaggedResult<>(toResultPagination(page.map(StudentFieldsRow::getFields)),
+                pageETag(kind, pageable, page.getContent(), page.getTotalElements()));
+    }
+
+    private Specification<Student> toSpecification(StudentFilter filter) {
+        Specification<Student> spec = Specification.where(null);
+        if (hasText(filter.getClassName())) {
+            ClassRoomDTO classRoom = this.classRoomCache.findByClassName(filter.getClassName().trim());
+            // lớp không tồn tại thì không sinh viên nào thỏa, không cần hỏi database
+            spec = spec.and(classRoom == null
+                    ? StudentSpecifications.none()
+                    : StudentSpecifications.inClassRoom(classRoom.getId()));
+        }
+        if (hasText(filter.getGender())) {
+            String gender = filter.getGender().trim().toUpperCase(Locale.ROOT);
+            if (!"MALE".equals(gender) && !"FEMALE".equals(gender)) {
+                throw new BadRequestExceptionCustom("Gender must be either MALE or FEMALE");
+            }
+            spec = spec.and(StudentSpecifications.hasGender(gender));
+        }
+        if (hasText(filter.getRoleId())) {
+            try {
+                spec = spec.and(StudentSpecifications.hasRoleId(Long.parseLong(filter.getRoleId().trim())));
+            } catch (NumberFormatException e) {
+                throw new BadRequestExceptionCustom("Invalid roleId");
+            }
+        }
+        LocalDate bornFrom = parseDate(filter.getBornFrom(), "bornFrom");
+        LocalDate bornTo = parseDate(filter.getBornTo(), "bornTo");
+        if (bornFrom != null && bornTo != null && bornFrom.isAfter(bornTo)) {
+            throw new BadRequestExceptionCustom("bornFrom must not be after bornTo");
+        }
+        if (bornFrom != null) {
+            spec = spec.and(StudentSpecifications.bornOnOrAfter(bornFrom));
+        }
+        if (bornTo != null) {
+            spec = spec.and(StudentSpecifications.bornOnOrBefore(bornTo));
+        }
+        return spec;
+    }
+
+    private static LocalDate parseDate(String value, String name) {
+        if (!hasText(value)) {
+            return null;
+        }
+        try {
+            return LocalDate.parse(value.trim());
+        } catch (DateTimeParseException e) {
+            throw new BadRequestExceptionCustom("Invalid " + name + ", expected yyyy-MM-dd");
+        }
+    }
+
+    private static boolean hasText(String value) {
+        return value != null && !value.isBlank();
+    }
+
+    private static ResultPaginationDTO toResultPagination(Page<?> pageStu) {
         ResultPaginationDTO rs = new ResultPaginationDTO();
         Meta mt = new Meta();
         mt.setPage(pageStu.getNumber());
@@ -125,27 +460,224 @@ public class StudentService implements com.restful.quanlysinhvien.services.IStud
         mt.setPages(pageStu.getTotalPages());
         mt.setTotal(pageStu.getTotalElements());
         rs.setMeta(mt);
-        rs.setResult(pageStu.getContent().stream().map(this::convertToStudentDTO).toList());
+        rs.setResult(pageStu.getContent());
         return rs;
     }
 
     /**
-     * Tìm kiếm sinh viên theo mã sinh viên.
-     * 
-     * @param stuCode Mã sinh viên cần tìm
-     * @return Thông tin sinh viên dưới dạng StudentDTO
-     * @throws ResourceNotFoundException nếu không tìm thấy sinh viên với mã được
-     *                                   cung cấp
+     * Lấy danh sách sinh viên theo phân trang keyset (cursor).
+     *
+     * <p>
+     * Thay vì {@code OFFSET} + {@code COUNT(*)}, mỗi trang chỉ là một truy vấn
+     * {@code WHERE key > :last ORDER BY key LIMIT n+1} trên khóa chính hoặc unique
+     * index của {@code studentCode}, nên thời gian trả về không phụ thuộc vào độ
+     * sâu của trang. Dòng thứ {@code n+1} chỉ dùng để biết còn trang sau hay không.
+     * </p>
+     *
+     * @param afterOptional    cursor của trang trước; chuỗi rỗng nghĩa là trang đầu
+     * @param pageSizeOptional kích thước mỗi trang (mặc định 20, tối đa 100)
+     * @param orderByOptional  khóa sắp xếp cho trang đầu: id hoặc studentCode
+     * @return đối tượng {@link ResultCursorDTO} chứa danh sách sinh viên và
+     *         nextCursor, cùng ETag
+     * @throws BadRequestExceptionCustom nếu tham số hoặc cursor không hợp lệ
+     */
+    private ETaggedResult<ResultCursorDTO> cursorPage(Optional<String> afterOptional,
+            Optional<String> pageSizeOptional, Optional<String> orderByOptional) {
+        int pageSize = toCursorPageSize(pageSizeOptional);
+        KeysetCursor cursor = toCursor(afterOptional, orderByOptional);
+
+        // lấy dư 1 dòng để biết còn trang sau hay không
+        Pageable limit = PageRequest.of(0, pageSize + 1);
+        boolean byId = KeysetCursor.ORDER_BY_ID.equals(cursor.getOrderBy());
+        List<StudentListRow> rows;
+        if (byId) {
+            rows = this.studentRepository.findNextPageById(cursor.lastId(), limit);
+        } else {
+            rows = cursor.isFirstPage()
+                    ? this.studentRepository.findFirstPageByStudentCode(limit)
+                    : this.studentRepository.findNextPageByStudentCode(cursor.getLastValue(), limit);
+        }
+        String eTag = cursorETag(cursor, pageSize, rows);
+        String lastValue = null;
+        if (rows.size() > pageSize) {
+            rows = rows.subList(0, pageSize);
+            StudentListRow last = rows.get(pageSize - 1);
+            lastValue = byId ? String.valueOf(last.getId()) : last.getStudent().getStudentCode();
+        }
+        boolean hasNext = lastValue != null;
+
+        CursorMeta mt = new CursorMeta();
+        mt.setPageSize(pageSize);
+        mt.setOrderBy(cursor.getOrderBy());
+        mt.setHasNext(hasNext);
+        if (hasNext) {
+            mt.setNextCursor(KeysetCursor.after(cursor.getOrderBy(), lastValue).encode());
+        }
+
+        ResultCursorDTO rs = new ResultCursorDTO();
+        rs.setMeta(mt);
+        rs.setResult(students(rows));
+        return new ETaggedResult<>(rs, eTag);
+    }
+
+    private static int toCursorPageSize(Optional<String> pageSizeOptional) {
+        int pageSize = DEFAULT_CURSOR_PAGE_SIZE;
+        if (pageSizeOptional.isPresent()) {
+            try {
+                pageSize = Integer.parseInt(pageSizeOptional.get());
+            } catch (NumberFormatException e) {
+                throw new BadRequestExceptionCustom("Invalid pageSize");
+            }
+            if (pageSize <= 0) {
+                throw new BadRequestExceptionCustom("Page and size must be positive");
+            }
+            // pageSize + 1 được dùng làm LIMIT: chặn trên để không tràn số
+            if (pageSize > MAX_CURSOR_PAGE_SIZE) {
+                throw new BadRequestExceptionCustom("pageSize must not exceed " + MAX_CURSOR_PAGE_SIZE);
+            }
+        }
+        return pageSize;
+    }
+
+    private static KeysetCursor toCursor(Optional<String> afterOptional, Optional<String> orderByOptional) {
+        String after = afterOptional.orElse("");
+        return after.isBlank()
+                ? KeysetCursor.first(orderByOptional.orElse(KeysetCursor.ORDER_BY_ID))
+                : KeysetCursor.decode(after);
+    }
+
+    /**
+     * Tìm kiếm toàn văn sinh viên theo họ tên, email và địa chỉ.
+     *
+     * <p>
+     * Dùng index FULLTEXT (ngram) nên không quét bảng; kết quả xếp theo độ liên
+     * quan. Mỗi trang chỉ là một truy vấn lấy dư một dòng để biết còn trang sau,
+     * không chạy {@code COUNT}.
+     * </p>
+     *
+     * @param q                chuỗi tìm kiếm (2-100 ký tự)
+     * @param currentOptional  số trang hiện tại (mặc định 1)
+     * @param pageSizeOptional kích thước trang (mặc định 20, tối đa 100)
+     * @return đối tượng {@link ResultSearchDTO} chứa kết quả và metadata
+     * @throws BadRequestExceptionCustom nếu tham số không hợp lệ
+     */
+    @Override
+    public ResultSearchDTO searchStu(String q, Optional<String> currentOptional, Optional<String> pageSizeOptional) {
+        String query = q == null ? "" : q.trim();
+        if (query.length() < MIN_SEARCH_QUERY_LENGTH || query.length() > MAX_SEARCH_QUERY_LENGTH) {
+            throw new BadRequestExceptionCustom("q must be between " + MIN_SEARCH_QUERY_LENGTH + " and "
+                    + MAX_SEARCH_QUERY_LENGTH + " characters");
+        }
+        int current;
+        int pageSize;
+        try {
+            current = Integer.parseInt(currentOptional.orElse("1"));
+            pageSize = Integer.parseInt(pageSizeOptional.orElse(String.valueOf(DEFAULT_SEARCH_PAGE_SIZE)));
+        } catch (NumberFormatException e) {
+            throw new BadRequestExceptionCustom("Invalid current or pageSize");
+        }
+        if (current <= 0 || pageSize <= 0) {
+            throw new BadRequestExceptionCustom("Page and size must be positive");
+        }
+        if (pageSize > MAX_SEARCH_PAGE_SIZE) {
+            throw new BadRequestExceptionCustom("pageSize must not exceed " + MAX_SEARCH_PAGE_SIZE);
+        }
+
+        // lấy dư 1 dòng để biết còn trang sau hay không
+        List<StudentDTO> students = this.studentSearchRepository.search(query, (long) (current - 1) * pageSize,
+                pageSize + 1);
+        boolean hasNext = students.size() > pageSize;
+        if (hasNext) {
+            students = students.subList(0, pageSize);
+        }
+
+        SearchMeta mt = new SearchMeta();
+        mt.setPage(current);
+        mt.setPageSize(pageSize);
+        mt.setHasNext(hasNext);
+        ResultSearchDTO rs = new ResultSearchDTO();
+        rs.setMeta(mt);
+        rs.setResult(students);
+        return rs;
+    }
+
+    /**
+     * Gợi ý sinh viên cho autocomplete theo tiền tố mã sinh viên hoặc họ tên (không
+     * phân biệt dấu), đọc từ {@link StudentSuggestIndex} trong bộ nhớ nên không
+     * truy vấn database.
+     *
+     * @param q             chuỗi người dùng đang gõ
+     * @param limitOptional số gợi ý tối đa (mặc định 10, tối đa 50)
+     * @return danh sách {@link StudentSuggestionDTO}
+     * @throws BadRequestExceptionCustom nếu tham số không hợp lệ
      */
     @Override
-    public StudentDTO getStuByStuCode(String stuCode) {
-        validateStudentNotExist(stuCode);
-        Student student = this.studentRepository.findOneByStudentCode(stuCode);
-        return convertToStudentDTO(student);
+    public List<StudentSuggestionDTO> suggestStu(String q, Optional<String> limitOptional) {
+        if (q == null || q.isBlank() || q.length() > MAX_SEARCH_QUERY_LENGTH) {
+            throw new BadRequestExceptionCustom("q must be between 1 and " + MAX_SEARCH_QUERY_LENGTH + " characters");
+        }
+        int limit;
+        try {
+            limit = Integer.parseInt(limitOptional.orElse(String.valueOf(DEFAULT_SUGGEST_LIMIT)));
+        } catch (NumberFormatException e) {
+            throw new BadRequestExceptionCustom("Invalid limit");
+        }
+        if (limit <= 0 || limit > MAX_SUGGEST_LIMIT) {
+            throw new BadRequestExceptionCustom("limit must be between 1 and " + MAX_SUGGEST_LIMIT);
+        }
+        return this.studentSuggestIndex.suggest(q, limit);
+    }
+
+    // đọc qua StudentDTOCache; khi miss chỉ một truy vấn projection, kết quả null
+    // nghĩa là không tồn tại nên không cần gọi thêm existsByStudentCode
+    private VersionedStudentDTO findVersionedStudent(String stuCode) {
+        VersionedStudentDTO student = this.studentDTOCache.findByStudentCode(stuCode);
+        if (student == null) {
+            throw new ResourceNotFoundException("Student code not found"); // 404
+        }
+        return student;
+    }
+
+    /**
+     * Lấy sinh viên theo mã, chỉ với các trường được chọn (sparse fieldset).
+     *
+     * <p>
+     * Không có {@code fields} thì đọc qua {@link StudentDTOCache} (version được
+     * cache cùng dữ liệu nên hit không tốn truy vấn nào).
+     * Có {@code fields} thì truy vấn thẳng chỉ các cột cần thiết cùng version; lớp
+     * học chỉ được join khi chọn {@code className}. ETag gồm cả tập trường, vì
+     * mỗi tập trường là một nội dung khác.
+     * </p>
+     *
+     * @param stuCode        mã sinh viên
+     * @param fieldsOptional danh sách trường cách nhau bởi dấu phẩy, Optional
+     * @return {@link StudentDTO} hoặc map tên trường → giá trị, cùng ETag
+     * @throws BadRequestExceptionCustom nếu có trường không được hỗ trợ
+     * @throws ResourceNotFoundException nếu không tìm thấy sinh viên
+     */
+    @Override
+    public ETaggedResult<Object> getStuByStuCode(String stuCode, Optional<String> fieldsOptional) {
+        Set<String> fields = StudentFields.parse(fieldsOptional.orElse(null));
+        if (fields == null) {
+            VersionedStudentDTO student = findVersionedStudent(stuCode);
+            return new ETaggedResult<>(student.getStudent(), ETags.fromVersion(student.getVersion()));
+        }
+        List<StudentFieldsRow> rows = this.studentRepository
+                .findFields(StudentSpecifications.hasStudentCode(stuCode), fields, Sort.unsorted());
+        if (rows.isEmpty()) {
+            throw new ResourceNotFoundException("Student code not found"); // 404
+        }
+        StudentFieldsRow row = rows.get(0);
+        return new ETaggedResult<>(row.getFields(), ETags.fromVersion(row.getVersion(), fields));
     }
 
     /**
      * Xóa sinh viên khỏi hệ thống.
+     *
+     * <p>
+     * Gọi thẳng {@code delete_stu}; chỉ khi procedure báo thất bại mới truy vấn
+     * thêm để phân biệt "không tồn tại" (404) với lỗi khác.
+     * </p>
      * 
      * @param stuCode Mã sinh viên cần xóa
      * @throws ResourceNotFoundException nếu không tìm thấy sinh viên
@@ -153,59 +685,67 @@ public class StudentService implements com.restful.quanlysinhvien.services.IStud
     @Override
     @Transactional
     public void deleteStuByStuCode(String stuCode) {
-        validateStudentNotExist(stuCode);
-        StoredProcedureQuery query = entityManager
-                .createStoredProcedureQuery("delete_stu")
-                .registerStoredProcedureParameter("p_stu_code", String.class, ParameterMode.IN)
-                .registerStoredProcedureParameter("p_result", Integer.class, ParameterMode.OUT)
-                .setParameter("p_stu_code", stuCode);
-
-        query.execute();
-
-        Integer result = (Integer) query.getOutputParameterValue("p_result");
+        // id/lớp/role đọc trước khi xóa để chỉ xóa đúng các entry second-level cache
+        StudentCacheKeyRow keys = this.studentRepository.findCacheKeysByStudentCode(stuCode);
+        if (keys == null) {
+            throw new ResourceNotFoundException("Student code not found");
+        }
+        int result = this.storedProcedureGateway.call(ConstVariable.PROCEDURE_DELETE_STUDENT, stuCode);
 
         if (result == 0) {
+            validateStudentNotExist(stuCode);
             throw new StoredProcedureFailedException("Failed to delete student");
         }
+        this.studentCredentialCache.evict(stuCode);
+        this.studentDTOCache.evict(stuCode);
+        this.studentExistenceFilter.recordDeletion();
+        this.studentSuggestIndex.remove(stuCode);
+        this.secondLevelCacheInvalidator.evictStudentDeletion(keys.getId(), keys.getClassRoomId(), keys.getRoleId());
     }
 
     // Khi kiểm tra studentCode không tồn tại (GET/PUT/DELETE)
     private void validateStudentNotExist(String stuCode) {
-        if (!studentRepository.existsByStudentCode(stuCode)) {
+        Timer.Sample sample = Timer.start(this.meterRegistry);
+        boolean exists = false;
+        try {
+            exists = studentRepository.existsByStudentCode(stuCode);
+        } finally {
+            stopValidation(sample, "student_exists", exists);
+        }
+        if (!exists) {
             throw new ResourceNotFoundException("Student code not found"); // 404
         }
     }
 
-    // Khi kiểm tra studentCode trùng (POST)
-    private void validateStudentNotDuplicate(String stuCode) {
-        if (studentRepository.existsByStudentCode(stuCode)) {
-            throw new DuplicateResourceException("Student code already exists"); // 409
-        }
+    private void stopValidation(Timer.Sample sample, String check, boolean passed) {
+        sample.stop(Timer.builder(VALIDATION_METRIC)
+                .description("Thời gian các bước kiểm tra dữ liệu của StudentService")
+                .tag("check", check)
+                .tag("outcome", passed ? "passed" : "failed")
+                .publishPercentileHistogram()
+                .register(this.meterRegistry));
     }
 
     /**
-     * Kiểm tra email khi tạo mới sinh viên.
-     * 
-     * @param email Email cần kiểm tra
-     * @throws DuplicateResourceException nếu email đã tồn tại trong hệ thống
+     * Khi {@code create_stu} báo thất bại, kiểm tra lại để trả lỗi chính xác: mã
+     * hoặc email bị trùng (409), còn lại là lớp đã đầy. Chỉ chạy trên nhánh lỗi
+     * nên luồng thành công không tốn thêm truy vấn nào.
      */
-    private void validateEmailForCreate(String email) {
-        if (studentRepository.existsByEmail(email)) {
-            throw new DuplicateResourceException("Email already exists: " + email);
+    private void explainCreateFailure(StudentDTO studentDTO) {
+        Timer.Sample sample = Timer.start(this.meterRegistry);
+        boolean codeExists = false;
+        boolean emailExists = false;
+        try {
+            codeExists = studentRepository.existsByStudentCode(studentDTO.getStudentCode());
+            emailExists = !codeExists && studentRepository.existsByEmail(studentDTO.getEmail());
+        } finally {
+            stopValidation(sample, "create_conflict", !codeExists && !emailExists);
         }
-    }
-
-    /**
-     * Kiểm tra email khi cập nhật sinh viên.
-     * 
-     * @param email              Email cần kiểm tra
-     * @param currentStudentCode Mã sinh viên hiện tại
-     * @throws DuplicateResourceException nếu email thuộc về sinh viên khác
-     */
-    private void validateEmailForUpdate(String email, String currentStudentCode) {
-        Student studentWithEmail = studentRepository.findOneByEmail(email);
-        if (studentWithEmail != null && !studentWithEmail.getStudentCode().equals(currentStudentCode)) {
-            throw new DuplicateResourceException("Email belongs to another student");
+        if (codeExists) {
+            throw new DuplicateResourceException("Student code already exists"); // 409
+        }
+        if (emailExists) {
+            throw new DuplicateResourceException("Email already exists: " + studentDTO.getEmail());
         }
     }
 
@@ -214,15 +754,22 @@ public class StudentService implements com.restful.quanlysinhvien.services.IStud
      *
      * <p>
      * Nếu tên lớp không tồn tại trong cơ sở dữ liệu, phương thức sẽ ném ra ngoại lệ
-     * {@link ResourceNotFoundException}.
+     * {@link ResourceNotFoundException}. Tra cứu qua {@link ClassRoomCache} nên
+     * thường không tốn round trip tới database.
      * </p>
      *
      * @param className tên lớp cần kiểm tra
-     * @return đối tượng {@link ClassRoom} tương ứng nếu tồn tại
+     * @return đối tượng {@link ClassRoomDTO} tương ứng nếu tồn tại
      * @throws ResourceNotFoundException nếu không tìm thấy lớp có tên đã cho
      */
-    private ClassRoom validateClassNameNotExist(String className) {
-        ClassRoom classRoom = this.classRoomRepository.findByClassName(className);
+    private ClassRoomDTO validateClassNameNotExist(String className) {
+        Timer.Sample sample = Timer.start(this.meterRegistry);
+        ClassRoomDTO classRoom = null;
+        try {
+            classRoom = this.classRoomCache.findByClassName(className);
+        } finally {
+            stopValidation(sample, "class_exists", classRoom != null);
+        }
         if (classRoom == null) {
             throw new ResourceNotFoundException("ClassName not found");
         }
@@ -230,84 +777,58 @@ public class StudentService implements com.restful.quanlysinhvien.services.IStud
     }
 
     /**
-     * Chuyển đổi thực thể {@link Student} sang đối tượng {@link StudentDTO}.
+     * Cập nhật thông tin sinh viên.
+     * 
+     * <p>
+     * Không kiểm tra trước bằng truy vấn: {@code update_stu} được gọi ngay, email
+     * trùng được phát hiện qua ràng buộc unique (GlobalException trả 409). Chỉ khi
+     * procedure báo thất bại mới kiểm tra xem sinh viên còn tồn tại không và email
+     * có thuộc về sinh viên khác không (409).
+     * </p>
      *
      * <p>
-     * Phương thức này dùng để tách lớp logic giữa tầng entity và tầng DTO,
-     * giúp bảo vệ dữ liệu và chuẩn hóa thông tin trả về cho client.
+     * Trong cùng transaction, {@code version} được tăng trước khi gọi procedure.
+     * Nếu có {@code expectedVersion} (If-Match), câu tăng version có điều kiện nên
+     * hai request đồng thời với cùng ETag chỉ một request thành công, request còn
+     * lại nhận 412.
      * </p>
      *
-     * @param student đối tượng {@link Student} cần chuyển đổi
-     * @return đối tượng {@link StudentDTO} chứa thông tin tương ứng
-     */
-    private StudentDTO convertToStudentDTO(Student student) {
-        return StudentDTO.builder()
-                .studentCode(student.getStudentCode())
-                .fullName(student.getFullName())
-                .email(student.getEmail())
-                .password(student.getPassword())
-                .dateOfBirth(student.getDateOfBirth())
-                .address(student.getAddress())
-                .gender(student.getGender())
-                .className(student.getClassRoom().getClassName())
-                .roleId(student.getRole().getId())
-                .build();
-    }
-
-    /**
-     * Cập nhật thông tin sinh viên.
-     * 
      * @param studentUpdateDTO DTO chứa thông tin cập nhật
      * @param stuCode          Mã sinh viên cần cập nhật
+     * @param expectedVersion  version lấy từ If-Match, hoặc null nếu không có điều
+     *                         kiện
      * @throws ResourceNotFoundException      nếu không tìm thấy sinh viên hoặc lớp
      *                                        học
+     * @throws PreconditionFailedException    nếu version hiện tại khác
+     *                                        {@code expectedVersion}
      * @throws DuplicateResourceException     nếu email mới đã thuộc về sinh viên
      *                                        khác
      * @throws StoredProcedureFailedException nếu quá trình cập nhật thất bại
      * @return đối tượng {@link StudentDTO} chứa thông tin tương ứng
      */
     @Override
-    @Transactional
-    public StudentDTO updateStu(StudentUpdateDTO studentUpdateDTO, String stuCode) {
+    public StudentDTO updateStu(StudentUpdateDTO studentUpdateDTO, String stuCode, Long expectedVersion) {
 
-        // Validate inputs
-        validateStudentNotExist(stuCode);
-        validateEmailForUpdate(studentUpdateDTO.getEmail(), stuCode);
-
-        ClassRoom classRoom = validateClassNameNotExist(studentUpdateDTO.getClassName());
+        // lớp học tra qua cache, không tốn round trip
+        ClassRoomDTO classRoom = validateClassNameNotExist(studentUpdateDTO.getClassName());
+        // hash trên thread pool riêng, trước khi mở transaction để không giữ
+        // connection trong lúc chờ BCrypt
         String hashPassword = passwordEncoder.encode(studentUpdateDTO.getPassword());
         studentUpdateDTO.setPassword(hashPassword);
-        // Using EntityManager for more control
-        StoredProcedureQuery query = entityManager
-                .createStoredProcedureQuery("update_stu")
-                .registerStoredProcedureParameter("p_class_id", Long.class, ParameterMode.IN)
-                .registerStoredProcedureParameter("p_full_name", String.class, ParameterMode.IN)
-                .registerStoredProcedureParameter("p_email", String.class, ParameterMode.IN)
-                .registerStoredProcedureParameter("p_password", String.class, ParameterMode.IN)
-                .registerStoredProcedureParameter("p_date_of_birth", Date.class, ParameterMode.IN)
-                .registerStoredProcedureParameter("p_address", String.class, ParameterMode.IN)
-                .registerStoredProcedureParameter("p_gender", String.class, ParameterMode.IN)
-                .registerStoredProcedureParameter("p_stu_code", String.class, ParameterMode.IN)
-                .registerStoredProcedureParameter("p_role_id", Long.class, ParameterMode.IN)
-                .registerStoredProcedureParameter("p_Result", Integer.class, ParameterMode.OUT)
-
-                .setParameter("p_class_id", classRoom.getId())
-                .setParameter("p_full_name", studentUpdateDTO.getFullName())
-                .setParameter("p_email", studentUpdateDTO.getEmail())
-                .setParameter("p_password", hashPassword)
-                .setParameter("p_date_of_birth", java.sql.Date.valueOf(studentUpdateDTO.getDateOfBirth()))
-                .setParameter("p_address", studentUpdateDTO.getAddress())
-                .setParameter("p_gender", studentUpdateDTO.getGender())
-                .setParameter("p_stu_code", stuCode)
-                .setParameter("p_role_id", studentUpdateDTO.getRoleId());
-
-        query.execute();
-
-        Integer result = (Integer) query.getOutputParameterValue("p_Result");
-
-        if (result == 0) {
-            throw new StoredProcedureFailedException("Failed to update student - possibly class is full");
-        }
+        this.transactionTemplate.executeWithoutResult(status -> {
+            bumpVersion(stuCode, expectedVersion);
+            // dòng đã bị khóa bởi câu tăng version, lớp/role cũ đọc được là chính xác
+            StudentCacheKeyRow before = this.studentRepository.findCacheKeysByStudentCode(stuCode);
+            callUpdateProcedure(studentUpdateDTO, stuCode, classRoom, hashPassword);
+            this.secondLevelCacheInvalidator.evictStudentWrites(before.getId(),
+                    Arrays.asList(before.getClassRoomId(), classRoom.getId()),
+                    Arrays.asList(before.getRoleId(), roleKey(studentUpdateDTO.getRoleId())));
+            // mật khẩu/role có thể đã đổi, xóa cache xác thực
+            this.studentCredentialCache.evict(stuCode);
+            this.studentDTOCache.evict(stuCode);
+        });
+        this.studentExistenceFilter.addEmail(studentUpdateDTO.getEmail());
+        this.studentSuggestIndex.update(stuCode, studentUpdateDTO.getFullName());
         StudentDTO s = new StudentDTO();
         s.setStudentCode(stuCode);
         s.setAddress(studentUpdateDTO.getAddress());
@@ -321,6 +842,196 @@ public class StudentService implements com.restful.quanlysinhvien.services.IStud
         return s;
     }
 
+    // update_stu không biết cột version nên version được tăng ở đây, cùng transaction
+    private void bumpVersion(String stuCode, Long expectedVersion) {
+        if (this.studentPatchRepository.bumpVersion(stuCode, expectedVersion) == 0) {
+            validateStudentNotExist(stuCode);
+            throw new PreconditionFailedException("If-Match does not match the current version");
+        }
+    }
+
+    private void callUpdateProcedure(StudentUpdateDTO studentUpdateDTO, String stuCode, ClassRoomDTO classRoom,
+            String hashPassword) {
+        int result = this.storedProcedureGateway.call(ConstVariable.PROCEDURE_UPDATE_STUDENT,
+                classRoom.getId(),
+                studentUpdateDTO.getFullName(),
+                studentUpdateDTO.getEmail(),
+                hashPassword,
+                java.sql.Date.valueOf(studentUpdateDTO.getDateOfBirth()),
+                studentUpdateDTO.getAddress(),
+                studentUpdateDTO.getGender(),
+                stuCode,
+                studentUpdateDTO.getRoleId());
+
+        if (result == 0) {
+            validateStudentNotExist(stuCode);
+            explainUpdateFailure(stuCode, studentUpdateDTO.getEmail());
+            throw new StoredProcedureFailedException("Failed to update student - possibly class is full");
+        }
+    }
+
+    // update_stu trả 0 cả khi email đã thuộc về sinh viên khác: trả 409 như create
+    private void explainUpdateFailure(String stuCode, String email) {
+        Timer.Sample sample = Timer.start(this.meterRegistry);
+        boolean emailTaken = false;
+        try {
+            emailTaken = this.studentRepository.existsByEmailAndStudentCodeNot(email, stuCode);
+        } finally {
+            stopValidation(sample, "update_conflict", !emailTaken);
+        }
+        if (emailTaken) {
+            throw new DuplicateResourceException("Email already exists: " + email);
+        }
+    }
+
+    /**
+     * Cập nhật một phần thông tin sinh viên theo JSON Merge Patch (RFC 7396).
+     *
+     * <p>
+     * Patch được áp lên trạng thái hiện tại đọc trực tiếp từ database bằng
+     * {@code SELECT ... FOR UPDATE} trong cùng transaction với câu ghi (không đọc
+     * qua near-cache vì cache có thể cũ nếu instance khác vừa sửa), rồi chỉ những
+     * trường thực sự thay đổi mới được xử lý:
+     * <ul>
+     * <li>mật khẩu chỉ được hash khi có trong patch (hash trước khi mở
+     * transaction),</li>
+     * <li>email trùng được phát hiện qua ràng buộc unique khi ghi,</li>
+     * <li>nếu không đổi lớp, chỉ các cột thay đổi được ghi bằng một câu
+     * {@code UPDATE}; nếu đổi lớp thì gọi {@code update_stu} để kiểm tra sĩ
+     * số,</li>
+     * <li>patch không thay đổi gì thì không ghi xuống database.</li>
+     * </ul>
+     * </p>
+     *
+     * @param stuCode         mã sinh viên cần cập nhật
+     * @param patch           nội dung merge patch (JSON object)
+     * @param expectedVersion version lấy từ If-Match, hoặc null nếu không kiểm tra
+     * @return thông tin sinh viên sau khi cập nhật (không kèm mật khẩu) cùng
+     *         version hiện tại
+     * @throws BadRequestExceptionCustom      nếu patch không phải JSON object
+     * @throws ConstraintViolationException   nếu dữ liệu sau khi áp patch không
+     *                                        hợp lệ
+     * @throws ResourceNotFoundException      nếu không tìm thấy sinh viên hoặc lớp
+     *                                        học
+     * @throws PreconditionFailedException    nếu version không khớp If-Match
+     * @throws DuplicateResourceException     nếu email mới đã thuộc về sinh viên
+     *                                        khác
+     * @throws StoredProcedureFailedException nếu đổi lớp thất bại (lớp đã đầy)
+     */
+    @Override
+    public VersionedStudentDTO patchStu(String stuCode, JsonNode patch, Long expectedVersion) {
+        if (patch == null || !patch.isObject()) {
+            throw new BadRequestExceptionCustom("Merge patch must be a JSON object");
+        }
+        boolean passwordChanged = patch.hasNonNull("password");
+        // hash BCrypt chậm nên làm trước khi khóa dòng
+        String hashPassword = passwordChanged ? hashPatchedPassword(patch.get("password").asText()) : null;
+
+        PatchOutcome outcome = this.transactionTemplate.execute(status -> {
+            StudentSnapshotRow snapshot = this.studentPatchRepository.findForUpdate(stuCode);
+            if (snapshot == null) {
+                throw new ResourceNotFoundException("Student code not found");
+            }
+            if (expectedVersion != null && expectedVersion != snapshot.getVersion()) {
+                throw new PreconditionFailedException("If-Match does not match the current version");
+            }
+            StudentDTO current = snapshot.getStudent();
+            StudentUpdateDTO merged = mergePatch(current, patch, passwordChanged);
+
+            boolean classChanged = !Objects.equals(merged.getClassName(), current.getClassName());
+            Map<String, Object> changes = new LinkedHashMap<>();
+            putIfChanged(changes, StudentPatchRepository.COLUMN_FULL_NAME, current.getFullName(),
+                    merged.getFullName());
+            putIfChanged(changes, StudentPatchRepository.COLUMN_EMAIL, current.getEmail(), merged.getEmail());
+            putIfChanged(changes, StudentPatchRepository.COLUMN_ADDRESS, current.getAddress(), merged.getAddress());
+            putIfChanged(changes, StudentPatchRepository.COLUMN_GENDER, current.getGender(), merged.getGender());
+            if (!Objects.equals(current.getDateOfBirth(), merged.getDateOfBirth())) {
+                changes.put(StudentPatchRepository.COLUMN_DATE_OF_BIRTH,
+                        java.sql.Date.valueOf(merged.getDateOfBirth()));
+            }
+            if (current.getRoleId() != merged.getRoleId()) {
+                changes.put(StudentPatchRepository.COLUMN_ROLE_ID,
+                        merged.getRoleId() > 0 ? merged.getRoleId() : null);
+            }
+            if (passwordChanged) {
+                changes.put(StudentPatchRepository.COLUMN_PASSWORD, hashPassword);
+            }
+
+            Long newClassRoomId = null;
+            if (classChanged) {
+                ClassRoomDTO classRoom = validateClassNameNotExist(merged.getClassName());
+                newClassRoomId = classRoom.getId();
+                // update_stu cần đủ các cột, mật khẩu không đổi thì truyền lại hash cũ
+                bumpVersion(stuCode, null);
+                callUpdateProcedure(merged, stuCode, classRoom,
+                        passwordChanged ? hashPassword : snapshot.getPasswordHash());
+            } else if (!changes.isEmpty()) {
+                this.studentPatchRepository.updateColumns(stuCode, changes);
+            }
+            boolean written = classChanged || !changes.isEmpty();
+            if (written) {
+                this.secondLevelCacheInvalidator.evictStudentWrites(snapshot.getId(),
+                        Arrays.asList(snapshot.getClassRoomId(), newClassRoomId),
+                        Arrays.asList(roleKey(current.getRoleId()), roleKey(merged.getRoleId())));
+                this.studentDTOCache.evict(stuCode);
+            }
+            if (passwordChanged || changes.containsKey(StudentPatchRepository.COLUMN_ROLE_ID)) {
+                this.studentCredentialCache.evict(stuCode);
+            }
+            return new PatchOutcome(current, merged, classChanged, changes.keySet(),
+                    written ? snapshot.getVersion() + 1 : snapshot.getVersion());
+        });
+
+        StudentDTO current = outcome.current();
+        StudentUpdateDTO merged = outcome.merged();
+        if (outcome.changedColumns().contains(StudentPatchRepository.COLUMN_EMAIL) || outcome.classChanged()) {
+            this.studentExistenceFilter.addEmail(merged.getEmail());
+        }
+        if (!Objects.equals(current.getFullName(), merged.getFullName())) {
+            this.studentSuggestIndex.update(stuCode, merged.getFullName());
+        }
+
+        StudentDTO patched = new StudentDTO(current.getStudentCode(), merged.getFullName(), merged.getEmail(),
+                merged.getDateOfBirth(), merged.getAddress(), merged.getGender(), merged.getClassName(),
+                merged.getRoleId());
+        return new VersionedStudentDTO(patched, outcome.version());
+    }
+
+    private String hashPatchedPassword(String rawPassword) {
+        Set<ConstraintViolation<StudentUpdateDTO>> violations = this.validator
+                .validateValue(StudentUpdateDTO.class, "password", rawPassword);
+        if (!violations.isEmpty()) {
+            throw new ConstraintViolationException(violations);
+        }
+        return this.passwordEncoder.encode(rawPassword);
+    }
+
+    private StudentUpdateDTO mergePatch(StudentDTO current, JsonNode patch, boolean passwordChanged) {
+        StudentUpdateDTO merged = new StudentUpdateDTO(current.getFullName(), current.getEmail(), null,
+                current.getDateOfBirth(), current.getAddress(), current.getGender(), current.getClassName(),
+                current.getRoleId());
+        try {
+            merged = this.objectMapper.readerForUpdating(merged).readValue(patch);
+        } catch (IOException e) {
+            throw new BadRequestExceptionCustom("Invalid merge patch");
+        }
+
+        // mật khẩu không có trong patch thì giữ nguyên, không cần validate
+        Set<ConstraintViolation<StudentUpdateDTO>> violations = this.validator.validate(merged).stream()
+                .filter(v -> passwordChanged || !"password".equals(v.getPropertyPath().toString()))
+                .collect(Collectors.toSet());
+        if (!violations.isEmpty()) {
+            throw new ConstraintViolationException(violations);
+        }
+        return merged;
+    }
+
+    private static void putIfChanged(Map<String, Object> changes, String column, String oldValue, String newValue) {
+        if (!Objects.equals(oldValue, newValue)) {
+            changes.put(column, newValue);
+        }
+    }
+
     /**
      * Tạo mới sinh viên.
      * 
@@ -331,48 +1042,207 @@ public class StudentService implements com.restful.quanlysinhvien.services.IStud
      * @return đối tượng {@link StudentDTO} chứa thông tin tương ứng
      */
     @Override
-    @Transactional
     public StudentDTO createStu(StudentDTO studentDTO)
             throws DuplicateResourceException, ResourceNotFoundException {
-        validateStudentNotDuplicate(studentDTO.getStudentCode());
-        validateEmailForCreate(studentDTO.getEmail());
-        ClassRoom classRoom = validateClassNameNotExist(studentDTO.getClassName());
+        // mã/email trùng do ràng buộc unique phát hiện, lớp học tra qua cache
+        ClassRoomDTO classRoom = validateClassNameNotExist(studentDTO.getClassName());
+        // hash trên thread pool riêng, trước khi mở transaction
         String hashPassword = passwordEncoder.encode(studentDTO.getPassword());
         studentDTO.setPassword(hashPassword);
-        StoredProcedureQuery query = entityManager
-                .createStoredProcedureQuery("create_stu")
-                .registerStoredProcedureParameter("p_class_id", Long.class, ParameterMode.IN)
-                .registerStoredProcedureParameter("p_full_name", String.class, ParameterMode.IN)
-                .registerStoredProcedureParameter("p_email", String.class, ParameterMode.IN)
-                .registerStoredProcedureParameter("p_password", String.class, ParameterMode.IN)
-                .registerStoredProcedureParameter("p_date_of_birth", Date.class, ParameterMode.IN)
-                .registerStoredProcedureParameter("p_address", String.class, ParameterMode.IN)
-                .registerStoredProcedureParameter("p_gender", String.class, ParameterMode.IN)
-                .registerStoredProcedureParameter("p_stu_code", String.class, ParameterMode.IN)
-                .registerStoredProcedureParameter("p_role_id", Long.class, ParameterMode.IN)
-                .registerStoredProcedureParameter("p_Result", Integer.class, ParameterMode.OUT)
-
-                .setParameter("p_class_id", classRoom.getId())
-                .setParameter("p_full_name", studentDTO.getFullName())
-                .setParameter("p_email", studentDTO.getEmail())
-                .setParameter("p_password", hashPassword)
-                .setParameter("p_date_of_birth", java.sql.Date.valueOf(studentDTO.getDateOfBirth()))
-                .setParameter("p_address", studentDTO.getAddress())
-                .setParameter("p_gender", studentDTO.getGender())
-                .setParameter("p_stu_code", studentDTO.getStudentCode())
-                .setParameter("p_role_id", studentDTO.getRoleId());
-
-        query.execute();
-
-        Integer result = (Integer) query.getOutputParameterValue("p_Result");
+        this.transactionTemplate.executeWithoutResult(status -> {
+            callCreateProcedure(studentDTO, classRoom, hashPassword);
+            this.secondLevelCacheInvalidator.evictStudentWrites(null, List.of(classRoom.getId()),
+                    Arrays.asList(roleKey(studentDTO.getRoleId())));
+            this.studentDTOCache.evict(studentDTO.getStudentCode());
+        });
+        this.studentExistenceFilter.add(studentDTO.getStudentCode(), studentDTO.getEmail());
+        this.studentSuggestIndex.add(studentDTO.getStudentCode(), studentDTO.getFullName());
+        return studentDTO;
+    }
+
+    private void callCreateProcedure(StudentDTO studentDTO, ClassRoomDTO classRoom, String hashPassword) {
+        int result = this.storedProcedureGateway.call(ConstVariable.PROCEDURE_CREATE_STUDENT,
+                classRoom.getId(),
+                studentDTO.getFullName(),
+                studentDTO.getEmail(),
+                hashPassword,
+                java.sql.Date.valueOf(studentDTO.getDateOfBirth()),
+                studentDTO.getAddress(),
+                studentDTO.getGender(),
+                studentDTO.getStudentCode(),
+                studentDTO.getRoleId());
 
         if (result == 0) {
+            explainCreateFailure(studentDTO);
             throw new StoredProcedureFailedException("Failed to create student - possibly class is full");
         }
-        return studentDTO;
     }
 
-    public Student findStudentByUsername(String username) {
-        return this.studentRepository.findOneByStudentCode(username);
+    /**
+     * Tạo mới nhiều sinh viên trong một request.
+     *
+     * <p>
+     * Thay vì lặp lại {@link #createStu(StudentDTO)} (3 truy vấn validate + 1 lần
+     * gọi procedure cho mỗi sinh viên), phương thức này:
+     * <ol>
+     * <li>loại các dòng trùng mã/email ngay trong request,</li>
+     * <li>validate mã, email, tên lớp và role bằng các truy vấn {@code IN} theo
+     * lô,</li>
+     * <li>hash mật khẩu song song trên pool hash cho các dòng hợp lệ (ngoài
+     * transaction),</li>
+     * <li>insert bằng JDBC batch trong một transaction, kiểm tra sĩ số lớp; mã/email
+     * trùng hoặc lớp/role bị xóa sau bước 2 được báo theo từng dòng.</li>
+     * </ol>
+     * Mỗi dòng có kết quả riêng; một dòng lỗi không làm hỏng các dòng khác.
+     * </p>
+     *
+     * @param studentDTOs danh sách sinh viên cần tạo (đã qua @Valid)
+     * @return đối tượng {@link BatchResultDTO} chứa kết quả từng dòng
+     */
+    @Override
+    public BatchResultDTO createStuBatch(List<StudentDTO> studentDTOs) {
+        int size = studentDTOs.size();
+        BatchRowResultDTO[] results = new BatchRowResultDTO[size];
+
+        List<String> codes = new ArrayList<>(size);
+        List<String> emails = new ArrayList<>(size);
+        Set<String> classNames = new HashSet<>();
+        Set<Long> requestedRoleIds = new HashSet<>();
+        for (StudentDTO s : studentDTOs) {
+            codes.add(s.getStudentCode());
+            emails.add(s.getEmail());
+            classNames.add(s.getClassName());
+            if (s.getRoleId() > 0) {
+                requestedRoleIds.add(s.getRoleId());
+            }
+        }
+
+        // Bloom filter chỉ là gợi ý để bớt truy vấn: filter chỉ biết các lần ghi của
+        // instance này, giá trị bị bỏ sót vẫn được insertWithinCapacity báo DUPLICATE
+        List<String> codesToCheck = codes.stream()
+                .filter(this.studentExistenceFilter::mightContainStudentCode).toList();
+        List<String> emailsToCheck = emails.stream()
+                .filter(this.studentExistenceFilter::mightContainEmail).toList();
+        Set<String> existingCodes = Set.of();
+        Timer.Sample sample = Timer.start(this.meterRegistry);
+        try {
+            existingCodes = StudentKeys.keys(
+                    queryInChunks(codesToCheck, this.studentRepository::findExistingStudentCodes));
+        } finally {
+            stopValidation(sample, "batch_code_conflict", existingCodes.isEmpty());
+        }
+        Set<String> existingEmails = Set.of();
+        sample = Timer.start(this.meterRegistry);
+        try {
+            existingEmails = StudentKeys.keys(
+                    queryInChunks(emailsToCheck, this.studentRepository::findExistingEmails));
+        } finally {
+            stopValidation(sample, "batch_email_conflict", existingEmails.isEmpty());
+        }
+        // tên lớp so khớp không phân biệt hoa thường, giống findByClassName của create
+        Map<String, Long> classIdByName = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+        sample = Timer.start(this.meterRegistry);
+        try {
+            for (ClassRoomDTO classRoom : this.classRoomCache.findByClassNames(classNames).values()) {
+                classIdByName.put(classRoom.getClassName(), classRoom.getId());
+            }
+        } finally {
+            stopValidation(sample, "batch_class_exists", classIdByName.keySet().containsAll(classNames));
+        }
+        Set<Long> existingRoleIds = Set.of();
+        sample = Timer.start(this.meterRegistry);
+        try {
+            existingRoleIds = new HashSet<>(queryInChunks(List.copyOf(requestedRoleIds),
+                    this.studentRepository::findExistingRoleIds));
+        } finally {
+            stopValidation(sample, "batch_role_exists", existingRoleIds.containsAll(requestedRoleIds));
+        }
+
+        Set<String> seenCodes = new HashSet<>();
+        Set<String> seenEmails = new HashSet<>();
+        List<Integer> pendingIndexes = new ArrayList<>(size);
+        List<StudentDTO> pending = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            StudentDTO s = studentDTOs.get(i);
+            String code = StudentKeys.key(s.getStudentCode());
+            String email = StudentKeys.key(s.getEmail());
+            if (existingCodes.contains(code) || !seenCodes.add(code)) {
+                results[i] = rowResult(i, s, BatchRowResultDTO.Status.DUPLICATE, "Student code already exists");
+            } else if (existingEmails.contains(email) || !seenEmails.add(email)) {
+                results[i] = rowResult(i, s, BatchRowResultDTO.Status.DUPLICATE,
+                        "Email already exists: " + s.getEmail());
+            } else if (!classIdByName.containsKey(s.getClassName())) {
+                results[i] = rowResult(i, s, BatchRowResultDTO.Status.CLASS_NOT_FOUND, "ClassName not found");
+            } else if (s.getRoleId() > 0 && !existingRoleIds.contains(s.getRoleId())) {
+                results[i] = rowResult(i, s, BatchRowResultDTO.Status.ROLE_NOT_FOUND, "Role not found");
+            } else {
+                pendingIndexes.add(i);
+                pending.add(s);
+            }
+        }
+
+        // BCrypt là phần tốn CPU nhất, chạy song song trên pool hash và ngoài transaction
+        List<String> hashes = this.passwordEncoder.encodeAll(pending.stream().map(StudentDTO::getPassword).toList());
+        for (int p = 0; p < pending.size(); p++) {
+            pending.get(p).setPassword(hashes.get(p));
+        }
+
+        Set<Long> classRoomIds = new HashSet<>();
+        Set<Long> roleIds = new HashSet<>();
+        for (StudentDTO s : pending) {
+            classRoomIds.add(classIdByName.get(s.getClassName()));
+            roleIds.add(roleKey(s.getRoleId()));
+        }
+        // xóa cache trong transaction để lần xóa lại sau commit được đăng ký
+        Map<Integer, BatchRowResultDTO> rejected = this.transactionTemplate.execute(status -> {
+            Map<Integer, BatchRowResultDTO> rs = this.studentBatchRepository.insertWithinCapacity(pending,
+                    classIdByName);
+            this.secondLevelCacheInvalidator.evictStudentWrites(null, classRoomIds, roleIds);
+            return rs;
+        });
+
+        int created = 0;
+        for (int p = 0; p < pending.size(); p++) {
+            int i = pendingIndexes.get(p);
+            BatchRowResultDTO rejection = rejected.get(p);
+            if (rejection != null) {
+                // lớp đã đầy, hoặc trùng với sinh viên vừa được tạo bởi request khác
+                results[i] = rowResult(i, pending.get(p), rejection.getStatus(), rejection.getMessage());
+            } else {
+                results[i] = rowResult(i, pending.get(p), BatchRowResultDTO.Status.CREATED, null);
+                this.studentExistenceFilter.add(pending.get(p).getStudentCode(), pending.get(p).getEmail());
+                this.studentSuggestIndex.add(pending.get(p).getStudentCode(), pending.get(p).getFullName());
+                created++;
+            }
+        }
+
+        BatchResultDTO rs = new BatchResultDTO();
+        rs.setCreated(created);
+        rs.setFailed(size - created);
+        rs.setResults(List.of(results));
+        return rs;
+    }
+
+    // roleId 0 nghĩa là sinh viên không có role
+    private static Long roleKey(long roleId) {
+        return roleId > 0 ? roleId : null;
+    }
+
+    private static BatchRowResultDTO rowResult(int index, StudentDTO s, BatchRowResultDTO.Status status,
+            String message) {
+        return new BatchRowResultDTO(index, s.getStudentCode(), status, message);
+    }
+
+    // chia danh sách thành các lô để mệnh đề IN không quá dài
+    private static <T, R> List<R> queryInChunks(List<T> values, Function<List<T>, List<R>> query) {
+        List<R> rs = new ArrayList<>();
+        for (int from = 0; from < values.size(); from += IN_CLAUSE_CHUNK_SIZE) {
+            rs.addAll(query.apply(values.subList(from, Math.min(values.size(), from + IN_CLAUSE_CHUNK_SIZE))));
+        }
+        return rs;
+    }
+
+    private record PatchOutcome(StudentDTO current, StudentUpdateDTO merged, boolean classChanged,
+            Set<String> changedColumns, long version) {
     }
 }
@@ -0,0 +1,311 @@
+package com.restful.quanlysinhvien.services.service_impl;
+
+import com.restful.quanlysinhvien.domain.dto.StudentSuggestionDTO;
+import com.restful.quanlysinhvien.util.PrefixIndex;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.text.Normalizer;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.regex.Pattern;
+import java.util.zip.CRC32;
+
+/**
+ * Index tiền tố trong bộ nhớ cho {@code GET /students/suggest}
+ * (search-as-you-type) theo mã sinh viên và họ tên.
+ *
+ * <p>
+ * Họ tên được chuẩn hóa (bỏ dấu, {@code đ → d}, chữ thường, gộp khoảng trắng)
+ * nên gõ "nguyen van" khớp "Nguyễn Văn". Khóa theo mã có dạng
+ * {@code <mã chữ thường>\0<mã>\0<họ tên>}, khóa theo tên chỉ là
+ * {@code <họ tên chuẩn hóa>\0<mã>}: họ tên hiển thị (có dấu nên Java lưu dạng
+ * UTF-16) chỉ được lưu một lần, khóa theo tên chỉ gồm ASCII (1 byte/ký tự).
+ * Gợi ý theo tên đọc họ tên hiển thị từ khóa theo mã.
+ * </p>
+ *
+ * <p>
+ * Index được dựng nền từ bảng {@code students} khi ứng dụng khởi động (trước đó
+ * gợi ý rỗng) và cập nhật từng phần sau khi tạo/sửa/xóa sinh viên commit thành
+ * công trên instance này. Thay đổi từ instance khác, từ import trên node khác
+ * hay ghi thẳng vào database không đi qua đây, nên định kỳ
+ * ({@code app.suggest.refresh-interval}) index so fingerprint nội dung của bảng
+ * ({@code COUNT} và tổng {@code CRC32(mã|họ tên)} của các dòng) với fingerprint
+ * của chính nội dung index, được cộng/trừ theo từng thay đổi cục bộ. Ghi trên
+ * instance này làm hai bên thay đổi như nhau nên không gây dựng lại; chỉ khi
+ * mã hoặc họ tên bị đổi ở nơi khác hai giá trị mới lệch nhau và index được
+ * dựng lại. Sửa cột khác (email, lớp...) không ảnh hưởng gợi ý nên cũng không
+ * làm dựng lại.
+ * </p>
+ */
+@Component
+public class StudentSuggestIndex {
+    private static final Logger logger = LoggerFactory.getLogger(StudentSuggestIndex.class);
+    private static final String LOAD_SQL = "SELECT student_code, full_name FROM students";
+    // CRC32 tính trên byte UTF-8 của chuỗi, giống rowChecksum
+    private static final String FINGERPRINT_SQL = "SELECT CONCAT(COUNT(id), ':', "
+            + "COALESCE(SUM(CRC32(CONCAT(student_code, '|', COALESCE(full_name, '')))), 0)) FROM students";
+    private static final char SEPARATOR = '\0';
+    private static final Pattern COMBINING_MARKS = Pattern.compile("\\p{M}+");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ScheduledExecutorService buildExecutor = Executors
+            .newSingleThreadScheduledExecutor(new CustomizableThreadFactory("student-suggest-"));
+    private final Duration refreshInterval;
+    private final Object lock = new Object();
+
+    private volatile PrefixIndex codes = new PrefixIndex();
+    private volatile PrefixIndex names = new PrefixIndex();
+    // thay đổi xảy ra trong lúc dựng lại, áp lại lên index mới (giữ lock)
+    private List<Consumer<StudentSuggestIndex>> pending;
+    // tổng rowChecksum của các sinh viên đang có trong index (giữ lock)
+    private long checksum;
+
+    public StudentSuggestIndex(JdbcTemplate jdbcTemplate, MeterRegistry meterRegistry,
+            @Value("${app.suggest.refresh-interval:PT1M}") Duration refreshInterval) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.refreshInterval = refreshInterval;
+        Gauge.builder("student.suggest.size", this, self -> self.codes.size()).register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void buildOnStartup() {
+        this.buildExecutor.scheduleWithFixedDelay(this::refresh, 0, this.refreshInterval.toMillis(),
+                TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Gợi ý sinh viên theo tiền tố mã trước, sau đó theo tiền tố họ tên.
+     *
+     * @param query chuỗi người dùng đang gõ
+     * @param limit số gợi ý tối đa
+     * @return danh sách gợi ý, không trùng mã
+     */
+    public List<StudentSuggestionDTO> suggest(String query, int limit) {
+        Map<String, StudentSuggestionDTO> rs = new LinkedHashMap<>();
+        for (String key : this.codes.findByPrefix(query.trim().toLowerCase(Locale.ROOT), limit)) {
+            String[] parts = split(key);
+            rs.putIfAbsent(parts[1], new StudentSuggestionDTO(parts[1], parts[2]));
+        }
+        if (rs.size() < limit) {
+            for (String key : this.names.findByPrefix(normalize(query), limit)) {
+                if (rs.size() >= limit) {
+                    break;
+                }
+                String studentCode = key.substring(key.indexOf(SEPARATOR) + 1);
+                if (!rs.containsKey(studentCode)) {
+                    // sinh viên vừa bị xóa giữa hai lần đọc thì bỏ qua
+                    String codeKey = findCodeKey(studentCode);
+                    if (codeKey != null) {
+                        rs.put(studentCode, new StudentSuggestionDTO(studentCode, split(codeKey)[2]));
+                    }
+                }
+            }
+        }
+        return new ArrayList<>(rs.values());
+    }
+
+    /**
+     * Thêm sinh viên mới (sau khi transaction hiện tại commit).
+     */
+    public void add(String studentCode, String fullName) {
+        afterCommit(() -> apply(index -> index.doAdd(studentCode, fullName)));
+    }
+
+    /**
+     * Cập nhật họ tên của sinh viên (sau khi transaction hiện tại commit).
+     */
+    public void update(String studentCode, String fullName) {
+        afterCommit(() -> apply(index -> {
+            index.doRemove(studentCode);
+            index.doAdd(studentCode, fullName);
+        }));
+    }
+
+    /**
+     * Xóa sinh viên khỏi index (sau khi transaction hiện tại commit).
+     */
+    public void remove(String studentCode) {
+        afterCommit(() -> apply(index -> index.doRemove(studentCode)));
+    }
+
+    private void apply(Consumer<StudentSuggestIndex> change) {
+        synchronized (this.lock) {
+            change.accept(this);
+            if (this.pending != null) {
+                this.pending.add(change);
+            }
+        }
+    }
+
+    private void doAdd(String studentCode, String fullName) {
+        // thay đổi áp lại sau khi dựng có thể đã nằm trong dữ liệu vừa nạp
+        doRemove(studentCode);
+        this.codes.add(codeKey(studentCode, fullName));
+        this.names.add(nameKey(studentCode, fullName));
+        this.checksum += rowChecksum(studentCode, fullName);
+    }
+
+    private void doRemove(String studentCode) {
+        // khóa theo mã chứa luôn họ tên, dùng để tìm khóa theo tên cần xóa
+        String key = findCodeKey(studentCode);
+        if (key != null) {
+            String[] parts = split(key);
+            this.codes.remove(key);
+            this.names.remove(nameKey(parts[1], parts[2]));
+            this.checksum -= rowChecksum(parts[1], parts[2]);
+        }
+    }
+
+    private String findCodeKey(String studentCode) {
+        List<String> keys = this.codes.findByPrefix(studentCode.toLowerCase(Locale.ROOT) + SEPARATOR, 1);
+        return keys.isEmpty() ? null : keys.get(0);
+    }
+
+    /**
+     * Dựng lại index nếu nội dung bảng khác nội dung index, tức là có thay đổi
+     * không đi qua instance này.
+     */
+    void refresh() {
+        String fingerprint;
+        try {
+            fingerprint = this.jdbcTemplate.queryForObject(FINGERPRINT_SQL, String.class);
+        } catch (RuntimeException e) {
+            logger.error("Failed to read students fingerprint: {}", e.getMessage(), e);
+            return;
+        }
+        // thay đổi cục bộ đã commit nhưng chưa kịp áp vào index chỉ gây một lần
+        // dựng thừa; lần sau hai bên lại khớp
+        if (!localFingerprint().equals(fingerprint)) {
+            rebuild();
+        }
+    }
+
+    private String localFingerprint() {
+        synchronized (this.lock) {
+            return this.codes.size() + ":" + this.checksum;
+        }
+    }
+
+    private void rebuild() {
+        synchronized (this.lock) {
+            this.pending = new ArrayList<>();
+        }
+        try {
+            List<String> codeKeys = new ArrayList<>();
+            List<String> nameKeys = new ArrayList<>();
+            long[] loadedChecksum = new long[1];
+            this.jdbcTemplate.query(con -> {
+                PreparedStatement ps = con.prepareStatement(LOAD_SQL, ResultSet.TYPE_FORWARD_ONLY,
+                        ResultSet.CONCUR_READ_ONLY);
+                // MySQL Connector/J: đọc từng dòng thay vì nạp cả bảng
+                ps.setFetchSize(Integer.MIN_VALUE);
+                return ps;
+            }, (RowCallbackHandler) rs -> {
+                String studentCode = rs.getString(1);
+                String fullName = rs.getString(2);
+                codeKeys.add(codeKey(studentCode, fullName));
+                nameKeys.add(nameKey(studentCode, fullName));
+                loadedChecksum[0] += rowChecksum(studentCode, fullName);
+            });
+            PrefixIndex nextCodes = new PrefixIndex(codeKeys);
+            PrefixIndex nextNames = new PrefixIndex(nameKeys);
+            synchronized (this.lock) {
+                this.codes = nextCodes;
+                this.names = nextNames;
+                this.checksum = loadedChecksum[0];
+                for (Consumer<StudentSuggestIndex> change : this.pending) {
+                    change.accept(this);
+                }
+            }
+            logger.info("Student suggest index built: {} students", codeKeys.size());
+        } catch (RuntimeException e) {
+            logger.error("Failed to build student suggest index: {}", e.getMessage(), e);
+        } finally {
+            synchronized (this.lock) {
+                this.pending = null;
+            }
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        this.buildExecutor.shutdownNow();
+    }
+
+    /**
+     * Chuẩn hóa chuỗi để so khớp: bỏ dấu tiếng Việt, chữ thường, gộp khoảng trắng.
+     *
+     * @param value chuỗi gốc
+     * @return chuỗi đã chuẩn hóa
+     */
+    static String normalize(String value) {
+        String stripped = COMBINING_MARKS.matcher(Normalizer.normalize(value, Normalizer.Form.NFD)).replaceAll("")
+                .replace('đ', 'd').replace('Đ', 'D');
+        return WHITESPACE.matcher(stripped.trim()).replaceAll(" ").toLowerCase(Locale.ROOT);
+    }
+
+    private static String codeKey(String studentCode, String fullName) {
+        return studentCode.toLowerCase(Locale.ROOT) + SEPARATOR + studentCode + SEPARATOR + nullToEmpty(fullName);
+    }
+
+    private static String nameKey(String studentCode, String fullName) {
+        return normalize(nullToEmpty(fullName)) + SEPARATOR + studentCode;
+    }
+
+    // cùng công thức với FINGERPRINT_SQL: CRC32 không dấu của "mã|họ tên"
+    private static long rowChecksum(String studentCode, String fullName) {
+        CRC32 crc = new CRC32();
+        crc.update((studentCode + '|' + nullToEmpty(fullName)).getBytes(StandardCharsets.UTF_8));
+        return crc.getValue();
+    }
+
+    private static String nullToEmpty(String value) {
+        return value == null ? "" : value;
+    }
+
+    private static String[] split(String key) {
+        int first = key.indexOf(SEPARATOR);
+        int second = key.indexOf(SEPARATOR, first + 1);
+        return new String[] { key.substring(0, first), key.substring(first + 1, second), key.substring(second + 1) };
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+}
@@ -9,28 +9,29 @@ import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Component;
 
-import com.restful.quanlysinhvien.domain.Role;
-import com.restful.quanlysinhvien.domain.Student;
+import com.restful.quanlysinhvien.domain.dto.StudentCredentialDTO;
 
 @Component("userDetailsService")
 public class UserDetailsCustom implements UserDetailsService {
-    private final StudentService studentService;
+    private final StudentCredentialCache studentCredentialCache;
 
-    public UserDetailsCustom(StudentService studentService) {
-        this.studentService = studentService;
+    public UserDetailsCustom(StudentCredentialCache studentCredentialCache) {
+        this.studentCredentialCache = studentCredentialCache;
     }
 
     @Override
     public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
-        Student student = this.studentService.findStudentByUsername(username);
+        // mã, mật khẩu và role được đọc trong một truy vấn và cache theo TTL
+        StudentCredentialDTO student = this.studentCredentialCache.findByStudentCode(username);
         if (student == null) {
             throw new UsernameNotFoundException("Bad credentials");
         }
         // Gán role vào authority
-        Role role = student.getRole();
-        String roleName = "ROLE_" + role.getNameRole().toUpperCase(); // VD: ROLE_ADMIN
+        String roleName = "ROLE_" + student.getRoleName().toUpperCase(); // VD: ROLE_ADMIN
         GrantedAuthority authority = new SimpleGrantedAuthority(roleName);
 
+        // luôn tạo User mới: Spring Security xóa password trên đối tượng này sau khi
+        // xác thực nên không được cache nó
         return new org.springframework.security.core.userdetails.User(
                 student.getStudentCode(),
                 student.getPassword(),
@@ -0,0 +1,33 @@
+package com.restful.quanlysinhvien.util;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Xóa cache hai lần quanh một transaction ghi.
+ *
+ * <p>
+ * Thao tác xóa chạy ngay, và nếu đang trong transaction thì chạy lại sau khi
+ * transaction kết thúc (commit hoặc rollback): một request đọc đồng thời có thể
+ * đã nạp lại dữ liệu cũ vào cache giữa lần xóa đầu và lúc commit.
+ * </p>
+ */
+public final class AfterCompletion {
+    private AfterCompletion() {
+    }
+
+    /**
+     * @param action thao tác xóa cache, phải chạy lại được nhiều lần
+     */
+    public static void run(Runnable action) {
+        action.run();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    action.run();
+                }
+            });
+        }
+    }
+}
@@ -0,0 +1,195 @@
+package com.restful.quanlysinhvien.util;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Bloom filter cho chuỗi, an toàn khi dùng đồng thời (không khóa).
+ *
+ * <p>
+ * {@link #mightContain(String)} trả về false nghĩa là chắc chắn không có; true
+ * nghĩa là có thể có (tỉ lệ dương tính giả xấp xỉ {@link #expectedFpp()}). Bloom
+ * filter không hỗ trợ xóa phần tử. Dùng double hashing trên MurmurHash3 128-bit
+ * để sinh k vị trí bit.
+ * </p>
+ */
+public class BloomFilter {
+    private final AtomicLongArray bits;
+    private final long bitSize;
+    private final int hashFunctions;
+    private final long expectedInsertions;
+    private final LongAdder insertions = new LongAdder();
+    private final LongAdder bitCount = new LongAdder();
+
+    /**
+     * @param expectedInsertions số phần tử dự kiến
+     * @param fpp                tỉ lệ dương tính giả mong muốn (0 &lt; fpp &lt; 1)
+     */
+    public BloomFilter(long expectedInsertions, double fpp) {
+        if (fpp <= 0 || fpp >= 1) {
+            throw new IllegalArgumentException("fpp must be between 0 and 1");
+        }
+        long n = Math.max(1, expectedInsertions);
+        long m = (long) Math.ceil(-n * Math.log(fpp) / (Math.log(2) * Math.log(2)));
+        m = Math.max(64, ((m + 63) / 64) * 64);
+        this.expectedInsertions = n;
+        this.bitSize = m;
+        this.hashFunctions = Math.max(1, (int) Math.round((double) m / n * Math.log(2)));
+        this.bits = new AtomicLongArray((int) (m / 64));
+    }
+
+    public void put(String value) {
+        long[] hash = murmur3(value.getBytes(StandardCharsets.UTF_8));
+        long combined = hash[0];
+        for (int i = 0; i < this.hashFunctions; i++) {
+            long index = (combined & Long.MAX_VALUE) % this.bitSize;
+            if (setBit(index)) {
+                this.bitCount.increment();
+            }
+            combined += hash[1];
+        }
+        this.insertions.increment();
+    }
+
+    public boolean mightContain(String value) {
+        long[] hash = murmur3(value.getBytes(StandardCharsets.UTF_8));
+        long combined = hash[0];
+        for (int i = 0; i < this.hashFunctions; i++) {
+            long index = (combined & Long.MAX_VALUE) % this.bitSize;
+            if ((this.bits.get((int) (index >>> 6)) & (1L << index)) == 0) {
+                return false;
+            }
+            combined += hash[1];
+        }
+        return true;
+    }
+
+    /**
+     * @return tỉ lệ bit đã bật (0..1)
+     */
+    public double saturation() {
+        return (double) this.bitCount.sum() / this.bitSize;
+    }
+
+    /**
+     * @return tỉ lệ dương tính giả ước tính theo số bit đã bật hiện tại
+     */
+    public double expectedFpp() {
+        return Math.pow(saturation(), this.hashFunctions);
+    }
+
+    public long memoryBytes() {
+        return this.bitSize / 8;
+    }
+
+    public long insertions() {
+        return this.insertions.sum();
+    }
+
+    public long expectedInsertions() {
+        return this.expectedInsertions;
+    }
+
+    private boolean setBit(long index) {
+        int word = (int) (index >>> 6);
+        long mask = 1L << index;
+        long old;
+        do {
+            old = this.bits.get(word);
+            if ((old & mask) != 0) {
+                return false;
+            }
+        } while (!this.bits.compareAndSet(word, old, old | mask));
+        return true;
+    }
+
+    // MurmurHash3 x64 128-bit, seed 0 (package-private để kiểm thử)
+    static long[] murmur3(byte[] data) {
+        final long c1 = 0x87c37b91114253d5L;
+        final long c2 = 0x4cf5ad432745937fL;
+        int length = data.length;
+        int blocks = length / 16;
+        long h1 = 0;
+        long h2 = 0;
+
+        for (int i = 0; i < blocks; i++) {
+            long k1 = getLong(data, i * 16);
+            long k2 = getLong(data, i * 16 + 8);
+            k1 *= c1;
+            k1 = Long.rotateLeft(k1, 31);
+            k1 *= c2;
+            h1 ^= k1;
+            h1 = Long.rotateLeft(h1, 27);
+            h1 += h2;
+            h1 = h1 * 5 + 0x52dce729;
+            k2 *= c2;
+            k2 = Long.rotateLeft(k2, 33);
+            k2 *= c1;
+            h2 ^= k2;
+            h2 = Long.rotateLeft(h2, 31);
+            h2 += h1;
+            h2 = h2 * 5 + 0x38495ab5;
+        }
+
+        long k1 = 0;
+        long k2 = 0;
+        int tail = blocks * 16;
+        switch (length & 15) {
+            case 15: k2 ^= (long) (data[tail + 14] & 0xff) << 48;
+            case 14: k2 ^= (long) (data[tail + 13] & 0xff) << 40;
+            case 13: k2 ^= (long) (data[tail + 12] & 0xff) << 32;
+            case 12: k2 ^= (long) (data[tail + 11] & 0xff) << 24;
+            case 11: k2 ^= (long) (data[tail + 10] & 0xff) << 16;
+            case 10: k2 ^= (long) (data[tail + 9] & 0xff) << 8;
+            case 9:
+                k2 ^= data[tail + 8] & 0xff;
+                k2 *= c2;
+                k2 = Long.rotateLeft(k2, 33);
+                k2 *= c1;
+                h2 ^= k2;
+            case 8: k1 ^= (long) (data[tail + 7] & 0xff) << 56;
+            case 7: k1 ^= (long) (data[tail + 6] & 0xff) << 48;
+            case 6: k1 ^= (long) (data[tail + 5] & 0xff) << 40;
+            case 5: k1 ^= (long) (data[tail + 4] & 0xff) << 32;
+            case 4: k1 ^= (long) (data[tail + 3] & 0xff) << 24;
+            case 3: k1 ^= (long) (data[tail + 2] & 0xff) << 16;
+            case 2: k1 ^= (long) (data[tail + 1] & 0xff) << 8;
+            case 1:
+                k1 ^= data[tail] & 0xff;
+                k1 *= c1;
+                k1 = Long.rotateLeft(k1, 31);
+                k1 *= c2;
+                h1 ^= k1;
+            default:
+                break;
+        }
+
+        h1 ^= length;
+        h2 ^= length;
+        h1 += h2;
+        h2 += h1;
+        h1 = fmix64(h1);
+        h2 = fmix64(h2);
+        h1 += h2;
+        h2 += h1;
+        return new long[] { h1, h2 };
+    }
+
+    private static long getLong(byte[] data, int offset) {
+        long rs = 0;
+        for (int i = 7; i >= 0; i--) {
+            rs = (rs << 8) | (data[offset + i] & 0xffL);
+        }
+        return rs;
+    }
+
+    private static long fmix64(long k) {
+        k ^= k >>> 33;
+        k *= 0xff51afd7ed558ccdL;
+        k ^= k >>> 33;
+        k *= 0xc4ceb9fe1a85ec53L;
+        k ^= k >>> 33;
+        return k;
+    }
+}
@@ -0,0 +1,118 @@
+package com.restful.quanlysinhvien.util;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Bộ đọc CSV dạng streaming theo RFC 4180 (dấu phẩy, nháy kép, xuống dòng bên
+ * trong trường được bọc nháy).
+ *
+ * <p>
+ * Mỗi lần gọi {@link #readRecord()} chỉ đọc đúng một bản ghi từ {@link Reader}
+ * nên bộ nhớ không phụ thuộc vào kích thước file. BOM UTF-8 ở đầu file (file
+ * lưu từ Excel) được bỏ qua, kể cả khi trường đầu tiên được bọc nháy.
+ * </p>
+ */
+public class CsvReader implements Closeable {
+    private final Reader reader;
+    private int lineNumber = 0;
+    private int recordLine = 0;
+    private boolean eof = false;
+    private boolean started = false;
+
+    public CsvReader(Reader reader) {
+        // cần mark/reset để xử lý "" bên trong trường bọc nháy
+        this.reader = reader.markSupported() ? reader : new BufferedReader(reader);
+    }
+
+    /**
+     * Đọc bản ghi tiếp theo.
+     *
+     * @return danh sách các trường, hoặc null nếu đã hết file
+     * @throws IOException nếu đọc thất bại hoặc trường bọc nháy không được đóng
+     */
+    public List<String> readRecord() throws IOException {
+        if (eof) {
+            return null;
+        }
+        if (!started) {
+            started = true;
+            skipByteOrderMark();
+        }
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        boolean fieldStarted = false;
+        recordLine = lineNumber + 1;
+        int c;
+        while ((c = reader.read()) != -1) {
+            if (quoted) {
+                if (c == '"') {
+                    reader.mark(1);
+                    int next = reader.read();
+                    if (next == '"') {
+                        field.append('"');
+                    } else {
+                        quoted = false;
+                        if (next != -1) {
+                            reader.reset();
+                        }
+                    }
+                } else {
+                    if (c == '\n') {
+                        lineNumber++;
+                    }
+                    field.append((char) c);
+                }
+            } else if (c == '"' && !fieldStarted) {
+                quoted = true;
+                fieldStarted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+                fieldStarted = false;
+            } else if (c == '\r') {
+                // bỏ qua, xử lý xuống dòng ở '\n'
+            } else if (c == '\n') {
+                lineNumber++;
+                fields.add(field.toString());
+                return fields;
+            } else {
+                field.append((char) c);
+                fieldStarted = true;
+            }
+        }
+        eof = true;
+        if (quoted) {
+            throw new IOException("Unterminated quoted field starting at line " + recordLine);
+        }
+        if (fields.isEmpty() && field.length() == 0) {
+            return null;
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+
+    private void skipByteOrderMark() throws IOException {
+        reader.mark(1);
+        if (reader.read() != '\uFEFF') {
+            reader.reset();
+        }
+    }
+
+    /**
+     * @return số dòng (bắt đầu từ 1) nơi bản ghi vừa đọc bắt đầu
+     */
+    public int getRecordLine() {
+        return recordLine;
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+}
@@ -0,0 +1,149 @@
+package com.restful.quanlysinhvien.util;
+
+import com.restful.quanlysinhvien.domain.dto.StudentVersionRow;
+import com.restful.quanlysinhvien.util.error.PreconditionFailedException;
+
+import org.springframework.http.MediaType;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Tạo và đọc ETag (strong) cho tài nguyên sinh viên.
+ *
+ * <p>
+ * ETag của một sinh viên là chính cột {@code version} ({@code "3"}), kèm tập
+ * trường nếu chỉ trả một phần ({@code "3;studentCode,email"}); ETag của một
+ * trang danh sách là hash của các cặp (id, version) trong trang cùng với tổng
+ * số dòng và tập trường. Định dạng khác JSON được thêm vào cuối
+ * ({@code "3@cbor"}, xem {@link NegotiatedETags}). ETag được tính từ chính các dòng trả về; chỉ khi client gửi
+ * {@code If-None-Match} mới tính trước bằng một truy vấn id/version nhẹ, cùng
+ * điều kiện và thứ tự, để trả 304 mà không dựng cả trang DTO.
+ * </p>
+ */
+public final class ETags {
+    private static final char FIELDS_SEPARATOR = ';';
+    private static final char MEDIA_TYPE_SEPARATOR = '@';
+
+    private ETags() {
+    }
+
+    /**
+     * @param version version của sinh viên
+     * @return ETag dạng {@code "<version>"}
+     */
+    public static String fromVersion(long version) {
+        return "\"" + version + "\"";
+    }
+
+    /**
+     * ETag của một sinh viên khi chỉ trả các trường được chọn: hai tập trường khác
+     * nhau là hai nội dung khác nhau nên không được dùng chung ETag.
+     *
+     * @param version version của sinh viên
+     * @param fields  tập trường đã chuẩn hóa ({@code StudentFields.parse}), hoặc
+     *                null nếu trả đủ các trường
+     * @return ETag dạng {@code "<version>"} hoặc {@code "<version>;<trường,...>"}
+     */
+    public static String fromVersion(long version, Set<String> fields) {
+        if (fields == null) {
+            return fromVersion(version);
+        }
+        return "\"" + version + FIELDS_SEPARATOR + String.join(",", fields) + "\"";
+    }
+
+    /**
+     * Thêm định dạng của response vào ETag: JSON (mặc định) giữ nguyên, định dạng
+     * khác thêm subtype, ví dụ {@code "3"} thành {@code "3@cbor"}.
+     *
+     * @param eTag      ETag của nội dung
+     * @param mediaType định dạng được chọn, hoặc null nếu không xác định
+     * @return ETag kèm định dạng
+     */
+    public static String forMediaType(String eTag, MediaType mediaType) {
+        if (mediaType == null || MediaType.APPLICATION_JSON.isCompatibleWith(mediaType)
+                || "json".equals(mediaType.getSubtypeSuffix())) {
+            return eTag;
+        }
+        return eTag.substring(0, eTag.length() - 1) + MEDIA_TYPE_SEPARATOR + mediaType.getSubtype() + "\"";
+    }
+
+    /**
+     * Tính ETag cho một trang danh sách.
+     *
+     * @param rows  id/version của các dòng trong trang, đúng thứ tự trả về
+     * @param extra dữ liệu khác ảnh hưởng tới nội dung (tổng số dòng, cursor...)
+     * @return ETag dạng {@code "<hash>"}
+     */
+    public static String fromRows(List<? extends StudentVersionRow> rows, String extra) {
+        StringBuilder sb = new StringBuilder(extra).append('|');
+        for (StudentVersionRow row : rows) {
+            sb.append(row.getId()).append(':').append(row.getVersion()).append(',');
+        }
+        return fromFingerprint(sb.toString());
+    }
+
+    /**
+     * Dấu vân tay của cả bảng tính từ các dòng đã đọc, cùng định dạng với
+     * {@code StudentRepository.findTableFingerprint()} ({@code count:sumId:sumVersion}).
+     *
+     * @param rows id/version của toàn bộ sinh viên
+     * @return chuỗi {@code count:sumId:sumVersion}
+     */
+    public static String tableFingerprint(List<? extends StudentVersionRow> rows) {
+        long sumId = 0;
+        long sumVersion = 0;
+        for (StudentVersionRow row : rows) {
+            sumId += row.getId();
+            sumVersion += row.getVersion();
+        }
+        return rows.size() + ":" + sumId + ":" + sumVersion;
+    }
+
+    /**
+     * @param fingerprint chuỗi đại diện nội dung
+     * @return ETag dạng {@code "<hash>"}
+     */
+    public static String fromFingerprint(String fingerprint) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(fingerprint.getBytes(StandardCharsets.UTF_8));
+            return "\"" + HexFormat.of().formatHex(digest, 0, 16) + "\"";
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Đọc version từ header {@code If-Match}. ETag của một phần sinh viên
+     * ({@code "<version>;<trường,...>"}) hoặc của định dạng khác JSON
+     * ({@code "<version>@cbor"}) cũng được chấp nhận: chỉ version được so.
+     *
+     * @param ifMatch giá trị header (có thể null)
+     * @return version mong đợi, hoặc null nếu không có điều kiện ({@code *} hoặc
+     *         thiếu header)
+     * @throws PreconditionFailedException nếu header không phải ETag do server cấp
+     */
+    public static Long parseIfMatch(String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank() || "*".equals(ifMatch.trim())) {
+            return null;
+        }
+        String value = ifMatch.trim();
+        if (value.length() < 2 || value.charAt(0) != '"' || value.charAt(value.length() - 1) != '"') {
+            throw new PreconditionFailedException("If-Match must be a single strong ETag");
+        }
+        String tag = value.substring(1, value.length() - 1);
+        int end = 0;
+        while (end < tag.length() && tag.charAt(end) != FIELDS_SEPARATOR && tag.charAt(end) != MEDIA_TYPE_SEPARATOR) {
+            end++;
+        }
+        try {
+            return Long.parseLong(tag.substring(0, end));
+        } catch (NumberFormatException e) {
+            throw new PreconditionFailedException("If-Match does not match the current version");
+        }
+    }
+}
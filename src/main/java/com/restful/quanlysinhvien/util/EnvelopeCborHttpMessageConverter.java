@@ -0,0 +1,35 @@
+package com.restful.quanlysinhvien.util;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.converter.HttpMessageNotWritableException;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.lang.Nullable;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+
+/**
+ * Converter CBOR ({@code application/cbor}) ghi envelope giống
+ * {@link EnvelopeHttpMessageConverter}, dành cho các service nội bộ kéo dữ
+ * liệu hàng loạt.
+ */
+public class EnvelopeCborHttpMessageConverter extends MappingJackson2CborHttpMessageConverter
+        implements EnvelopeConverter {
+
+    public EnvelopeCborHttpMessageConverter(ObjectMapper objectMapper) {
+        super(objectMapper);
+    }
+
+    @Override
+    protected void writeInternal(Object object, @Nullable Type type, HttpOutputMessage outputMessage)
+            throws IOException, HttpMessageNotWritableException {
+        if (!(object instanceof EnvelopedBody envelope)) {
+            super.writeInternal(object, type, outputMessage);
+            return;
+        }
+        EnvelopeHttpMessageConverter.write(getObjectMapper(), envelope, outputMessage.getBody(), JsonEncoding.UTF8);
+    }
+}
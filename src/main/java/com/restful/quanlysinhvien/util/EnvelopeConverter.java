@@ -0,0 +1,9 @@
+package com.restful.quanlysinhvien.util;
+
+/**
+ * Đánh dấu các {@code HttpMessageConverter} biết ghi {@link EnvelopedBody}.
+ * {@link FormatRestResponse} chỉ bọc envelope khi converter được chọn cho
+ * response (theo header {@code Accept}) có đánh dấu này.
+ */
+public interface EnvelopeConverter {
+}
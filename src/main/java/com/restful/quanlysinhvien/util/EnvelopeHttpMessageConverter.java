@@ -0,0 +1,117 @@
+package com.restful.quanlysinhvien.util;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.converter.HttpMessageNotWritableException;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.lang.Nullable;
+import org.springframework.util.StreamUtils;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.reflect.Type;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/**
+ * Converter JSON ghi envelope {@code CustomResponse} theo kiểu streaming.
+ *
+ * <p>
+ * Với {@link EnvelopedBody}, các field của envelope được ghi trực tiếp bằng
+ * {@link JsonGenerator} rồi {@code data} được serialize ngay vào cùng
+ * generator, nên thứ tự và tên field giữ nguyên như {@code CustomResponse}
+ * nhưng không cần object bọc hay bean serializer cho nó. {@code data} kiểu
+ * {@link Stream} hoặc {@link Iterator} được ghi thành mảng từng phần tử một và
+ * chỉ flush sau mỗi {@value #FLUSH_INTERVAL} phần tử, nên danh sách lớn không phải nạp hết vào bộ nhớ. Các body
+ * khác (ví dụ {@code CustomResponse} lỗi từ {@code GlobalException}) đi qua
+ * converter Jackson mặc định. Các converter Smile/CBOR dùng lại
+ * {@link #write(ObjectMapper, EnvelopedBody, OutputStream, JsonEncoding)}.
+ * </p>
+ */
+public class EnvelopeHttpMessageConverter extends MappingJackson2HttpMessageConverter implements EnvelopeConverter {
+    // số phần tử giữa hai lần flush khi ghi Stream/Iterator
+    private static final int FLUSH_INTERVAL = 500;
+
+    public EnvelopeHttpMessageConverter(ObjectMapper objectMapper) {
+        super(objectMapper);
+    }
+
+    @Override
+    protected void writeInternal(Object object, @Nullable Type type, HttpOutputMessage outputMessage)
+            throws IOException, HttpMessageNotWritableException {
+        if (!(object instanceof EnvelopedBody envelope)) {
+            super.writeInternal(object, type, outputMessage);
+            return;
+        }
+        write(getObjectMapper(), envelope, outputMessage.getBody(),
+                getJsonEncoding(outputMessage.getHeaders().getContentType()));
+    }
+
+    /**
+     * Ghi envelope ra output stream bằng generator của {@code objectMapper}
+     * (JSON, Smile hoặc CBOR tùy factory của mapper). Stream không bị đóng.
+     *
+     * @param objectMapper mapper của converter
+     * @param envelope     body cần bọc
+     * @param body         output stream của response
+     * @param encoding     encoding cho JSON (định dạng nhị phân bỏ qua)
+     * @throws IOException nếu ghi ra output lỗi
+     */
+    public static void write(ObjectMapper objectMapper, EnvelopedBody envelope, OutputStream body,
+            JsonEncoding encoding) throws IOException {
+        // writeValue(JsonGenerator, ...) mặc định flush sau mỗi giá trị
+        // (FLUSH_AFTER_WRITE_VALUE): mỗi phần tử sẽ thành một lần flush servlet
+        ObjectWriter writer = objectMapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        try (JsonGenerator generator = writer.createGenerator(StreamUtils.nonClosing(body), encoding)) {
+            writeEnvelope(writer, generator, envelope);
+            generator.flush();
+        }
+    }
+
+    /**
+     * Ghi envelope vào generator đã mở.
+     *
+     * @param writer    writer mang cấu hình của ObjectMapper
+     * @param generator generator đích
+     * @param envelope  body cần bọc
+     * @throws IOException nếu ghi ra output lỗi
+     */
+    private static void writeEnvelope(ObjectWriter writer, JsonGenerator generator, EnvelopedBody envelope)
+            throws IOException {
+        generator.writeStartObject();
+        generator.writeNumberField("statusCode", envelope.getStatusCode());
+        generator.writeNullField("error");
+        generator.writeStringField("message", EnvelopedBody.SUCCESS_MESSAGE);
+        generator.writeFieldName("data");
+        Object data = envelope.getData();
+        if (data instanceof Stream<?> stream) {
+            try (stream) {
+                writeArray(writer, generator, stream.iterator());
+            }
+        } else if (data instanceof Iterator<?> iterator) {
+            writeArray(writer, generator, iterator);
+        } else {
+            writer.writeValue(generator, data);
+        }
+        generator.writeEndObject();
+    }
+
+    private static void writeArray(ObjectWriter writer, JsonGenerator generator, Iterator<?> iterator)
+            throws IOException {
+        generator.writeStartArray();
+        int count = 0;
+        while (iterator.hasNext()) {
+            writer.writeValue(generator, iterator.next());
+            if (++count % FLUSH_INTERVAL == 0) {
+                // đẩy phần đã ghi xuống response (chunked) thay vì giữ trong buffer
+                generator.flush();
+            }
+        }
+        generator.writeEndArray();
+    }
+}
@@ -0,0 +1,35 @@
+package com.restful.quanlysinhvien.util;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.converter.HttpMessageNotWritableException;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+import org.springframework.lang.Nullable;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+
+/**
+ * Converter Smile ({@code application/x-jackson-smile}) ghi envelope giống
+ * {@link EnvelopeHttpMessageConverter}, dành cho các service nội bộ kéo dữ
+ * liệu hàng loạt.
+ */
+public class EnvelopeSmileHttpMessageConverter extends MappingJackson2SmileHttpMessageConverter
+        implements EnvelopeConverter {
+
+    public EnvelopeSmileHttpMessageConverter(ObjectMapper objectMapper) {
+        super(objectMapper);
+    }
+
+    @Override
+    protected void writeInternal(Object object, @Nullable Type type, HttpOutputMessage outputMessage)
+            throws IOException, HttpMessageNotWritableException {
+        if (!(object instanceof EnvelopedBody envelope)) {
+            super.writeInternal(object, type, outputMessage);
+            return;
+        }
+        EnvelopeHttpMessageConverter.write(getObjectMapper(), envelope, outputMessage.getBody(), JsonEncoding.UTF8);
+    }
+}
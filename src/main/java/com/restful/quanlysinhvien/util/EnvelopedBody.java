@@ -0,0 +1,23 @@
+package com.restful.quanlysinhvien.util;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Đánh dấu body thành công cần được bọc envelope khi ghi ra response.
+ *
+ * <p>
+ * {@link FormatRestResponse} trả về object này thay cho {@code CustomResponse};
+ * {@link EnvelopeHttpMessageConverter} ghi thẳng
+ * {@code {"statusCode":..,"error":null,"message":..,"data":...}} ra output
+ * stream, không dựng thêm object trung gian nào.
+ * </p>
+ */
+@Getter
+@AllArgsConstructor
+public final class EnvelopedBody {
+    public static final String SUCCESS_MESSAGE = "Call api success";
+
+    private final int statusCode;
+    private final Object data;
+}
@@ -0,0 +1,163 @@
+package com.restful.quanlysinhvien.util;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * {@link PasswordEncoder} chạy việc hash/kiểm tra mật khẩu (BCrypt, ~100 ms mỗi
+ * lần) trên một thread pool riêng có giới hạn.
+ *
+ * <p>
+ * Số thread bằng số CPU nên BCrypt không giành CPU của các request khác, và
+ * việc hash được thực hiện trước khi mở transaction nên connection JDBC không bị
+ * giữ trong lúc chờ. Khi hàng đợi đầy, thread gọi tự hash (CallerRunsPolicy)
+ * thay vì báo lỗi. Metrics:
+ * <ul>
+ * <li>{@code password.hashing} (tag {@code operation=encode|matches}): thời gian
+ * hash thực tế,</li>
+ * <li>{@code executor.*} (tag {@code name=passwordHashing}): độ dài hàng đợi,
+ * số thread đang chạy, thời gian chờ trong hàng đợi.</li>
+ * </ul>
+ * </p>
+ */
+public class ExecutorPasswordEncoder implements PasswordEncoder {
+    public static final String EXECUTOR_NAME = "passwordHashing";
+    private static final String THREAD_PREFIX = "password-hashing-";
+
+    // đánh dấu các thread do pool này tạo ra (đặt trong thread factory)
+    private final ThreadLocal<Boolean> poolThread = new ThreadLocal<>();
+    private final PasswordEncoder delegate;
+    private final ThreadPoolExecutor threadPool;
+    private final ExecutorService executor;
+    private final Timer encodeTimer;
+    private final Timer matchesTimer;
+
+    public ExecutorPasswordEncoder(PasswordEncoder delegate, int threads, int queueCapacity,
+            MeterRegistry meterRegistry) {
+        this.delegate = delegate;
+        this.threadPool = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), new CustomizableThreadFactory(THREAD_PREFIX) {
+                    @Override
+                    public Thread newThread(Runnable runnable) {
+                        return super.newThread(() -> {
+                            poolThread.set(Boolean.TRUE);
+                            runnable.run();
+                        });
+                    }
+                }, new ThreadPoolExecutor.CallerRunsPolicy());
+        this.executor = ExecutorServiceMetrics.monitor(meterRegistry, this.threadPool, EXECUTOR_NAME);
+        this.encodeTimer = hashingTimer(meterRegistry, "encode");
+        this.matchesTimer = hashingTimer(meterRegistry, "matches");
+    }
+
+    private static Timer hashingTimer(MeterRegistry meterRegistry, String operation) {
+        return Timer.builder("password.hashing")
+                .description("Thời gian hash/kiểm tra mật khẩu")
+                .tag("operation", operation)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return await(submit(() -> this.encodeTimer.record(() -> this.delegate.encode(rawPassword))));
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return await(submit(
+                () -> this.matchesTimer.record(() -> this.delegate.matches(rawPassword, encodedPassword))));
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        return this.delegate.upgradeEncoding(encodedPassword);
+    }
+
+    /**
+     * Hash nhiều mật khẩu song song trên thread pool.
+     *
+     * @param rawPasswords danh sách mật khẩu gốc
+     * @return danh sách mật khẩu đã hash, cùng thứ tự
+     */
+    public List<String> encodeAll(List<String> rawPasswords) {
+        List<Future<String>> futures = new ArrayList<>(rawPasswords.size());
+        for (String raw : rawPasswords) {
+            futures.add(submit(() -> this.encodeTimer.record(() -> this.delegate.encode(raw))));
+        }
+        List<String> rs = new ArrayList<>(futures.size());
+        for (Future<String> future : futures) {
+            rs.add(await(future));
+        }
+        return rs;
+    }
+
+    /**
+     * Kiểm tra mật khẩu trên thread pool hash mà không chờ kết quả, để thread xử
+     * lý request (ví dụ đăng nhập) được trả lại trong lúc BCrypt chạy.
+     *
+     * @param rawPassword     mật khẩu người dùng nhập
+     * @param encodedPassword mật khẩu đã hash
+     * @return CompletableFuture chứa kết quả so khớp
+     */
+    public CompletableFuture<Boolean> matchesAsync(CharSequence rawPassword, String encodedPassword) {
+        return supplyAsync(
+                () -> this.matchesTimer.record(() -> this.delegate.matches(rawPassword, encodedPassword)));
+    }
+
+    /**
+     * Chạy một tác vụ trên thread pool hash để giải phóng thread xử lý request.
+     * Chỉ đưa vào đây phần tốn CPU của hash; truy vấn database hay I/O nên chạy
+     * trước trên thread gọi để không chiếm thread của pool.
+     *
+     * @param task tác vụ cần chạy
+     * @return CompletableFuture chứa kết quả
+     */
+    public <T> CompletableFuture<T> supplyAsync(Supplier<T> task) {
+        return CompletableFuture.supplyAsync(task, this.executor);
+    }
+
+    public void shutdown() {
+        this.threadPool.shutdown();
+    }
+
+    private <T> Future<T> submit(Supplier<T> task) {
+        // đang ở trong thread hash (ví dụ qua supplyAsync) thì chạy luôn, tránh
+        // deadlock khi chờ chính pool của mình
+        if (Boolean.TRUE.equals(this.poolThread.get())) {
+            return CompletableFuture.completedFuture(task.get());
+        }
+        return this.executor.submit(task::get);
+    }
+
+    private static <T> T await(Future<T> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while hashing password", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new CompletionException(cause);
+        }
+    }
+}
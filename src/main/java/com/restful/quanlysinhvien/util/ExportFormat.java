@@ -0,0 +1,45 @@
+package com.restful.quanlysinhvien.util;
+
+import org.springframework.http.MediaType;
+
+import com.restful.quanlysinhvien.util.error.BadRequestExceptionCustom;
+
+/**
+ * Các định dạng hỗ trợ khi export danh sách sinh viên dạng streaming.
+ */
+public enum ExportFormat {
+    NDJSON("ndjson", MediaType.parseMediaType("application/x-ndjson")),
+    CSV("csv", MediaType.parseMediaType("text/csv;charset=UTF-8"));
+
+    private final String extension;
+    private final MediaType mediaType;
+
+    ExportFormat(String extension, MediaType mediaType) {
+        this.extension = extension;
+        this.mediaType = mediaType;
+    }
+
+    public String getExtension() {
+        return extension;
+    }
+
+    public MediaType getMediaType() {
+        return mediaType;
+    }
+
+    /**
+     * Chuyển tham số format từ request sang {@link ExportFormat}.
+     *
+     * @param value giá trị tham số (ndjson hoặc csv, không phân biệt hoa thường)
+     * @return định dạng tương ứng
+     * @throws BadRequestExceptionCustom nếu định dạng không được hỗ trợ
+     */
+    public static ExportFormat fromParam(String value) {
+        for (ExportFormat format : values()) {
+            if (format.extension.equalsIgnoreCase(value)) {
+                return format;
+            }
+        }
+        throw new BadRequestExceptionCustom("format must be either ndjson or csv");
+    }
+}
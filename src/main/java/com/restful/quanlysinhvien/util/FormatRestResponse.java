@@ -1,17 +1,24 @@
 package com.restful.quanlysinhvien.util;
 
 import com.restful.quanlysinhvien.domain.CustomResponse;
+import com.restful.quanlysinhvien.util.error.NotAcceptableException;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.core.MethodParameter;
 import org.springframework.http.MediaType;
 import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.PathContainer;
 import org.springframework.http.server.ServerHttpRequest;
 import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.http.server.ServletServerHttpRequest;
 import org.springframework.http.server.ServletServerHttpResponse;
 import org.springframework.web.bind.annotation.ControllerAdvice;
 import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
 
-import java.util.Set;
+import java.util.List;
+import java.util.stream.Stream;
 
 /**
  * Lớp {@code FormatRestResponse} là một global response handler dùng để định
@@ -20,27 +27,32 @@ import java.util.Set;
  * giúp đảm bảo tính nhất quán trong định dạng API.
  *
  * Lớp này tự động được áp dụng cho tất cả các controller nhờ annotation
- * {@link ControllerAdvice}.
+ * {@link ControllerAdvice}. Body thành công chỉ được đánh dấu bằng
+ * {@link EnvelopedBody}; envelope được converter của định dạng đã chọn (xem
+ * {@link EnvelopeConverter}) ghi thẳng ra output stream.
  */
 @ControllerAdvice
 public class FormatRestResponse implements ResponseBodyAdvice<Object> {
 
     /**
      * Danh sách các path sẽ được loại trừ khỏi việc tự động định dạng (ví dụ như
-     * Swagger).
+     * Swagger), biên dịch sẵn một lần thành {@link PathPattern}.
      */
-    private static final Set<String> EXCLUDED_PATHS = Set.of(
+    private static final List<PathPattern> EXCLUDED_PATHS = Stream.of(
             "/v3/api-docs",
-            "/v3/api-docs/swagger-config",
-            "/swagger-ui",
+            "/v3/api-docs/**",
+            "/v3/api-docs.yaml",
             "/swagger-ui.html",
-            "/swagger-ui/",
             "/swagger-ui/**",
             "/webjars/**",
-            "/favicon.ico");
+            "/favicon.ico")
+            .map(PathPatternParser.defaultInstance::parse)
+            .toList();
 
     /**
-     * Xác định liệu phản hồi từ controller có nên được xử lý bởi lớp này không.
+     * Chỉ xử lý các phản hồi được ghi bởi một {@link EnvelopeConverter} (JSON,
+     * Smile, CBOR, Protobuf); String, byte[], Resource... đi qua converter khác và
+     * được giữ nguyên.
      *
      * @param returnType    kiểu dữ liệu trả về từ controller
      * @param converterType converter được sử dụng để chuyển đổi phản hồi
@@ -48,7 +60,7 @@ public class FormatRestResponse implements ResponseBodyAdvice<Object> {
      */
     @Override
     public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
-        return true; // Áp dụng cho tất cả phản hồi
+        return EnvelopeConverter.class.isAssignableFrom(converterType);
     }
 
     /**
@@ -60,7 +72,7 @@ public class FormatRestResponse implements ResponseBodyAdvice<Object> {
      * @param selectedConverterType converter đang được sử dụng
      * @param request               request gốc
      * @param response              response gốc
-     * @return đối tượng đã được định dạng hoặc giữ nguyên nếu không cần format
+     * @return {@link EnvelopedBody} hoặc giữ nguyên nếu không cần format
      */
     @Override
     public Object beforeBodyWrite(Object body, MethodParameter returnType, MediaType selectedContentType,
@@ -71,28 +83,33 @@ public class FormatRestResponse implements ResponseBodyAdvice<Object> {
         HttpServletResponse servletResponse = ((ServletServerHttpResponse) response).getServletResponse();
         int status = servletResponse.getStatus();
 
-        CustomResponse<Object> res = new CustomResponse<Object>();
-        res.setStatusCode(status);
-
-        // nếu data thuộc dạng String thì k thể chuyển sang json được, phải trả về data
-        // luôn.
-        if (body instanceof String) {
+        // 304 Not Modified không có body; lỗi (>= 400) đã là CustomResponse từ
+        // GlobalException; String không chuyển sang json được
+        if (status == HttpServletResponse.SC_NOT_MODIFIED || status >= 400 || body instanceof String) {
             return body;
         }
 
         // Bỏ qua định dạng cho các đường dẫn được loại trừ
-        String path = request.getURI().getPath();
-        for (String excludedPath : EXCLUDED_PATHS) {
-            if (path.startsWith(excludedPath)) {
-                return body;
-            }
-        }
-        if (status >= 400) {
+        if (isExcluded(request)) {
             return body;
-        } else {
-            res.setData(body);
-            res.setMessage("Call api success");
         }
-        return res;
+        // Protobuf được chọn theo kiểu body; dòng/trường nằm ngoài schema chỉ thấy
+        // được ở đây, trả 406 thay vì lỗi khi đang ghi
+        if (StudentProtobufHttpMessageConverter.class.isAssignableFrom(selectedConverterType)
+                && !StudentProtobufHttpMessageConverter.canEncode(body)) {
+            throw new NotAcceptableException("Response body cannot be represented as " + selectedContentType);
+        }
+        return new EnvelopedBody(status, body);
+    }
+
+    private static boolean isExcluded(ServerHttpRequest request) {
+        HttpServletRequest servletRequest = ((ServletServerHttpRequest) request).getServletRequest();
+        PathContainer path = PathContainer.parsePath(servletRequest.getRequestURI());
+        for (PathPattern excludedPath : EXCLUDED_PATHS) {
+            if (excludedPath.matches(path)) {
+                return true;
+            }
+        }
+        return false;
     }
 }
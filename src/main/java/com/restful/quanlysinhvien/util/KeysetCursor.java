@@ -0,0 +1,123 @@
+package com.restful.quanlysinhvien.util;
+
+import com.restful.quanlysinhvien.util.error.BadRequestExceptionCustom;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Mã hóa / giải mã cursor cho phân trang keyset.
+ *
+ * <p>
+ * Cursor là chuỗi Base64 URL-safe của {@code "<orderBy>:<giá trị khóa cuối>"},
+ * ví dụ {@code id:120} hoặc {@code studentCode:SV0120}. Client chỉ cần gửi lại
+ * nguyên chuỗi, không cần hiểu nội dung bên trong.
+ * </p>
+ */
+public final class KeysetCursor {
+    public static final String ORDER_BY_ID = "id";
+    public static final String ORDER_BY_STUDENT_CODE = "studentCode";
+
+    private static final char SEPARATOR = ':';
+
+    private final String orderBy;
+    private final String lastValue;
+
+    private KeysetCursor(String orderBy, String lastValue) {
+        this.orderBy = orderBy;
+        this.lastValue = lastValue;
+    }
+
+    /**
+     * Tạo cursor cho trang đầu tiên (chưa có khóa cuối).
+     *
+     * @param orderBy khóa sắp xếp ({@code id} hoặc {@code studentCode})
+     * @return cursor trang đầu
+     * @throws BadRequestExceptionCustom nếu khóa sắp xếp không được hỗ trợ
+     */
+    public static KeysetCursor first(String orderBy) {
+        return new KeysetCursor(validateOrderBy(orderBy), null);
+    }
+
+    /**
+     * Tạo cursor trỏ sau giá trị khóa cuối của trang hiện tại.
+     *
+     * @param orderBy   khóa sắp xếp
+     * @param lastValue giá trị khóa của bản ghi cuối cùng
+     * @return cursor đã tạo
+     */
+    public static KeysetCursor after(String orderBy, String lastValue) {
+        return new KeysetCursor(validateOrderBy(orderBy), lastValue);
+    }
+
+    /**
+     * Giải mã token do client gửi lên.
+     *
+     * @param token chuỗi cursor (Base64 URL-safe)
+     * @return cursor tương ứng
+     * @throws BadRequestExceptionCustom nếu token không hợp lệ
+     */
+    public static KeysetCursor decode(String token) {
+        String raw;
+        try {
+            raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestExceptionCustom("Invalid cursor");
+        }
+        int idx = raw.indexOf(SEPARATOR);
+        if (idx <= 0 || idx == raw.length() - 1) {
+            throw new BadRequestExceptionCustom("Invalid cursor");
+        }
+        KeysetCursor cursor = after(raw.substring(0, idx), raw.substring(idx + 1));
+        if (ORDER_BY_ID.equals(cursor.orderBy)) {
+            cursor.lastId();
+        }
+        return cursor;
+    }
+
+    /**
+     * Mã hóa cursor thành token gửi cho client.
+     *
+     * @return token Base64 URL-safe, không có padding
+     */
+    public String encode() {
+        String raw = orderBy + SEPARATOR + lastValue;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public String getOrderBy() {
+        return orderBy;
+    }
+
+    public String getLastValue() {
+        return lastValue;
+    }
+
+    public boolean isFirstPage() {
+        return lastValue == null;
+    }
+
+    /**
+     * Lấy giá trị khóa cuối dưới dạng id (chỉ dùng khi orderBy = id).
+     *
+     * @return id cuối cùng, 0 nếu là trang đầu
+     * @throws BadRequestExceptionCustom nếu giá trị không phải số
+     */
+    public long lastId() {
+        if (lastValue == null) {
+            return 0L;
+        }
+        try {
+            return Long.parseLong(lastValue);
+        } catch (NumberFormatException e) {
+            throw new BadRequestExceptionCustom("Invalid cursor");
+        }
+    }
+
+    private static String validateOrderBy(String orderBy) {
+        if (ORDER_BY_ID.equals(orderBy) || ORDER_BY_STUDENT_CODE.equals(orderBy)) {
+            return orderBy;
+        }
+        throw new BadRequestExceptionCustom("orderBy must be either id or studentCode");
+    }
+}
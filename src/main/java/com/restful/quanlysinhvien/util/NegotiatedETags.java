@@ -0,0 +1,99 @@
+package com.restful.quanlysinhvien.util;
+
+import jakarta.servlet.http.HttpServletResponse;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.util.MimeTypeUtils;
+import org.springframework.web.HttpMediaTypeNotAcceptableException;
+import org.springframework.web.accept.ContentNegotiationManager;
+import org.springframework.web.context.request.NativeWebRequest;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Gắn định dạng của response (chọn theo header {@code Accept}) vào ETag.
+ *
+ * <p>
+ * Cùng một sinh viên/trang được ghi thành JSON, Smile, CBOR hoặc Protobuf tùy
+ * {@code Accept}; đó là các nội dung khác nhau nên không được dùng chung một
+ * strong ETag. ETag được tính trước khi converter được chọn (để trả 304 mà không
+ * đọc dữ liệu), nên định dạng được chọn lại ở đây theo cùng quy tắc của Spring
+ * MVC: các kiểu trong {@code Accept} tương thích với định dạng của các
+ * {@link EnvelopeConverter}, xếp theo độ cụ thể và q, lấy kiểu cụ thể đầu tiên.
+ * JSON giữ nguyên ETag, định dạng khác thêm hậu tố (xem
+ * {@link ETags#forMediaType}). Response luôn kèm {@code Vary: Accept} để cache
+ * trung gian lưu riêng từng định dạng.
+ * </p>
+ */
+@Component
+public class NegotiatedETags {
+    // các định dạng do EnvelopeConverter ghi, theo thứ tự converter (JSON trước)
+    private static final List<MediaType> PRODUCIBLE = List.of(
+            MediaType.APPLICATION_JSON,
+            new MediaType("application", "*+json"),
+            new MediaType("application", "x-jackson-smile"),
+            MediaType.APPLICATION_CBOR,
+            StudentProtobufHttpMessageConverter.APPLICATION_PROTOBUF);
+
+    private final ContentNegotiationManager contentNegotiationManager;
+
+    public NegotiatedETags(
+            @Qualifier("mvcContentNegotiationManager") ContentNegotiationManager contentNegotiationManager) {
+        this.contentNegotiationManager = contentNegotiationManager;
+    }
+
+    /**
+     * ETag cho định dạng mà request sẽ nhận, đồng thời thêm {@code Vary: Accept}
+     * vào response.
+     *
+     * @param eTag    ETag của nội dung (không phụ thuộc định dạng)
+     * @param request request hiện tại
+     * @return ETag kèm định dạng
+     */
+    public String forRequest(String eTag, NativeWebRequest request) {
+        HttpServletResponse response = request.getNativeResponse(HttpServletResponse.class);
+        if (response != null && !response.getHeaders(HttpHeaders.VARY).contains(HttpHeaders.ACCEPT)) {
+            response.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT);
+        }
+        return ETags.forMediaType(eTag, negotiate(request));
+    }
+
+    /**
+     * @param request request hiện tại
+     * @return định dạng sẽ được chọn, hoặc null nếu không có định dạng nào phù hợp
+     *         (Spring trả 406)
+     */
+    MediaType negotiate(NativeWebRequest request) {
+        List<MediaType> acceptable;
+        try {
+            acceptable = this.contentNegotiationManager.resolveMediaTypes(request);
+        } catch (HttpMediaTypeNotAcceptableException e) {
+            return null;
+        }
+        List<MediaType> compatible = new ArrayList<>();
+        for (MediaType requested : acceptable) {
+            for (MediaType producible : PRODUCIBLE) {
+                if (requested.isCompatibleWith(producible)) {
+                    compatible.add(mostSpecific(requested, producible));
+                }
+            }
+        }
+        MimeTypeUtils.sortBySpecificity(compatible);
+        for (MediaType mediaType : compatible) {
+            if (mediaType.isConcrete()) {
+                return mediaType;
+            }
+        }
+        return null;
+    }
+
+    // giống AbstractMessageConverterMethodProcessor#getMostSpecificMediaType
+    private static MediaType mostSpecific(MediaType requested, MediaType producible) {
+        MediaType produced = producible.copyQualityValue(requested);
+        return requested.isLessSpecific(produced) ? produced : requested;
+    }
+}
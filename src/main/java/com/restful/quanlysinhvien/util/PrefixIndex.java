@@ -0,0 +1,183 @@
+package com.restful.quanlysinhvien.util;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+
+/**
+ * Tập chuỗi có thứ tự, hỗ trợ tìm theo tiền tố, tối ưu cho đọc nhiều ghi ít.
+ *
+ * <p>
+ * Phần lớn dữ liệu nằm trong một mảng {@code String[]} đã sắp xếp (không có
+ * overhead node như cây), tìm tiền tố bằng binary search. Các lần thêm/xóa sau
+ * đó ghi vào hai tập nhỏ ({@code added}, {@code removed}); khi chúng vượt ngưỡng
+ * thì được gộp vào một mảng mới.
+ * </p>
+ *
+ * <p>
+ * Ghi được đồng bộ với nhau, đọc không khóa. Mảng gốc không bao giờ bị sửa, còn
+ * {@code added}/{@code removed} là tập đồng thời được sửa tại chỗ: một lần đọc
+ * chạy song song với ghi có thể thấy hoặc không thấy thay đổi đó (weakly
+ * consistent), nhưng không bao giờ thấy trạng thái hỏng. Khi gộp, trạng thái mới
+ * được tạo riêng rồi mới thay tham chiếu.
+ * </p>
+ */
+public class PrefixIndex {
+    private static final int MIN_COMPACT_THRESHOLD = 1024;
+    // gộp khi phần thay đổi vượt 1/8 kích thước mảng
+    private static final int COMPACT_RATIO = 8;
+
+    private volatile State state;
+
+    public PrefixIndex() {
+        this.state = new State(new String[0]);
+    }
+
+    /**
+     * @param keys các khóa ban đầu (không cần sắp xếp, trùng sẽ bị loại)
+     */
+    public PrefixIndex(Collection<String> keys) {
+        String[] sorted = keys.stream().distinct().sorted().toArray(String[]::new);
+        this.state = new State(sorted);
+    }
+
+    public synchronized void add(String key) {
+        State s = this.state;
+        if (s.removed.remove(key) || Arrays.binarySearch(s.base, key) >= 0) {
+            return;
+        }
+        s.added.add(key);
+        compactIfNeeded(s);
+    }
+
+    public synchronized void remove(String key) {
+        State s = this.state;
+        if (s.added.remove(key)) {
+            return;
+        }
+        if (Arrays.binarySearch(s.base, key) >= 0 && s.removed.add(key)) {
+            compactIfNeeded(s);
+        }
+    }
+
+    /**
+     * Lấy các khóa bắt đầu bằng {@code prefix}, theo thứ tự tăng dần.
+     *
+     * @param prefix tiền tố
+     * @param limit  số khóa tối đa
+     * @return danh sách khóa
+     */
+    public List<String> findByPrefix(String prefix, int limit) {
+        State s = this.state;
+        List<String> rs = new ArrayList<>(Math.min(limit, 64));
+        BaseCursor base = new BaseCursor(s, prefix);
+        Iterator<String> delta = s.added.tailSet(prefix, true).iterator();
+        String a = base.next();
+        String b = nextMatching(delta, prefix);
+        // trộn hai dãy đã sắp xếp
+        while (rs.size() < limit && (a != null || b != null)) {
+            if (b == null || (a != null && a.compareTo(b) <= 0)) {
+                rs.add(a);
+                a = base.next();
+            } else {
+                rs.add(b);
+                b = nextMatching(delta, prefix);
+            }
+        }
+        return rs;
+    }
+
+    public int size() {
+        State s = this.state;
+        return s.base.length - s.removed.size() + s.added.size();
+    }
+
+    private void compactIfNeeded(State s) {
+        int changes = s.added.size() + s.removed.size();
+        if (changes <= Math.max(MIN_COMPACT_THRESHOLD, s.base.length / COMPACT_RATIO)) {
+            return;
+        }
+        String[] merged = new String[s.base.length - s.removed.size() + s.added.size()];
+        int n = 0;
+        int i = 0;
+        Iterator<String> it = s.added.iterator();
+        String next = it.hasNext() ? it.next() : null;
+        while (i < s.base.length || next != null) {
+            if (next == null || (i < s.base.length && s.base[i].compareTo(next) < 0)) {
+                String key = s.base[i++];
+                if (!s.removed.contains(key)) {
+                    merged[n++] = key;
+                }
+            } else {
+                merged[n++] = next;
+                next = it.hasNext() ? it.next() : null;
+            }
+        }
+        this.state = new State(n == merged.length ? merged : Arrays.copyOf(merged, n));
+    }
+
+    private static String nextMatching(Iterator<String> it, String prefix) {
+        if (it.hasNext()) {
+            String key = it.next();
+            if (key.startsWith(prefix)) {
+                return key;
+            }
+        }
+        return null;
+    }
+
+    // vị trí đầu tiên có khóa >= key
+    private static int lowerBound(String[] keys, String key) {
+        int lo = 0;
+        int hi = keys.length;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (keys[mid].compareTo(key) < 0) {
+                lo = mid + 1;
+            } else {
+                hi = mid;
+            }
+        }
+        return lo;
+    }
+
+    // duyệt các khóa khớp tiền tố trong mảng, bỏ qua khóa đã xóa
+    private static final class BaseCursor {
+        private final State state;
+        private final String prefix;
+        private int index;
+
+        private BaseCursor(State state, String prefix) {
+            this.state = state;
+            this.prefix = prefix;
+            this.index = lowerBound(state.base, prefix);
+        }
+
+        private String next() {
+            String[] keys = this.state.base;
+            while (this.index < keys.length && keys[this.index].startsWith(this.prefix)) {
+                String key = keys[this.index++];
+                if (!this.state.removed.contains(key)) {
+                    return key;
+                }
+            }
+            return null;
+        }
+    }
+
+    // mảng gốc bất biến + phần thay đổi (sửa tại chỗ) kể từ lần gộp gần nhất
+    private static final class State {
+        private final String[] base;
+        private final ConcurrentSkipListSet<String> added = new ConcurrentSkipListSet<>();
+        private final Set<String> removed = ConcurrentHashMap.newKeySet();
+
+        private State(String[] base) {
+            this.base = base;
+        }
+    }
+}
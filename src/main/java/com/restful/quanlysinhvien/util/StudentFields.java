@@ -0,0 +1,66 @@
+package com.restful.quanlysinhvien.util;
+
+import com.restful.quanlysinhvien.util.error.BadRequestExceptionCustom;
+
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Đọc tham số {@code fields} (sparse fieldset) của các API đọc sinh viên.
+ *
+ * <p>
+ * Tên trường trùng với thuộc tính JSON của {@code StudentDTO} và với tên thuộc
+ * tính của entity {@code Student} (trừ {@code className}/{@code roleId} lấy từ
+ * lớp học/role). Mật khẩu không bao giờ được chọn.
+ * </p>
+ */
+public final class StudentFields {
+    public static final String STUDENT_CODE = "studentCode";
+    public static final String FULL_NAME = "fullName";
+    public static final String EMAIL = "email";
+    public static final String DATE_OF_BIRTH = "dateOfBirth";
+    public static final String ADDRESS = "address";
+    public static final String GENDER = "gender";
+    public static final String CLASS_NAME = "className";
+    public static final String ROLE_ID = "roleId";
+
+    // thứ tự cố định của các trường trong JSON, giống StudentDTO
+    public static final List<String> ALL = List.of(STUDENT_CODE, FULL_NAME, EMAIL, DATE_OF_BIRTH, ADDRESS, GENDER,
+            CLASS_NAME, ROLE_ID);
+
+    private StudentFields() {
+    }
+
+    /**
+     * @param fieldsParam danh sách trường cách nhau bởi dấu phẩy, ví dụ
+     *                    {@code studentCode,fullName,className}
+     * @return tập trường theo thứ tự của {@link #ALL}, hoặc null nếu không có tham
+     *         số (trả đủ các trường)
+     * @throws BadRequestExceptionCustom nếu có trường không được hỗ trợ
+     */
+    public static Set<String> parse(String fieldsParam) {
+        if (fieldsParam == null || fieldsParam.isBlank()) {
+            return null;
+        }
+        Set<String> requested = new LinkedHashSet<>();
+        for (String field : fieldsParam.split(",")) {
+            String name = field.trim();
+            if (name.isEmpty()) {
+                continue;
+            }
+            if (!ALL.contains(name)) {
+                throw new BadRequestExceptionCustom("Unknown field: " + name + ", allowed fields are "
+                        + String.join(",", ALL));
+            }
+            requested.add(name);
+        }
+        Set<String> fields = new LinkedHashSet<>();
+        for (String name : ALL) {
+            if (requested.contains(name)) {
+                fields.add(name);
+            }
+        }
+        return fields.isEmpty() ? null : fields;
+    }
+}
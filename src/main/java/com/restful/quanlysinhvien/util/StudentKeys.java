@@ -0,0 +1,43 @@
+package com.restful.quanlysinhvien.util;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Khóa so khớp mã sinh viên/email trong bộ nhớ (cache, Bloom filter, kiểm tra
+ * trùng khi tạo hàng loạt).
+ *
+ * <p>
+ * MySQL so sánh mã và email không phân biệt hoa thường (collation mặc định của
+ * bảng {@code students}), nên mọi khóa phía Java được đưa về chữ thường bằng
+ * {@link Locale#ROOT} để "SV01" và "sv01" là cùng một sinh viên như trong
+ * database.
+ * </p>
+ */
+public final class StudentKeys {
+
+    private StudentKeys() {
+    }
+
+    /**
+     * @param value mã sinh viên hoặc email
+     * @return khóa so khớp
+     */
+    public static String key(String value) {
+        return value.toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * @param values các mã sinh viên hoặc email
+     * @return tập khóa so khớp
+     */
+    public static Set<String> keys(Collection<String> values) {
+        Set<String> rs = new HashSet<>(values.size() * 2);
+        for (String value : values) {
+            rs.add(key(value));
+        }
+        return rs;
+    }
+}
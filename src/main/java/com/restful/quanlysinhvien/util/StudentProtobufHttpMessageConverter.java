@@ -0,0 +1,313 @@
+package com.restful.quanlysinhvien.util;
+
+import com.google.protobuf.CodedOutputStream;
+import com.google.protobuf.WireFormat;
+import com.restful.quanlysinhvien.domain.CustomResponse;
+import com.restful.quanlysinhvien.domain.dto.Meta;
+import com.restful.quanlysinhvien.domain.dto.ResultPaginationDTO;
+import com.restful.quanlysinhvien.domain.dto.StudentDTO;
+import com.restful.quanlysinhvien.proto.StudentPage;
+import com.restful.quanlysinhvien.proto.StudentResponse;
+
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.http.converter.HttpMessageNotWritableException;
+import org.springframework.lang.Nullable;
+
+import java.io.IOException;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Converter Protobuf ({@code application/x-protobuf}) cho các response sinh
+ * viên, theo schema {@code src/main/proto/student.proto}.
+ *
+ * <p>
+ * Message được ghi trực tiếp bằng {@link CodedOutputStream} từ
+ * {@link StudentDTO}/{@link ResultPaginationDTO} (hoặc Map của
+ * {@code ?fields=}), không dựng object trung gian: kích thước của từng message
+ * con được tính trước rồi ghi một lượt ra output stream. Số field lấy từ các
+ * hằng {@code *_FIELD_NUMBER} của class sinh từ schema, nên schema và converter
+ * không thể lệch nhau mà vẫn biên dịch được.
+ * </p>
+ *
+ * <p>
+ * Chỉ hỗ trợ ghi, và chỉ các body: {@link ResultPaginationDTO} có dòng là
+ * {@link StudentDTO} hoặc Map trường sinh viên, {@link StudentDTO}, Map trường
+ * sinh viên ({@link StudentFields#ALL}) và {@link CustomResponse} lỗi. Kiểu
+ * khác (cursor, search, List...) không được chọn khi thương lượng nội dung,
+ * còn body đúng kiểu nhưng nội dung ngoài schema bị
+ * {@link FormatRestResponse} từ chối qua {@link #canEncode(Object)}; cả hai
+ * trả 406 nếu client chỉ chấp nhận Protobuf.
+ * </p>
+ */
+public class StudentProtobufHttpMessageConverter extends AbstractHttpMessageConverter<Object>
+        implements EnvelopeConverter {
+    public static final MediaType APPLICATION_PROTOBUF = new MediaType("application", "x-protobuf");
+
+    // số field theo student.proto (Student và Meta trùng tên class domain nên
+    // viết đầy đủ package)
+    private static final int RESPONSE_STATUS_CODE = StudentResponse.STATUS_CODE_FIELD_NUMBER;
+    private static final int RESPONSE_ERROR = StudentResponse.ERROR_FIELD_NUMBER;
+    private static final int RESPONSE_MESSAGE = StudentResponse.MESSAGE_FIELD_NUMBER;
+    private static final int RESPONSE_PAGE = StudentResponse.PAGE_FIELD_NUMBER;
+    private static final int RESPONSE_STUDENT = StudentResponse.STUDENT_FIELD_NUMBER;
+    private static final int PAGE_META = StudentPage.META_FIELD_NUMBER;
+    private static final int PAGE_RESULT = StudentPage.RESULT_FIELD_NUMBER;
+    private static final int META_PAGE = com.restful.quanlysinhvien.proto.Meta.PAGE_FIELD_NUMBER;
+    private static final int META_PAGE_SIZE = com.restful.quanlysinhvien.proto.Meta.PAGE_SIZE_FIELD_NUMBER;
+    private static final int META_PAGES = com.restful.quanlysinhvien.proto.Meta.PAGES_FIELD_NUMBER;
+    private static final int META_TOTAL = com.restful.quanlysinhvien.proto.Meta.TOTAL_FIELD_NUMBER;
+    // các field chuỗi của Student, theo thứ tự StudentFields.ALL
+    private static final int[] STUDENT_STRING_FIELDS = {
+            com.restful.quanlysinhvien.proto.Student.STUDENT_CODE_FIELD_NUMBER,
+            com.restful.quanlysinhvien.proto.Student.FULL_NAME_FIELD_NUMBER,
+            com.restful.quanlysinhvien.proto.Student.EMAIL_FIELD_NUMBER,
+            com.restful.quanlysinhvien.proto.Student.DATE_OF_BIRTH_FIELD_NUMBER,
+            com.restful.quanlysinhvien.proto.Student.ADDRESS_FIELD_NUMBER,
+            com.restful.quanlysinhvien.proto.Student.GENDER_FIELD_NUMBER,
+            com.restful.quanlysinhvien.proto.Student.CLASS_NAME_FIELD_NUMBER };
+    private static final int STUDENT_ROLE_ID = com.restful.quanlysinhvien.proto.Student.ROLE_ID_FIELD_NUMBER;
+
+    public StudentProtobufHttpMessageConverter() {
+        super(APPLICATION_PROTOBUF);
+    }
+
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        return ResultPaginationDTO.class.isAssignableFrom(clazz)
+                || StudentDTO.class.isAssignableFrom(clazz)
+                || Map.class.isAssignableFrom(clazz)
+                || CustomResponse.class.isAssignableFrom(clazz);
+    }
+
+    /**
+     * Kiểm tra nội dung body (không chỉ kiểu) có ghi được theo schema không:
+     * dòng của trang phải là {@link StudentDTO} hoặc Map, và Map chỉ được chứa
+     * các trường của {@link StudentFields#ALL}.
+     *
+     * @param body body từ controller (trước khi bọc envelope) hoặc
+     *             {@link CustomResponse} lỗi
+     * @return true nếu converter ghi được body này
+     */
+    public static boolean canEncode(@Nullable Object body) {
+        if (body instanceof CustomResponse<?> response) {
+            return response.getData() == null || canEncode(response.getData());
+        }
+        if (body instanceof ResultPaginationDTO page) {
+            if (page.getResult() == null) {
+                return true;
+            }
+            if (!(page.getResult() instanceof Collection<?> rows)) {
+                return false;
+            }
+            for (Object row : rows) {
+                if (!isStudent(row)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+        return isStudent(body);
+    }
+
+    private static boolean isStudent(Object row) {
+        if (row instanceof StudentDTO) {
+            return true;
+        }
+        return row instanceof Map<?, ?> map && StudentFields.ALL.containsAll(map.keySet());
+    }
+
+    @Override
+    public boolean canRead(Class<?> clazz, @Nullable MediaType mediaType) {
+        return false;
+    }
+
+    @Override
+    protected Object readInternal(Class<?> clazz, HttpInputMessage inputMessage) {
+        throw new HttpMessageNotReadableException("Protobuf request bodies are not supported", inputMessage);
+    }
+
+    @Override
+    protected void writeInternal(Object object, HttpOutputMessage outputMessage)
+            throws IOException, HttpMessageNotWritableException {
+        CodedOutputStream out = CodedOutputStream.newInstance(outputMessage.getBody());
+        if (object instanceof EnvelopedBody envelope) {
+            writeResponse(out, envelope.getStatusCode(), null, List.of(EnvelopedBody.SUCCESS_MESSAGE),
+                    envelope.getData());
+        } else if (object instanceof CustomResponse<?> response) {
+            writeResponse(out, response.getStatusCode(), response.getError(), messages(response.getMessage()),
+                    response.getData());
+        } else {
+            throw new HttpMessageNotWritableException(
+                    "Body is not enveloped: " + object.getClass().getName());
+        }
+        out.flush();
+    }
+
+    private static void writeResponse(CodedOutputStream out, int statusCode, String error, List<String> messages,
+            Object data) throws IOException {
+        if (statusCode != 0) {
+            out.writeInt32(RESPONSE_STATUS_CODE, statusCode);
+        }
+        if (error != null && !error.isEmpty()) {
+            out.writeString(RESPONSE_ERROR, error);
+        }
+        for (String message : messages) {
+            out.writeString(RESPONSE_MESSAGE, message);
+        }
+        if (data == null) {
+            return;
+        }
+        if (data instanceof ResultPaginationDTO page) {
+            writePage(out, page);
+        } else if (data instanceof StudentDTO || data instanceof Map) {
+            writeMessageHeader(out, RESPONSE_STUDENT, studentSize(data));
+            writeStudent(out, data);
+        } else {
+            throw new HttpMessageNotWritableException(
+                    "Unsupported protobuf data: " + data.getClass().getName());
+        }
+    }
+
+    private static void writePage(CodedOutputStream out, ResultPaginationDTO page) throws IOException {
+        Meta meta = page.getMeta();
+        Collection<?> rows = page.getResult() instanceof Collection<?> result ? result : List.of();
+        // tính trước kích thước từng sinh viên để ghi length prefix mà không buffer
+        int[] sizes = new int[rows.size()];
+        int pageSize = 0;
+        if (meta != null) {
+            pageSize += messageSize(PAGE_META, metaSize(meta));
+        }
+        int i = 0;
+        for (Object row : rows) {
+            sizes[i] = studentSize(row);
+            pageSize += messageSize(PAGE_RESULT, sizes[i]);
+            i++;
+        }
+
+        writeMessageHeader(out, RESPONSE_PAGE, pageSize);
+        if (meta != null) {
+            writeMessageHeader(out, PAGE_META, metaSize(meta));
+            writeMeta(out, meta);
+        }
+        i = 0;
+        for (Object row : rows) {
+            writeMessageHeader(out, PAGE_RESULT, sizes[i++]);
+            writeStudent(out, row);
+        }
+    }
+
+    private static int metaSize(Meta meta) {
+        int size = 0;
+        if (meta.getPage() != 0) {
+            size += CodedOutputStream.computeInt32Size(META_PAGE, meta.getPage());
+        }
+        if (meta.getPageSize() != 0) {
+            size += CodedOutputStream.computeInt32Size(META_PAGE_SIZE, meta.getPageSize());
+        }
+        if (meta.getPages() != 0) {
+            size += CodedOutputStream.computeInt32Size(META_PAGES, meta.getPages());
+        }
+        if (meta.getTotal() != 0) {
+            size += CodedOutputStream.computeInt64Size(META_TOTAL, meta.getTotal());
+        }
+        return size;
+    }
+
+    private static void writeMeta(CodedOutputStream out, Meta meta) throws IOException {
+        if (meta.getPage() != 0) {
+            out.writeInt32(META_PAGE, meta.getPage());
+        }
+        if (meta.getPageSize() != 0) {
+            out.writeInt32(META_PAGE_SIZE, meta.getPageSize());
+        }
+        if (meta.getPages() != 0) {
+            out.writeInt32(META_PAGES, meta.getPages());
+        }
+        if (meta.getTotal() != 0) {
+            out.writeInt64(META_TOTAL, meta.getTotal());
+        }
+    }
+
+    private static int studentSize(Object row) {
+        int size = 0;
+        for (int i = 0; i < STUDENT_STRING_FIELDS.length; i++) {
+            String value = stringValue(row, i);
+            if (value != null && !value.isEmpty()) {
+                size += CodedOutputStream.computeStringSize(STUDENT_STRING_FIELDS[i], value);
+            }
+        }
+        long roleId = roleId(row);
+        if (roleId != 0) {
+            size += CodedOutputStream.computeInt64Size(STUDENT_ROLE_ID, roleId);
+        }
+        return size;
+    }
+
+    private static void writeStudent(CodedOutputStream out, Object row) throws IOException {
+        for (int i = 0; i < STUDENT_STRING_FIELDS.length; i++) {
+            String value = stringValue(row, i);
+            if (value != null && !value.isEmpty()) {
+                out.writeString(STUDENT_STRING_FIELDS[i], value);
+            }
+        }
+        long roleId = roleId(row);
+        if (roleId != 0) {
+            out.writeInt64(STUDENT_ROLE_ID, roleId);
+        }
+    }
+
+    // index theo StudentFields.ALL / STUDENT_STRING_FIELDS
+    private static String stringValue(Object row, int index) {
+        Object value;
+        if (row instanceof StudentDTO student) {
+            value = switch (index) {
+                case 0 -> student.getStudentCode();
+                case 1 -> student.getFullName();
+                case 2 -> student.getEmail();
+                case 3 -> student.getDateOfBirth();
+                case 4 -> student.getAddress();
+                case 5 -> student.getGender();
+                default -> student.getClassName();
+            };
+        } else if (row instanceof Map<?, ?> map) {
+            value = map.get(StudentFields.ALL.get(index));
+        } else {
+            throw new HttpMessageNotWritableException("Unsupported protobuf row: " + row.getClass().getName());
+        }
+        // LocalDate.toString() là ISO-8601, giống JSON
+        return value == null ? null : value.toString();
+    }
+
+    private static long roleId(Object row) {
+        if (row instanceof StudentDTO student) {
+            return student.getRoleId();
+        }
+        Object value = ((Map<?, ?>) row).get(StudentFields.ROLE_ID);
+        return value instanceof Number number ? number.longValue() : 0;
+    }
+
+    private static int messageSize(int field, int size) {
+        return CodedOutputStream.computeTagSize(field) + CodedOutputStream.computeUInt32SizeNoTag(size) + size;
+    }
+
+    private static void writeMessageHeader(CodedOutputStream out, int field, int size) throws IOException {
+        out.writeTag(field, WireFormat.WIRETYPE_LENGTH_DELIMITED);
+        out.writeUInt32NoTag(size);
+    }
+
+    private static List<String> messages(Object message) {
+        if (message == null) {
+            return List.of();
+        }
+        if (message instanceof Collection<?> collection) {
+            return collection.stream().map(String::valueOf).toList();
+        }
+        return List.of(message.toString());
+    }
+}
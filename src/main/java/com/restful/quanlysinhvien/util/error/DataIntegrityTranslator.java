@@ -0,0 +1,132 @@
+package com.restful.quanlysinhvien.util.error;
+
+import java.sql.SQLException;
+import java.util.Locale;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Chuyển lỗi vi phạm ràng buộc của database (unique, khóa ngoại) thành các
+ * ngoại lệ nghiệp vụ {@link DuplicateResourceException} /
+ * {@link ResourceNotFoundException}.
+ *
+ * <p>
+ * Luồng ghi không còn chạy các truy vấn kiểm tra trước (exists/find) mà dựa
+ * vào ràng buộc của bảng {@code students}; lỗi được nhận diện theo tên ràng
+ * buộc (đặt trong entity {@code Student}), hoặc theo mã lỗi MySQL kèm tên key
+ * trong message nếu database cũ còn dùng tên khác.
+ * </p>
+ *
+ * <p>
+ * Message trùng khóa của MySQL chỉ có tên key, không có tên cột. Database tạo
+ * trước khi ràng buộc được đặt tên có unique index tên Hibernate tự sinh
+ * ({@code UK<hash>}), nên chỉ được báo chung là "Resource already exists"; và
+ * {@code ddl-auto=update} tạo thêm index tên mới bên cạnh index cũ. Khi triển
+ * khai chạy script {@value #LEGACY_CONSTRAINT_SCRIPT} để đổi tên index cũ (hoặc
+ * xóa nếu index tên mới đã có). Khóa ngoại không cần: message lỗi 1452 có tên
+ * cột.
+ * </p>
+ */
+public final class DataIntegrityTranslator {
+    public static final String UK_STUDENT_CODE = "uk_students_student_code";
+    public static final String UK_EMAIL = "uk_students_email";
+    public static final String FK_CLASS_ROOM = "fk_students_class_room";
+    public static final String FK_ROLE = "fk_students_role";
+    public static final String LEGACY_CONSTRAINT_SCRIPT = "db/students_constraint_names.sql";
+
+    // message của ResourceNotFoundException khi khóa ngoại không tồn tại
+    public static final String CLASS_NOT_FOUND = "ClassName not found";
+    public static final String ROLE_NOT_FOUND = "Role not found";
+
+    // mã lỗi MySQL: trùng khóa unique / khóa ngoại không tồn tại
+    private static final int MYSQL_DUPLICATE_ENTRY = 1062;
+    private static final int MYSQL_NO_REFERENCED_ROW = 1452;
+
+    // tên key MySQL tự đặt (trùng tên cột) khi unique được tạo không kèm tên, ở
+    // database cũ tạo trước khi ràng buộc được đặt tên
+    private static final String LEGACY_KEY_STUDENT_CODE = "student_code";
+    private static final String LEGACY_KEY_EMAIL = "email";
+    private static final Pattern MYSQL_DUPLICATE_KEY = Pattern.compile("for key '(?:[^'.]+\\.)?([^'.]+)'");
+
+    private DataIntegrityTranslator() {
+    }
+
+    /**
+     * Dịch một lỗi ghi dữ liệu thành ngoại lệ nghiệp vụ.
+     *
+     * @param ex lỗi gốc (DataIntegrityViolationException, Hibernate
+     *           ConstraintViolationException, ...)
+     * @return {@link DuplicateResourceException} hoặc
+     *         {@link ResourceNotFoundException}, hoặc null nếu không phải lỗi
+     *         ràng buộc đã biết
+     */
+    public static RuntimeException translate(Throwable ex) {
+        String detail = collectMessages(ex);
+        SQLException sqlException = findSqlException(ex);
+        int errorCode = sqlException != null ? sqlException.getErrorCode() : 0;
+
+        if (detail.contains(UK_STUDENT_CODE)) {
+            return new DuplicateResourceException("Student code already exists");
+        }
+        if (detail.contains(UK_EMAIL)) {
+            return new DuplicateResourceException("Email already exists");
+        }
+        if (detail.contains(FK_CLASS_ROOM)) {
+            return new ResourceNotFoundException(CLASS_NOT_FOUND);
+        }
+        if (detail.contains(FK_ROLE)) {
+            return new ResourceNotFoundException(ROLE_NOT_FOUND);
+        }
+        if (errorCode == MYSQL_DUPLICATE_ENTRY || detail.contains("duplicate")) {
+            // so khớp tên key, không tìm tên cột trong cả message: giá trị bị trùng
+            // (ví dụ email "student_code@x.vn") cũng nằm trong message
+            String key = duplicateKeyName(detail);
+            if (LEGACY_KEY_STUDENT_CODE.equals(key)) {
+                return new DuplicateResourceException("Student code already exists");
+            }
+            if (LEGACY_KEY_EMAIL.equals(key)) {
+                return new DuplicateResourceException("Email already exists");
+            }
+            return new DuplicateResourceException("Resource already exists");
+        }
+        if (errorCode == MYSQL_NO_REFERENCED_ROW || detail.contains("foreign key")) {
+            if (detail.contains("class_room_id")) {
+                return new ResourceNotFoundException(CLASS_NOT_FOUND);
+            }
+            if (detail.contains("role_id")) {
+                return new ResourceNotFoundException(ROLE_NOT_FOUND);
+            }
+            return new ResourceNotFoundException("Referenced resource not found");
+        }
+        return null;
+    }
+
+    // "Duplicate entry 'x' for key 'students.email'" (MySQL 8.0.19+ thêm tên bảng)
+    private static String duplicateKeyName(String detail) {
+        Matcher matcher = MYSQL_DUPLICATE_KEY.matcher(detail);
+        return matcher.find() ? matcher.group(1) : null;
+    }
+
+    private static String collectMessages(Throwable ex) {
+        StringBuilder sb = new StringBuilder();
+        for (Throwable t = ex; t != null; t = t.getCause() == t ? null : t.getCause()) {
+            if (t.getMessage() != null) {
+                sb.append(t.getMessage()).append('\n');
+            }
+            if (t instanceof org.hibernate.exception.ConstraintViolationException cve
+                    && cve.getConstraintName() != null) {
+                sb.append(cve.getConstraintName()).append('\n');
+            }
+        }
+        return sb.toString().toLowerCase(Locale.ROOT);
+    }
+
+    private static SQLException findSqlException(Throwable ex) {
+        for (Throwable t = ex; t != null; t = t.getCause() == t ? null : t.getCause()) {
+            if (t instanceof SQLException sqlException) {
+                return sqlException;
+            }
+        }
+        return null;
+    }
+}
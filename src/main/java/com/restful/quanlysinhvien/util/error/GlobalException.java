@@ -1,10 +1,13 @@
 package com.restful.quanlysinhvien.util.error;
 
 import com.restful.quanlysinhvien.domain.CustomResponse;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
 import jakarta.validation.ConstraintViolationException;
 import org.hibernate.TransactionException;
 import org.slf4j.LoggerFactory;
 import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.authentication.BadCredentialsException;
@@ -24,11 +27,33 @@ import org.slf4j.Logger;
  * Lớp xử lý ngoại lệ toàn cục cho các controller REST.
  * Mỗi phương thức trong lớp này tương ứng với một loại ngoại lệ cụ thể để trả
  * về thông báo lỗi phù hợp.
+ *
+ * <p>
+ * Metrics: {@code api.exceptions} (counter, tag {@code handler} = tên ngắn của
+ * handler và {@code status} = mã HTTP trả về). Không gắn message hay URL để giữ
+ * số chuỗi thời gian nhỏ.
+ * </p>
  */
 @RestControllerAdvice
 public class GlobalException {
+    public static final String METRIC_NAME = "api.exceptions";
 
     private final Logger logger = LoggerFactory.getLogger(GlobalException.class);
+    private final MeterRegistry meterRegistry;
+
+    public GlobalException(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    // registry trả lại counter đã đăng ký nếu trùng tên và tag
+    private void count(String handler, HttpStatus status) {
+        Counter.builder(METRIC_NAME)
+                .description("Số exception được GlobalException xử lý")
+                .tag("handler", handler)
+                .tag("status", String.valueOf(status.value()))
+                .register(this.meterRegistry)
+                .increment();
+    }
 
     /**
      * Xử lý ngoại lệ khi tài nguyên không được tìm thấy.
@@ -38,6 +63,7 @@ public class GlobalException {
      */
     @ExceptionHandler(ResourceNotFoundException.class)
     public ResponseEntity<CustomResponse<Object>> handleResourceNotFound(ResourceNotFoundException e) {
+        count("not_found", HttpStatus.NOT_FOUND);
         logger.error("Data invalid(not found): {}", e.getMessage(), e);
         CustomResponse<Object> res = new CustomResponse<>();
         res.setStatusCode(HttpStatus.NOT_FOUND.value());
@@ -46,6 +72,40 @@ public class GlobalException {
         return ResponseEntity.status(HttpStatus.NOT_FOUND).body(res);
     }
 
+    /**
+     * Xử lý ngoại lệ khi điều kiện If-Match không thỏa.
+     *
+     * @param e Ngoại lệ PreconditionFailedException
+     * @return ResponseEntity chứa CustomResponse với mã trạng thái 412
+     */
+    @ExceptionHandler(PreconditionFailedException.class)
+    public ResponseEntity<CustomResponse<Object>> handlePreconditionFailed(PreconditionFailedException e) {
+        count("precondition_failed", HttpStatus.PRECONDITION_FAILED);
+        logger.error("Precondition failed: {}", e.getMessage(), e);
+        CustomResponse<Object> res = new CustomResponse<>();
+        res.setStatusCode(HttpStatus.PRECONDITION_FAILED.value());
+        res.setError("Precondition Failed");
+        res.setMessage(e.getMessage());
+        return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).body(res);
+    }
+
+    /**
+     * Xử lý ngoại lệ khi body không biểu diễn được theo định dạng client yêu cầu.
+     *
+     * @param e Ngoại lệ NotAcceptableException
+     * @return ResponseEntity chứa CustomResponse với mã trạng thái 406
+     */
+    @ExceptionHandler(NotAcceptableException.class)
+    public ResponseEntity<CustomResponse<Object>> handleNotAcceptable(NotAcceptableException e) {
+        count("not_acceptable", HttpStatus.NOT_ACCEPTABLE);
+        logger.error("Not acceptable: {}", e.getMessage(), e);
+        CustomResponse<Object> res = new CustomResponse<>();
+        res.setStatusCode(HttpStatus.NOT_ACCEPTABLE.value());
+        res.setError("Not Acceptable");
+        res.setMessage(e.getMessage());
+        return ResponseEntity.status(HttpStatus.NOT_ACCEPTABLE).body(res);
+    }
+
     /**
      * Xử lý các exception kiểu BadRequestExceptionCustom khi dữ liệu yêu cầu không
      * hợp lệ.
@@ -56,6 +116,7 @@ public class GlobalException {
      */
     @ExceptionHandler(BadRequestExceptionCustom.class)
     public ResponseEntity<CustomResponse<Object>> handleBadRequest(BadRequestExceptionCustom e) {
+        count("bad_request", HttpStatus.BAD_REQUEST);
         logger.error("Data invalid(bad request): {}", e.getMessage(), e);
         CustomResponse<Object> res = new CustomResponse<>();
         res.setStatusCode(HttpStatus.BAD_REQUEST.value());
@@ -72,6 +133,7 @@ public class GlobalException {
      */
     @ExceptionHandler(DuplicateResourceException.class)
     public ResponseEntity<CustomResponse<Object>> handleDuplicateResource(DuplicateResourceException e) {
+        count("duplicate", HttpStatus.CONFLICT);
         logger.error("Data invalid(already exists): {}", e.getMessage(), e);
         CustomResponse<Object> res = new CustomResponse<>();
         res.setStatusCode(HttpStatus.CONFLICT.value());
@@ -89,6 +151,7 @@ public class GlobalException {
      */
     @ExceptionHandler(MethodArgumentNotValidException.class)
     public ResponseEntity<CustomResponse<Object>> validateError(MethodArgumentNotValidException ex) {
+        count("argument_not_valid", HttpStatus.BAD_REQUEST);
         logger.error("Validation error: {}", ex.getMessage(), ex);
         BindingResult result = ex.getBindingResult();
         final List<FieldError> fieldErrors = result.getFieldErrors();
@@ -113,6 +176,7 @@ public class GlobalException {
      */
     @ExceptionHandler(ConstraintViolationException.class)
     public ResponseEntity<CustomResponse<Object>> handleConstraintViolation(ConstraintViolationException e) {
+        count("constraint_violation", HttpStatus.BAD_REQUEST);
         logger.error("Validation error: {}", e.getMessage(), e);
         CustomResponse<Object> res = new CustomResponse<>();
         res.setStatusCode(HttpStatus.BAD_REQUEST.value());
@@ -134,6 +198,7 @@ public class GlobalException {
      */
     @ExceptionHandler(StoredProcedureFailedException.class)
     public ResponseEntity<CustomResponse<Object>> handleStoredProcedureException(RuntimeException ex) {
+        count("stored_procedure", HttpStatus.BAD_REQUEST);
         logger.error("Stored procedure operation failed: {}", ex.getMessage(), ex);
         CustomResponse<Object> res = new CustomResponse<>();
         res.setStatusCode(HttpStatus.BAD_REQUEST.value());
@@ -142,6 +207,30 @@ public class GlobalException {
         return ResponseEntity.badRequest().body(res);
     }
 
+    /**
+     * Xử lý lỗi vi phạm ràng buộc của database (unique, khóa ngoại). Luồng ghi
+     * không kiểm tra trước bằng truy vấn mà dựa vào ràng buộc, nên lỗi được dịch
+     * về cùng phản hồi 409/404 như {@link DuplicateResourceException} và
+     * {@link ResourceNotFoundException}.
+     *
+     * @param ex DataIntegrityViolationException (JdbcTemplate, stored procedure,
+     *           repository) hoặc ConstraintViolationException của Hibernate
+     * @return ResponseEntity chứa CustomResponse với mã 409, 404 hoặc 500 nếu
+     *         không nhận diện được ràng buộc (được đếm theo handler đích)
+     */
+    @ExceptionHandler({ DataIntegrityViolationException.class,
+            org.hibernate.exception.ConstraintViolationException.class })
+    public ResponseEntity<CustomResponse<Object>> handleDataIntegrityViolation(RuntimeException ex) {
+        RuntimeException translated = DataIntegrityTranslator.translate(ex);
+        if (translated instanceof DuplicateResourceException duplicate) {
+            return handleDuplicateResource(duplicate);
+        }
+        if (translated instanceof ResourceNotFoundException notFound) {
+            return handleResourceNotFound(notFound);
+        }
+        return handleDatabaseException(ex);
+    }
+
     /**
      * Xử lý lỗi khi xảy ra sự cố trong giao dịch hoặc truy cập cơ sở dữ liệu.
      *
@@ -151,6 +240,7 @@ public class GlobalException {
      */
     @ExceptionHandler({ DataAccessException.class, TransactionException.class })
     public ResponseEntity<CustomResponse<Object>> handleDatabaseException(Exception ex) {
+        count("database", HttpStatus.INTERNAL_SERVER_ERROR);
         logger.error("Database operation failed: {}", ex.getMessage(), ex);
         CustomResponse<Object> res = new CustomResponse<>();
         res.setStatusCode(HttpStatus.INTERNAL_SERVER_ERROR.value());
@@ -169,6 +259,7 @@ public class GlobalException {
      */
     @ExceptionHandler(RuntimeException.class)
     public ResponseEntity<CustomResponse<Object>> handleRuntimeException(RuntimeException ex, WebRequest request) {
+        count("runtime", HttpStatus.INTERNAL_SERVER_ERROR);
         logger.error("Unexpected runtime error: {}", ex.getMessage(), ex);
         CustomResponse<Object> res = new CustomResponse<>();
         res.setStatusCode(HttpStatus.INTERNAL_SERVER_ERROR.value());
@@ -181,6 +272,7 @@ public class GlobalException {
             BadCredentialsException.class })
     public ResponseEntity<CustomResponse<Object>> handleLoginException(
             Exception ex) {
+        count("login", HttpStatus.BAD_REQUEST);
         CustomResponse<Object> res = new CustomResponse<Object>();
         res.setStatusCode(HttpStatus.BAD_REQUEST.value());
         res.setError(ex.getMessage());
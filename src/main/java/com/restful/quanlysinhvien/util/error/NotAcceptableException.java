@@ -0,0 +1,17 @@
+package com.restful.quanlysinhvien.util.error;
+
+/**
+ * Ngoại lệ được ném ra khi định dạng client yêu cầu (header {@code Accept})
+ * không biểu diễn được body của response.(406 Not Acceptable)
+ */
+public class NotAcceptableException extends RuntimeException {
+
+    /**
+     * Khởi tạo ngoại lệ với thông điệp lỗi cụ thể.
+     *
+     * @param message thông điệp mô tả lỗi
+     */
+    public NotAcceptableException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,17 @@
+package com.restful.quanlysinhvien.util.error;
+
+/**
+ * Ngoại lệ được ném ra khi điều kiện {@code If-Match} không thỏa (dữ liệu đã bị
+ * sửa bởi request khác).(412 Precondition Failed)
+ */
+public class PreconditionFailedException extends RuntimeException {
+
+    /**
+     * Khởi tạo ngoại lệ với thông điệp lỗi cụ thể.
+     *
+     * @param message thông điệp mô tả lỗi
+     */
+    public PreconditionFailedException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,39 @@
+-- Đổi tên unique index cũ của bảng students sang tên mà DataIntegrityTranslator
+-- nhận diện (uk_students_student_code, uk_students_email).
+-- Database tạo trước khi entity Student đặt tên ràng buộc có unique index tên
+-- Hibernate tự sinh (UK<hash>), message lỗi trùng khóa không chứa tên cột nên
+-- không phân biệt được mã sinh viên hay email. Với mỗi cột: nếu chưa có index
+-- tên mới thì đổi tên index cũ (chỉ sửa metadata); nếu ddl-auto=update đã tạo
+-- thêm index tên mới thì xóa index cũ bị trùng.
+-- Chạy một lần khi triển khai; chạy lại được nhiều lần (mỗi lần xử lý một index
+-- cũ cho mỗi cột, lần chạy không còn gì để sửa chỉ thực hiện DO 0).
+
+SET @legacy = (SELECT index_name FROM information_schema.statistics
+    WHERE table_schema = DATABASE() AND table_name = 'students' AND non_unique = 0
+        AND index_name NOT IN ('PRIMARY', 'uk_students_student_code')
+    GROUP BY index_name HAVING COUNT(*) = 1 AND MAX(column_name) = 'student_code' LIMIT 1);
+SET @named = (SELECT COUNT(*) FROM information_schema.statistics
+    WHERE table_schema = DATABASE() AND table_name = 'students' AND index_name = 'uk_students_student_code');
+SET @ddl = CASE
+    WHEN @legacy IS NULL THEN 'DO 0'
+    WHEN @named > 0 THEN CONCAT('ALTER TABLE students DROP INDEX `', @legacy, '`')
+    ELSE CONCAT('ALTER TABLE students RENAME INDEX `', @legacy, '` TO uk_students_student_code')
+END;
+PREPARE stmt FROM @ddl;
+EXECUTE stmt;
+DEALLOCATE PREPARE stmt;
+
+SET @legacy = (SELECT index_name FROM information_schema.statistics
+    WHERE table_schema = DATABASE() AND table_name = 'students' AND non_unique = 0
+        AND index_name NOT IN ('PRIMARY', 'uk_students_email')
+    GROUP BY index_name HAVING COUNT(*) = 1 AND MAX(column_name) = 'email' LIMIT 1);
+SET @named = (SELECT COUNT(*) FROM information_schema.statistics
+    WHERE table_schema = DATABASE() AND table_name = 'students' AND index_name = 'uk_students_email');
+SET @ddl = CASE
+    WHEN @legacy IS NULL THEN 'DO 0'
+    WHEN @named > 0 THEN CONCAT('ALTER TABLE students DROP INDEX `', @legacy, '`')
+    ELSE CONCAT('ALTER TABLE students RENAME INDEX `', @legacy, '` TO uk_students_email')
+END;
+PREPARE stmt FROM @ddl;
+EXECUTE stmt;
+DEALLOCATE PREPARE stmt;
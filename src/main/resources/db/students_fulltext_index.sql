@@ -0,0 +1,7 @@
+-- Index FULLTEXT (ngram) cho GET /students/search (StudentSearchRepository).
+-- Chạy một lần khi triển khai, ngoài giờ cao điểm: index FULLTEXT đầu tiên của
+-- bảng phải dựng lại bảng (thêm cột ẩn FTS_DOC_ID), trong lúc đó chỉ đọc được,
+-- không ghi được. LOCK=SHARED để câu lệnh báo lỗi thay vì lặng lẽ khóa cả đọc.
+ALTER TABLE students
+    ADD FULLTEXT INDEX ft_students_search (full_name, email, address) WITH PARSER ngram,
+    ALGORITHM = INPLACE, LOCK = SHARED;
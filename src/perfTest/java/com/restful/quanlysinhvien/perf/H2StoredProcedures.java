@@ -0,0 +1,200 @@
+package com.restful.quanlysinhvien.perf;
+
+import org.h2.tools.SimpleResultSet;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.zip.CRC32;
+
+/**
+ * Bản Java của các stored procedure {@code create_stu}, {@code update_stu},
+ * {@code delete_stu} cho H2 (MODE=MySQL), đăng ký bằng {@code CREATE ALIAS}
+ * trong {@code perf-procedures.sql}.
+ *
+ * <p>
+ * {@code StoredProcedureGateway} gọi {@code {call proc(in..., ?)}} và đọc tham
+ * số OUT cuối cùng. H2 không có tham số OUT thật: {@code CallableStatement}
+ * của H2 đọc tham số OUT thứ n từ cột thứ n của result set mà hàm trả về, và
+ * truyền NULL cho chỗ của tham số OUT. Vì vậy mỗi hàm nhận thêm một tham số
+ * cuối bị bỏ qua và trả về một dòng có mã kết quả ở cột cuối. H2 gọi hàm một
+ * lần với URL {@code jdbc:columnlist:connection} để lấy danh sách cột; khi đó
+ * chỉ trả về cấu trúc.
+ * </p>
+ *
+ * <p>
+ * Logic giống bản MySQL: kiểm tra sĩ số lớp ({@code current_students <
+ * max_students}), ghi sinh viên và cập nhật {@code current_students}; trả 1
+ * nếu thành công, 0 nếu lớp đầy hoặc không tìm thấy sinh viên. Vi phạm ràng
+ * buộc unique/khóa ngoại được ném ra như MySQL.
+ * </p>
+ *
+ * <p>
+ * Ngoài ra có {@code CRC32} (H2 không có sẵn hàm này của MySQL) cho fingerprint
+ * của index gợi ý.
+ * </p>
+ */
+public final class H2StoredProcedures {
+    private static final String COLUMN_LIST_URL = "jdbc:columnlist:connection";
+    private static final int STUDENT_WRITE_PARAMS = 10;
+    private static final int DELETE_PARAMS = 2;
+
+    private H2StoredProcedures() {
+    }
+
+    public static ResultSet createStu(Connection conn, Long classId, String fullName, String email,
+            String password, Date dateOfBirth, String address, String gender, String stuCode, Long roleId,
+            Integer result) throws SQLException {
+        if (isColumnList(conn)) {
+            return result(STUDENT_WRITE_PARAMS, null);
+        }
+        if (!reserveSeat(conn, classId)) {
+            return result(STUDENT_WRITE_PARAMS, 0);
+        }
+        try (PreparedStatement ps = conn.prepareStatement("INSERT INTO students (class_room_id, full_name, "
+                + "email, password, date_of_birth, address, gender, student_code, role_id, version) "
+                + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, 0)")) {
+            ps.setLong(1, classId);
+            ps.setString(2, fullName);
+            ps.setString(3, email);
+            ps.setString(4, password);
+            ps.setDate(5, dateOfBirth);
+            ps.setString(6, address);
+            ps.setString(7, gender);
+            ps.setString(8, stuCode);
+            ps.setObject(9, roleId, Types.BIGINT);
+            ps.executeUpdate();
+        }
+        return result(STUDENT_WRITE_PARAMS, 1);
+    }
+
+    public static ResultSet updateStu(Connection conn, Long classId, String fullName, String email,
+            String password, Date dateOfBirth, String address, String gender, String stuCode, Long roleId,
+            Integer result) throws SQLException {
+        if (isColumnList(conn)) {
+            return result(STUDENT_WRITE_PARAMS, null);
+        }
+        Long currentClassId = findClassId(conn, stuCode);
+        if (currentClassId == null) {
+            return result(STUDENT_WRITE_PARAMS, 0);
+        }
+        boolean classChanged = !currentClassId.equals(classId);
+        if (classChanged && !reserveSeat(conn, classId)) {
+            return result(STUDENT_WRITE_PARAMS, 0);
+        }
+        try (PreparedStatement ps = conn.prepareStatement("UPDATE students SET class_room_id = ?, full_name = ?, "
+                + "email = ?, password = ?, date_of_birth = ?, address = ?, gender = ?, role_id = ? "
+                + "WHERE student_code = ?")) {
+            ps.setLong(1, classId);
+            ps.setString(2, fullName);
+            ps.setString(3, email);
+            ps.setString(4, password);
+            ps.setDate(5, dateOfBirth);
+            ps.setString(6, address);
+            ps.setString(7, gender);
+            ps.setObject(8, roleId, Types.BIGINT);
+            ps.setString(9, stuCode);
+            ps.executeUpdate();
+        }
+        if (classChanged) {
+            releaseSeat(conn, currentClassId);
+        }
+        return result(STUDENT_WRITE_PARAMS, 1);
+    }
+
+    public static ResultSet deleteStu(Connection conn, String stuCode, Integer result) throws SQLException {
+        if (isColumnList(conn)) {
+            return result(DELETE_PARAMS, null);
+        }
+        Long classId = findClassId(conn, stuCode);
+        if (classId == null) {
+            return result(DELETE_PARAMS, 0);
+        }
+        try (PreparedStatement ps = conn.prepareStatement("DELETE FROM students WHERE student_code = ?")) {
+            ps.setString(1, stuCode);
+            ps.executeUpdate();
+        }
+        releaseSeat(conn, classId);
+        return result(DELETE_PARAMS, 1);
+    }
+
+    public static Long crc32(String value) {
+        if (value == null) {
+            return null;
+        }
+        CRC32 crc = new CRC32();
+        crc.update(value.getBytes(StandardCharsets.UTF_8));
+        return crc.getValue();
+    }
+
+    // khóa dòng lớp học rồi tăng sĩ số nếu còn chỗ
+    private static boolean reserveSeat(Connection conn, Long classId) throws SQLException {
+        try (PreparedStatement ps = conn.prepareStatement(
+                "SELECT max_students, current_students FROM class_rooms WHERE id = ? FOR UPDATE")) {
+            ps.setObject(1, classId, Types.BIGINT);
+            try (ResultSet rs = ps.executeQuery()) {
+                if (!rs.next()) {
+                    return false;
+                }
+                int max = rs.getInt(1);
+                boolean unlimited = rs.wasNull();
+                int current = rs.getInt(2);
+                if (!unlimited && current >= max) {
+                    return false;
+                }
+            }
+        }
+        try (PreparedStatement ps = conn.prepareStatement(
+                "UPDATE class_rooms SET current_students = COALESCE(current_students, 0) + 1 WHERE id = ?")) {
+            ps.setLong(1, classId);
+            ps.executeUpdate();
+        }
+        return true;
+    }
+
+    private static void releaseSeat(Connection conn, Long classId) throws SQLException {
+        try (PreparedStatement ps = conn.prepareStatement(
+                "UPDATE class_rooms SET current_students = GREATEST(COALESCE(current_students, 0) - 1, 0) "
+                        + "WHERE id = ?")) {
+            ps.setLong(1, classId);
+            ps.executeUpdate();
+        }
+    }
+
+    private static Long findClassId(Connection conn, String stuCode) throws SQLException {
+        try (PreparedStatement ps = conn.prepareStatement(
+                "SELECT class_room_id FROM students WHERE student_code = ? FOR UPDATE")) {
+            ps.setString(1, stuCode);
+            try (ResultSet rs = ps.executeQuery()) {
+                if (!rs.next()) {
+                    return null;
+                }
+                long classId = rs.getLong(1);
+                return rs.wasNull() ? 0L : classId;
+            }
+        }
+    }
+
+    private static boolean isColumnList(Connection conn) throws SQLException {
+        return COLUMN_LIST_URL.equals(conn.getMetaData().getURL());
+    }
+
+    // result set có đủ số cột bằng số tham số; cột cuối là mã kết quả (tham số OUT)
+    private static ResultSet result(int parameterCount, Integer code) {
+        SimpleResultSet rs = new SimpleResultSet();
+        for (int i = 1; i < parameterCount; i++) {
+            rs.addColumn("P" + i, Types.INTEGER, 10, 0);
+        }
+        rs.addColumn("RESULT", Types.INTEGER, 10, 0);
+        if (code != null) {
+            Object[] row = new Object[parameterCount];
+            row[parameterCount - 1] = code;
+            rs.addRow(row);
+        }
+        return rs;
+    }
+}
@@ -0,0 +1,64 @@
+package com.restful.quanlysinhvien.perf;
+
+import java.util.Arrays;
+
+/**
+ * Ghi thời gian phản hồi của một endpoint, mỗi worker một instance (không đồng
+ * bộ); gộp lại bằng {@link #merge(LatencyRecorder)} khi kết thúc.
+ */
+final class LatencyRecorder {
+    private long[] nanos = new long[1024];
+    private int count;
+    private int errors;
+    private int serverErrors;
+
+    void record(long elapsedNanos, int status) {
+        if (this.count == this.nanos.length) {
+            this.nanos = Arrays.copyOf(this.nanos, this.count * 2);
+        }
+        this.nanos[this.count++] = elapsedNanos;
+        if (status >= 400) {
+            this.errors++;
+        }
+        if (status >= 500) {
+            this.serverErrors++;
+        }
+    }
+
+    void merge(LatencyRecorder other) {
+        int total = this.count + other.count;
+        if (total > this.nanos.length) {
+            this.nanos = Arrays.copyOf(this.nanos, total);
+        }
+        System.arraycopy(other.nanos, 0, this.nanos, this.count, other.count);
+        this.count = total;
+        this.errors += other.errors;
+        this.serverErrors += other.serverErrors;
+    }
+
+    int count() {
+        return this.count;
+    }
+
+    int errors() {
+        return this.errors;
+    }
+
+    int serverErrors() {
+        return this.serverErrors;
+    }
+
+    /**
+     * @param percentile 0..100
+     * @return thời gian (ms) tại percentile, theo phương pháp nearest-rank
+     */
+    double percentileMillis(double percentile) {
+        if (this.count == 0) {
+            return 0;
+        }
+        long[] sorted = Arrays.copyOf(this.nanos, this.count);
+        Arrays.sort(sorted);
+        int rank = (int) Math.ceil(percentile / 100.0 * this.count);
+        return sorted[Math.max(0, Math.min(this.count, rank) - 1)] / 1_000_000.0;
+    }
+}
@@ -0,0 +1,303 @@
+package com.restful.quanlysinhvien.perf;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.restful.quanlysinhvien.datagen.DatasetSink.StudentRow;
+import com.restful.quanlysinhvien.datagen.DatasetSpec;
+import com.restful.quanlysinhvien.datagen.JdbcDatasetSink;
+import com.restful.quanlysinhvien.datagen.StudentDataGenerator;
+
+/**
+ * Đo throughput và độ trễ (p50/p95/p99) của {@code StudentController} với một
+ * workload đọc/ghi trộn lẫn, chạy trên H2 (MODE=MySQL) trong bộ nhớ với các
+ * stored procedure thay bằng {@link H2StoredProcedures}. Không cần mạng hay
+ * MySQL: {@code ./gradlew perfTest}. Dữ liệu ban đầu do
+ * {@link StudentDataGenerator} sinh (lớp chỉ lấp 50-60% để còn chỗ cho các lần
+ * tạo sinh viên).
+ *
+ * <p>
+ * Tham số (system property, truyền qua {@code -Pperf.xxx=...}):
+ * {@code perf.students} (10000), {@code perf.threads} (16),
+ * {@code perf.warmup} (PT10S), {@code perf.duration} (PT30S),
+ * {@code perf.seed} (42), {@code perf.report}
+ * (build/reports/perf/student-workload.json). Mỗi worker chọn thao tác theo tỉ
+ * lệ cố định bằng {@link Random} riêng có seed, nên chuỗi request của từng
+ * worker lặp lại được giữa các lần chạy.
+ * </p>
+ *
+ * <p>
+ * Lưu ý khi so với MySQL: Bloom filter và index gợi ý dùng streaming
+ * ({@code fetchSize = Integer.MIN_VALUE}) của Connector/J nên không dựng được
+ * trên H2, mọi kiểm tra tồn tại đều hỏi database.
+ * </p>
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "spring.datasource.url=jdbc:h2:mem:perf;MODE=MySQL;DATABASE_TO_LOWER=TRUE;"
+                + "CASE_INSENSITIVE_IDENTIFIERS=TRUE;DB_CLOSE_DELAY=-1",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.datasource.hikari.maximum-pool-size=32",
+        "spring.jpa.hibernate.ddl-auto=create",
+        "spring.jpa.show-sql=false",
+        "spring.sql.init.mode=always",
+        "spring.sql.init.schema-locations=classpath:perf-procedures.sql",
+        "app.search.create-fulltext-index=false",
+        "logging.level.root=WARN",
+        // lỗi 4xx được log kèm stack trace: không để việc ghi console chiếm thời gian đo
+        "logging.level.com.restful.quanlysinhvien.util.error.GlobalException=OFF",
+        "logging.level.org.springdoc=WARN"
+})
+class StudentWorkloadPerfTest {
+    private static final String PASSWORD = "matkhau123";
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    enum Endpoint {
+        GET_STUDENT("GET /students/{stuCode}", 60),
+        LIST_STUDENTS("GET /students", 20),
+        CREATE_STUDENT("POST /students", 10),
+        UPDATE_STUDENT("PUT /students/{stuCode}", 7),
+        DELETE_STUDENT("DELETE /students/{stuCode}", 3);
+
+        private final String label;
+        private final int weight;
+
+        Endpoint(String label, int weight) {
+            this.label = label;
+            this.weight = weight;
+        }
+    }
+
+    @Test
+    void mixedReadWriteWorkload() throws Exception {
+        int students = Integer.getInteger("perf.students", 10_000);
+        int threads = Integer.getInteger("perf.threads", 16);
+        Duration warmup = Duration.parse(System.getProperty("perf.warmup", "PT10S"));
+        Duration duration = Duration.parse(System.getProperty("perf.duration", "PT30S"));
+        long seed = Long.getLong("perf.seed", 42L);
+        Path report = Path.of(System.getProperty("perf.report", "build/reports/perf/student-workload.json"));
+
+        StudentDataGenerator generator = new StudentDataGenerator(
+                DatasetSpec.of(students, seed).withFill(0.5, 0.6).withPassword(PASSWORD));
+        try (Connection connection = this.dataSource.getConnection()) {
+            generator.writeTo(new JdbcDatasetSink(connection));
+        }
+
+        HttpClient client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            run(executor, client, generator, threads, seed, warmup, "W");
+            Map<Endpoint, LatencyRecorder> results = run(executor, client, generator, threads, seed + 1, duration,
+                    "M");
+            Map<String, Object> summary = summarize(results, duration, students, threads);
+            printSummary(results, duration);
+            Files.createDirectories(report.toAbsolutePath().getParent());
+            this.objectMapper.writerWithDefaultPrettyPrinter().writeValue(report.toFile(), summary);
+
+            int serverErrors = results.values().stream().mapToInt(LatencyRecorder::serverErrors).sum();
+            assertThat(serverErrors).as("5xx responses").isZero();
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private Map<Endpoint, LatencyRecorder> run(ExecutorService executor, HttpClient client,
+            StudentDataGenerator generator, int threads, long seed, Duration duration, String phase)
+            throws Exception {
+        long deadline = System.nanoTime() + duration.toNanos();
+        List<Future<Map<Endpoint, LatencyRecorder>>> futures = new ArrayList<>(threads);
+        for (int t = 0; t < threads; t++) {
+            Worker worker = new Worker(client, new Random(seed * 31 + t), generator, phase + t);
+            futures.add(executor.submit(() -> worker.runUntil(deadline)));
+        }
+        Map<Endpoint, LatencyRecorder> merged = new EnumMap<>(Endpoint.class);
+        for (Endpoint endpoint : Endpoint.values()) {
+            merged.put(endpoint, new LatencyRecorder());
+        }
+        for (Future<Map<Endpoint, LatencyRecorder>> future : futures) {
+            future.get().forEach((endpoint, recorder) -> merged.get(endpoint).merge(recorder));
+        }
+        return merged;
+    }
+
+    private final class Worker {
+        private final HttpClient client;
+        private final Random random;
+        private final StudentDataGenerator generator;
+        private final String prefix;
+        private final Deque<String> created = new ArrayDeque<>();
+        private final Map<Endpoint, LatencyRecorder> recorders = new EnumMap<>(Endpoint.class);
+        private int sequence;
+
+        private Worker(HttpClient client, Random random, StudentDataGenerator generator, String prefix) {
+            this.client = client;
+            this.random = random;
+            this.generator = generator;
+            this.prefix = prefix;
+            for (Endpoint endpoint : Endpoint.values()) {
+                this.recorders.put(endpoint, new LatencyRecorder());
+            }
+        }
+
+        private Map<Endpoint, LatencyRecorder> runUntil(long deadline) throws IOException, InterruptedException {
+            while (System.nanoTime() < deadline) {
+                Endpoint endpoint = nextEndpoint();
+                HttpRequest request = buildRequest(endpoint);
+                long start = System.nanoTime();
+                HttpResponse<byte[]> response = this.client.send(request, HttpResponse.BodyHandlers.ofByteArray());
+                this.recorders.get(endpoint).record(System.nanoTime() - start, response.statusCode());
+            }
+            return this.recorders;
+        }
+
+        private Endpoint nextEndpoint() {
+            int roll = this.random.nextInt(100);
+            for (Endpoint endpoint : Endpoint.values()) {
+                roll -= endpoint.weight;
+                if (roll < 0) {
+                    // chỉ xóa sinh viên do chính worker tạo, dữ liệu seed giữ nguyên
+                    return endpoint == Endpoint.DELETE_STUDENT && this.created.isEmpty()
+                            ? Endpoint.GET_STUDENT
+                            : endpoint;
+                }
+            }
+            return Endpoint.GET_STUDENT;
+        }
+
+        private HttpRequest buildRequest(Endpoint endpoint) throws IOException {
+            int index = this.random.nextInt(this.generator.spec().students());
+            return switch (endpoint) {
+                case GET_STUDENT -> get("/students/" + StudentDataGenerator.studentCode(index));
+                case LIST_STUDENTS -> get("/students?current=" + (1 + this.random.nextInt(50)) + "&pageSize=20");
+                case CREATE_STUDENT -> {
+                    String code = String.format("P%s-%07d", this.prefix, this.sequence++);
+                    this.created.add(code);
+                    yield send("POST", "/students", studentBody(code, code.toLowerCase() + "@perf.local",
+                            this.random.nextInt(this.generator.classCount())));
+                }
+                case UPDATE_STUDENT -> {
+                    // giữ email và lớp hiện tại: không đụng ràng buộc unique hay sĩ số
+                    StudentRow student = this.generator.student(index);
+                    yield send("PUT", "/students/" + student.studentCode(),
+                            studentBody(null, student.email(), this.generator.classOf(index)));
+                }
+                case DELETE_STUDENT -> request("/students/" + this.created.poll()).DELETE().build();
+            };
+        }
+
+        private Map<String, Object> studentBody(String code, String email, int classIndex) {
+            Map<String, Object> body = new LinkedHashMap<>();
+            if (code != null) {
+                body.put("studentCode", code);
+            }
+            body.put("fullName", "Sinh Viên " + this.random.nextInt(1_000_000));
+            body.put("email", email);
+            body.put("password", PASSWORD);
+            body.put("dateOfBirth", LocalDate.of(2000 + this.random.nextInt(6), 1 + this.random.nextInt(12),
+                    1 + this.random.nextInt(28)).toString());
+            body.put("address", "Hà Nội");
+            body.put("gender", this.random.nextBoolean() ? "MALE" : "FEMALE");
+            body.put("className", this.generator.classRoom(classIndex).className());
+            body.put("roleId", StudentDataGenerator.ROLE_USER_ID);
+            return body;
+        }
+
+        private HttpRequest get(String path) {
+            return request(path).GET().build();
+        }
+
+        private HttpRequest send(String method, String path, Map<String, Object> body) throws IOException {
+            return request(path)
+                    .header("Content-Type", "application/json")
+                    .method(method, HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(body)))
+                    .build();
+        }
+
+        private HttpRequest.Builder request(String path) {
+            return HttpRequest.newBuilder(URI.create("http://localhost:" + port + path))
+                    .header("Accept", "application/json")
+                    .timeout(Duration.ofSeconds(30));
+        }
+    }
+
+    private static Map<String, Object> summarize(Map<Endpoint, LatencyRecorder> results, Duration duration,
+            int students, int threads) {
+        double seconds = duration.toMillis() / 1000.0;
+        Map<String, Object> endpoints = new LinkedHashMap<>();
+        long total = 0;
+        for (Map.Entry<Endpoint, LatencyRecorder> entry : results.entrySet()) {
+            LatencyRecorder recorder = entry.getValue();
+            total += recorder.count();
+            Map<String, Object> stats = new LinkedHashMap<>();
+            stats.put("requests", recorder.count());
+            stats.put("errors", recorder.errors());
+            stats.put("throughput", recorder.count() / seconds);
+            stats.put("p50Ms", recorder.percentileMillis(50));
+            stats.put("p95Ms", recorder.percentileMillis(95));
+            stats.put("p99Ms", recorder.percentileMillis(99));
+            stats.put("maxMs", recorder.percentileMillis(100));
+            endpoints.put(entry.getKey().label, stats);
+        }
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("students", students);
+        summary.put("threads", threads);
+        summary.put("durationSeconds", seconds);
+        summary.put("throughput", total / seconds);
+        summary.put("endpoints", endpoints);
+        return summary;
+    }
+
+    private static void printSummary(Map<Endpoint, LatencyRecorder> results, Duration duration) {
+        double seconds = duration.toMillis() / 1000.0;
+        StringBuilder sb = new StringBuilder(String.format("%n%-28s %9s %7s %9s %9s %9s %9s%n", "endpoint",
+                "requests", "errors", "req/s", "p50 ms", "p95 ms", "p99 ms"));
+        long total = 0;
+        for (Map.Entry<Endpoint, LatencyRecorder> entry : results.entrySet()) {
+            LatencyRecorder recorder = entry.getValue();
+            total += recorder.count();
+            sb.append(String.format("%-28s %9d %7d %9.1f %9.2f %9.2f %9.2f%n", entry.getKey().label,
+                    recorder.count(), recorder.errors(), recorder.count() / seconds,
+                    recorder.percentileMillis(50), recorder.percentileMillis(95), recorder.percentileMillis(99)));
+        }
+        sb.append(String.format("%-28s %9d %7s %9.1f%n", "total", total, "", total / seconds));
+        System.out.println(sb);
+    }
+}
@@ -0,0 +1,8 @@
+-- Stand-in Java cho các stored procedure MySQL khi chạy perfTest trên H2
+-- (xem H2StoredProcedures). Chạy trước khi Hibernate tạo bảng; alias không phụ
+-- thuộc bảng.
+CREATE ALIAS IF NOT EXISTS create_stu FOR "com.restful.quanlysinhvien.perf.H2StoredProcedures.createStu";
+CREATE ALIAS IF NOT EXISTS update_stu FOR "com.restful.quanlysinhvien.perf.H2StoredProcedures.updateStu";
+CREATE ALIAS IF NOT EXISTS delete_stu FOR "com.restful.quanlysinhvien.perf.H2StoredProcedures.deleteStu";
+-- CRC32 của MySQL, dùng trong fingerprint của StudentSuggestIndex
+CREATE ALIAS IF NOT EXISTS CRC32 FOR "com.restful.quanlysinhvien.perf.H2StoredProcedures.crc32";
@@ -0,0 +1,183 @@
+package com.restful.quanlysinhvien.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.SQLException;
+import java.sql.SQLIntegrityConstraintViolationException;
+import java.sql.SQLTransientConnectionException;
+import java.sql.Types;
+import java.time.LocalDate;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.restful.quanlysinhvien.util.error.DataIntegrityTranslator;
+import com.restful.quanlysinhvien.util.error.DuplicateResourceException;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Kiểm tra {@link StoredProcedureGateway} với {@link JdbcTemplate} thật trên
+ * {@code DataSource}/{@code CallableStatement} mock: thứ tự và kiểu tham số,
+ * mã trả về qua tham số OUT, lỗi SQL được dịch sang
+ * {@link DataAccessException} và metric {@code student.procedure}.
+ */
+@ExtendWith(MockitoExtension.class)
+class StoredProcedureGatewayTests {
+    private static final String CREATE_CALL = "{call create_stu(?, ?, ?, ?, ?, ?, ?, ?, ?, ?)}";
+    private static final String UPDATE_CALL = "{call update_stu(?, ?, ?, ?, ?, ?, ?, ?, ?, ?)}";
+    private static final String DELETE_CALL = "{call delete_stu(?, ?)}";
+
+    @Mock
+    private DataSource dataSource;
+    @Mock
+    private Connection connection;
+    @Mock
+    private CallableStatement callableStatement;
+
+    private SimpleMeterRegistry meterRegistry;
+    private StoredProcedureGateway storedProcedureGateway;
+
+    @BeforeEach
+    void setUp() {
+        this.meterRegistry = new SimpleMeterRegistry();
+        this.storedProcedureGateway = new StoredProcedureGateway(new JdbcTemplate(this.dataSource),
+                this.meterRegistry);
+    }
+
+    @Test
+    void createStuBindsParametersInOrderAndReturnsOutCode() throws Exception {
+        prepareCall(CREATE_CALL);
+        when(this.callableStatement.getInt(10)).thenReturn(1);
+        Date dateOfBirth = Date.valueOf(LocalDate.of(2002, 1, 1));
+
+        int rs = this.storedProcedureGateway.call(ConstVariable.PROCEDURE_CREATE_STUDENT, 5L, "Nguyễn Văn A",
+                "sv01@example.com", "hash", dateOfBirth, "Hà Nội", "MALE", "SV01", null);
+
+        assertThat(rs).isEqualTo(1);
+        verify(this.callableStatement).setObject(1, 5L, Types.BIGINT);
+        verify(this.callableStatement).setObject(2, "Nguyễn Văn A", Types.VARCHAR);
+        verify(this.callableStatement).setObject(5, dateOfBirth, Types.DATE);
+        verify(this.callableStatement).setObject(8, "SV01", Types.VARCHAR);
+        verify(this.callableStatement).setNull(9, Types.BIGINT);
+        verify(this.callableStatement).registerOutParameter(10, Types.INTEGER);
+        verify(this.callableStatement).close();
+        verify(this.connection).close();
+        assertThat(callCount("create_stu", "1")).isEqualTo(1);
+    }
+
+    @Test
+    void createStuReturnsFailedWhenClassIsFull() throws Exception {
+        prepareCall(CREATE_CALL);
+        when(this.callableStatement.getInt(10)).thenReturn(0);
+
+        int rs = this.storedProcedureGateway.call(ConstVariable.PROCEDURE_CREATE_STUDENT, 5L, "Nguyễn Văn A",
+                "sv01@example.com", "hash", null, "Hà Nội", "MALE", "SV01", 2L);
+
+        assertThat(rs).isEqualTo(StoredProcedureGateway.RESULT_FAILED);
+        assertThat(callCount("create_stu", "0")).isEqualTo(1);
+    }
+
+    @Test
+    void createStuDuplicateKeyIsTranslatedToDuplicateResource() throws Exception {
+        prepareCall(CREATE_CALL);
+        when(this.callableStatement.execute()).thenThrow(new SQLIntegrityConstraintViolationException(
+                "Duplicate entry 'SV01' for key 'students.uk_students_student_code'", "23000", 1062));
+
+        assertThatThrownBy(() -> this.storedProcedureGateway.call(ConstVariable.PROCEDURE_CREATE_STUDENT, 5L,
+                "Nguyễn Văn A", "sv01@example.com", "hash", null, "Hà Nội", "MALE", "SV01", 2L))
+                .isInstanceOf(DataIntegrityViolationException.class)
+                .satisfies(e -> assertThat(DataIntegrityTranslator.translate(e))
+                        .isInstanceOf(DuplicateResourceException.class));
+        verify(this.callableStatement).close();
+        verify(this.connection).close();
+        assertThat(callCount("create_stu", "error")).isEqualTo(1);
+    }
+
+    @Test
+    void updateStuReturnsOutCode() throws Exception {
+        prepareCall(UPDATE_CALL);
+        when(this.callableStatement.getInt(10)).thenReturn(1);
+
+        int rs = this.storedProcedureGateway.call(ConstVariable.PROCEDURE_UPDATE_STUDENT, 5L, "Nguyễn Văn A",
+                "sv01@example.com", "hash", null, "Hà Nội", "MALE", "SV01", 2L);
+
+        assertThat(rs).isEqualTo(1);
+        verify(this.callableStatement).setObject(9, 2L, Types.BIGINT);
+        verify(this.callableStatement).setNull(5, Types.DATE);
+        assertThat(callCount("update_stu", "1")).isEqualTo(1);
+    }
+
+    @Test
+    void updateStuNullOutParameterIsFailed() throws Exception {
+        prepareCall(UPDATE_CALL);
+        when(this.callableStatement.getInt(10)).thenReturn(0);
+        when(this.callableStatement.wasNull()).thenReturn(true);
+
+        int rs = this.storedProcedureGateway.call(ConstVariable.PROCEDURE_UPDATE_STUDENT, 5L, "Nguyễn Văn A",
+                "sv01@example.com", "hash", null, "Hà Nội", "MALE", "SV99", 2L);
+
+        assertThat(rs).isEqualTo(StoredProcedureGateway.RESULT_FAILED);
+        assertThat(callCount("update_stu", "0")).isEqualTo(1);
+    }
+
+    @Test
+    void deleteStuReturnsOutCode() throws Exception {
+        prepareCall(DELETE_CALL);
+        when(this.callableStatement.getInt(2)).thenReturn(1);
+
+        int rs = this.storedProcedureGateway.call(ConstVariable.PROCEDURE_DELETE_STUDENT, "SV01");
+
+        assertThat(rs).isEqualTo(1);
+        verify(this.callableStatement).setObject(1, "SV01", Types.VARCHAR);
+        verify(this.callableStatement).registerOutParameter(2, Types.INTEGER);
+        assertThat(callCount("delete_stu", "1")).isEqualTo(1);
+    }
+
+    @Test
+    void deleteStuSqlErrorIsTranslatedAndRecorded() throws Exception {
+        prepareCall(DELETE_CALL);
+        when(this.callableStatement.execute()).thenThrow(new SQLTransientConnectionException("Lock wait timeout"));
+
+        assertThatThrownBy(() -> this.storedProcedureGateway.call(ConstVariable.PROCEDURE_DELETE_STUDENT, "SV01"))
+                .isInstanceOf(DataAccessException.class)
+                .hasRootCauseInstanceOf(SQLException.class);
+        verify(this.connection).close();
+        assertThat(callCount("delete_stu", "error")).isEqualTo(1);
+    }
+
+    @Test
+    void unknownProcedureOrWrongArityIsRejectedBeforeCalling() {
+        assertThatThrownBy(() -> this.storedProcedureGateway.call("drop_stu", "SV01"))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> this.storedProcedureGateway.call(ConstVariable.PROCEDURE_DELETE_STUDENT))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("expects 1 parameters but got 0");
+        verifyNoInteractions(this.dataSource);
+    }
+
+    private void prepareCall(String sql) throws SQLException {
+        when(this.dataSource.getConnection()).thenReturn(this.connection);
+        when(this.connection.prepareCall(sql)).thenReturn(this.callableStatement);
+    }
+
+    private long callCount(String procedure, String result) {
+        return this.meterRegistry.get(StoredProcedureGateway.METRIC_NAME).tag("procedure", procedure)
+                .tag("result", result).timer().count();
+    }
+}
@@ -0,0 +1,157 @@
+package com.restful.quanlysinhvien.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.restful.quanlysinhvien.domain.ClassRoom;
+import com.restful.quanlysinhvien.domain.Role;
+import com.restful.quanlysinhvien.domain.dto.BatchRowResultDTO;
+import com.restful.quanlysinhvien.domain.dto.StudentDTO;
+
+/**
+ * Kiểm tra {@link StudentBatchRepository#insertWithinCapacity(List, Map)} trên
+ * H2: chỉ insert sinh viên còn chỗ trong lớp, cập nhật sĩ số, và báo trùng theo
+ * từng dòng khi batch gặp ràng buộc unique.
+ */
+@DataJpaTest
+@Import(StudentBatchRepository.class)
+class StudentBatchRepositoryTests {
+
+    @Autowired
+    private TestEntityManager testEntityManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private StudentBatchRepository studentBatchRepository;
+
+    private long roleId;
+    private final Map<String, Long> classIdByName = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+
+    @BeforeEach
+    void setUp() {
+        Role role = Role.builder().nameRole("USER").build();
+        this.testEntityManager.persist(role);
+        this.roleId = role.getId();
+        // còn 1 chỗ
+        this.classIdByName.put("CS101", persistClassRoom("CS101", 2, 1));
+        // không giới hạn sĩ số
+        this.classIdByName.put("CS102", persistClassRoom("CS102", null, 0));
+        this.testEntityManager.flush();
+    }
+
+    @Test
+    void insertsOnlyStudentsThatFitAndUpdatesCurrentStudents() {
+        List<StudentDTO> students = List.of(
+                student("SV01", "CS101"),
+                student("SV02", "cs101"),
+                student("SV03", "CS101"),
+                student("SV04", "CS102"),
+                student("SV05", "CS102"));
+
+        Map<Integer, BatchRowResultDTO> rejected = this.studentBatchRepository.insertWithinCapacity(students,
+                this.classIdByName);
+
+        assertThat(rejected.keySet()).containsExactlyInAnyOrder(1, 2);
+        assertThat(rejected.values()).extracting(BatchRowResultDTO::getStatus)
+                .containsOnly(BatchRowResultDTO.Status.CLASS_FULL);
+        assertThat(this.jdbcTemplate.queryForList("SELECT student_code FROM students ORDER BY student_code",
+                String.class)).containsExactly("SV01", "SV04", "SV05");
+        assertThat(currentStudents("CS101")).isEqualTo(2);
+        assertThat(currentStudents("CS102")).isEqualTo(2);
+    }
+
+    @Test
+    void duplicateInsertedConcurrentlyFallsBackToPerRowResults() {
+        // SV01 được tạo bởi request khác sau bước kiểm tra IN
+        this.studentBatchRepository.insertWithinCapacity(List.of(student("SV01", "CS102")), this.classIdByName);
+
+        Map<Integer, BatchRowResultDTO> rejected = this.studentBatchRepository.insertWithinCapacity(
+                List.of(student("SV01", "CS101"), student("SV02", "CS101")), this.classIdByName);
+
+        assertThat(rejected.keySet()).containsExactly(0);
+        assertThat(rejected.get(0).getStatus()).isEqualTo(BatchRowResultDTO.Status.DUPLICATE);
+        assertThat(rejected.get(0).getStudentCode()).isEqualTo("SV01");
+        assertThat(this.jdbcTemplate.queryForList("SELECT student_code FROM students ORDER BY student_code",
+                String.class)).containsExactly("SV01", "SV02");
+        // dòng trùng không chiếm chỗ còn lại của CS101
+        assertThat(currentStudents("CS101")).isEqualTo(2);
+        assertThat(currentStudents("CS102")).isEqualTo(1);
+    }
+
+    @Test
+    void unknownRoleIsReportedPerRowAndOtherRowsAreInserted() {
+        StudentDTO badRole = student("SV02", "CS102");
+        badRole.setRoleId(this.roleId + 1000);
+
+        Map<Integer, BatchRowResultDTO> rejected = this.studentBatchRepository.insertWithinCapacity(
+                List.of(student("SV01", "CS102"), badRole, student("SV03", "CS102")), this.classIdByName);
+
+        assertThat(rejected.keySet()).containsExactly(1);
+        assertThat(rejected.get(1).getStatus()).isEqualTo(BatchRowResultDTO.Status.ROLE_NOT_FOUND);
+        assertThat(this.jdbcTemplate.queryForList("SELECT student_code FROM students ORDER BY student_code",
+                String.class)).containsExactly("SV01", "SV03");
+        assertThat(currentStudents("CS102")).isEqualTo(2);
+    }
+
+    @Test
+    void classDeletedAfterLookupIsReportedAsNotFound() {
+        // id lớp đã tra cứu nhưng không còn trong database khi khóa
+        this.classIdByName.put("CS999", this.classIdByName.get("CS102") + 1000);
+
+        Map<Integer, BatchRowResultDTO> rejected = this.studentBatchRepository.insertWithinCapacity(
+                List.of(student("SV01", "CS999"), student("SV02", "CS102")), this.classIdByName);
+
+        assertThat(rejected.keySet()).containsExactly(0);
+        assertThat(rejected.get(0).getStatus()).isEqualTo(BatchRowResultDTO.Status.CLASS_NOT_FOUND);
+        assertThat(this.jdbcTemplate.queryForList("SELECT student_code FROM students", String.class))
+                .containsExactly("SV02");
+    }
+
+    @Test
+    void emptyBatchDoesNothing() {
+        assertThat(this.studentBatchRepository.insertWithinCapacity(List.of(), this.classIdByName)).isEmpty();
+        assertThat(this.jdbcTemplate.queryForObject("SELECT COUNT(*) FROM students", Integer.class)).isZero();
+    }
+
+    private long persistClassRoom(String className, Integer maxStudents, int currentStudents) {
+        ClassRoom classRoom = new ClassRoom();
+        classRoom.setClassName(className);
+        classRoom.setMaxStudents(maxStudents);
+        classRoom.setCurrentStudents(currentStudents);
+        this.testEntityManager.persist(classRoom);
+        return classRoom.getId();
+    }
+
+    private int currentStudents(String className) {
+        return this.jdbcTemplate.queryForObject("SELECT current_students FROM class_rooms WHERE class_name = ?",
+                Integer.class, className);
+    }
+
+    private StudentDTO student(String studentCode, String className) {
+        return StudentDTO.builder()
+                .studentCode(studentCode)
+                .fullName("Nguyễn Văn " + studentCode)
+                .email(studentCode.toLowerCase() + "@example.com")
+                .password("hashed")
+                .dateOfBirth(LocalDate.of(2002, 1, 1))
+                .address("Hà Nội")
+                .gender("MALE")
+                .className(className)
+                .roleId(this.roleId)
+                .build();
+    }
+}
@@ -0,0 +1,151 @@
+package com.restful.quanlysinhvien.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.LocalDate;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import com.restful.quanlysinhvien.domain.ClassRoom;
+import com.restful.quanlysinhvien.domain.Role;
+import com.restful.quanlysinhvien.domain.Student;
+import com.restful.quanlysinhvien.domain.dto.StudentFieldsRow;
+import com.restful.quanlysinhvien.domain.dto.StudentListRow;
+import com.restful.quanlysinhvien.domain.dto.StudentVersionRow;
+import com.restful.quanlysinhvien.util.StudentFields;
+
+/**
+ * Kiểm tra {@link StudentFilterRepositoryImpl} trên H2: ghép các
+ * {@link StudentSpecifications}, projection đầy đủ và theo {@code fields},
+ * phân trang cùng {@code countMatching}.
+ */
+@DataJpaTest
+class StudentFilterRepositoryTests {
+
+    @Autowired
+    private TestEntityManager testEntityManager;
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    private long cs101;
+    private long roleId;
+
+    @BeforeEach
+    void setUp() {
+        Role role = Role.builder().nameRole("USER").build();
+        this.testEntityManager.persist(role);
+        this.roleId = role.getId();
+        this.cs101 = persistClassRoom("CS101");
+        long cs102 = persistClassRoom("CS102");
+        persistStudent("SV01", "Trần Văn B", "MALE", LocalDate.of(2002, 3, 1), this.cs101, role);
+        persistStudent("SV02", "Lê Thị A", "FEMALE", LocalDate.of(2001, 5, 1), this.cs101, role);
+        persistStudent("SV03", "Nguyễn Văn C", "MALE", LocalDate.of(2003, 7, 1), this.cs101, null);
+        persistStudent("SV04", "Phạm Văn D", "MALE", LocalDate.of(2002, 9, 1), cs102, role);
+        this.testEntityManager.flush();
+        this.testEntityManager.clear();
+    }
+
+    @Test
+    void composedSpecificationsFilterOnEveryCondition() {
+        Specification<Student> spec = Specification.where(StudentSpecifications.inClassRoom(this.cs101))
+                .and(StudentSpecifications.hasGender("MALE"))
+                .and(StudentSpecifications.bornOnOrAfter(LocalDate.of(2002, 1, 1)))
+                .and(StudentSpecifications.bornOnOrBefore(LocalDate.of(2003, 12, 31)));
+
+        List<StudentListRow> rows = this.studentRepository.findStudentRows(spec,
+                StudentSpecifications.parseSort("-dateOfBirth", true));
+
+        assertThat(rows).extracting(r -> r.getStudent().getStudentCode()).containsExactly("SV03", "SV01");
+        assertThat(this.studentRepository.countMatching(spec)).isEqualTo(2);
+    }
+
+    @Test
+    void roleFilterAndNoneSpecification() {
+        assertThat(this.studentRepository.countMatching(StudentSpecifications.hasRoleId(this.roleId))).isEqualTo(3);
+        assertThat(this.studentRepository.countMatching(StudentSpecifications.none())).isZero();
+        assertThat(this.studentRepository.findStudentRows(StudentSpecifications.none(), Sort.by("id"))).isEmpty();
+    }
+
+    @Test
+    void rowProjectionCarriesClassNameAndZeroForMissingRole() {
+        List<StudentListRow> rows = this.studentRepository.findStudentRows(
+                StudentSpecifications.inClassRoom(this.cs101), StudentSpecifications.parseSort("fullName", true));
+
+        assertThat(rows).extracting(r -> r.getStudent().getStudentCode()).containsExactly("SV02", "SV03", "SV01");
+        assertThat(rows).allSatisfy(r -> assertThat(r.getStudent().getClassName()).isEqualTo("CS101"));
+        assertThat(rows.get(1).getStudent().getRoleId()).isZero();
+        assertThat(rows.get(0).getStudent().getRoleId()).isEqualTo(this.roleId);
+        assertThat(rows.get(0).getStudent().getPassword()).isNull();
+    }
+
+    @Test
+    void pagedRowsCountTotalAndMatchVersionRows() {
+        Pageable firstPage = PageRequest.of(0, 2, StudentSpecifications.parseSort(null, false));
+
+        Page<StudentListRow> page = this.studentRepository.findStudentRows(null, firstPage);
+
+        assertThat(page.getContent()).extracting(r -> r.getStudent().getStudentCode())
+                .containsExactly("SV01", "SV02");
+        assertThat(page.getTotalElements()).isEqualTo(4);
+        List<StudentVersionRow> versions = this.studentRepository.findVersionRows(null, firstPage);
+        assertThat(versions).extracting(StudentVersionRow::getId)
+                .containsExactlyElementsOf(page.getContent().stream().map(StudentListRow::getId).toList());
+    }
+
+    @Test
+    void fieldsProjectionReturnsOnlySelectedFieldsInOrder() {
+        Set<String> fields = new LinkedHashSet<>(List.of(StudentFields.CLASS_NAME, StudentFields.STUDENT_CODE,
+                StudentFields.ROLE_ID));
+
+        Page<StudentFieldsRow> page = this.studentRepository.findFields(StudentSpecifications.hasGender("MALE"),
+                fields, PageRequest.of(0, 2, StudentSpecifications.parseSort("dateOfBirth", true)));
+
+        assertThat(page.getTotalElements()).isEqualTo(3);
+        assertThat(page.getContent()).hasSize(2);
+        StudentFieldsRow first = page.getContent().get(0);
+        assertThat(first.getFields()).containsOnlyKeys(StudentFields.CLASS_NAME, StudentFields.STUDENT_CODE,
+                StudentFields.ROLE_ID);
+        assertThat(first.getFields().keySet()).containsExactlyElementsOf(fields);
+        assertThat(first.getFields()).containsEntry(StudentFields.STUDENT_CODE, "SV01")
+                .containsEntry(StudentFields.CLASS_NAME, "CS101")
+                .containsEntry(StudentFields.ROLE_ID, this.roleId);
+        assertThat(first.getId()).isPositive();
+    }
+
+    private long persistClassRoom(String className) {
+        ClassRoom classRoom = new ClassRoom();
+        classRoom.setClassName(className);
+        classRoom.setMaxStudents(50);
+        classRoom.setCurrentStudents(0);
+        this.testEntityManager.persist(classRoom);
+        return classRoom.getId();
+    }
+
+    private void persistStudent(String studentCode, String fullName, String gender, LocalDate dateOfBirth,
+            long classRoomId, Role role) {
+        this.testEntityManager.persist(Student.builder()
+                .studentCode(studentCode)
+                .fullName(fullName)
+                .email(studentCode.toLowerCase() + "@example.com")
+                .password("hashed")
+                .dateOfBirth(dateOfBirth)
+                .address("Hà Nội")
+                .gender(gender)
+                .classRoom(this.testEntityManager.find(ClassRoom.class, classRoomId))
+                .role(role)
+                .build());
+    }
+}
@@ -0,0 +1,107 @@
+package com.restful.quanlysinhvien.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.restful.quanlysinhvien.domain.ClassRoom;
+import com.restful.quanlysinhvien.domain.Role;
+import com.restful.quanlysinhvien.domain.dto.StudentDTO;
+import com.restful.quanlysinhvien.domain.dto.StudentSnapshotRow;
+
+/**
+ * Kiểm tra {@link StudentPatchRepository} trên H2: đọc trạng thái làm nền cho
+ * PATCH và ghi các cột thay đổi kèm tăng version.
+ */
+@DataJpaTest
+@Import({ StudentPatchRepository.class, StudentBatchRepository.class })
+class StudentPatchRepositoryTests {
+
+    @Autowired
+    private TestEntityManager testEntityManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private StudentPatchRepository studentPatchRepository;
+
+    @Autowired
+    private StudentBatchRepository studentBatchRepository;
+
+    private long roleId;
+
+    @BeforeEach
+    void setUp() {
+        Role role = Role.builder().nameRole("USER").build();
+        this.testEntityManager.persist(role);
+        this.roleId = role.getId();
+        ClassRoom classRoom = new ClassRoom();
+        classRoom.setClassName("CS101");
+        classRoom.setCurrentStudents(0);
+        this.testEntityManager.persist(classRoom);
+        this.testEntityManager.flush();
+
+        Map<String, Long> classIdByName = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+        classIdByName.put("CS101", classRoom.getId());
+        this.studentBatchRepository.insertWithinCapacity(List.of(StudentDTO.builder()
+                .studentCode("SV01")
+                .fullName("Nguyễn Văn A")
+                .email("sv01@example.com")
+                .password("stored-hash")
+                .dateOfBirth(LocalDate.of(2002, 1, 1))
+                .address("Hà Nội")
+                .gender("MALE")
+                .className("CS101")
+                .roleId(this.roleId)
+                .build()), classIdByName);
+    }
+
+    @Test
+    void findForUpdateReadsFullRowWithPasswordHashAndVersion() {
+        StudentSnapshotRow snapshot = this.studentPatchRepository.findForUpdate("SV01");
+
+        assertThat(snapshot.getPasswordHash()).isEqualTo("stored-hash");
+        assertThat(snapshot.getVersion()).isZero();
+        assertThat(snapshot.getStudent().getClassName()).isEqualTo("CS101");
+        assertThat(snapshot.getStudent().getDateOfBirth()).isEqualTo(LocalDate.of(2002, 1, 1));
+        assertThat(snapshot.getStudent().getRoleId()).isEqualTo(this.roleId);
+        assertThat(snapshot.getStudent().getPassword()).isNull();
+    }
+
+    @Test
+    void findForUpdateReturnsNullForMissingStudent() {
+        assertThat(this.studentPatchRepository.findForUpdate("SV99")).isNull();
+    }
+
+    @Test
+    void updateColumnsWritesOnlyChangesAndBumpsVersion() {
+        int updated = this.studentPatchRepository.updateColumns("SV01",
+                Map.of(StudentPatchRepository.COLUMN_ADDRESS, "Đà Nẵng"));
+
+        assertThat(updated).isEqualTo(1);
+        StudentSnapshotRow snapshot = this.studentPatchRepository.findForUpdate("SV01");
+        assertThat(snapshot.getStudent().getAddress()).isEqualTo("Đà Nẵng");
+        assertThat(snapshot.getStudent().getFullName()).isEqualTo("Nguyễn Văn A");
+        assertThat(snapshot.getVersion()).isEqualTo(1L);
+    }
+
+    @Test
+    void conditionalBumpFailsOnStaleVersion() {
+        assertThat(this.studentPatchRepository.bumpVersion("SV01", 5L)).isZero();
+        assertThat(this.studentPatchRepository.bumpVersion("SV01", 0L)).isEqualTo(1);
+        assertThat(this.jdbcTemplate.queryForObject("SELECT version FROM students WHERE student_code = 'SV01'",
+                Long.class)).isEqualTo(1L);
+    }
+}
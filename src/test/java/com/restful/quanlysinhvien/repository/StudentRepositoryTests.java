@@ -0,0 +1,141 @@
+package com.restful.quanlysinhvien.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+
+import com.restful.quanlysinhvien.domain.ClassRoom;
+import com.restful.quanlysinhvien.domain.Role;
+import com.restful.quanlysinhvien.domain.Student;
+import com.restful.quanlysinhvien.domain.dto.StudentCacheKeyRow;
+import com.restful.quanlysinhvien.domain.dto.StudentDTO;
+import com.restful.quanlysinhvien.domain.dto.StudentListRow;
+import com.restful.quanlysinhvien.domain.dto.StudentVersionRow;
+import com.restful.quanlysinhvien.util.ETags;
+
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Kiểm tra các projection của {@link StudentRepository} chỉ phát sinh đúng một
+ * câu SQL (không còn N+1 do classRoom/role LAZY), và các truy vấn version dùng
+ * cho ETag đọc đúng các dòng mà truy vấn dữ liệu trả về.
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+class StudentRepositoryTests {
+
+    private static final int STUDENT_COUNT = 10;
+
+    @Autowired
+    private TestEntityManager testEntityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        Role role = Role.builder().nameRole("USER").build();
+        this.testEntityManager.persist(role);
+        for (int c = 0; c < 2; c++) {
+            ClassRoom classRoom = new ClassRoom();
+            classRoom.setClassName("CS10" + c);
+            classRoom.setMaxStudents(50);
+            classRoom.setCurrentStudents(STUDENT_COUNT / 2);
+            this.testEntityManager.persist(classRoom);
+            for (int i = 0; i < STUDENT_COUNT / 2; i++) {
+                this.testEntityManager.persist(Student.builder()
+                        .studentCode("SV" + c + i)
+                        .fullName("Nguyễn Văn " + c + i)
+                        .email("sv" + c + i + "@example.com")
+                        .password("hashed")
+                        .dateOfBirth(LocalDate.of(2002, 1, 1))
+                        .address("Hà Nội")
+                        .gender("MALE")
+                        .classRoom(classRoom)
+                        .role(role)
+                        .build());
+            }
+        }
+        this.testEntityManager.flush();
+        this.testEntityManager.clear();
+
+        this.statistics = this.entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        this.statistics.clear();
+    }
+
+    @Test
+    void findAllStudentRowsUsesSingleStatement() {
+        List<StudentListRow> rows = this.studentRepository.findAllStudentRows();
+
+        assertThat(rows).hasSize(STUDENT_COUNT);
+        assertThat(rows).allSatisfy(r -> assertThat(r.getStudent().getClassName()).startsWith("CS10"));
+        assertThat(this.statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    void findStudentRowByStudentCodeUsesSingleStatement() {
+        StudentListRow row = this.studentRepository.findStudentRowByStudentCode("SV11");
+
+        assertThat(row).isNotNull();
+        assertThat(row.getVersion()).isZero();
+        StudentDTO student = row.getStudent();
+        assertThat(student.getClassName()).isEqualTo("CS101");
+        assertThat(student.getRoleId()).isPositive();
+        assertThat(this.statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    void pagedProjectionUsesOneStatementPlusCount() {
+        Page<StudentListRow> page = this.studentRepository.findStudentRows(PageRequest.of(0, 4));
+
+        assertThat(page.getContent()).hasSize(4);
+        assertThat(page.getTotalElements()).isEqualTo(STUDENT_COUNT);
+        // một câu lấy dữ liệu + một câu COUNT cho metadata
+        assertThat(this.statistics.getPrepareStatementCount()).isEqualTo(2);
+    }
+
+    @Test
+    void pageVersionsReadTheSameRowsAsPagedData() {
+        PageRequest pageable = PageRequest.of(1, 4);
+
+        List<Long> dataIds = this.studentRepository.findStudentRows(pageable).getContent().stream()
+                .map(StudentListRow::getId).toList();
+        List<Long> versionIds = this.studentRepository.findPageVersions(pageable).stream()
+                .map(StudentVersionRow::getId).toList();
+
+        assertThat(dataIds).hasSize(4).isSorted().isEqualTo(versionIds);
+    }
+
+    @Test
+    void tableFingerprintMatchesRowsReadForTheList() {
+        List<StudentListRow> rows = this.studentRepository.findAllStudentRows();
+
+        assertThat(rows).hasSize(STUDENT_COUNT);
+        assertThat(ETags.tableFingerprint(rows)).isEqualTo(this.studentRepository.findTableFingerprint());
+    }
+
+    @Test
+    void findCacheKeysByStudentCodeReturnsIdClassAndRole() {
+        StudentCacheKeyRow keys = this.studentRepository.findCacheKeysByStudentCode("SV11");
+
+        assertThat(keys.getId()).isPositive();
+        assertThat(keys.getClassRoomId()).isPositive();
+        assertThat(keys.getRoleId()).isPositive();
+        assertThat(this.studentRepository.findCacheKeysByStudentCode("SV99")).isNull();
+    }
+}
@@ -0,0 +1,64 @@
+package com.restful.quanlysinhvien.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+
+/**
+ * Kiểm tra {@link StudentSearchRepository}: chuỗi tìm kiếm được gửi dưới dạng
+ * cụm từ của {@code BOOLEAN MODE}, toán tử của người dùng không có tác dụng.
+ */
+class StudentSearchRepositoryTests {
+
+    @Test
+    void queryIsSentAsQuotedPhrase() {
+        assertThat(StudentSearchRepository.toPhrase("Nguyen Van")).isEqualTo("\"Nguyen Van\"");
+        assertThat(StudentSearchRepository.toPhrase("  Nguyễn   Văn\tA ")).isEqualTo("\"Nguyễn Văn A\"");
+    }
+
+    @Test
+    void operatorsStayInsideThePhrase() {
+        assertThat(StudentSearchRepository.toPhrase("+ha -noi*")).isEqualTo("\"+ha -noi*\"");
+        // dấu nháy kép trong chuỗi không được đóng cụm từ sớm
+        assertThat(StudentSearchRepository.toPhrase("ha\" -noi \"x")).isEqualTo("\"ha -noi x\"");
+    }
+
+    @Test
+    void queryOfOnlyQuotesMatchesNothingWithoutQuery() {
+        JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+        StudentSearchRepository repository = new StudentSearchRepository(jdbcTemplate);
+
+        assertThat(repository.search("\"\" \"", 0, 20)).isEmpty();
+        verifyNoInteractions(jdbcTemplate);
+    }
+
+    @Test
+    void searchBindsPhraseToBothMatchClauses() {
+        JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+        StudentSearchRepository repository = new StudentSearchRepository(jdbcTemplate);
+
+        repository.search("Nguyen Van", 40, 21);
+
+        verify(jdbcTemplate).query(any(String.class), any(RowMapper.class), eq("\"Nguyen Van\""),
+                eq("\"Nguyen Van\""), eq(21), eq(40L));
+    }
+
+    @Test
+    void indexScriptCreatesTheIndexUsedBySearch() throws IOException {
+        String script = new ClassPathResource(StudentSearchRepository.FULLTEXT_INDEX_SCRIPT)
+                .getContentAsString(StandardCharsets.UTF_8);
+
+        assertThat(script).contains(StudentSearchRepository.FULLTEXT_INDEX_NAME, "WITH PARSER ngram");
+    }
+}
@@ -0,0 +1,58 @@
+package com.restful.quanlysinhvien.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.data.domain.Sort;
+
+import com.restful.quanlysinhvien.util.error.BadRequestExceptionCustom;
+
+/**
+ * Kiểm tra {@link StudentSpecifications#parseSort(String, boolean)}: chỉ nhận
+ * khóa có index cho điều kiện đang lọc và luôn thêm id cuối cùng.
+ */
+class StudentSpecificationsTests {
+
+    @Test
+    void defaultSortIsIdWithoutColumnFilter() {
+        assertThat(StudentSpecifications.parseSort(null, false)).isEqualTo(Sort.by("id"));
+        assertThat(StudentSpecifications.parseSort(" ", false)).isEqualTo(Sort.by("id"));
+    }
+
+    @Test
+    void defaultSortFollowsCompositeIndexWithColumnFilter() {
+        assertThat(StudentSpecifications.parseSort(null, true)).isEqualTo(Sort.by("dateOfBirth", "id"));
+    }
+
+    @Test
+    void descendingSortAppendsIdInSameDirection() {
+        assertThat(StudentSpecifications.parseSort("-fullName", false))
+                .isEqualTo(Sort.by(Sort.Direction.DESC, "fullName", "id"));
+        assertThat(StudentSpecifications.parseSort("-id", false)).isEqualTo(Sort.by(Sort.Direction.DESC, "id"));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = { "email", "password", "-address", "classRoom.className", "--id" })
+    void rejectsPropertiesOutsideAllowList(String sort) {
+        assertThatThrownBy(() -> StudentSpecifications.parseSort(sort, false))
+                .isInstanceOf(BadRequestExceptionCustom.class);
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = { "id", "-id", "studentCode" })
+    void rejectsSortsWithoutIndexForColumnFilter(String sort) {
+        assertThatThrownBy(() -> StudentSpecifications.parseSort(sort, true))
+                .isInstanceOf(BadRequestExceptionCustom.class)
+                .hasMessageContaining("fullName, dateOfBirth");
+    }
+
+    @Test
+    void acceptsIndexedSortsForColumnFilter() {
+        assertThat(StudentSpecifications.parseSort("fullName", true)).isEqualTo(Sort.by("fullName", "id"));
+        assertThat(StudentSpecifications.parseSort("-dateOfBirth", true))
+                .isEqualTo(Sort.by(Sort.Direction.DESC, "dateOfBirth", "id"));
+    }
+}
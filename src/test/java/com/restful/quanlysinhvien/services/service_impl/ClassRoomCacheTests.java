@@ -0,0 +1,100 @@
+package com.restful.quanlysinhvien.services.service_impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.restful.quanlysinhvien.domain.ClassRoom;
+import com.restful.quanlysinhvien.domain.dto.ClassRoomDTO;
+import com.restful.quanlysinhvien.repository.ClassRoomRepository;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Kiểm tra {@link ClassRoomCache}: đọc qua cache, không cache tên lớp không tồn
+ * tại, xóa theo tên, tra cứu không phân biệt hoa thường.
+ */
+class ClassRoomCacheTests {
+    private ClassRoomRepository classRoomRepository;
+    private ClassRoomCache classRoomCache;
+
+    @BeforeEach
+    void setUp() {
+        this.classRoomRepository = mock(ClassRoomRepository.class);
+        this.classRoomCache = new ClassRoomCache(this.classRoomRepository, new SimpleMeterRegistry(), 100,
+                Duration.ofMinutes(30));
+    }
+
+    @Test
+    void secondLookupIsServedFromCache() {
+        when(this.classRoomRepository.findByClassName("CS101")).thenReturn(classRoom(1, "CS101", 50));
+
+        ClassRoomDTO first = this.classRoomCache.findByClassName("CS101");
+        ClassRoomDTO second = this.classRoomCache.findByClassName("CS101");
+
+        assertThat(first.getId()).isEqualTo(1L);
+        assertThat(second).isSameAs(first);
+        verify(this.classRoomRepository, times(1)).findByClassName("CS101");
+    }
+
+    @Test
+    void missingClassIsNotCached() {
+        assertThat(this.classRoomCache.findByClassName("NOPE")).isNull();
+        assertThat(this.classRoomCache.findByClassName("NOPE")).isNull();
+
+        verify(this.classRoomRepository, times(2)).findByClassName("NOPE");
+    }
+
+    @Test
+    void evictForcesReload() {
+        when(this.classRoomRepository.findByClassName("CS101")).thenReturn(classRoom(1, "CS101", 50));
+        this.classRoomCache.findByClassName("CS101");
+
+        this.classRoomCache.evict("CS101");
+        this.classRoomCache.findByClassName("CS101");
+
+        verify(this.classRoomRepository, times(2)).findByClassName("CS101");
+    }
+
+    @Test
+    void bulkLookupOnlyQueriesMissingNames() {
+        when(this.classRoomRepository.findByClassName("CS101")).thenReturn(classRoom(1, "CS101", 50));
+        when(this.classRoomRepository.findByClassNameIn(anyCollection()))
+                .thenReturn(List.of(classRoom(2, "CS102", 40)));
+        this.classRoomCache.findByClassName("CS101");
+
+        Map<String, ClassRoomDTO> found = this.classRoomCache.findByClassNames(List.of("CS101", "CS102", "NOPE"));
+
+        assertThat(found).containsOnlyKeys("CS101", "CS102");
+        verify(this.classRoomRepository).findByClassNameIn(anyCollection());
+        verify(this.classRoomRepository, never()).findByClassName("CS102");
+    }
+
+    @Test
+    void lookupsIgnoreCaseLikeTheDatabase() {
+        when(this.classRoomRepository.findByClassName("cntt-k60")).thenReturn(classRoom(3, "CNTT-K60", 60));
+
+        assertThat(this.classRoomCache.findByClassName("cntt-k60").getClassName()).isEqualTo("CNTT-K60");
+        assertThat(this.classRoomCache.findByClassName("CNTT-K60").getId()).isEqualTo(3L);
+        Map<String, ClassRoomDTO> found = this.classRoomCache.findByClassNames(List.of("Cntt-K60"));
+
+        assertThat(found.get("cntt-k60").getId()).isEqualTo(3L);
+        verify(this.classRoomRepository, times(1)).findByClassName("cntt-k60");
+        verify(this.classRoomRepository, never()).findByClassNameIn(anyCollection());
+    }
+
+    static ClassRoom classRoom(long id, String className, Integer maxStudents) {
+        return new ClassRoom(id, className, null, maxStudents, 0, null);
+    }
+}
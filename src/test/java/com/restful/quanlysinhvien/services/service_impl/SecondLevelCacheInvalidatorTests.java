@@ -0,0 +1,105 @@
+package com.restful.quanlysinhvien.services.service_impl;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.clearInvocations;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.Arrays;
+import java.util.List;
+
+import org.hibernate.Cache;
+import org.hibernate.SessionFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.restful.quanlysinhvien.domain.ClassRoom;
+import com.restful.quanlysinhvien.domain.Role;
+import com.restful.quanlysinhvien.domain.Student;
+import com.restful.quanlysinhvien.repository.StudentRepository;
+
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Kiểm tra {@link SecondLevelCacheInvalidator} chỉ xóa các entry bị ảnh hưởng
+ * và xóa lại sau khi transaction kết thúc.
+ */
+@ExtendWith(MockitoExtension.class)
+class SecondLevelCacheInvalidatorTests {
+    @Mock
+    private EntityManagerFactory entityManagerFactory;
+    @Mock
+    private SessionFactory sessionFactory;
+    @Mock
+    private Cache cache;
+
+    private SecondLevelCacheInvalidator invalidator;
+
+    @BeforeEach
+    void setUp() {
+        when(this.entityManagerFactory.unwrap(SessionFactory.class)).thenReturn(this.sessionFactory);
+        when(this.sessionFactory.getCache()).thenReturn(this.cache);
+        this.invalidator = new SecondLevelCacheInvalidator(this.entityManagerFactory);
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void updateEvictsOnlyAffectedEntries() {
+        this.invalidator.evictStudentWrites(7L, Arrays.asList(1L, 5L, null), Arrays.asList(2L, 2L));
+
+        verify(this.cache).evictEntityData(Student.class, 7L);
+        verify(this.cache).evictEntityData(ClassRoom.class, 1L);
+        verify(this.cache).evictEntityData(ClassRoom.class, 5L);
+        verify(this.cache).evictCollectionData(ClassRoom.class.getName() + ".students", 1L);
+        verify(this.cache).evictCollectionData(ClassRoom.class.getName() + ".students", 5L);
+        verify(this.cache).evictCollectionData(Role.class.getName() + ".students", 2L);
+        verify(this.cache).evictQueryRegion(StudentRepository.QUERY_CACHE_REGION);
+        verify(this.cache, never()).evictNaturalIdData(any(Class.class));
+        verify(this.cache, never()).evictEntityData(Student.class);
+        verify(this.cache, never()).evictDefaultQueryRegion();
+    }
+
+    @Test
+    void newStudentHasNoEntityToEvict() {
+        this.invalidator.evictStudentWrites(null, List.of(1L), List.of());
+
+        verify(this.cache, never()).evictEntityData(any(Class.class), any());
+        verify(this.cache).evictCollectionData(ClassRoom.class.getName() + ".students", 1L);
+    }
+
+    @Test
+    void deletionAlsoEvictsNaturalIds() {
+        this.invalidator.evictStudentDeletion(7L, null, 2L);
+
+        verify(this.cache).evictEntityData(Student.class, 7L);
+        verify(this.cache).evictNaturalIdData(Student.class);
+        verify(this.cache).evictCollectionData(Role.class.getName() + ".students", 2L);
+    }
+
+    @Test
+    void evictsAgainAfterTransactionCompletes() {
+        TransactionSynchronizationManager.initSynchronization();
+
+        this.invalidator.evictStudentWrites(7L, List.of(1L), List.of());
+        clearInvocations(this.cache);
+        for (TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+            synchronization.afterCompletion(TransactionSynchronization.STATUS_COMMITTED);
+        }
+
+        verify(this.cache).evictEntityData(Student.class, 7L);
+        verify(this.cache).evictQueryRegion(StudentRepository.QUERY_CACHE_REGION);
+    }
+}
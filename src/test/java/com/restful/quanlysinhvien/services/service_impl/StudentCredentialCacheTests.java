@@ -0,0 +1,77 @@
+package com.restful.quanlysinhvien.services.service_impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.restful.quanlysinhvien.domain.dto.StudentCredentialDTO;
+import com.restful.quanlysinhvien.repository.StudentRepository;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Kiểm tra {@link StudentCredentialCache}: một truy vấn cho mỗi mã, không cache
+ * mã không tồn tại, xóa khi sinh viên thay đổi.
+ */
+class StudentCredentialCacheTests {
+    private StudentRepository studentRepository;
+    private StudentCredentialCache cache;
+
+    @BeforeEach
+    void setUp() {
+        this.studentRepository = mock(StudentRepository.class);
+        this.cache = new StudentCredentialCache(this.studentRepository, new SimpleMeterRegistry(), 100,
+                Duration.ofMinutes(5));
+    }
+
+    @Test
+    void repeatedLoginsReadTheDatabaseOnce() {
+        when(this.studentRepository.findCredentialByStudentCode("SV01"))
+                .thenReturn(new StudentCredentialDTO("SV01", "hash", "USER"));
+
+        assertThat(this.cache.findByStudentCode("SV01").getPassword()).isEqualTo("hash");
+        assertThat(this.cache.findByStudentCode("SV01").getRoleName()).isEqualTo("USER");
+
+        verify(this.studentRepository, times(1)).findCredentialByStudentCode("SV01");
+    }
+
+    @Test
+    void unknownStudentIsNotCached() {
+        assertThat(this.cache.findByStudentCode("NOPE")).isNull();
+        assertThat(this.cache.findByStudentCode("NOPE")).isNull();
+
+        verify(this.studentRepository, times(2)).findCredentialByStudentCode("NOPE");
+    }
+
+    @Test
+    void evictReloadsNewPassword() {
+        when(this.studentRepository.findCredentialByStudentCode("SV01"))
+                .thenReturn(new StudentCredentialDTO("SV01", "old", "USER"))
+                .thenReturn(new StudentCredentialDTO("SV01", "new", "USER"));
+        this.cache.findByStudentCode("SV01");
+
+        this.cache.evict("SV01");
+
+        assertThat(this.cache.findByStudentCode("SV01").getPassword()).isEqualTo("new");
+    }
+
+    @Test
+    void codesDifferingOnlyInCaseShareOneEntry() {
+        when(this.studentRepository.findCredentialByStudentCode("sv01"))
+                .thenReturn(new StudentCredentialDTO("SV01", "old", "USER"))
+                .thenReturn(new StudentCredentialDTO("SV01", "new", "USER"));
+        this.cache.findByStudentCode("sv01");
+
+        assertThat(this.cache.findByStudentCode("SV01").getPassword()).isEqualTo("old");
+        // PUT /students/SV01 phải xóa được entry nạp qua đăng nhập "sv01"
+        this.cache.evict("SV01");
+        assertThat(this.cache.findByStudentCode("sv01").getPassword()).isEqualTo("new");
+    }
+}
@@ -0,0 +1,94 @@
+package com.restful.quanlysinhvien.services.service_impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.time.LocalDate;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.restful.quanlysinhvien.domain.dto.StudentListRow;
+import com.restful.quanlysinhvien.domain.dto.VersionedStudentDTO;
+import com.restful.quanlysinhvien.repository.StudentRepository;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Kiểm tra {@link StudentDTOCache}: trả bản sao, key không phân biệt hoa
+ * thường như database, xóa được theo bất kỳ cách viết mã nào, và version được
+ * cache cùng dữ liệu.
+ */
+class StudentDTOCacheTests {
+    private StudentRepository studentRepository;
+    private StudentDTOCache cache;
+
+    @BeforeEach
+    void setUp() {
+        this.studentRepository = mock(StudentRepository.class);
+        this.cache = new StudentDTOCache(this.studentRepository, new ObjectMapper().findAndRegisterModules(),
+                new SimpleMeterRegistry(), 100, Duration.ofMinutes(10));
+    }
+
+    @Test
+    void returnsCopiesSoCallersCannotCorruptTheCache() {
+        when(this.studentRepository.findStudentRowByStudentCode("SV01")).thenReturn(student("Hà Nội"));
+
+        this.cache.findByStudentCode("SV01").getStudent().setAddress("đã sửa");
+
+        assertThat(this.cache.findByStudentCode("SV01").getStudent().getAddress()).isEqualTo("Hà Nội");
+        verify(this.studentRepository, times(1)).findStudentRowByStudentCode(any());
+    }
+
+    @Test
+    void codesDifferingOnlyInCaseShareOneEntry() {
+        when(this.studentRepository.findStudentRowByStudentCode("sv01")).thenReturn(student("Hà Nội"));
+
+        assertThat(this.cache.findByStudentCode("sv01").getStudent().getStudentCode()).isEqualTo("SV01");
+        assertThat(this.cache.findByStudentCode("SV01").getStudent().getStudentCode()).isEqualTo("SV01");
+
+        verify(this.studentRepository, times(1)).findStudentRowByStudentCode(any());
+    }
+
+    @Test
+    void evictWithDifferentCaseRemovesTheEntry() {
+        when(this.studentRepository.findStudentRowByStudentCode(any()))
+                .thenReturn(student("Hà Nội"))
+                .thenReturn(student("Đà Nẵng"));
+        this.cache.findByStudentCode("sv01");
+
+        this.cache.evict("SV01");
+
+        assertThat(this.cache.findByStudentCode("sv01").getStudent().getAddress()).isEqualTo("Đà Nẵng");
+    }
+
+    @Test
+    void versionIsCachedWithTheStudent() {
+        when(this.studentRepository.findStudentRowByStudentCode("SV01")).thenReturn(student("Hà Nội"));
+
+        this.cache.findByStudentCode("SV01");
+        VersionedStudentDTO hit = this.cache.findByStudentCode("SV01");
+
+        assertThat(hit.getVersion()).isEqualTo(3L);
+        verify(this.studentRepository, times(1)).findStudentRowByStudentCode(any());
+    }
+
+    @Test
+    void unknownStudentIsNotCached() {
+        assertThat(this.cache.findByStudentCode("NOPE")).isNull();
+        assertThat(this.cache.findByStudentCode("NOPE")).isNull();
+
+        verify(this.studentRepository, times(2)).findStudentRowByStudentCode("NOPE");
+    }
+
+    private static StudentListRow student(String address) {
+        return new StudentListRow(1L, 3L, "SV01", "Nguyễn Văn A", "sv01@example.com", LocalDate.of(2002, 1, 1),
+                address, "MALE", "CS101", 2L);
+    }
+}
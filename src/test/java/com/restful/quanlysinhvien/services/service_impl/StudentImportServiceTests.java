@@ -0,0 +1,176 @@
+package com.restful.quanlysinhvien.services.service_impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.mock.web.MockMultipartFile;
+
+import com.restful.quanlysinhvien.domain.dto.BatchResultDTO;
+import com.restful.quanlysinhvien.domain.dto.BatchRowResultDTO;
+import com.restful.quanlysinhvien.domain.dto.ImportJobDTO;
+import com.restful.quanlysinhvien.domain.dto.ImportRowErrorDTO;
+import com.restful.quanlysinhvien.domain.dto.StudentDTO;
+
+import jakarta.validation.Validation;
+import jakarta.validation.ValidatorFactory;
+
+/**
+ * Kiểm tra job import CSV: đọc file (BOM, nháy, CRLF), lỗi theo dòng và ngữ
+ * nghĩa khi cả chunk thất bại (chỉ khi mất kết nối database).
+ */
+class StudentImportServiceTests {
+    private static final String HEADER = "\uFEFF\"studentCode\",fullName,email,password,dateOfBirth,address,gender,"
+            + "className,roleId\r\n";
+
+    private ValidatorFactory validatorFactory;
+    private StudentService studentService;
+    private StudentImportService importService;
+
+    @BeforeEach
+    void setUp() {
+        this.validatorFactory = Validation.buildDefaultValidatorFactory();
+        this.studentService = mock(StudentService.class);
+        this.importService = new StudentImportService(this.studentService, this.validatorFactory.getValidator());
+    }
+
+    @AfterEach
+    void tearDown() {
+        this.importService.shutdown();
+        this.validatorFactory.close();
+    }
+
+    @Test
+    void importsQuotedFieldsAndReportsInvalidRowsByLine() throws Exception {
+        when(this.studentService.createStuBatch(anyList())).thenAnswer(inv -> created(inv.getArgument(0)));
+
+        ImportJobDTO job = runToCompletion(HEADER
+                + "SV01,\"Nguyễn Văn A\",a@x.vn,matkhau123,2002-01-01,\"Số 1, \"\"Ngõ\"\" 2\",MALE,CS101,2\r\n"
+                + "\r\n"
+                + "SV02,Trần Thị B,b@x.vn,matkhau123,02/01/2002,Hà Nội,FEMALE,CS101,2\r\n"
+                + "SV03,Lê Văn C,c@x.vn,matkhau123,2002-03-01,Hà Nội,MALE,CS101,abc\r\n");
+
+        assertThat(job.getStatus()).isEqualTo(ImportJobDTO.Status.COMPLETED);
+        assertThat(job.getProcessedRows()).isEqualTo(3);
+        assertThat(job.getCreatedRows()).isEqualTo(1);
+        assertThat(job.getFailedRows()).isEqualTo(2);
+        assertThat(job.getErrors()).extracting(ImportRowErrorDTO::getLine, ImportRowErrorDTO::getMessage)
+                .containsExactlyInAnyOrder(
+                        tuple(4, "dateOfBirth must be in yyyy-MM-dd format"),
+                        tuple(5, "roleId must be a number"));
+
+        ArgumentCaptor<List<StudentDTO>> batch = captor();
+        verify(this.studentService).createStuBatch(batch.capture());
+        assertThat(batch.getValue()).singleElement()
+                .satisfies(s -> assertThat(s.getAddress()).isEqualTo("Số 1, \"Ngõ\" 2"));
+    }
+
+    @Test
+    void rowWithUnknownRoleFailsAloneAndOtherRowsImport() throws Exception {
+        when(this.studentService.createStuBatch(anyList())).thenAnswer(inv -> {
+            BatchResultDTO result = created(inv.getArgument(0));
+            result.getResults().set(1, new BatchRowResultDTO(1, "SV02", BatchRowResultDTO.Status.ROLE_NOT_FOUND,
+                    "Role not found"));
+            result.setCreated(2);
+            result.setFailed(1);
+            return result;
+        });
+
+        ImportJobDTO job = runToCompletion(HEADER
+                + "SV01,Nguyễn Văn A,a@x.vn,matkhau123,2002-01-01,Hà Nội,MALE,CS101,2\r\n"
+                + "SV02,Trần Thị B,b@x.vn,matkhau123,2002-01-02,Hà Nội,FEMALE,CS101,99\r\n"
+                + "SV03,Lê Văn C,c@x.vn,matkhau123,2002-01-03,Hà Nội,MALE,CS101,2\r\n");
+
+        assertThat(job.getStatus()).isEqualTo(ImportJobDTO.Status.COMPLETED);
+        assertThat(job.getCreatedRows()).isEqualTo(2);
+        assertThat(job.getFailedRows()).isEqualTo(1);
+        assertThat(job.getErrors()).extracting(ImportRowErrorDTO::getLine, ImportRowErrorDTO::getStudentCode,
+                ImportRowErrorDTO::getMessage).containsExactly(tuple(3, "SV02", "Role not found"));
+    }
+
+    @Test
+    void unexpectedErrorFailsTheJobInsteadOfEveryRow() throws Exception {
+        when(this.studentService.createStuBatch(anyList())).thenThrow(new IllegalStateException("boom"));
+
+        ImportJobDTO job = runToCompletion(HEADER
+                + "SV01,Nguyễn Văn A,a@x.vn,matkhau123,2002-01-01,Hà Nội,MALE,CS101,2\r\n");
+
+        assertThat(job.getStatus()).isEqualTo(ImportJobDTO.Status.FAILED);
+        assertThat(job.getFailureReason()).isEqualTo("boom");
+        assertThat(job.getErrors()).isEmpty();
+    }
+
+    @Test
+    void databaseFailureMarksEveryValidRowAndJobStillCompletes() throws Exception {
+        when(this.studentService.createStuBatch(anyList()))
+                .thenThrow(new DataAccessResourceFailureException("boom"));
+
+        ImportJobDTO job = runToCompletion(HEADER
+                + "SV01,Nguyễn Văn A,a@x.vn,matkhau123,2002-01-01,Hà Nội,MALE,CS101,2\r\n"
+                + "SV02,Trần Thị B,not-an-email,matkhau123,2002-01-02,Hà Nội,FEMALE,CS101,2\r\n"
+                + "SV03,Lê Văn C,c@x.vn,matkhau123,2002-01-03,Hà Nội,MALE,CS101,2\r\n");
+
+        assertThat(job.getStatus()).isEqualTo(ImportJobDTO.Status.COMPLETED);
+        assertThat(job.getCreatedRows()).isZero();
+        assertThat(job.getFailedRows()).isEqualTo(3);
+        assertThat(job.getErrors()).extracting(ImportRowErrorDTO::getStudentCode, ImportRowErrorDTO::getMessage)
+                .containsExactlyInAnyOrder(
+                        tuple("SV01", "Chunk failed: boom"),
+                        tuple("SV02", "Email should be valid"),
+                        tuple("SV03", "Chunk failed: boom"));
+    }
+
+    @Test
+    void missingColumnsFailTheJob() throws Exception {
+        ImportJobDTO job = runToCompletion("studentCode,fullName\r\nSV01,Nguyễn Văn A\r\n");
+
+        assertThat(job.getStatus()).isEqualTo(ImportJobDTO.Status.FAILED);
+        assertThat(job.getFailureReason()).startsWith("Missing CSV columns: email");
+        verify(this.studentService, never()).createStuBatch(anyList());
+    }
+
+    private ImportJobDTO runToCompletion(String csv) throws InterruptedException {
+        MockMultipartFile file = new MockMultipartFile("file", "students.csv", "text/csv",
+                csv.getBytes(StandardCharsets.UTF_8));
+        String jobId = this.importService.startImport(file).getJobId();
+        long deadline = System.nanoTime() + Duration.ofSeconds(10).toNanos();
+        ImportJobDTO job = this.importService.getImportJob(jobId);
+        while (job.getFinishedAt() == null && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+            job = this.importService.getImportJob(jobId);
+        }
+        assertThat(job.getFinishedAt()).as("job finished").isNotNull();
+        return job;
+    }
+
+    private static BatchResultDTO created(List<StudentDTO> students) {
+        List<BatchRowResultDTO> rows = new ArrayList<>();
+        for (int i = 0; i < students.size(); i++) {
+            rows.add(new BatchRowResultDTO(i, students.get(i).getStudentCode(), BatchRowResultDTO.Status.CREATED,
+                    null));
+        }
+        BatchResultDTO result = new BatchResultDTO();
+        result.setCreated(rows.size());
+        result.setResults(rows);
+        return result;
+    }
+
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    private static ArgumentCaptor<List<StudentDTO>> captor() {
+        return (ArgumentCaptor) ArgumentCaptor.forClass(List.class);
+    }
+}
@@ -0,0 +1,66 @@
+package com.restful.quanlysinhvien.services.service_impl;
+
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import java.sql.SQLException;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.BadSqlGrammarException;
+
+import com.restful.quanlysinhvien.repository.StudentSearchRepository;
+
+/**
+ * Kiểm tra {@link StudentSearchIndexInitializer}: mặc định không đụng tới
+ * database, khi được bật chỉ tạo index nếu chưa có và không chặn khởi động khi
+ * lỗi.
+ */
+class StudentSearchIndexInitializerTests {
+    private StudentSearchRepository studentSearchRepository;
+
+    @BeforeEach
+    void setUp() {
+        this.studentSearchRepository = mock(StudentSearchRepository.class);
+    }
+
+    @Test
+    void disabledInitializerDoesNothing() {
+        new StudentSearchIndexInitializer(this.studentSearchRepository, false).createIndexIfMissing();
+
+        verifyNoInteractions(this.studentSearchRepository);
+    }
+
+    @Test
+    void existingIndexIsNotCreatedAgain() {
+        when(this.studentSearchRepository.fullTextIndexExists()).thenReturn(true);
+
+        new StudentSearchIndexInitializer(this.studentSearchRepository, true).createIndexIfMissing();
+
+        verify(this.studentSearchRepository, never()).createFullTextIndex();
+    }
+
+    @Test
+    void missingIndexIsCreated() {
+        when(this.studentSearchRepository.fullTextIndexExists()).thenReturn(false);
+
+        new StudentSearchIndexInitializer(this.studentSearchRepository, true).createIndexIfMissing();
+
+        verify(this.studentSearchRepository).createFullTextIndex();
+    }
+
+    @Test
+    void failureDoesNotBlockStartup() {
+        when(this.studentSearchRepository.fullTextIndexExists()).thenReturn(false);
+        doThrow(new BadSqlGrammarException("create index", "ALTER TABLE", new SQLException()))
+                .when(this.studentSearchRepository).createFullTextIndex();
+
+        new StudentSearchIndexInitializer(this.studentSearchRepository, true).createIndexIfMissing();
+
+        verify(this.studentSearchRepository).createFullTextIndex();
+    }
+}
@@ -0,0 +1,577 @@
+package com.restful.quanlysinhvien.services.service_impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.restful.quanlysinhvien.domain.dto.BatchResultDTO;
+import com.restful.quanlysinhvien.domain.dto.BatchRowResultDTO;
+import com.restful.quanlysinhvien.domain.dto.ClassRoomDTO;
+import com.restful.quanlysinhvien.domain.dto.ETaggedResult;
+import com.restful.quanlysinhvien.domain.dto.ResultCursorDTO;
+import com.restful.quanlysinhvien.domain.dto.StudentDTO;
+import com.restful.quanlysinhvien.domain.dto.StudentFieldsRow;
+import com.restful.quanlysinhvien.domain.dto.StudentFilter;
+import com.restful.quanlysinhvien.domain.dto.StudentListRow;
+import com.restful.quanlysinhvien.domain.dto.StudentSnapshotRow;
+import com.restful.quanlysinhvien.domain.dto.StudentVersionRow;
+import com.restful.quanlysinhvien.domain.dto.VersionedStudentDTO;
+import com.restful.quanlysinhvien.repository.ConstVariable;
+import com.restful.quanlysinhvien.repository.StoredProcedureGateway;
+import com.restful.quanlysinhvien.repository.StudentBatchRepository;
+import com.restful.quanlysinhvien.repository.StudentPatchRepository;
+import com.restful.quanlysinhvien.repository.StudentRepository;
+import com.restful.quanlysinhvien.repository.StudentSearchRepository;
+import com.restful.quanlysinhvien.util.ETags;
+import com.restful.quanlysinhvien.util.ExportFormat;
+import com.restful.quanlysinhvien.util.ExecutorPasswordEncoder;
+import com.restful.quanlysinhvien.util.KeysetCursor;
+import com.restful.quanlysinhvien.util.error.BadRequestExceptionCustom;
+import com.restful.quanlysinhvien.util.error.DuplicateResourceException;
+import com.restful.quanlysinhvien.util.error.PreconditionFailedException;
+import com.restful.quanlysinhvien.util.error.ResourceNotFoundException;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.validation.Validator;
+
+/**
+ * Kiểm tra logic của {@link StudentService} với repository/cache giả lập
+ * (không cần database).
+ */
+@ExtendWith(MockitoExtension.class)
+class StudentServiceTests {
+    @Mock
+    private StudentRepository studentRepository;
+    @Mock
+    private ClassRoomCache classRoomCache;
+    @Mock
+    private StudentCredentialCache studentCredentialCache;
+    @Mock
+    private StudentDTOCache studentDTOCache;
+    @Mock
+    private StudentExistenceFilter studentExistenceFilter;
+    @Mock
+    private StudentSuggestIndex studentSuggestIndex;
+    @Mock
+    private SecondLevelCacheInvalidator secondLevelCacheInvalidator;
+    @Mock
+    private StudentBatchRepository studentBatchRepository;
+    @Mock
+    private StudentPatchRepository studentPatchRepository;
+    @Mock
+    private StudentSearchRepository studentSearchRepository;
+    @Mock
+    private StoredProcedureGateway storedProcedureGateway;
+    @Mock
+    private ExecutorPasswordEncoder passwordEncoder;
+    @Mock
+    private TransactionTemplate transactionTemplate;
+    @Spy
+    private ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+    @Mock
+    private Validator validator;
+    @Spy
+    private SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @InjectMocks
+    private StudentService studentService;
+
+    @Captor
+    private ArgumentCaptor<Map<String, Long>> classIdsCaptor;
+
+    @Test
+    void cursorPageSizeAboveLimitIsBadRequest() {
+        assertThatThrownBy(() -> cursorPage("", "101")).isInstanceOf(BadRequestExceptionCustom.class);
+        assertThatThrownBy(() -> cursorPage("", String.valueOf(Integer.MAX_VALUE)))
+                .isInstanceOf(BadRequestExceptionCustom.class);
+        verifyNoInteractions(this.studentRepository);
+    }
+
+    @Test
+    void invalidCursorIsBadRequest() {
+        assertThatThrownBy(() -> cursorPage("not a cursor", null)).isInstanceOf(BadRequestExceptionCustom.class);
+        verifyNoInteractions(this.studentRepository);
+    }
+
+    @Test
+    void cursorPageReturnsNextCursorFromExtraRow() {
+        List<StudentListRow> rows = List.of(listRow(1, "SV01"), listRow(2, "SV02"), listRow(3, "SV03"));
+        when(this.studentRepository.findNextPageById(anyLong(), any())).thenReturn(rows);
+
+        ResultCursorDTO page = cursorPage("", "2");
+
+        assertThat(page.getResult()).hasSize(2);
+        assertThat(page.getMeta().isHasNext()).isTrue();
+        assertThat(KeysetCursor.decode(page.getMeta().getNextCursor()).lastId()).isEqualTo(2L);
+    }
+
+    @Test
+    void pageETagComesFromReturnedRowsAndMatchesPrecomputedETag() {
+        PageRequest pageable = PageRequest.of(1, 2);
+        when(this.studentRepository.findStudentRows(pageable)).thenReturn(
+                new PageImpl<>(List.of(listRow(3, "SV03"), listRow(4, "SV04")), pageable, 5));
+
+        ETaggedResult<?> list = this.studentService.getList(Optional.of("2"), Optional.of("2"), Optional.empty(),
+                Optional.empty(), new StudentFilter());
+
+        // không có If-None-Match: không chạy truy vấn version/COUNT riêng cho ETag
+        verify(this.studentRepository, never()).findPageVersions(any());
+        verify(this.studentRepository, never()).count();
+        when(this.studentRepository.findPageVersions(pageable))
+                .thenReturn(List.of(new StudentVersionRow(3, 1), new StudentVersionRow(4, 1)));
+        when(this.studentRepository.count()).thenReturn(5L);
+        assertThat(list.getETag()).isEqualTo(this.studentService.getListETag(Optional.of("2"), Optional.of("2"),
+                Optional.empty(), Optional.empty(), new StudentFilter()));
+    }
+
+    @Test
+    void pageETagChangesWithRowVersion() {
+        PageRequest pageable = PageRequest.of(0, 1);
+        when(this.studentRepository.findStudentRows(pageable))
+                .thenReturn(new PageImpl<>(List.of(listRow(1, "SV01")), pageable, 1))
+                .thenReturn(new PageImpl<>(List.of(listRow(1, 2, "SV01")), pageable, 1));
+
+        String before = this.studentService.getList(Optional.of("1"), Optional.of("1"), Optional.empty(),
+                Optional.empty(), new StudentFilter()).getETag();
+        String after = this.studentService.getList(Optional.of("1"), Optional.of("1"), Optional.empty(),
+                Optional.empty(), new StudentFilter()).getETag();
+
+        assertThat(after).isNotEqualTo(before);
+    }
+
+    @Test
+    void unpagedListETagMatchesTableFingerprint() {
+        when(this.studentRepository.findAllStudentRows()).thenReturn(List.of(listRow(1, "SV01"), listRow(2, "SV02")));
+        when(this.studentRepository.findTableFingerprint()).thenReturn("2:3:2");
+
+        ETaggedResult<?> list = this.studentService.getList(Optional.empty(), Optional.empty(), Optional.empty(),
+                Optional.empty(), new StudentFilter());
+
+        assertThat(list.getBody()).asList().hasSize(2);
+        assertThat(list.getETag()).isEqualTo(this.studentService.getListETag(Optional.empty(), Optional.empty(),
+                Optional.empty(), Optional.empty(), new StudentFilter()));
+    }
+
+    @Test
+    void cursorETagMatchesPrecomputedETag() {
+        when(this.studentRepository.findNextPageById(anyLong(), any()))
+                .thenReturn(List.of(listRow(1, "SV01"), listRow(2, "SV02"), listRow(3, "SV03")));
+        when(this.studentRepository.findVersionsAfterId(anyLong(), any())).thenReturn(List.of(
+                new StudentVersionRow(1, 1), new StudentVersionRow(2, 1), new StudentVersionRow(3, 1)));
+
+        ETaggedResult<?> page = this.studentService.getList(Optional.empty(), Optional.of("2"), Optional.of(""),
+                Optional.empty(), new StudentFilter());
+
+        assertThat(page.getETag()).isEqualTo(this.studentService.getListETag(Optional.empty(), Optional.of("2"),
+                Optional.of(""), Optional.empty(), new StudentFilter()));
+    }
+
+    @Test
+    void studentETagComesFromCachedVersionWithoutQuery() {
+        when(this.studentDTOCache.findByStudentCode("SV01"))
+                .thenReturn(new VersionedStudentDTO(listRow(1, "SV01").getStudent(), 5L));
+
+        ETaggedResult<Object> student = this.studentService.getStuByStuCode("SV01", Optional.empty());
+
+        assertThat(student.getETag()).isEqualTo("\"5\"");
+        assertThat(((StudentDTO) student.getBody()).getStudentCode()).isEqualTo("SV01");
+        verifyNoInteractions(this.studentRepository);
+    }
+
+    @Test
+    void filteredListETagDependsOnFieldsAndMatchesPrecomputedETag() {
+        when(this.studentRepository.findFields(any(), any(), any(Sort.class))).thenAnswer(invocation -> List.of(
+                new StudentFieldsRow(1, 4, Map.of()), new StudentFieldsRow(2, 1, Map.of())));
+        when(this.studentRepository.findVersionRows(any(), any()))
+                .thenReturn(List.of(new StudentVersionRow(1, 4), new StudentVersionRow(2, 1)));
+
+        String emailETag = this.studentService.getList(Optional.empty(), Optional.empty(), Optional.empty(),
+                Optional.empty(), fields("email")).getETag();
+        String codeETag = this.studentService.getList(Optional.empty(), Optional.empty(), Optional.empty(),
+                Optional.empty(), fields("studentCode")).getETag();
+
+        assertThat(emailETag).isNotEqualTo(codeETag);
+        assertThat(emailETag).isEqualTo(this.studentService.getListETag(Optional.empty(), Optional.empty(),
+                Optional.empty(), Optional.empty(), fields(" email ,email")));
+    }
+
+    @Test
+    void studentETagWithFieldsIncludesTheFieldSet() {
+        when(this.studentRepository.findFields(any(), eq(Set.of("studentCode", "email")), any(Sort.class)))
+                .thenReturn(List.of(new StudentFieldsRow(1, 3, Map.of("studentCode", "SV01"))));
+
+        ETaggedResult<Object> student = this.studentService.getStuByStuCode("SV01",
+                Optional.of("email,studentCode"));
+
+        // thứ tự trường chuẩn hóa theo StudentDTO
+        assertThat(student.getETag()).isEqualTo("\"3;studentCode,email\"");
+        assertThat(ETags.parseIfMatch(student.getETag())).isEqualTo(3L);
+    }
+
+    @Test
+    void batchMatchesClassNamesIgnoringCase() {
+        runTransactionCallbacks();
+        when(this.studentRepository.findExistingRoleIds(any())).thenReturn(List.of(2L));
+        when(this.classRoomCache.findByClassNames(any()))
+                .thenReturn(Map.of("CNTT-K60", new ClassRoomDTO(3L, "CNTT-K60", 60)));
+        when(this.passwordEncoder.encodeAll(any())).thenReturn(List.of("hash"));
+        when(this.studentBatchRepository.insertWithinCapacity(any(), any())).thenReturn(Map.of());
+
+        BatchResultDTO result = this.studentService.createStuBatch(List.of(student("SV01", "sv01@x.vn", "cntt-k60")));
+
+        assertThat(result.getCreated()).isEqualTo(1);
+        assertThat(result.getResults().get(0).getStatus()).isEqualTo(BatchRowResultDTO.Status.CREATED);
+        verify(this.studentBatchRepository).insertWithinCapacity(any(), this.classIdsCaptor.capture());
+        assertThat(this.classIdsCaptor.getValue().get("cntt-k60")).isEqualTo(3L);
+        verify(this.secondLevelCacheInvalidator).evictStudentWrites(null, Set.of(3L), Set.of(2L));
+    }
+
+    @Test
+    void batchReportsDuplicatesAndUnknownClassesPerRow() {
+        runTransactionCallbacks();
+        when(this.studentRepository.findExistingRoleIds(any())).thenReturn(List.of(2L));
+        when(this.studentExistenceFilter.mightContainStudentCode(any())).thenReturn(true);
+        when(this.studentRepository.findExistingStudentCodes(any())).thenReturn(List.of("sv01"));
+        when(this.classRoomCache.findByClassNames(any()))
+                .thenReturn(Map.of("CS101", new ClassRoomDTO(1L, "CS101", 50)));
+        when(this.passwordEncoder.encodeAll(any())).thenReturn(List.of("hash"));
+        when(this.studentBatchRepository.insertWithinCapacity(any(), any())).thenReturn(Map.of());
+
+        BatchResultDTO result = this.studentService.createStuBatch(List.of(
+                student("SV01", "a@x.vn", "CS101"), // đã có trong database
+                student("SV02", "b@x.vn", "CS101"),
+                student("sv02", "c@x.vn", "CS101"), // trùng mã trong request
+                student("SV04", "B@X.VN", "CS101"), // trùng email trong request
+                student("SV05", "e@x.vn", "CS999")));
+
+        assertThat(result.getResults()).extracting(BatchRowResultDTO::getStatus).containsExactly(
+                BatchRowResultDTO.Status.DUPLICATE,
+                BatchRowResultDTO.Status.CREATED,
+                BatchRowResultDTO.Status.DUPLICATE,
+                BatchRowResultDTO.Status.DUPLICATE,
+                BatchRowResultDTO.Status.CLASS_NOT_FOUND);
+        assertThat(result.getCreated()).isEqualTo(1);
+        assertThat(result.getFailed()).isEqualTo(4);
+        // các truy vấn IN theo lô được đo như validate của từng dòng
+        assertThat(validationCount("batch_code_conflict", "failed")).isEqualTo(1);
+        assertThat(validationCount("batch_email_conflict", "passed")).isEqualTo(1);
+        assertThat(validationCount("batch_class_exists", "failed")).isEqualTo(1);
+    }
+
+    @Test
+    void batchReportsUnknownRolePerRow() {
+        runTransactionCallbacks();
+        when(this.studentRepository.findExistingRoleIds(any())).thenReturn(List.of(2L));
+        when(this.classRoomCache.findByClassNames(any()))
+                .thenReturn(Map.of("CS101", new ClassRoomDTO(1L, "CS101", 50)));
+        when(this.passwordEncoder.encodeAll(any())).thenReturn(List.of("hash"));
+        when(this.studentBatchRepository.insertWithinCapacity(any(), any())).thenReturn(Map.of());
+        StudentDTO badRole = student("SV02", "b@x.vn", "CS101");
+        badRole.setRoleId(99L);
+
+        BatchResultDTO result = this.studentService.createStuBatch(List.of(
+                student("SV01", "a@x.vn", "CS101"), badRole));
+
+        assertThat(result.getResults()).extracting(BatchRowResultDTO::getStatus).containsExactly(
+                BatchRowResultDTO.Status.CREATED, BatchRowResultDTO.Status.ROLE_NOT_FOUND);
+        assertThat(result.getResults().get(1).getMessage()).isEqualTo("Role not found");
+        assertThat(validationCount("batch_role_exists", "failed")).isEqualTo(1);
+        verify(this.studentBatchRepository).insertWithinCapacity(
+                argThat(pending -> pending.size() == 1 && pending.get(0).getStudentCode().equals("SV01")), any());
+    }
+
+    @Test
+    void batchReportsRowsRejectedForCapacity() {
+        runTransactionCallbacks();
+        when(this.studentRepository.findExistingRoleIds(any())).thenReturn(List.of(2L));
+        when(this.classRoomCache.findByClassNames(any()))
+                .thenReturn(Map.of("CS101", new ClassRoomDTO(1L, "CS101", 1)));
+        when(this.passwordEncoder.encodeAll(any())).thenReturn(List.of("h1", "h2"));
+        when(this.studentBatchRepository.insertWithinCapacity(any(), any())).thenReturn(Map.of(1,
+                new BatchRowResultDTO(1, "SV02", BatchRowResultDTO.Status.CLASS_FULL,
+                        "Failed to create student - class is full")));
+
+        BatchResultDTO result = this.studentService.createStuBatch(List.of(
+                student("SV01", "a@x.vn", "CS101"), student("SV02", "b@x.vn", "CS101")));
+
+        assertThat(result.getResults()).extracting(BatchRowResultDTO::getStatus).containsExactly(
+                BatchRowResultDTO.Status.CREATED, BatchRowResultDTO.Status.CLASS_FULL);
+        verify(this.studentExistenceFilter).add("SV01", "a@x.vn");
+        verify(this.studentExistenceFilter, never()).add("SV02", "b@x.vn");
+    }
+
+    @Test
+    void batchReportsDuplicateMissedByBloomFilterPerRow() {
+        runTransactionCallbacks();
+        when(this.studentRepository.findExistingRoleIds(any())).thenReturn(List.of(2L));
+        when(this.classRoomCache.findByClassNames(any()))
+                .thenReturn(Map.of("CS101", new ClassRoomDTO(1L, "CS101", 50)));
+        when(this.passwordEncoder.encodeAll(any())).thenReturn(List.of("h1", "h2"));
+        // SV01 do instance khác tạo: filter trả false nên không có truy vấn IN,
+        // insert phát hiện trùng
+        when(this.studentBatchRepository.insertWithinCapacity(any(), any())).thenReturn(Map.of(0,
+                new BatchRowResultDTO(0, "SV01", BatchRowResultDTO.Status.DUPLICATE, "Student code already exists")));
+
+        BatchResultDTO result = this.studentService.createStuBatch(List.of(
+                student("SV01", "a@x.vn", "CS101"), student("SV02", "b@x.vn", "CS101")));
+
+        assertThat(result.getResults()).extracting(BatchRowResultDTO::getStatus).containsExactly(
+                BatchRowResultDTO.Status.DUPLICATE, BatchRowResultDTO.Status.CREATED);
+        assertThat(result.getResults().get(0).getMessage()).isEqualTo("Student code already exists");
+        verify(this.studentRepository, never()).findExistingStudentCodes(any());
+        verify(this.studentExistenceFilter, never()).add("SV01", "a@x.vn");
+    }
+
+    @Test
+    void patchMergesOntoRowReadFromDatabaseAndReturnsNewVersion() throws Exception {
+        runTransactionCallbacks();
+        when(this.studentPatchRepository.findForUpdate("sv01")).thenReturn(snapshot(3));
+
+        VersionedStudentDTO patched = this.studentService.patchStu("sv01",
+                this.objectMapper.readTree("{\"address\": \"Đà Nẵng\"}"), 3L);
+
+        assertThat(patched.getVersion()).isEqualTo(4L);
+        assertThat(patched.getStudent().getStudentCode()).isEqualTo("SV01");
+        assertThat(patched.getStudent().getAddress()).isEqualTo("Đà Nẵng");
+        assertThat(patched.getStudent().getEmail()).isEqualTo("sv01@example.com");
+        verify(this.studentPatchRepository).updateColumns("sv01",
+                Map.of(StudentPatchRepository.COLUMN_ADDRESS, "Đà Nẵng"));
+        verify(this.studentDTOCache, never()).findByStudentCode(any());
+        verify(this.studentDTOCache).evict("sv01");
+        verify(this.studentCredentialCache, never()).evict(any());
+        verify(this.secondLevelCacheInvalidator).evictStudentWrites(7L, Arrays.asList(1L, null),
+                Arrays.asList(2L, 2L));
+    }
+
+    @Test
+    void patchWithStaleIfMatchIsPreconditionFailed() throws Exception {
+        runTransactionCallbacks();
+        when(this.studentPatchRepository.findForUpdate("SV01")).thenReturn(snapshot(3));
+
+        assertThatThrownBy(() -> this.studentService.patchStu("SV01",
+                this.objectMapper.readTree("{\"address\": \"Đà Nẵng\"}"), 2L))
+                .isInstanceOf(PreconditionFailedException.class);
+        verify(this.studentPatchRepository, never()).updateColumns(any(), any());
+        verify(this.studentDTOCache, never()).evict(any());
+    }
+
+    @Test
+    void patchOfMissingStudentIsNotFound() throws Exception {
+        runTransactionCallbacks();
+
+        assertThatThrownBy(() -> this.studentService.patchStu("SV99",
+                this.objectMapper.readTree("{\"address\": \"Đà Nẵng\"}"), null))
+                .isInstanceOf(ResourceNotFoundException.class);
+    }
+
+    @Test
+    void patchWithoutChangesKeepsVersionAndSkipsWrites() throws Exception {
+        runTransactionCallbacks();
+        when(this.studentPatchRepository.findForUpdate("SV01")).thenReturn(snapshot(3));
+
+        VersionedStudentDTO patched = this.studentService.patchStu("SV01",
+                this.objectMapper.readTree("{\"address\": \"Hà Nội\"}"), null);
+
+        assertThat(patched.getVersion()).isEqualTo(3L);
+        verify(this.studentPatchRepository, never()).updateColumns(any(), any());
+        verify(this.studentDTOCache, never()).evict(any());
+        verifyNoInteractions(this.secondLevelCacheInvalidator);
+    }
+
+    @Test
+    void patchChangingClassPassesStoredPasswordHashToProcedure() throws Exception {
+        runTransactionCallbacks();
+        when(this.studentPatchRepository.findForUpdate("SV01")).thenReturn(snapshot(3));
+        when(this.studentPatchRepository.bumpVersion("SV01", null)).thenReturn(1);
+        when(this.classRoomCache.findByClassName("CS102")).thenReturn(new ClassRoomDTO(5L, "CS102", 50));
+        when(this.storedProcedureGateway.call(any(), any(Object[].class))).thenReturn(1);
+
+        VersionedStudentDTO patched = this.studentService.patchStu("SV01",
+                this.objectMapper.readTree("{\"className\": \"CS102\"}"), null);
+
+        assertThat(patched.getVersion()).isEqualTo(4L);
+        verify(this.storedProcedureGateway).call(ConstVariable.PROCEDURE_UPDATE_STUDENT, 5L, "Nguyễn Văn A",
+                "sv01@example.com", "stored-hash", java.sql.Date.valueOf(LocalDate.of(2002, 1, 1)), "Hà Nội",
+                "MALE", "SV01", 2L);
+        verifyNoInteractions(this.passwordEncoder);
+        // lớp cũ và lớp mới đều đổi sĩ số
+        verify(this.secondLevelCacheInvalidator).evictStudentWrites(7L, Arrays.asList(1L, 5L),
+                Arrays.asList(2L, 2L));
+    }
+
+    @Test
+    void patchChangingClassToEmailOfAnotherStudentIsConflict() throws Exception {
+        runTransactionCallbacks();
+        when(this.studentPatchRepository.findForUpdate("SV01")).thenReturn(snapshot(3));
+        when(this.studentPatchRepository.bumpVersion("SV01", null)).thenReturn(1);
+        when(this.classRoomCache.findByClassName("CS102")).thenReturn(new ClassRoomDTO(5L, "CS102", 50));
+        when(this.storedProcedureGateway.call(any(), any(Object[].class))).thenReturn(0);
+        // Bloom filter (mock trả false) không được dùng để giải thích lỗi
+        when(this.studentRepository.existsByStudentCode("SV01")).thenReturn(true);
+        when(this.studentRepository.existsByEmailAndStudentCodeNot("sv02@example.com", "SV01")).thenReturn(true);
+
+        assertThatThrownBy(() -> this.studentService.patchStu("SV01", this.objectMapper
+                .readTree("{\"className\": \"CS102\", \"email\": \"sv02@example.com\"}"), null))
+                .isInstanceOf(DuplicateResourceException.class);
+    }
+
+    @Test
+    void exportCsvQuotesFieldsWithCommasQuotesAndNewlines() throws Exception {
+        when(this.studentRepository.streamAllForExport()).thenReturn(Stream.of(
+                exportRow("SV01", "Nguyễn Văn A", "sv01@example.com"),
+                exportRow("SV02", "Trần, \"Bình\"\nThị", null)));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        this.studentService.exportStu(out, ExportFormat.CSV);
+
+        assertThat(out.toString(StandardCharsets.UTF_8)).isEqualTo(
+                "studentCode,fullName,email,dateOfBirth,address,gender,className,roleId\n"
+                        + "SV01,Nguyễn Văn A,sv01@example.com,2002-01-01,Hà Nội,MALE,CS101,2\n"
+                        + "SV02,\"Trần, \"\"Bình\"\"\nThị\",,2002-01-01,Hà Nội,MALE,CS101,2\n");
+    }
+
+    @Test
+    void exportNdjsonWritesOneObjectPerLineWithoutPassword() throws Exception {
+        StudentDTO withPassword = exportRow("SV02", "Trần \"Bình\"\nThị", "sv02@example.com");
+        withPassword.setPassword("matkhau123");
+        when(this.studentRepository.streamAllForExport()).thenReturn(Stream.of(
+                exportRow("SV01", "Nguyễn Văn A", "sv01@example.com"), withPassword));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        this.studentService.exportStu(out, ExportFormat.NDJSON);
+
+        String body = out.toString(StandardCharsets.UTF_8);
+        assertThat(body).endsWith("}\n");
+        List<String> lines = body.lines().toList();
+        assertThat(lines).hasSize(2);
+        assertThat(this.objectMapper.readTree(lines.get(0)).get("studentCode").asText()).isEqualTo("SV01");
+        // xuống dòng trong dữ liệu được escape, không tách bản ghi
+        assertThat(this.objectMapper.readTree(lines.get(1)).get("fullName").asText())
+                .isEqualTo("Trần \"Bình\"\nThị");
+        assertThat(this.objectMapper.readTree(lines.get(1)).has("password")).isFalse();
+    }
+
+    @Test
+    void exportNdjsonOfEmptyTableWritesNothing() throws Exception {
+        when(this.studentRepository.streamAllForExport()).thenReturn(Stream.empty());
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        this.studentService.exportStu(out, ExportFormat.NDJSON);
+
+        assertThat(out.size()).isZero();
+    }
+
+    @ParameterizedTest
+    @EnumSource(ExportFormat.class)
+    void exportWritesToResponseWhileStillReadingAndClosesStream(ExportFormat format) throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        int rows = 2500;
+        // số byte đã ghi ra response tại thời điểm đọc từng dòng
+        List<Integer> writtenWhenRead = new ArrayList<>();
+        AtomicBoolean closed = new AtomicBoolean();
+        Stream<StudentDTO> students = IntStream.range(0, rows).mapToObj(i -> {
+            writtenWhenRead.add(out.size());
+            return exportRow("SV" + i, "Nguyễn Văn A", "sv" + i + "@example.com");
+        }).onClose(() -> closed.set(true));
+        when(this.studentRepository.streamAllForExport()).thenReturn(students);
+
+        this.studentService.exportStu(out, format);
+
+        assertThat(writtenWhenRead).hasSize(rows);
+        assertThat(writtenWhenRead.get(rows - 1)).isPositive().isLessThan(out.size());
+        assertThat(closed).isTrue();
+    }
+
+    private static StudentDTO exportRow(String studentCode, String fullName, String email) {
+        return new StudentDTO(studentCode, fullName, email, LocalDate.of(2002, 1, 1), "Hà Nội", "MALE", "CS101",
+                2L);
+    }
+
+    private static StudentDTO student(String studentCode, String email, String className) {
+        return StudentDTO.builder()
+                .studentCode(studentCode)
+                .fullName("Nguyễn Văn A")
+                .email(email)
+                .password("matkhau123")
+                .dateOfBirth(LocalDate.of(2002, 1, 1))
+                .address("Hà Nội")
+                .gender("MALE")
+                .className(className)
+                .roleId(2L)
+                .build();
+    }
+
+    @SuppressWarnings("unchecked")
+    private long validationCount(String check, String outcome) {
+        return this.meterRegistry.get("student.validation").tag("check", check).tag("outcome", outcome).timer()
+                .count();
+    }
+
+    private ResultCursorDTO cursorPage(String after, String pageSize) {
+        return (ResultCursorDTO) this.studentService.getList(Optional.empty(), Optional.ofNullable(pageSize),
+                Optional.of(after), Optional.empty(), new StudentFilter()).getBody();
+    }
+
+    private void runTransactionCallbacks() {
+        when(this.transactionTemplate.execute(any())).thenAnswer(
+                invocation -> invocation.getArgument(0, TransactionCallback.class).doInTransaction(null));
+    }
+
+    private static StudentSnapshotRow snapshot(long version) {
+        StudentDTO current = new StudentDTO("SV01", "Nguyễn Văn A", "sv01@example.com", LocalDate.of(2002, 1, 1),
+                "Hà Nội", "MALE", "CS101", 2L);
+        return new StudentSnapshotRow(7L, 1L, current, "stored-hash", version);
+    }
+
+    private static StudentFilter fields(String fields) {
+        StudentFilter filter = new StudentFilter();
+        filter.setFields(fields);
+        return filter;
+    }
+
+    private static StudentListRow listRow(long id, String studentCode) {
+        return listRow(id, 1, studentCode);
+    }
+
+    private static StudentListRow listRow(long id, long version, String studentCode) {
+        return new StudentListRow(id, version, studentCode, "Nguyễn Văn A",
+                studentCode.toLowerCase() + "@example.com", LocalDate.of(2002, 1, 1), "Hà Nội", "MALE", "CS101", 2L);
+    }
+}
@@ -0,0 +1,169 @@
+package com.restful.quanlysinhvien.services.service_impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.ResultSet;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.CRC32;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementCreator;
+import org.springframework.jdbc.core.RowCallbackHandler;
+
+import com.restful.quanlysinhvien.domain.dto.StudentSuggestionDTO;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Kiểm tra {@link StudentSuggestIndex}: gợi ý theo mã và theo họ tên không dấu,
+ * cập nhật cục bộ, và chỉ dựng lại khi nội dung bảng lệch với index (thay đổi
+ * không đi qua instance này).
+ */
+class StudentSuggestIndexTests {
+    private JdbcTemplate jdbcTemplate;
+    private StudentSuggestIndex studentSuggestIndex;
+
+    @BeforeEach
+    void setUp() {
+        this.jdbcTemplate = mock(JdbcTemplate.class);
+        this.studentSuggestIndex = new StudentSuggestIndex(this.jdbcTemplate, new SimpleMeterRegistry(),
+                Duration.ofMinutes(1));
+    }
+
+    @Test
+    void suggestsByCodeThenByNameWithoutDiacritics() throws Exception {
+        tableContains("SV01", "Nguyễn Văn An", "SV02", "Trần Thị Bình", "NV03", "Nguyễn Văn Bảo");
+        this.studentSuggestIndex.refresh();
+
+        assertThat(this.studentSuggestIndex.suggest("sv0", 10)).extracting(StudentSuggestionDTO::getStudentCode)
+                .containsExactly("SV01", "SV02");
+        assertThat(this.studentSuggestIndex.suggest("nguyen van", 10)).extracting(
+                StudentSuggestionDTO::getStudentCode, StudentSuggestionDTO::getFullName).containsExactly(
+                        tuple("SV01", "Nguyễn Văn An"), tuple("NV03", "Nguyễn Văn Bảo"));
+        // mã khớp trước, tên bổ sung phần còn lại, không trùng mã
+        assertThat(this.studentSuggestIndex.suggest("n", 10)).extracting(StudentSuggestionDTO::getStudentCode)
+                .containsExactly("NV03", "SV01");
+        assertThat(this.studentSuggestIndex.suggest("nguyen", 1)).hasSize(1);
+    }
+
+    @Test
+    void unchangedFingerprintSkipsRebuild() throws Exception {
+        tableContains("SV01", "Nguyễn Văn An");
+
+        this.studentSuggestIndex.refresh();
+        this.studentSuggestIndex.refresh();
+
+        verifyBuilds(1);
+    }
+
+    @Test
+    void localWritesDoNotTriggerRebuild() throws Exception {
+        tableContains("SV01", "Nguyễn Văn An", "SV02", "Trần Thị Bình");
+        this.studentSuggestIndex.refresh();
+
+        this.studentSuggestIndex.add("SV03", "Lê Văn Cường");
+        this.studentSuggestIndex.update("SV01", "Phạm Văn An");
+        this.studentSuggestIndex.remove("SV02");
+        tableContains("SV01", "Phạm Văn An", "SV03", "Lê Văn Cường");
+        this.studentSuggestIndex.refresh();
+
+        verifyBuilds(1);
+    }
+
+    @Test
+    void rebuildAfterFailedLoadRetriesOnNextRefresh() throws Exception {
+        when(this.jdbcTemplate.queryForObject(anyString(), eq(String.class))).thenReturn(fingerprint("SV01", "An"));
+        doThrow(new DataAccessResourceFailureException("down")).doNothing().when(this.jdbcTemplate)
+                .query(any(PreparedStatementCreator.class), any(RowCallbackHandler.class));
+
+        this.studentSuggestIndex.refresh();
+        this.studentSuggestIndex.refresh();
+
+        verifyBuilds(2);
+    }
+
+    @Test
+    void changedFingerprintPicksUpWritesFromElsewhere() throws Exception {
+        tableContains("SV01", "Nguyễn Văn An", "SV02", "Trần Thị Bình");
+        this.studentSuggestIndex.refresh();
+
+        // instance khác xóa SV01 và đổi tên SV02
+        tableContains("SV02", "Lê Thị Bình");
+        this.studentSuggestIndex.refresh();
+
+        verifyBuilds(2);
+
+        assertThat(this.studentSuggestIndex.suggest("sv", 10)).extracting(StudentSuggestionDTO::getStudentCode,
+                StudentSuggestionDTO::getFullName).containsExactly(tuple("SV02", "Lê Thị Bình"));
+        assertThat(this.studentSuggestIndex.suggest("tran", 10)).isEmpty();
+    }
+
+    @Test
+    void localWritesAreAppliedImmediatelyOutsideTransaction() {
+        this.studentSuggestIndex.add("SV01", "Nguyễn Văn An");
+        this.studentSuggestIndex.add("SV02", "Trần Thị Bình");
+        this.studentSuggestIndex.update("SV01", "Phạm Văn An");
+        this.studentSuggestIndex.remove("SV02");
+
+        assertThat(this.studentSuggestIndex.suggest("pham", 10)).extracting(StudentSuggestionDTO::getStudentCode,
+                StudentSuggestionDTO::getFullName).containsExactly(tuple("SV01", "Phạm Văn An"));
+        assertThat(this.studentSuggestIndex.suggest("nguyen", 10)).isEmpty();
+        assertThat(this.studentSuggestIndex.suggest("SV", 10)).extracting(StudentSuggestionDTO::getStudentCode)
+                .containsExactly("SV01");
+    }
+
+    @Test
+    void normalizeStripsDiacriticsAndWhitespace() {
+        assertThat(StudentSuggestIndex.normalize("  Đặng   Thị\tHƯƠNG ")).isEqualTo("dang thi huong");
+    }
+
+    private void verifyBuilds(int count) {
+        verify(this.jdbcTemplate, times(count)).query(any(PreparedStatementCreator.class),
+                any(RowCallbackHandler.class));
+    }
+
+    // giá trị FINGERPRINT_SQL trả về cho các dòng này: COUNT:SUM(CRC32(mã|họ tên))
+    private static String fingerprint(String... codeAndNames) {
+        long sum = 0;
+        for (int i = 0; i < codeAndNames.length; i += 2) {
+            CRC32 crc = new CRC32();
+            crc.update((codeAndNames[i] + "|" + codeAndNames[i + 1]).getBytes(StandardCharsets.UTF_8));
+            sum += crc.getValue();
+        }
+        return codeAndNames.length / 2 + ":" + sum;
+    }
+
+    private void tableContains(String... codeAndNames) throws Exception {
+        when(this.jdbcTemplate.queryForObject(anyString(), eq(String.class))).thenReturn(fingerprint(codeAndNames));
+        List<ResultSet> rows = new ArrayList<>();
+        for (int i = 0; i < codeAndNames.length; i += 2) {
+            ResultSet rs = mock(ResultSet.class);
+            when(rs.getString(1)).thenReturn(codeAndNames[i]);
+            when(rs.getString(2)).thenReturn(codeAndNames[i + 1]);
+            rows.add(rs);
+        }
+        doAnswer(invocation -> {
+            RowCallbackHandler handler = invocation.getArgument(1);
+            for (ResultSet rs : rows) {
+                handler.processRow(rs);
+            }
+            return null;
+        }).when(this.jdbcTemplate).query(any(PreparedStatementCreator.class), any(RowCallbackHandler.class));
+    }
+}
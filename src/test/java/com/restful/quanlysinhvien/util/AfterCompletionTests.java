@@ -0,0 +1,47 @@
+package com.restful.quanlysinhvien.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Kiểm tra {@link AfterCompletion#run(Runnable)}: chạy ngay, và chạy lại sau khi
+ * transaction kết thúc nếu đang trong transaction.
+ */
+class AfterCompletionTests {
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void runsOnceOutsideTransaction() {
+        AtomicInteger runs = new AtomicInteger();
+
+        AfterCompletion.run(runs::incrementAndGet);
+
+        assertThat(runs).hasValue(1);
+    }
+
+    @Test
+    void runsAgainAfterRollback() {
+        TransactionSynchronizationManager.initSynchronization();
+        AtomicInteger runs = new AtomicInteger();
+
+        AfterCompletion.run(runs::incrementAndGet);
+        assertThat(runs).hasValue(1);
+        for (TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+            synchronization.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK);
+        }
+
+        assertThat(runs).hasValue(2);
+    }
+}
@@ -0,0 +1,80 @@
+package com.restful.quanlysinhvien.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.nio.charset.StandardCharsets;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+/**
+ * Kiểm tra {@link BloomFilter}: MurmurHash3 x64 128-bit khớp với bản chuẩn
+ * (giá trị đối chiếu từ Guava {@code Hashing.murmur3_128()}), không có âm tính
+ * giả, và tỉ lệ dương tính giả nằm trong giới hạn đã cấu hình.
+ */
+class BloomFilterTests {
+
+    @Test
+    void murmur3MatchesReferenceVectors() {
+        assertHash("", 0L, 0L);
+        // chỉ có phần đuôi < 8 byte
+        assertHash("a", 0x85555565f6597889L, 0xe6b53a48510e895aL);
+        assertHash("hell", 0x629942693e10f867L, 0x92db0b82baeb5347L);
+        // đúng một block 16 byte, không có phần đuôi
+        assertHash("0123456789abcdef", 0x4be06d94cf4ad1a7L, 0x87c35b5c63a708daL);
+        // hai block và phần đuôi dài hơn 8 byte
+        assertHash("The quick brown fox jumps over the lazy dog", 0xe34bbc7bbc071b6cL, 0x7a433ca9c49a9347L);
+        // UTF-8 nhiều byte
+        assertHash("Nguyễn Văn A", 0xbe1eec19986c9107L, 0xce1ca7213a302e0eL);
+    }
+
+    @Test
+    void hasNoFalseNegatives() {
+        BloomFilter filter = new BloomFilter(10_000, 0.01);
+        for (int i = 0; i < 10_000; i++) {
+            filter.put("sv" + i);
+        }
+
+        for (int i = 0; i < 10_000; i++) {
+            assertThat(filter.mightContain("sv" + i)).isTrue();
+        }
+        assertThat(filter.insertions()).isEqualTo(10_000);
+    }
+
+    @Test
+    void falsePositiveRateStaysNearConfiguredFpp() {
+        BloomFilter filter = new BloomFilter(10_000, 0.01);
+        for (int i = 0; i < 10_000; i++) {
+            filter.put("sv" + i + "@example.com");
+        }
+
+        int falsePositives = 0;
+        for (int i = 0; i < 100_000; i++) {
+            if (filter.mightContain("other" + i + "@example.com")) {
+                falsePositives++;
+            }
+        }
+        assertThat(falsePositives / 100_000.0).isLessThan(0.02);
+        assertThat(filter.expectedFpp()).isBetween(0.005, 0.02);
+    }
+
+    @Test
+    void emptyFilterContainsNothing() {
+        BloomFilter filter = new BloomFilter(100, 0.01);
+
+        assertThat(filter.mightContain("sv01")).isFalse();
+        assertThat(filter.saturation()).isZero();
+    }
+
+    @ParameterizedTest
+    @ValueSource(doubles = { 0, -0.1, 1, 1.5 })
+    void rejectsFppOutsideOpenUnitInterval(double fpp) {
+        assertThatThrownBy(() -> new BloomFilter(100, fpp)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static void assertHash(String value, long h1, long h2) {
+        assertThat(BloomFilter.murmur3(value.getBytes(StandardCharsets.UTF_8))).containsExactly(h1, h2);
+    }
+}
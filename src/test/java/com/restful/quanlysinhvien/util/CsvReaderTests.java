@@ -0,0 +1,97 @@
+package com.restful.quanlysinhvien.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Kiểm tra {@link CsvReader} theo RFC 4180: nháy kép, dấu phẩy và xuống dòng
+ * trong trường, CRLF, BOM và số dòng của bản ghi.
+ */
+class CsvReaderTests {
+
+    @Test
+    void readsPlainRecords() throws IOException {
+        assertThat(readAll("a,b,c\n1,2,3\n")).containsExactly(List.of("a", "b", "c"), List.of("1", "2", "3"));
+    }
+
+    @Test
+    void lastRecordWithoutTrailingNewline() throws IOException {
+        assertThat(readAll("a,b\n1,2")).containsExactly(List.of("a", "b"), List.of("1", "2"));
+    }
+
+    @Test
+    void keepsEmptyFields() throws IOException {
+        assertThat(readAll(",x,\n")).containsExactly(List.of("", "x", ""));
+    }
+
+    @Test
+    void quotedFieldMayContainComma() throws IOException {
+        assertThat(readAll("SV01,\"Số 1, Hà Nội\",MALE\n"))
+                .containsExactly(List.of("SV01", "Số 1, Hà Nội", "MALE"));
+    }
+
+    @Test
+    void doubledQuoteIsEscapedQuote() throws IOException {
+        assertThat(readAll("\"He said \"\"hi\"\"\",\"\"\"\"\n"))
+                .containsExactly(List.of("He said \"hi\"", "\""));
+    }
+
+    @Test
+    void crlfLineEndingsAreAccepted() throws IOException {
+        assertThat(readAll("a,b\r\n1,2\r\n")).containsExactly(List.of("a", "b"), List.of("1", "2"));
+    }
+
+    @Test
+    void quotedFieldMayContainNewlinesAndLineNumbersFollowPhysicalLines() throws IOException {
+        CsvReader reader = new CsvReader(new StringReader("h1,h2\n\"dòng 1\r\ndòng 2\",x\nlast,y\n"));
+
+        assertThat(reader.readRecord()).containsExactly("h1", "h2");
+        assertThat(reader.getRecordLine()).isEqualTo(1);
+        assertThat(reader.readRecord()).containsExactly("dòng 1\r\ndòng 2", "x");
+        assertThat(reader.getRecordLine()).isEqualTo(2);
+        assertThat(reader.readRecord()).containsExactly("last", "y");
+        assertThat(reader.getRecordLine()).isEqualTo(4);
+        assertThat(reader.readRecord()).isNull();
+    }
+
+    @Test
+    void leadingByteOrderMarkIsSkipped() throws IOException {
+        assertThat(readAll("\uFEFF\"studentCode\",fullName\n"))
+                .containsExactly(List.of("studentCode", "fullName"));
+    }
+
+    @Test
+    void blankLineIsSingleEmptyField() throws IOException {
+        assertThat(readAll("a\n\nb\n")).containsExactly(List.of("a"), List.of(""), List.of("b"));
+    }
+
+    @Test
+    void emptyInputHasNoRecords() throws IOException {
+        assertThat(readAll("")).isEmpty();
+    }
+
+    @Test
+    void unterminatedQuoteFails() {
+        assertThatThrownBy(() -> readAll("a,\"b\nc\n"))
+                .isInstanceOf(IOException.class)
+                .hasMessageContaining("line 1");
+    }
+
+    private static List<List<String>> readAll(String csv) throws IOException {
+        List<List<String>> records = new ArrayList<>();
+        try (CsvReader reader = new CsvReader(new StringReader(csv))) {
+            List<String> record;
+            while ((record = reader.readRecord()) != null) {
+                records.add(record);
+            }
+        }
+        return records;
+    }
+}
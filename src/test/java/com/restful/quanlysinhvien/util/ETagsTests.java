@@ -0,0 +1,62 @@
+package com.restful.quanlysinhvien.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.LinkedHashSet;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.restful.quanlysinhvien.domain.dto.StudentVersionRow;
+import com.restful.quanlysinhvien.util.error.PreconditionFailedException;
+
+/**
+ * Kiểm tra {@link ETags}: ETag của sinh viên theo version và tập trường, ETag
+ * của danh sách theo id/version, và đọc header {@code If-Match}.
+ */
+class ETagsTests {
+
+    @Test
+    void studentETagIncludesFieldSetOnlyWhenPartial() {
+        assertThat(ETags.fromVersion(3)).isEqualTo("\"3\"");
+        assertThat(ETags.fromVersion(3, null)).isEqualTo("\"3\"");
+        assertThat(ETags.fromVersion(3, new LinkedHashSet<>(List.of("studentCode", "email"))))
+                .isEqualTo("\"3;studentCode,email\"");
+    }
+
+    @Test
+    void listETagChangesWithVersionOrderAndExtra() {
+        List<StudentVersionRow> rows = List.of(new StudentVersionRow(1, 1), new StudentVersionRow(2, 1));
+        String eTag = ETags.fromRows(rows, "page:0:2:2");
+
+        assertThat(ETags.fromRows(List.of(new StudentVersionRow(1, 1), new StudentVersionRow(2, 1)), "page:0:2:2"))
+                .isEqualTo(eTag);
+        assertThat(ETags.fromRows(List.of(new StudentVersionRow(1, 1), new StudentVersionRow(2, 2)), "page:0:2:2"))
+                .isNotEqualTo(eTag);
+        assertThat(ETags.fromRows(List.of(new StudentVersionRow(2, 1), new StudentVersionRow(1, 1)), "page:0:2:2"))
+                .isNotEqualTo(eTag);
+        assertThat(ETags.fromRows(rows, "filter:email")).isNotEqualTo(ETags.fromRows(rows, "filter:studentCode"));
+    }
+
+    @Test
+    void tableFingerprintSumsIdsAndVersions() {
+        assertThat(ETags.tableFingerprint(List.of(new StudentVersionRow(1, 2), new StudentVersionRow(5, 0))))
+                .isEqualTo("2:6:2");
+        assertThat(ETags.tableFingerprint(List.of())).isEqualTo("0:0:0");
+    }
+
+    @Test
+    void ifMatchIsReadFromFullOrPartialStudentETag() {
+        assertThat(ETags.parseIfMatch(null)).isNull();
+        assertThat(ETags.parseIfMatch("*")).isNull();
+        assertThat(ETags.parseIfMatch(" \"7\" ")).isEqualTo(7L);
+        assertThat(ETags.parseIfMatch("\"7;studentCode,email\"")).isEqualTo(7L);
+    }
+
+    @Test
+    void malformedIfMatchIsPreconditionFailed() {
+        assertThatThrownBy(() -> ETags.parseIfMatch("W/\"7\"")).isInstanceOf(PreconditionFailedException.class);
+        assertThatThrownBy(() -> ETags.parseIfMatch("\"abc\"")).isInstanceOf(PreconditionFailedException.class);
+    }
+}
@@ -0,0 +1,88 @@
+package com.restful.quanlysinhvien.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.mock.http.MockHttpOutputMessage;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Kiểm tra {@link EnvelopeHttpMessageConverter}: envelope giữ đúng định dạng
+ * {@code CustomResponse}, {@code data} kiểu Stream được ghi thành mảng và chỉ
+ * flush theo {@code FLUSH_INTERVAL} chứ không sau mỗi phần tử.
+ */
+class EnvelopeHttpMessageConverterTests {
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    void envelopeHasCustomResponseFields() throws Exception {
+        JsonNode json = write(new EnvelopedBody(201, Map.of("studentCode", "SV01")));
+
+        assertThat(json.get("statusCode").asInt()).isEqualTo(201);
+        assertThat(json.get("error").isNull()).isTrue();
+        assertThat(json.get("message").asText()).isEqualTo(EnvelopedBody.SUCCESS_MESSAGE);
+        assertThat(json.get("data").get("studentCode").asText()).isEqualTo("SV01");
+    }
+
+    @Test
+    void streamIsWrittenAsArrayAndClosed() throws Exception {
+        AtomicBoolean closed = new AtomicBoolean();
+        Stream<Integer> data = Stream.of(1, 2, 3).onClose(() -> closed.set(true));
+
+        JsonNode json = write(new EnvelopedBody(200, data));
+
+        assertThat(json.get("data").isArray()).isTrue();
+        assertThat(json.get("data")).extracting(JsonNode::asInt).containsExactly(1, 2, 3);
+        assertThat(closed).isTrue();
+    }
+
+    @Test
+    void streamIsFlushedEveryIntervalNotEveryElement() throws Exception {
+        CountingOutputStream body = new CountingOutputStream();
+        Stream<Map<String, Object>> data = IntStream.range(0, 1200).mapToObj(i -> Map.of("id", i));
+
+        EnvelopeHttpMessageConverter.write(this.objectMapper, new EnvelopedBody(200, data), body,
+                JsonEncoding.UTF8);
+
+        // sau phần tử thứ 500, 1000 và một lần cuối
+        assertThat(body.flushes).isEqualTo(3);
+        assertThat(this.objectMapper.readTree(body.toByteArray()).get("data")).hasSize(1200);
+    }
+
+    @Test
+    void otherBodiesUseDefaultJacksonConverter() throws Exception {
+        MockHttpOutputMessage message = new MockHttpOutputMessage();
+
+        new EnvelopeHttpMessageConverter(this.objectMapper).write(List.of("a", "b"), MediaType.APPLICATION_JSON,
+                message);
+
+        assertThat(message.getBodyAsString(StandardCharsets.UTF_8)).isEqualTo("[\"a\",\"b\"]");
+    }
+
+    private JsonNode write(EnvelopedBody envelope) throws Exception {
+        MockHttpOutputMessage message = new MockHttpOutputMessage();
+        new EnvelopeHttpMessageConverter(this.objectMapper).write(envelope, MediaType.APPLICATION_JSON, message);
+        return this.objectMapper.readTree(message.getBodyAsBytes());
+    }
+
+    private static final class CountingOutputStream extends ByteArrayOutputStream {
+        private int flushes;
+
+        @Override
+        public void flush() {
+            this.flushes++;
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package com.restful.quanlysinhvien.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Kiểm tra {@link ExecutorPasswordEncoder}: hash chạy trên pool riêng, gọi lồng
+ * từ chính pool không bị deadlock, metrics được ghi.
+ */
+class ExecutorPasswordEncoderTests {
+    private final AtomicReference<String> hashingThread = new AtomicReference<>();
+    private SimpleMeterRegistry meterRegistry;
+    private ExecutorPasswordEncoder encoder;
+
+    @BeforeEach
+    void setUp() {
+        PasswordEncoder bcrypt = new BCryptPasswordEncoder(4);
+        PasswordEncoder recording = new PasswordEncoder() {
+            @Override
+            public String encode(CharSequence rawPassword) {
+                hashingThread.set(Thread.currentThread().getName());
+                return bcrypt.encode(rawPassword);
+            }
+
+            @Override
+            public boolean matches(CharSequence rawPassword, String encodedPassword) {
+                return bcrypt.matches(rawPassword, encodedPassword);
+            }
+        };
+        this.meterRegistry = new SimpleMeterRegistry();
+        // một thread: gọi lồng mà chờ pool sẽ deadlock nếu không nhận ra thread của pool
+        this.encoder = new ExecutorPasswordEncoder(recording, 1, 10, this.meterRegistry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        this.encoder.shutdown();
+    }
+
+    @Test
+    void encodesOnHashingPoolAndRecordsTimer() {
+        String hash = this.encoder.encode("matkhau123");
+
+        assertThat(this.encoder.matches("matkhau123", hash)).isTrue();
+        assertThat(this.encoder.matches("sai", hash)).isFalse();
+        assertThat(this.hashingThread.get()).startsWith("password-hashing-");
+        assertThat(this.meterRegistry.get("password.hashing").tag("operation", "encode").timer().count())
+                .isEqualTo(1);
+    }
+
+    @Test
+    void encodeAllKeepsOrder() {
+        List<String> hashes = this.encoder.encodeAll(List.of("a1234", "b1234", "c1234"));
+
+        assertThat(hashes).hasSize(3);
+        assertThat(this.encoder.matches("a1234", hashes.get(0))).isTrue();
+        assertThat(this.encoder.matches("c1234", hashes.get(2))).isTrue();
+    }
+
+    @Test
+    void matchesAsyncCompletesWithResultAndRecordsTimer() throws Exception {
+        String hash = this.encoder.encode("matkhau123");
+
+        assertThat(this.encoder.matchesAsync("matkhau123", hash).get(10, TimeUnit.SECONDS)).isTrue();
+        assertThat(this.encoder.matchesAsync("sai", hash).get(10, TimeUnit.SECONDS)).isFalse();
+        assertThat(this.meterRegistry.get("password.hashing").tag("operation", "matches").timer().count())
+                .isEqualTo(2);
+    }
+
+    @Test
+    void nestedCallFromPoolThreadRunsInline() throws Exception {
+        CompletableFuture<String> nested = this.encoder.supplyAsync(() -> this.encoder.encode("matkhau123"));
+
+        assertThat(nested.get(10, TimeUnit.SECONDS)).startsWith("$2a$04$");
+    }
+
+    @Test
+    void threadNameAloneIsNotTreatedAsPoolThread() throws Exception {
+        AtomicReference<String> caller = new AtomicReference<>();
+        Thread impostor = new Thread(() -> {
+            caller.set(Thread.currentThread().getName());
+            this.encoder.encode("matkhau123");
+        }, "password-hashing-impostor");
+        impostor.start();
+        impostor.join(TimeUnit.SECONDS.toMillis(10));
+
+        assertThat(this.hashingThread.get()).isNotEqualTo(caller.get()).startsWith("password-hashing-");
+    }
+}
@@ -0,0 +1,68 @@
+package com.restful.quanlysinhvien.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import com.restful.quanlysinhvien.util.error.BadRequestExceptionCustom;
+
+/**
+ * Kiểm tra mã hóa / giải mã cursor của phân trang keyset và các token không
+ * hợp lệ do client gửi lên.
+ */
+class KeysetCursorTests {
+
+    @Test
+    void encodeDecodeRoundTripById() {
+        KeysetCursor cursor = KeysetCursor.decode(KeysetCursor.after(KeysetCursor.ORDER_BY_ID, "120").encode());
+
+        assertThat(cursor.getOrderBy()).isEqualTo(KeysetCursor.ORDER_BY_ID);
+        assertThat(cursor.lastId()).isEqualTo(120L);
+        assertThat(cursor.isFirstPage()).isFalse();
+    }
+
+    @Test
+    void encodeDecodeRoundTripByStudentCodeKeepsSeparatorsInValue() {
+        String token = KeysetCursor.after(KeysetCursor.ORDER_BY_STUDENT_CODE, "SV:01/ư").encode();
+
+        assertThat(token).doesNotContain("=", "+", "/");
+        KeysetCursor cursor = KeysetCursor.decode(token);
+        assertThat(cursor.getOrderBy()).isEqualTo(KeysetCursor.ORDER_BY_STUDENT_CODE);
+        assertThat(cursor.getLastValue()).isEqualTo("SV:01/ư");
+    }
+
+    @Test
+    void firstPageHasNoLastValue() {
+        KeysetCursor cursor = KeysetCursor.first(KeysetCursor.ORDER_BY_ID);
+
+        assertThat(cursor.isFirstPage()).isTrue();
+        assertThat(cursor.lastId()).isZero();
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = { "***", "aWQ", "aWQ6", "OjEy", "aWQ6YWJj", "bmFtZTpBQkM" })
+    void invalidTokensAreBadRequests(String token) {
+        // "***": không phải Base64; "id", "id:", ":12": thiếu phần tử;
+        // "id:abc": id không phải số; "name:ABC": orderBy không được hỗ trợ
+        assertThatThrownBy(() -> KeysetCursor.decode(token)).isInstanceOf(BadRequestExceptionCustom.class);
+    }
+
+    @Test
+    void idOverflowIsBadRequest() {
+        String token = Base64.getUrlEncoder().withoutPadding()
+                .encodeToString("id:99999999999999999999".getBytes(StandardCharsets.UTF_8));
+
+        assertThatThrownBy(() -> KeysetCursor.decode(token)).isInstanceOf(BadRequestExceptionCustom.class);
+    }
+
+    @Test
+    void unsupportedOrderByIsBadRequest() {
+        assertThatThrownBy(() -> KeysetCursor.first("fullName")).isInstanceOf(BadRequestExceptionCustom.class);
+    }
+}
@@ -0,0 +1,69 @@
+package com.restful.quanlysinhvien.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.accept.ContentNegotiationManager;
+import org.springframework.web.context.request.ServletWebRequest;
+
+/**
+ * Kiểm tra {@link NegotiatedETags}: định dạng được chọn theo {@code Accept}
+ * giống Spring MVC, ETag khác nhau giữa các định dạng và response có
+ * {@code Vary: Accept}.
+ */
+class NegotiatedETagsTests {
+    private final NegotiatedETags negotiatedETags = new NegotiatedETags(new ContentNegotiationManager());
+
+    @Test
+    void jsonKeepsTheETag() {
+        assertThat(eTagFor(null)).isEqualTo("\"3\"");
+        assertThat(eTagFor("*/*")).isEqualTo("\"3\"");
+        assertThat(eTagFor("application/json")).isEqualTo("\"3\"");
+        assertThat(eTagFor("application/*")).isEqualTo("\"3\"");
+    }
+
+    @Test
+    void binaryFormatsGetTheirOwnETag() {
+        assertThat(eTagFor("application/cbor")).isEqualTo("\"3@cbor\"");
+        assertThat(eTagFor("application/x-jackson-smile")).isEqualTo("\"3@x-jackson-smile\"");
+        assertThat(eTagFor("application/x-protobuf")).isEqualTo("\"3@x-protobuf\"");
+    }
+
+    @Test
+    void formatIsChosenByQualityThenOrder() {
+        assertThat(eTagFor("application/x-protobuf;q=0.5, application/cbor")).isEqualTo("\"3@cbor\"");
+        assertThat(eTagFor("application/cbor, application/json")).isEqualTo("\"3@cbor\"");
+        assertThat(eTagFor("text/html, application/x-protobuf;q=0.9")).isEqualTo("\"3@x-protobuf\"");
+        // không định dạng nào phù hợp: Spring trả 406, ETag giữ nguyên
+        assertThat(eTagFor("text/html")).isEqualTo("\"3\"");
+    }
+
+    @Test
+    void responseVariesByAcceptOnce() {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        ServletWebRequest webRequest = new ServletWebRequest(request, response);
+
+        this.negotiatedETags.forRequest("\"3\"", webRequest);
+        this.negotiatedETags.forRequest("\"3\"", webRequest);
+
+        assertThat(response.getHeaders(HttpHeaders.VARY)).containsExactly(HttpHeaders.ACCEPT);
+    }
+
+    @Test
+    void ifMatchAcceptsETagOfAnyFormat() {
+        assertThat(ETags.parseIfMatch(eTagFor("application/cbor"))).isEqualTo(3L);
+    }
+
+    private String eTagFor(String accept) {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        if (accept != null) {
+            request.addHeader(HttpHeaders.ACCEPT, accept);
+        }
+        return this.negotiatedETags.forRequest(ETags.fromVersion(3),
+                new ServletWebRequest(request, new MockHttpServletResponse()));
+    }
+}
@@ -0,0 +1,98 @@
+package com.restful.quanlysinhvien.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Kiểm tra {@link PrefixIndex}: trộn mảng gốc với phần thêm mới theo thứ tự,
+ * khóa đã xóa (tombstone) bị ẩn, và gộp (compaction) không làm mất hay lặp khóa.
+ */
+class PrefixIndexTests {
+
+    @Test
+    void constructorSortsAndDropsDuplicates() {
+        PrefixIndex index = new PrefixIndex(List.of("sv02", "sv01", "sv02", "hn01"));
+
+        assertThat(index.findByPrefix("sv", 10)).containsExactly("sv01", "sv02");
+        assertThat(index.size()).isEqualTo(3);
+    }
+
+    @Test
+    void addedKeysAreMergedInOrderWithBase() {
+        PrefixIndex index = new PrefixIndex(List.of("sv01", "sv03", "sv05"));
+        index.add("sv04");
+        index.add("sv00");
+        index.add("sv06");
+
+        assertThat(index.findByPrefix("sv", 10)).containsExactly("sv00", "sv01", "sv03", "sv04", "sv05", "sv06");
+        assertThat(index.findByPrefix("sv0", 3)).containsExactly("sv00", "sv01", "sv03");
+        assertThat(index.findByPrefix("x", 10)).isEmpty();
+        assertThat(index.size()).isEqualTo(6);
+    }
+
+    @Test
+    void addingExistingKeyDoesNothing() {
+        PrefixIndex index = new PrefixIndex(List.of("sv01"));
+        index.add("sv01");
+        index.add("sv02");
+        index.add("sv02");
+
+        assertThat(index.findByPrefix("sv", 10)).containsExactly("sv01", "sv02");
+        assertThat(index.size()).isEqualTo(2);
+    }
+
+    @Test
+    void removedBaseKeyIsHiddenAndCanBeAddedBack() {
+        PrefixIndex index = new PrefixIndex(List.of("sv01", "sv02", "sv03"));
+        index.remove("sv02");
+
+        assertThat(index.findByPrefix("sv", 10)).containsExactly("sv01", "sv03");
+        assertThat(index.size()).isEqualTo(2);
+
+        index.add("sv02");
+        assertThat(index.findByPrefix("sv", 10)).containsExactly("sv01", "sv02", "sv03");
+        assertThat(index.size()).isEqualTo(3);
+    }
+
+    @Test
+    void removingAddedOrUnknownKey() {
+        PrefixIndex index = new PrefixIndex(List.of("sv01"));
+        index.add("sv02");
+        index.remove("sv02");
+        index.remove("sv99");
+        index.remove("sv01");
+        index.remove("sv01");
+
+        assertThat(index.findByPrefix("sv", 10)).isEmpty();
+        assertThat(index.size()).isZero();
+    }
+
+    @Test
+    void compactionKeepsEveryKeyOnceAndInOrder() {
+        PrefixIndex index = new PrefixIndex(List.of("k0000", "k9999"));
+        List<String> expected = new ArrayList<>(List.of("k0000", "k9999"));
+        // vượt ngưỡng gộp (1024 thay đổi) nhiều lần
+        IntStream.range(1, 3000).map(i -> (i * 7919) % 9998 + 1).distinct().forEach(i -> {
+            String key = String.format("k%04d", i);
+            index.add(key);
+            expected.add(key);
+        });
+        for (int i = 1; i < 9999; i += 3) {
+            String key = String.format("k%04d", i);
+            index.remove(key);
+            expected.remove(key);
+        }
+        index.remove("k0000");
+        expected.remove("k0000");
+
+        assertThat(index.findByPrefix("k", Integer.MAX_VALUE)).isSorted().containsExactlyElementsOf(
+                expected.stream().sorted().toList());
+        assertThat(index.size()).isEqualTo(expected.size());
+        assertThat(index.findByPrefix("k99", 10)).allMatch(key -> key.startsWith("k99")).isSorted();
+    }
+}
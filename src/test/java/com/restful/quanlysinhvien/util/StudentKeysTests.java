@@ -0,0 +1,34 @@
+package com.restful.quanlysinhvien.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import java.util.Locale;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Kiểm tra {@link StudentKeys}: khóa không phân biệt hoa thường, không phụ
+ * thuộc locale mặc định của JVM.
+ */
+class StudentKeysTests {
+
+    @Test
+    void keysIgnoreCase() {
+        assertThat(StudentKeys.key("SV01")).isEqualTo(StudentKeys.key("sv01"));
+        assertThat(StudentKeys.keys(List.of("SV01", "sv01", "A@Example.com")))
+                .containsExactlyInAnyOrder("sv01", "a@example.com");
+    }
+
+    @Test
+    void keyDoesNotDependOnDefaultLocale() {
+        Locale original = Locale.getDefault();
+        try {
+            // tiếng Thổ Nhĩ Kỳ: "I".toLowerCase() là "ı" (không có chấm)
+            Locale.setDefault(Locale.forLanguageTag("tr-TR"));
+            assertThat(StudentKeys.key("SVI01")).isEqualTo("svi01");
+        } finally {
+            Locale.setDefault(original);
+        }
+    }
+}
@@ -0,0 +1,145 @@
+package com.restful.quanlysinhvien.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.IOException;
+import java.time.LocalDate;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.HttpMessageNotWritableException;
+import org.springframework.mock.http.MockHttpOutputMessage;
+
+import com.restful.quanlysinhvien.domain.CustomResponse;
+import com.restful.quanlysinhvien.domain.dto.Meta;
+import com.restful.quanlysinhvien.domain.dto.ResultCursorDTO;
+import com.restful.quanlysinhvien.domain.dto.ResultPaginationDTO;
+import com.restful.quanlysinhvien.domain.dto.StudentDTO;
+import com.restful.quanlysinhvien.proto.StudentPage;
+import com.restful.quanlysinhvien.proto.StudentResponse;
+
+/**
+ * Kiểm tra {@link StudentProtobufHttpMessageConverter}: message ghi ra được đọc
+ * lại bằng class sinh từ {@code student.proto}, chỉ các body trong schema được
+ * nhận, và chỉ hỗ trợ ghi.
+ */
+class StudentProtobufHttpMessageConverterTests {
+    private final StudentProtobufHttpMessageConverter converter = new StudentProtobufHttpMessageConverter();
+
+    @Test
+    void studentEnvelopeFollowsSchema() throws IOException {
+        StudentResponse response = StudentResponse.parseFrom(write(new EnvelopedBody(200, student("SV01"))));
+
+        assertThat(response.getStatusCode()).isEqualTo(200);
+        assertThat(response.getError()).isEmpty();
+        assertThat(response.getMessageList()).containsExactly(EnvelopedBody.SUCCESS_MESSAGE);
+        assertThat(response.getDataCase()).isEqualTo(StudentResponse.DataCase.STUDENT);
+        com.restful.quanlysinhvien.proto.Student student = response.getStudent();
+        assertThat(student.getStudentCode()).isEqualTo("SV01");
+        assertThat(student.getFullName()).isEqualTo("Nguyễn Văn A");
+        assertThat(student.getEmail()).isEqualTo("sv01@example.com");
+        assertThat(student.getDateOfBirth()).isEqualTo("2002-01-31");
+        assertThat(student.getAddress()).isEqualTo("Hà Nội");
+        assertThat(student.getGender()).isEqualTo("MALE");
+        assertThat(student.getClassName()).isEqualTo("CS101");
+        assertThat(student.getRoleId()).isEqualTo(2L);
+    }
+
+    @Test
+    void pageHasMetaAndOneMessagePerStudent() throws IOException {
+        Meta meta = new Meta();
+        meta.setPage(2);
+        meta.setPageSize(2);
+        meta.setPages(3);
+        meta.setTotal(5);
+        ResultPaginationDTO page = new ResultPaginationDTO();
+        page.setMeta(meta);
+        page.setResult(List.of(student("SV03"), student("SV04")));
+
+        StudentResponse response = StudentResponse.parseFrom(write(new EnvelopedBody(200, page)));
+
+        assertThat(response.getDataCase()).isEqualTo(StudentResponse.DataCase.PAGE);
+        StudentPage pageMessage = response.getPage();
+        assertThat(pageMessage.getMeta().getPage()).isEqualTo(2);
+        assertThat(pageMessage.getMeta().getPageSize()).isEqualTo(2);
+        assertThat(pageMessage.getMeta().getPages()).isEqualTo(3);
+        assertThat(pageMessage.getMeta().getTotal()).isEqualTo(5L);
+        assertThat(pageMessage.getResultList()).extracting(s -> s.getStudentCode())
+                .containsExactly("SV03", "SV04");
+    }
+
+    @Test
+    void sparseFieldsetWritesOnlySelectedFields() throws IOException {
+        Map<String, Object> fields = new LinkedHashMap<>();
+        fields.put(StudentFields.STUDENT_CODE, "SV01");
+        fields.put(StudentFields.EMAIL, "sv01@example.com");
+
+        com.restful.quanlysinhvien.proto.Student student = StudentResponse
+                .parseFrom(write(new EnvelopedBody(200, fields))).getStudent();
+
+        assertThat(student.getAllFields().keySet()).extracting(f -> f.getName())
+                .containsExactly("student_code", "email");
+        assertThat(student.getEmail()).isEqualTo("sv01@example.com");
+    }
+
+    @Test
+    void errorResponseCarriesStatusErrorAndMessages() throws IOException {
+        CustomResponse<Object> error = new CustomResponse<>();
+        error.setStatusCode(400);
+        error.setError("Validation Failed");
+        error.setMessage(List.of("email: must not be blank", "fullName: must not be blank"));
+
+        StudentResponse response = StudentResponse.parseFrom(write(error));
+
+        assertThat(response.getStatusCode()).isEqualTo(400);
+        assertThat(response.getError()).isEqualTo("Validation Failed");
+        assertThat(response.getMessageList()).hasSize(2);
+        assertThat(response.getDataCase()).isEqualTo(StudentResponse.DataCase.DATA_NOT_SET);
+    }
+
+    @Test
+    void onlySchemaTypesAreWritable() {
+        assertThat(this.converter.canRead(StudentDTO.class, StudentProtobufHttpMessageConverter.APPLICATION_PROTOBUF))
+                .isFalse();
+        assertThat(this.converter.canWrite(StudentDTO.class, StudentProtobufHttpMessageConverter.APPLICATION_PROTOBUF))
+                .isTrue();
+        assertThat(this.converter.canWrite(ResultCursorDTO.class,
+                StudentProtobufHttpMessageConverter.APPLICATION_PROTOBUF)).isFalse();
+        assertThat(this.converter.canWrite(List.class, StudentProtobufHttpMessageConverter.APPLICATION_PROTOBUF))
+                .isFalse();
+    }
+
+    @Test
+    void canEncodeRejectsContentOutsideSchema() {
+        ResultPaginationDTO foreignRows = new ResultPaginationDTO();
+        foreignRows.setResult(List.of("SV01"));
+        ResultPaginationDTO studentRows = new ResultPaginationDTO();
+        studentRows.setResult(List.of(student("SV01"), Map.of(StudentFields.STUDENT_CODE, "SV02")));
+
+        assertThat(StudentProtobufHttpMessageConverter.canEncode(student("SV01"))).isTrue();
+        assertThat(StudentProtobufHttpMessageConverter.canEncode(studentRows)).isTrue();
+        assertThat(StudentProtobufHttpMessageConverter.canEncode(new ResultPaginationDTO())).isTrue();
+        assertThat(StudentProtobufHttpMessageConverter.canEncode(foreignRows)).isFalse();
+        assertThat(StudentProtobufHttpMessageConverter.canEncode(Map.of("status", "UP"))).isFalse();
+        assertThat(StudentProtobufHttpMessageConverter.canEncode(List.of(student("SV01")))).isFalse();
+    }
+
+    @Test
+    void bodyWithoutEnvelopeIsRejected() {
+        assertThatThrownBy(() -> write(student("SV01"))).isInstanceOf(HttpMessageNotWritableException.class);
+    }
+
+    private byte[] write(Object body) throws IOException {
+        MockHttpOutputMessage message = new MockHttpOutputMessage();
+        this.converter.write(body, StudentProtobufHttpMessageConverter.APPLICATION_PROTOBUF, message);
+        return message.getBodyAsBytes();
+    }
+
+    private static StudentDTO student(String studentCode) {
+        return new StudentDTO(studentCode, "Nguyễn Văn A", studentCode.toLowerCase() + "@example.com",
+                LocalDate.of(2002, 1, 31), "Hà Nội", "MALE", "CS101", 2L);
+    }
+}
@@ -0,0 +1,72 @@
+package com.restful.quanlysinhvien.util.error;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.sql.SQLException;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataIntegrityViolationException;
+
+/**
+ * Kiểm tra {@link DataIntegrityTranslator} với message lỗi theo định dạng của
+ * MySQL.
+ */
+class DataIntegrityTranslatorTests {
+
+    @Test
+    void namedConstraintIsRecognised() {
+        RuntimeException translated = DataIntegrityTranslator.translate(mysqlError(1062,
+                "Duplicate entry 'a@x.vn' for key 'students.uk_students_email'"));
+
+        assertThat(translated).isInstanceOf(DuplicateResourceException.class)
+                .hasMessage("Email already exists");
+    }
+
+    @Test
+    void legacyKeyIsMatchedByKeyNameNotByDuplicatedValue() {
+        RuntimeException translated = DataIntegrityTranslator.translate(mysqlError(1062,
+                "Duplicate entry 'student_code@x.vn' for key 'students.email'"));
+
+        assertThat(translated).isInstanceOf(DuplicateResourceException.class)
+                .hasMessage("Email already exists");
+    }
+
+    @Test
+    void legacyKeyWithoutTablePrefix() {
+        RuntimeException translated = DataIntegrityTranslator.translate(mysqlError(1062,
+                "Duplicate entry 'email' for key 'student_code'"));
+
+        assertThat(translated).isInstanceOf(DuplicateResourceException.class)
+                .hasMessage("Student code already exists");
+    }
+
+    @Test
+    void unknownKeyIsGenericDuplicate() {
+        RuntimeException translated = DataIntegrityTranslator.translate(mysqlError(1062,
+                "Duplicate entry 'email@x.vn' for key 'students.UK6dotkott2kjsp8vw4d0m25fb7'"));
+
+        assertThat(translated).isInstanceOf(DuplicateResourceException.class)
+                .hasMessage("Resource already exists");
+    }
+
+    @Test
+    void missingClassRoomIsNotFound() {
+        RuntimeException translated = DataIntegrityTranslator.translate(mysqlError(1452,
+                "Cannot add or update a child row: a foreign key constraint fails (`db`.`students`, "
+                        + "CONSTRAINT `FKold` FOREIGN KEY (`class_room_id`) REFERENCES `class_rooms` (`id`))"));
+
+        assertThat(translated).isInstanceOf(ResourceNotFoundException.class)
+                .hasMessage("ClassName not found");
+    }
+
+    @Test
+    void otherErrorsAreNotTranslated() {
+        assertThat(DataIntegrityTranslator.translate(mysqlError(1048, "Column 'full_name' cannot be null")))
+                .isNull();
+    }
+
+    private static DataIntegrityViolationException mysqlError(int errorCode, String message) {
+        return new DataIntegrityViolationException("could not execute statement",
+                new SQLException(message, "23000", errorCode));
+    }
+}